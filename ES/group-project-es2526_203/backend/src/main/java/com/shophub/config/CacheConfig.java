@@ -0,0 +1,37 @@
+package com.shophub.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NoOpCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Caffeine-backed cache manager. Caches are declared up front so Spring Boot
+ * binds their hit/miss/eviction statistics to the Micrometer registry, and the
+ * manager is transaction-aware so evictions only take effect after commit.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Bean
+    public CacheManager cacheManager(CatalogCacheProperties properties) {
+        if (!properties.isEnabled()) {
+            return new NoOpCacheManager();
+        }
+
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
+        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats());
+        caffeineCacheManager.setAllowNullValues(false);
+        caffeineCacheManager.setCacheNames(CacheNames.ALL);
+
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+}
@@ -0,0 +1,22 @@
+package com.shophub.config;
+
+import java.util.List;
+
+/**
+ * Names of the application caches. All caches are created up front by
+ * CacheConfig so their statistics are published to Micrometer.
+ */
+public final class CacheNames {
+
+    public static final String PRODUCTS = "products";
+    public static final String PRODUCT_CATALOG = "productCatalog";
+    public static final String PRODUCTS_BY_CATEGORY = "productsByCategory";
+    public static final String ACTIVE_BANNERS = "activeBanners";
+    public static final String PUBLISHED_LANDING_PAGES = "publishedLandingPages";
+
+    public static final List<String> ALL = List.of(
+            PRODUCTS, PRODUCT_CATALOG, PRODUCTS_BY_CATEGORY, ACTIVE_BANNERS, PUBLISHED_LANDING_PAGES);
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,64 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sizing, expiry and cross-node invalidation of the in-process caches (product
+ * catalog, active banners, published landing pages). Writes evict affected
+ * entries explicitly; the TTL only bounds staleness for changes made outside
+ * the services (e.g. direct SQL). Banner and landing page lists are keyed by
+ * their schedule version, so a start or end passing is never served late.
+ */
+@Component
+@ConfigurationProperties(prefix = "catalog.cache")
+public class CatalogCacheProperties {
+
+    private boolean enabled = true;
+    private long maximumSize = 1000;
+    private Duration ttl = Duration.ofMinutes(5);
+    private boolean distributedInvalidation = true;
+    private String invalidationChannel = "shophub_cache_invalidation";
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public boolean isDistributedInvalidation() {
+        return distributedInvalidation;
+    }
+
+    public void setDistributedInvalidation(boolean distributedInvalidation) {
+        this.distributedInvalidation = distributedInvalidation;
+    }
+
+    public String getInvalidationChannel() {
+        return invalidationChannel;
+    }
+
+    public void setInvalidationChannel(String invalidationChannel) {
+        this.invalidationChannel = invalidationChannel;
+    }
+}
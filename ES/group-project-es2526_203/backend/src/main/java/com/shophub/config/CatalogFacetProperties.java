@@ -0,0 +1,28 @@
+package com.shophub.config;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Price bucket boundaries for the listing's price facet. With boundaries
+ * 25, 50, 100 the buckets are [0, 25), [25, 50), [50, 100) and 100+.
+ */
+@Component
+@ConfigurationProperties(prefix = "catalog.facets")
+public class CatalogFacetProperties {
+
+    private List<BigDecimal> priceBuckets = List.of(
+            new BigDecimal("25"), new BigDecimal("50"), new BigDecimal("100"),
+            new BigDecimal("250"), new BigDecimal("500"));
+
+    public List<BigDecimal> getPriceBuckets() {
+        return priceBuckets;
+    }
+
+    public void setPriceBuckets(List<BigDecimal> priceBuckets) {
+        this.priceBuckets = priceBuckets;
+    }
+}
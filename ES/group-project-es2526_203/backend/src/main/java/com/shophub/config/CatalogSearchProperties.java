@@ -0,0 +1,42 @@
+package com.shophub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Product search settings. With {@code fullText} on, queries run against the
+ * generated {@code products.search_vector} column and its GIN index; with it off
+ * (e.g. on the H2 test database) a portable LIKE scan is used instead.
+ */
+@Component
+@ConfigurationProperties(prefix = "catalog.search")
+public class CatalogSearchProperties {
+
+    private boolean fullText = true;
+    private int defaultLimit = 20;
+    private int maxLimit = 50;
+
+    public boolean isFullText() {
+        return fullText;
+    }
+
+    public void setFullText(boolean fullText) {
+        this.fullText = fullText;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+}
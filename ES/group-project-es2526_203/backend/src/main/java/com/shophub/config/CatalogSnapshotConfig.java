@@ -0,0 +1,23 @@
+package com.shophub.config;
+
+import com.shophub.controller.CatalogSnapshotFilter;
+import com.shophub.service.CatalogSnapshotService;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers the snapshot filter on the two catalog listing paths so every other
+ * request skips it entirely.
+ */
+@Configuration
+public class CatalogSnapshotConfig {
+
+    @Bean
+    public FilterRegistrationBean<CatalogSnapshotFilter> catalogSnapshotFilter(CatalogSnapshotService catalogSnapshotService) {
+        FilterRegistrationBean<CatalogSnapshotFilter> registration =
+                new FilterRegistrationBean<>(new CatalogSnapshotFilter(catalogSnapshotService));
+        registration.addUrlPatterns("/api/products", "/api/categories");
+        return registration;
+    }
+}
@@ -0,0 +1,35 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pre-serialised snapshots of the public product and category listings. Snapshots
+ * are rebuilt in the background after catalog evictions; the refresh interval only
+ * bounds staleness for changes made outside the services (e.g. direct SQL).
+ */
+@Component
+@ConfigurationProperties(prefix = "catalog.snapshot")
+public class CatalogSnapshotProperties {
+
+    private boolean enabled = true;
+    private Duration refreshInterval = Duration.ofMinutes(5);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRefreshInterval() {
+        return refreshInterval;
+    }
+
+    public void setRefreshInterval(Duration refreshInterval) {
+        this.refreshInterval = refreshInterval;
+    }
+}
@@ -0,0 +1,62 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Type-ahead index settings. Local writes, and other replicas' writes as their cache
+ * evictions arrive, update the index incrementally; the periodic rebuild picks up
+ * changes made outside the services.
+ */
+@Component
+@ConfigurationProperties(prefix = "catalog.suggest")
+public class CatalogSuggestProperties {
+
+    private boolean enabled = true;
+    private Duration rebuildInterval = Duration.ofMinutes(10);
+    private int defaultLimit = 8;
+    private int maxLimit = 20;
+    private int maxCategories = 3;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getRebuildInterval() {
+        return rebuildInterval;
+    }
+
+    public void setRebuildInterval(Duration rebuildInterval) {
+        this.rebuildInterval = rebuildInterval;
+    }
+
+    public int getDefaultLimit() {
+        return defaultLimit;
+    }
+
+    public void setDefaultLimit(int defaultLimit) {
+        this.defaultLimit = defaultLimit;
+    }
+
+    public int getMaxLimit() {
+        return maxLimit;
+    }
+
+    public void setMaxLimit(int maxLimit) {
+        this.maxLimit = maxLimit;
+    }
+
+    public int getMaxCategories() {
+        return maxCategories;
+    }
+
+    public void setMaxCategories(int maxCategories) {
+        this.maxCategories = maxCategories;
+    }
+}
@@ -1,5 +1,8 @@
 package com.shophub.config;
 
+import java.util.HashSet;
+import java.util.Set;
+
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
@@ -27,6 +30,11 @@ public class FeatureFlagsProperties {
      */
     private boolean themeCustomizationEnabled = true;
 
+    /**
+     * Products that use hot-inventory mode when no per-product remote flag exists.
+     */
+    private Set<Integer> hotInventoryProductIds = new HashSet<>();
+
     public boolean isLandingPagesEnabled() {
         return landingPagesEnabled;
     }
@@ -50,4 +58,12 @@ public class FeatureFlagsProperties {
     public void setThemeCustomizationEnabled(boolean themeCustomizationEnabled) {
         this.themeCustomizationEnabled = themeCustomizationEnabled;
     }
+
+    public Set<Integer> getHotInventoryProductIds() {
+        return hotInventoryProductIds;
+    }
+
+    public void setHotInventoryProductIds(Set<Integer> hotInventoryProductIds) {
+        this.hotInventoryProductIds = hotInventoryProductIds;
+    }
 }
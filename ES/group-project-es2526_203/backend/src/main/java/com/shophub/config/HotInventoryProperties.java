@@ -0,0 +1,93 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hot-inventory mode for flash-sale products: how much stock a node escrows at a time,
+ * how its in-memory counters are striped, and the flush and lease timings.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.hot")
+public class HotInventoryProperties {
+
+    /**
+     * Identifies this node on its leases; a random id is used when blank.
+     */
+    private String nodeId;
+
+    /**
+     * Units escrowed per refill. Bigger chunks touch the product row less often but can
+     * leave more stock parked on one node near the end of a sale.
+     */
+    private int chunkSize = 50;
+
+    private int stripes = 8;
+
+    /**
+     * How often sales are written back to products.stock_quantity and leases heartbeat.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * A lease that has not heartbeated for this long is settled by another node. A node
+     * stops selling from a lease it could not renew for half of this, so it must exceed
+     * twice the longest checkout transaction plus clock skew between nodes.
+     */
+    private Duration leaseTtl = Duration.ofSeconds(30);
+
+    /**
+     * How long a per-product toggle answer is cached before FeatureToggleService is asked again.
+     */
+    private Duration toggleRefresh = Duration.ofSeconds(30);
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void setNodeId(String nodeId) {
+        this.nodeId = nodeId;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getStripes() {
+        return stripes;
+    }
+
+    public void setStripes(int stripes) {
+        this.stripes = stripes;
+    }
+
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    public void setFlushInterval(Duration flushInterval) {
+        this.flushInterval = flushInterval;
+    }
+
+    public Duration getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    public void setLeaseTtl(Duration leaseTtl) {
+        this.leaseTtl = leaseTtl;
+    }
+
+    public Duration getToggleRefresh() {
+        return toggleRefresh;
+    }
+
+    public void setToggleRefresh(Duration toggleRefresh) {
+        this.toggleRefresh = toggleRefresh;
+    }
+}
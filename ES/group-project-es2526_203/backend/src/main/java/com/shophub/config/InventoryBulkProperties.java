@@ -0,0 +1,36 @@
+package com.shophub.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk inventory adjustments: lines per transaction and the most lines one request may carry.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.bulk")
+public class InventoryBulkProperties {
+
+    /**
+     * Lines applied per transaction. Each chunk locks its products until it commits, so
+     * smaller chunks keep checkouts of the same products waiting for less time.
+     */
+    private int chunkSize = 500;
+
+    private int maxLines = 50_000;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getMaxLines() {
+        return maxLines;
+    }
+
+    public void setMaxLines(int maxLines) {
+        this.maxLines = maxLines;
+    }
+}
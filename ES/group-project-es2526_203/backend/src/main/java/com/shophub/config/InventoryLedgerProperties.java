@@ -0,0 +1,44 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Inventory ledger snapshots: how often they are taken and how far behind the present
+ * they stay, so a snapshot never folds a window that a still-running transaction could
+ * add movements to.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.ledger")
+public class InventoryLedgerProperties {
+
+    private Duration snapshotInterval = Duration.ofHours(1);
+    private Duration settleLag = Duration.ofMinutes(5);
+    private int maxMovements = 500;
+
+    public Duration getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    public void setSnapshotInterval(Duration snapshotInterval) {
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    public Duration getSettleLag() {
+        return settleLag;
+    }
+
+    public void setSettleLag(Duration settleLag) {
+        this.settleLag = settleLag;
+    }
+
+    public int getMaxMovements() {
+        return maxMovements;
+    }
+
+    public void setMaxMovements(int maxMovements) {
+        this.maxMovements = maxMovements;
+    }
+}
@@ -0,0 +1,34 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Checkout stock holds: how long a reservation lasts and how often expired ones
+ * are swept.
+ */
+@Component
+@ConfigurationProperties(prefix = "inventory.reservation")
+public class InventoryReservationProperties {
+
+    private Duration hold = Duration.ofMinutes(15);
+    private Duration sweepInterval = Duration.ofMinutes(1);
+
+    public Duration getHold() {
+        return hold;
+    }
+
+    public void setHold(Duration hold) {
+        this.hold = hold;
+    }
+
+    public Duration getSweepInterval() {
+        return sweepInterval;
+    }
+
+    public void setSweepInterval(Duration sweepInterval) {
+        this.sweepInterval = sweepInterval;
+    }
+}
@@ -0,0 +1,141 @@
+package com.shophub.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.OptimisticLockException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.interceptor.MethodInvocationRetryCallback;
+import org.springframework.retry.interceptor.RetryInterceptorBuilder;
+import org.springframework.retry.interceptor.RetryOperationsInterceptor;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+import org.springframework.retry.support.RetryTemplate;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+/**
+ * Retry policy for writes guarded by {@code @Version}. Methods opt in with
+ * {@code @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)}.
+ *
+ * The retry advice runs outside the method's transaction, so every attempt re-reads the
+ * rows in a fresh transaction and re-applies its checks to what the winner committed.
+ * A method called from inside another transaction is not retried on its own: the
+ * conflict propagates so the outermost retryable call starts over. Conflicts, retries
+ * and calls that ran out of attempts are counted per operation.
+ */
+@Configuration
+@Slf4j
+public class OptimisticRetryConfig {
+
+    public static final String INTERCEPTOR = "optimisticRetryInterceptor";
+
+    private static final String NESTED = "optimisticRetry.nested";
+
+    @Bean(INTERCEPTOR)
+    public RetryOperationsInterceptor optimisticRetryInterceptor(OptimisticRetryProperties properties,
+                                                                 MeterRegistry meterRegistry) {
+        ExponentialRandomBackOffPolicy backOff = new ExponentialRandomBackOffPolicy();
+        backOff.setInitialInterval(properties.getInitialBackoff().toMillis());
+        backOff.setMultiplier(properties.getMultiplier());
+        backOff.setMaxInterval(properties.getMaxBackoff().toMillis());
+
+        RetryTemplate retryTemplate = new RetryTemplate();
+        retryTemplate.setRetryPolicy(new ConflictRetryPolicy(properties.getMaxAttempts()));
+        retryTemplate.setBackOffPolicy(backOff);
+        retryTemplate.registerListener(new ConflictMetrics(meterRegistry));
+
+        return RetryInterceptorBuilder.stateless()
+                .retryOperations(retryTemplate)
+                .build();
+    }
+
+    static boolean isConflict(Throwable throwable) {
+        return throwable instanceof OptimisticLockingFailureException || throwable instanceof OptimisticLockException;
+    }
+
+    // A nested call's conflict is retried, and counted, by the outermost call
+    static boolean isNested(RetryContext context) {
+        return Boolean.TRUE.equals(context.getAttribute(NESTED));
+    }
+
+    private static class ConflictRetryPolicy extends SimpleRetryPolicy {
+
+        ConflictRetryPolicy(int maxAttempts) {
+            super(maxAttempts, Map.of(
+                    OptimisticLockingFailureException.class, true,
+                    OptimisticLockException.class, true), true);
+        }
+
+        @Override
+        public RetryContext open(RetryContext parent) {
+            RetryContext context = super.open(parent);
+            // Checked before the method's own transaction starts
+            context.setAttribute(NESTED, TransactionSynchronizationManager.isActualTransactionActive());
+            return context;
+        }
+
+        @Override
+        public boolean canRetry(RetryContext context) {
+            if (context.getLastThrowable() != null && isNested(context)) {
+                return false;
+            }
+            return super.canRetry(context);
+        }
+    }
+
+    private static class ConflictMetrics implements RetryListener {
+
+        private final MeterRegistry meterRegistry;
+
+        ConflictMetrics(MeterRegistry meterRegistry) {
+            this.meterRegistry = meterRegistry;
+        }
+
+        @Override
+        public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback,
+                                                     Throwable throwable) {
+            if (isConflict(throwable) && !isNested(context)) {
+                log.debug("Optimistic lock conflict in {} (attempt {})", operation(callback), context.getRetryCount());
+                counter("optimistic.lock.conflicts", "Writes that found their rows changed since they were read",
+                        callback).increment();
+            }
+        }
+
+        @Override
+        public <T, E extends Throwable> void close(RetryContext context, RetryCallback<T, E> callback,
+                                                   Throwable throwable) {
+            int attempts = context.getRetryCount() + (throwable == null ? 1 : 0);
+            if (attempts > 1) {
+                counter("optimistic.lock.retries", "Attempts repeated after an optimistic lock conflict",
+                        callback).increment(attempts - 1);
+            }
+            if (isConflict(throwable) && !isNested(context)) {
+                log.warn("Giving up on {} after {} conflicting attempt(s)", operation(callback), attempts);
+                counter("optimistic.lock.exhausted", "Calls that still conflicted after their last attempt",
+                        callback).increment();
+            }
+        }
+
+        private Counter counter(String name, String description, RetryCallback<?, ?> callback) {
+            return Counter.builder(name)
+                    .description(description)
+                    .tag("operation", operation(callback))
+                    .register(meterRegistry);
+        }
+
+        private static String operation(RetryCallback<?, ?> callback) {
+            if (callback instanceof MethodInvocationRetryCallback<?, ?> invocationCallback) {
+                var method = invocationCallback.getInvocation().getMethod();
+                return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+            }
+            return callback.getClass().getSimpleName();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Retries of product, order and cart writes that lost an optimistic-locking race.
+ */
+@Component
+@ConfigurationProperties(prefix = "concurrency.optimistic-retry")
+public class OptimisticRetryProperties {
+
+    /**
+     * Attempts per call, the first one included. A conflict still present after the last
+     * attempt is reported to the client as 409 Conflict.
+     */
+    private int maxAttempts = 4;
+
+    /**
+     * Backoff before the first retry; each later one waits up to {@code multiplier} times
+     * longer, randomised so that the writers that collided do not collide again.
+     */
+    private Duration initialBackoff = Duration.ofMillis(10);
+
+    private double multiplier = 2.0;
+
+    private Duration maxBackoff = Duration.ofMillis(200);
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public void setMaxAttempts(int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    public void setInitialBackoff(Duration initialBackoff) {
+        this.initialBackoff = initialBackoff;
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    public void setMaxBackoff(Duration maxBackoff) {
+        this.maxBackoff = maxBackoff;
+    }
+}
@@ -0,0 +1,53 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Idempotency-Key handling for order placement: how long a key is remembered, how many
+ * recent keys each node keeps in memory, and how long a duplicate waits for the
+ * request it duplicates.
+ */
+@Component
+@ConfigurationProperties(prefix = "orders.idempotency")
+public class OrderIdempotencyProperties {
+
+    private Duration retention = Duration.ofHours(24);
+    private int recentKeys = 10_000;
+    private Duration waitTimeout = Duration.ofSeconds(30);
+    private Duration purgeInterval = Duration.ofHours(1);
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public int getRecentKeys() {
+        return recentKeys;
+    }
+
+    public void setRecentKeys(int recentKeys) {
+        this.recentKeys = recentKeys;
+    }
+
+    public Duration getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(Duration waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public Duration getPurgeInterval() {
+        return purgeInterval;
+    }
+
+    public void setPurgeInterval(Duration purgeInterval) {
+        this.purgeInterval = purgeInterval;
+    }
+}
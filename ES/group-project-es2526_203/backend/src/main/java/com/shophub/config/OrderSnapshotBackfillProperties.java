@@ -0,0 +1,40 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfill of the product snapshot on order items created before the snapshot existed.
+ */
+@Component
+@ConfigurationProperties(prefix = "orders.snapshot-backfill")
+public class OrderSnapshotBackfillProperties {
+
+    /**
+     * Items updated per transaction, so the backfill never holds many rows at once.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause between runs. A run with nothing left to fill is a single indexed query.
+     */
+    private Duration interval = Duration.ofMinutes(10);
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Duration getInterval() {
+        return interval;
+    }
+
+    public void setInterval(Duration interval) {
+        this.interval = interval;
+    }
+}
@@ -0,0 +1,41 @@
+package com.shophub.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Low-stock alert digests: how often pending alerts are sent and how long a stock state
+ * must hold before it is worth telling administrators about.
+ */
+@Component
+@ConfigurationProperties(prefix = "notifications.stock-alerts")
+public class StockAlertProperties {
+
+    /**
+     * Coalescing window: every alert raised within one interval goes out in one digest.
+     */
+    private Duration digestInterval = Duration.ofMinutes(1);
+
+    /**
+     * A product flapping around its threshold is only reported once it settles this long.
+     */
+    private Duration debounce = Duration.ofSeconds(30);
+
+    public Duration getDigestInterval() {
+        return digestInterval;
+    }
+
+    public void setDigestInterval(Duration digestInterval) {
+        this.digestInterval = digestInterval;
+    }
+
+    public Duration getDebounce() {
+        return debounce;
+    }
+
+    public void setDebounce(Duration debounce) {
+        this.debounce = debounce;
+    }
+}
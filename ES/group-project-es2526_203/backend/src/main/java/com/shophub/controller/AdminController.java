@@ -6,6 +6,7 @@ import com.shophub.model.Product;
 import com.shophub.model.User;
 import com.shophub.model.ShippingBillingInfo;
 import com.shophub.service.OrderService;
+import com.shophub.service.OrderStatsService;
 import com.shophub.service.ProductService;
 import com.shophub.service.CustomerAdminService;
 import com.shophub.service.AuditLogService;
@@ -28,6 +29,7 @@ import java.util.Map;
 public class AdminController {
     
     private final OrderService orderService;
+    private final OrderStatsService orderStatsService;
     private final ProductService productService;
     private final CustomerAdminService customerAdminService;
     private final AuditLogService auditLogService;
@@ -152,13 +154,26 @@ public class AdminController {
         return ResponseEntity.ok(orderService.getAllOrders(status, search));
     }
     
+    /**
+     * Keyset-paginated order listing; pass the previous page's next_cursor to continue
+     */
+    @GetMapping(value = "/orders", params = "limit")
+    public ResponseEntity<OrderPageDTO> listOrders(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String search) {
+        return ResponseEntity.ok(orderService.listOrders(OrderListRequest.builder()
+                .limit(limit)
+                .cursor(cursor)
+                .status(status)
+                .search(search)
+                .build()));
+    }
+    
     @GetMapping("/orders/stats")
     public ResponseEntity<Map<String, Object>> getOrderStatistics() {
-        // TODO: Implement statistics
-        return ResponseEntity.ok(Map.of(
-            "message", "Order statistics endpoint",
-            "status", "not_implemented"
-        ));
+        return ResponseEntity.ok(orderStatsService.getStatistics());
     }
     
     /**
@@ -200,6 +215,11 @@ public class AdminController {
         return ResponseEntity.ok(productService.getAllProducts());
     }
     
+    @GetMapping(value = "/products", params = "fields")
+    public ResponseEntity<List<Map<String, Object>>> getAllProductFields(@RequestParam String fields) {
+        return ResponseEntity.ok(productService.getProductFields(ProductField.parse(fields)));
+    }
+    
     @GetMapping("/products/{id}")
     public ResponseEntity<Product> getProductById(@PathVariable Integer id) {
         return ResponseEntity.ok(productService.getProductById(id));
@@ -1,13 +1,16 @@
 package com.shophub.controller;
 
 import com.shophub.dto.BannerDTO;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.service.BannerService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -39,19 +42,30 @@ public class BannerController {
 
     @GetMapping
     @PreAuthorize("hasRole('content_manager')")
-    public ResponseEntity<List<BannerDTO>> getAllBanners() {
+    public ResponseEntity<List<BannerDTO>> getAllBanners(WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, bannerService.getBannersVersion())) {
+            return null;
+        }
         List<BannerDTO> banners = bannerService.getAllBanners();
         return ResponseEntity.ok(banners);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<BannerDTO>> getActiveBanners() {
-        List<BannerDTO> banners = bannerService.getActiveBanners();
+    public ResponseEntity<List<BannerDTO>> getActiveBanners(WebRequest webRequest) {
+        LocalDateTime now = LocalDateTime.now();
+        ResourceVersion version = bannerService.getActiveBannersVersion(now);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        List<BannerDTO> banners = bannerService.getActiveBanners(now, version);
         return ResponseEntity.ok(banners);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<BannerDTO> getBanner(@PathVariable Long id) {
+    public ResponseEntity<BannerDTO> getBanner(@PathVariable Long id, WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, bannerService.getBannerVersion(id))) {
+            return null;
+        }
         BannerDTO dto = bannerService.getBanner(id);
         return ResponseEntity.ok(dto);
     }
@@ -13,6 +13,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import java.util.List;
 
 @RestController
@@ -27,13 +28,19 @@ public class BlogPostController {
     // ========== PUBLIC ENDPOINTS ==========
     
     @GetMapping("/posts")
-    public ResponseEntity<List<BlogPostDTO>> getPublishedPosts() {
+    public ResponseEntity<List<BlogPostDTO>> getPublishedPosts(WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, service.getPostsVersion())) {
+            return null;
+        }
         log.info("Fetching published posts");
         return ResponseEntity.ok(service.getPublishedPosts());
     }
     
     @GetMapping("/posts/{id}")
-    public ResponseEntity<BlogPostDTO> getPost(@PathVariable Integer id) {
+    public ResponseEntity<BlogPostDTO> getPost(@PathVariable Integer id, WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, service.getPostVersion(id))) {
+            return null;
+        }
         log.info("Fetching post: {}", id);
         return ResponseEntity.ok(service.getPost(id));
     }
@@ -42,7 +49,10 @@ public class BlogPostController {
     
     @GetMapping("/admin/posts")
     @PreAuthorize("hasRole('content-manager')")
-    public ResponseEntity<List<BlogPostDTO>> getAllPosts() {
+    public ResponseEntity<List<BlogPostDTO>> getAllPosts(WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, service.getPostsVersion())) {
+            return null;
+        }
         log.info("Admin fetching all posts");
         return ResponseEntity.ok(service.getAllPosts());
     }
@@ -2,7 +2,9 @@ package com.shophub.controller;
 
 import com.shophub.dto.CartDTO;
 import com.shophub.model.Cart;
+import com.shophub.model.StockReservation;
 import com.shophub.service.CartService;
+import com.shophub.service.StockReservationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -20,6 +22,7 @@ import java.util.Map;
 public class CartController {
     
     private final CartService cartService;
+    private final StockReservationService stockReservationService;
     
     @GetMapping
     public ResponseEntity<List<Cart>> getUserCart(@AuthenticationPrincipal Jwt jwt) {
@@ -54,6 +57,13 @@ public class CartController {
         return ResponseEntity.ok(Map.of("message", "Item removed from cart"));
     }
     
+    // Holds the cart's stock while the user completes checkout
+    @PostMapping("/checkout")
+    public ResponseEntity<List<StockReservation>> reserveCart(@AuthenticationPrincipal Jwt jwt) {
+        String userId = jwt.getSubject();
+        return ResponseEntity.ok(stockReservationService.reserveCart(userId));
+    }
+    
     @DeleteMapping
     public ResponseEntity<Map<String, String>> clearCart(@AuthenticationPrincipal Jwt jwt) {
         String userId = jwt.getSubject();
@@ -5,6 +5,7 @@ import com.shophub.service.CategoryService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -17,7 +18,10 @@ public class CategoryController {
     private final CategoryService categoryService;
     
     @GetMapping
-    public ResponseEntity<List<Category>> getAllCategories() {
+    public ResponseEntity<List<Category>> getAllCategories(WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, categoryService.getCategoriesVersion())) {
+            return null;
+        }
         return ResponseEntity.ok(categoryService.getAllCategories());
     }
 }
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.shophub.controller;
+
+import com.shophub.dto.ResourceVersion;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * ETag / Last-Modified handling shared by the read endpoints. The validators are
+ * written on every response; when the client's copy is current the response is
+ * already a 304 and the handler should return {@code null} without loading anything.
+ */
+final class ConditionalRequests {
+
+    private ConditionalRequests() {
+    }
+
+    static boolean notModified(WebRequest webRequest, ResourceVersion version) {
+        if (!version.exists()) {
+            // Nothing to validate against; let the handler answer (usually 404 or an empty list)
+            return false;
+        }
+        return webRequest.checkNotModified(version.etag(), version.lastModifiedMillis());
+    }
+
+    /** For collections whose version is kept in memory and has no meaningful change time. */
+    static boolean notModified(WebRequest webRequest, String etag) {
+        return webRequest.checkNotModified(etag);
+    }
+}
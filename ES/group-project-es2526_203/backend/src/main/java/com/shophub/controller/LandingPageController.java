@@ -1,13 +1,16 @@
 package com.shophub.controller;
 
 import com.shophub.dto.LandingPageDTO;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.service.LandingPageService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -45,19 +48,30 @@ public class LandingPageController {
     }
 
     @GetMapping
-    public ResponseEntity<List<LandingPageDTO>> getAllLandingPages() {
+    public ResponseEntity<List<LandingPageDTO>> getAllLandingPages(WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, landingPageService.getLandingPagesVersion())) {
+            return null;
+        }
         List<LandingPageDTO> pages = landingPageService.getAllLandingPages();
         return ResponseEntity.ok(pages);
     }
 
     @GetMapping("/published")
-    public ResponseEntity<List<LandingPageDTO>> getPublishedLandingPages() {
-        List<LandingPageDTO> pages = landingPageService.getPublishedLandingPages();
+    public ResponseEntity<List<LandingPageDTO>> getPublishedLandingPages(WebRequest webRequest) {
+        LocalDateTime now = LocalDateTime.now();
+        ResourceVersion version = landingPageService.getPublishedLandingPagesVersion(now);
+        if (ConditionalRequests.notModified(webRequest, version)) {
+            return null;
+        }
+        List<LandingPageDTO> pages = landingPageService.getPublishedLandingPages(now, version);
         return ResponseEntity.ok(pages);
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<LandingPageDTO> getLandingPage(@PathVariable Long id) {
+    public ResponseEntity<LandingPageDTO> getLandingPage(@PathVariable Long id, WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, landingPageService.getLandingPageVersion(id))) {
+            return null;
+        }
         LandingPageDTO page = landingPageService.getLandingPage(id);
         return ResponseEntity.ok(page);
     }
@@ -3,6 +3,7 @@ package com.shophub.controller;
 import com.shophub.dto.CreateOrderRequest;
 import com.shophub.dto.UpdateOrderStatusRequest;
 import com.shophub.model.Order;
+import com.shophub.service.OrderIdempotencyService;
 import com.shophub.service.OrderService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -21,7 +22,11 @@ import java.util.List;
 //@CrossOrigin(origins = "*")
 public class OrderController {
     
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+    
     private final OrderService orderService;
+    private final OrderIdempotencyService orderIdempotencyService;
     
     @GetMapping
     public ResponseEntity<List<Order>> getUserOrders(@AuthenticationPrincipal Jwt jwt) {
@@ -37,13 +42,26 @@ public class OrderController {
         return ResponseEntity.ok(orderService.getOrderById(userId, id));
     }
     
+    /**
+     * Places an order. Clients that may retry send an Idempotency-Key: a repeat of the same
+     * key returns the order the first request placed, marked with Idempotent-Replayed.
+     */
     @PostMapping
     public ResponseEntity<Order> createOrder(
             @AuthenticationPrincipal Jwt jwt,
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
             @Valid @RequestBody CreateOrderRequest request) {
         String userId = jwt.getSubject();
-        Order order = orderService.createOrder(userId, request, jwt);
-        return ResponseEntity.status(HttpStatus.CREATED).body(order);
+        if (idempotencyKey == null) {
+            Order order = orderService.createOrder(userId, request, jwt);
+            return ResponseEntity.status(HttpStatus.CREATED).body(order);
+        }
+        OrderIdempotencyService.Result result = orderIdempotencyService.placeOrder(userId, idempotencyKey, request, jwt);
+        ResponseEntity.BodyBuilder response = ResponseEntity.status(HttpStatus.CREATED);
+        if (result.replayed()) {
+            response.header(IDEMPOTENT_REPLAYED, "true");
+        }
+        return response.body(result.order());
     }
     
     @PatchMapping("/{id}/status")
@@ -1,12 +1,23 @@
 package com.shophub.controller;
 
+import com.shophub.dto.ProductField;
+import com.shophub.dto.ProductListRequest;
+import com.shophub.dto.ProductPageDTO;
+import com.shophub.dto.ProductSearchHitDTO;
+import com.shophub.dto.ProductSuggestionDTO;
 import com.shophub.model.Product;
+import com.shophub.service.ProductCatalogCache;
+import com.shophub.service.ProductSearchService;
 import com.shophub.service.ProductService;
+import com.shophub.service.ProductSuggestIndex;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/products")
@@ -14,19 +25,87 @@ import java.util.List;
 public class ProductController {
     
     private final ProductService productService;
+    private final ProductSearchService productSearchService;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductCatalogCache productCatalogCache;
     
     @GetMapping
-    public ResponseEntity<List<Product>> getAllProducts() {
+    public ResponseEntity<List<Product>> getAllProducts(WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, productCatalogCache.catalogEtag())) {
+            return null;
+        }
         return ResponseEntity.ok(productService.getAllProducts());
     }
     
+    @GetMapping(params = {"fields", "!limit"})
+    public ResponseEntity<List<Map<String, Object>>> getAllProductFields(@RequestParam String fields, WebRequest webRequest) {
+        List<ProductField> productFields = ProductField.parse(fields);
+        if (ConditionalRequests.notModified(webRequest, productCatalogCache.catalogEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok(productService.getProductFields(productFields));
+    }
+    
+    @GetMapping(params = "limit")
+    public ResponseEntity<ProductPageDTO> listProducts(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(name = "category_id", required = false) Integer categoryId,
+            @RequestParam(name = "min_price", required = false) BigDecimal minPrice,
+            @RequestParam(name = "max_price", required = false) BigDecimal maxPrice,
+            @RequestParam(name = "in_stock", defaultValue = "false") boolean inStockOnly,
+            @RequestParam(name = "min_rating", required = false) Double minRating,
+            @RequestParam(required = false) String sort,
+            @RequestParam(name = "facets", defaultValue = "false") boolean includeFacets,
+            WebRequest webRequest) {
+        ProductListRequest request = ProductListRequest.builder()
+                .limit(limit)
+                .cursor(cursor)
+                .categoryId(categoryId)
+                .minPrice(minPrice)
+                .maxPrice(maxPrice)
+                .inStockOnly(inStockOnly)
+                .minRating(minRating)
+                .sort(ProductListRequest.Sort.fromParam(sort))
+                .includeFacets(includeFacets)
+                .build();
+        if (ConditionalRequests.notModified(webRequest, productCatalogCache.catalogEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok(productService.listProducts(request));
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<ProductSearchHitDTO>> searchProducts(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) Integer limit,
+            WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, productCatalogCache.catalogEtag())) {
+            return null;
+        }
+        return ResponseEntity.ok(productSearchService.search(query, limit));
+    }
+    
+    @GetMapping("/suggest")
+    public ResponseEntity<List<ProductSuggestionDTO>> suggestProducts(
+            @RequestParam(name = "q", defaultValue = "") String query,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(productSuggestIndex.suggest(query, limit));
+    }
+    
     @GetMapping("/{id}")
-    public ResponseEntity<Product> getProductById(@PathVariable Integer id) {
+    public ResponseEntity<Product> getProductById(@PathVariable Integer id, WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, productService.getProductVersion(id))) {
+            return null;
+        }
         return ResponseEntity.ok(productService.getProductById(id));
     }
     
     @GetMapping("/category/{categoryId}")
-    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable Integer categoryId) {
+    public ResponseEntity<List<Product>> getProductsByCategory(@PathVariable Integer categoryId, WebRequest webRequest) {
+        if (ConditionalRequests.notModified(webRequest, productService.getCategoryVersion(categoryId))) {
+            return null;
+        }
         return ResponseEntity.ok(productService.getProductsByCategory(categoryId));
     }
 }
\ No newline at end of file
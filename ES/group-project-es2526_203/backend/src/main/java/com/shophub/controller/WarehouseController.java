@@ -1,19 +1,31 @@
 package com.shophub.controller;
 
+import com.shophub.dto.InventoryAdjustmentReportDTO;
+import com.shophub.dto.OrderListRequest;
+import com.shophub.dto.OrderPageDTO;
 import com.shophub.dto.PackingSlipDTO;
+import com.shophub.dto.StockDiscrepancyDTO;
+import com.shophub.dto.StockLevelDTO;
 import com.shophub.dto.WarehouseDeliverOrderRequest;
 import com.shophub.dto.WarehouseShipOrderRequest;
+import com.shophub.model.InventoryMovement;
 import com.shophub.model.Order;
+import com.shophub.service.BulkInventoryService;
+import com.shophub.service.InventoryLedgerService;
 import com.shophub.service.OrderService;
 import com.shophub.service.PackingSlipService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -24,6 +36,8 @@ public class WarehouseController {
 
     private final OrderService orderService;
     private final PackingSlipService packingSlipService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final BulkInventoryService bulkInventoryService;
 
     @GetMapping("/orders")
     public ResponseEntity<List<Order>> getAllOrders(
@@ -34,6 +48,21 @@ public class WarehouseController {
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping(value = "/orders", params = "limit")
+    public ResponseEntity<OrderPageDTO> listOrders(
+            @RequestParam int limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String customer
+    ) {
+        return ResponseEntity.ok(orderService.listOrders(OrderListRequest.builder()
+                .limit(limit)
+                .cursor(cursor)
+                .status(status)
+                .search(customer)
+                .build()));
+    }
+
     @PatchMapping("/orders/{orderId}/ship")
     public ResponseEntity<Order> markOrderAsShipped(
             @PathVariable Integer orderId,
@@ -81,4 +110,38 @@ public class WarehouseController {
                 .contentType(MediaType.APPLICATION_PDF)
                 .body(pdfBytes);
     }
+
+    @GetMapping("/inventory/{productId}/movements")
+    public ResponseEntity<List<InventoryMovement>> getInventoryMovements(
+            @PathVariable Integer productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "100") int limit
+    ) {
+        return ResponseEntity.ok(inventoryLedgerService.getMovements(productId, from, to, limit));
+    }
+
+    @GetMapping("/inventory/{productId}/stock")
+    public ResponseEntity<StockLevelDTO> getStockAt(
+            @PathVariable Integer productId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at
+    ) {
+        return ResponseEntity.ok(inventoryLedgerService.getStockAt(productId, at));
+    }
+
+    @GetMapping("/inventory/discrepancies")
+    public ResponseEntity<List<StockDiscrepancyDTO>> getStockDiscrepancies() {
+        return ResponseEntity.ok(inventoryLedgerService.findDiscrepancies());
+    }
+
+    // Bulk stock adjustments (e.g. a received shipment), streamed as a JSON array or a CSV file
+    @PostMapping(value = "/inventory/adjustments", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<InventoryAdjustmentReportDTO> adjustInventory(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkInventoryService.applyJson(body));
+    }
+
+    @PostMapping(value = "/inventory/adjustments", consumes = "text/csv")
+    public ResponseEntity<InventoryAdjustmentReportDTO> adjustInventoryCsv(InputStream body) throws IOException {
+        return ResponseEntity.ok(bulkInventoryService.applyCsv(body));
+    }
 }
@@ -0,0 +1,24 @@
+package com.shophub.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+/**
+ * One line of a bulk inventory adjustment: a product, by id or SKU, and either a
+ * relative {@code delta} or an {@code absolute} stock quantity.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryAdjustmentLine {
+
+    @JsonProperty("product_id")
+    private Integer productId;
+
+    private String sku;
+
+    private Integer delta;
+
+    private Integer absolute;
+}
@@ -0,0 +1,47 @@
+package com.shophub.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryAdjustmentReportDTO {
+
+    private int total;
+
+    private int applied;
+
+    private int failed;
+
+    private List<LineResult> results;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    @Builder
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    public static class LineResult {
+
+        // Position of the line in the request, counting from 1 (CSV header excluded)
+        private int line;
+
+        @JsonProperty("product_id")
+        private Integer productId;
+
+        private String sku;
+
+        // "applied" or "failed"
+        private String status;
+
+        // Stock after the line was applied
+        @JsonProperty("stock_quantity")
+        private Integer stockQuantity;
+
+        private String error;
+    }
+}
@@ -0,0 +1,27 @@
+package com.shophub.dto;
+
+import lombok.*;
+
+/**
+ * Filters and keyset position for a paginated admin/warehouse order listing.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderListRequest {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private String status;
+
+    // Order id, or part of a customer id or tracking number
+    private String search;
+
+    // Opaque cursor returned as next_cursor by the previous page
+    private String cursor;
+
+    @Builder.Default
+    private int limit = DEFAULT_LIMIT;
+}
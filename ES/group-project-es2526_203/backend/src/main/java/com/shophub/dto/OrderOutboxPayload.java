@@ -0,0 +1,56 @@
+package com.shophub.dto;
+
+import com.shophub.model.Order;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * The order fields an outbox event's side effects need, as they were when the event was
+ * written, so the dispatcher does not have to read the order back.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderOutboxPayload {
+
+    private Integer orderId;
+    private String userId;
+    private String oldStatus;
+    private String newStatus;
+    private String trackingNumber;
+    private String shippingProvider;
+    private BigDecimal totalAmount;
+    private LocalDate estimatedDeliveryDate;
+    private LocalDateTime placedAt;
+
+    public static OrderOutboxPayload of(Order order, String oldStatus) {
+        return OrderOutboxPayload.builder()
+                .orderId(order.getOrderId())
+                .userId(order.getUserId())
+                .oldStatus(oldStatus)
+                .newStatus(order.getOrderStatus())
+                .trackingNumber(order.getTrackingNumber())
+                .shippingProvider(order.getShippingProvider())
+                .totalAmount(order.getTotalAmount())
+                .estimatedDeliveryDate(order.getEstimatedDeliveryDate())
+                .placedAt(order.getCreatedAt())
+                .build();
+    }
+
+    public Order toOrder() {
+        return Order.builder()
+                .orderId(orderId)
+                .userId(userId)
+                .orderStatus(newStatus)
+                .trackingNumber(trackingNumber)
+                .shippingProvider(shippingProvider)
+                .totalAmount(totalAmount)
+                .estimatedDeliveryDate(estimatedDeliveryDate)
+                .createdAt(placedAt)
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package com.shophub.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.shophub.model.Order;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderPageDTO {
+
+    private List<Order> items;
+
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @JsonProperty("has_more")
+    private boolean hasMore;
+}
@@ -17,6 +17,8 @@ public class PackingSlipItemDTO {
     @JsonProperty("product_id")
     private Integer productId;
     
+    private String sku;
+    
     private Integer quantity;
     
     @JsonProperty("unit_price")
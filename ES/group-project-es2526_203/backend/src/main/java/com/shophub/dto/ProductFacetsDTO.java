@@ -0,0 +1,37 @@
+package com.shophub.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Facet counts for a product listing. Each facet is counted with every active
+ * filter applied except its own, so the counts show what selecting another
+ * value in that facet would return.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductFacetsDTO {
+
+    private List<FacetValue> categories;
+
+    private List<FacetValue> price;
+
+    private List<FacetValue> rating;
+
+    private List<FacetValue> stock;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class FacetValue {
+        // Filter value to send back, e.g. a category id, "50-100", "4" or "in_stock"
+        private String value;
+
+        private String label;
+
+        private long count;
+    }
+}
@@ -0,0 +1,73 @@
+package com.shophub.dto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Product attributes selectable through the {@code fields=} parameter, by their JSON
+ * name. The repository selects only the columns behind the requested fields (see
+ * ProductRepositoryCustom#findCatalogFields), so a projection only reads, decodes and
+ * serialises what the client asked for.
+ */
+public enum ProductField {
+
+    PRODUCT_ID("product_id"),
+    NAME("name"),
+    DESCRIPTION("description"),
+    PRICE("price"),
+    STOCK_QUANTITY("stock_quantity"),
+    LOW_STOCK_THRESHOLD("low_stock_threshold"),
+    CATEGORY_ID("category_id"),
+    CATEGORY_NAME("category_name"),
+    SKU("sku"),
+    IMAGES("images"),
+    // First image only, for thumbnails in list views
+    IMAGE("image"),
+    SPECIFICATIONS("specifications"),
+    AVERAGE_RATING("average_rating"),
+    REVIEW_COUNT("review_count"),
+    CREATED_AT("created_at"),
+    UPDATED_AT("updated_at");
+
+    // fields=summary: what product cards and list rows render
+    public static final List<ProductField> SUMMARY =
+            List.of(PRODUCT_ID, NAME, PRICE, IMAGE, AVERAGE_RATING, REVIEW_COUNT);
+
+    private final String jsonName;
+
+    ProductField(String jsonName) {
+        this.jsonName = jsonName;
+    }
+
+    public String getJsonName() {
+        return jsonName;
+    }
+
+    /**
+     * Parses a comma-separated field list ("summary" expands to {@link #SUMMARY}).
+     * product_id is always included first so clients can key the results.
+     */
+    public static List<ProductField> parse(String fields) {
+        List<ProductField> parsed = new ArrayList<>();
+        parsed.add(PRODUCT_ID);
+        if (fields == null) {
+            return parsed;
+        }
+        for (String name : fields.split(",")) {
+            String trimmed = name.trim().toLowerCase(Locale.ROOT);
+            if (trimmed.isEmpty()) {
+                continue;
+            }
+            List<ProductField> matches = "summary".equals(trimmed)
+                    ? SUMMARY
+                    : List.of(Arrays.stream(values())
+                            .filter(field -> field.jsonName.equals(trimmed))
+                            .findFirst()
+                            .orElseThrow(() -> new IllegalArgumentException("Unknown product field: " + name.trim())));
+            matches.stream().filter(field -> !parsed.contains(field)).forEach(parsed::add);
+        }
+        return parsed;
+    }
+}
@@ -0,0 +1,78 @@
+package com.shophub.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Filters, sort order and keyset position for a paginated product listing.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductListRequest {
+
+    public static final int DEFAULT_LIMIT = 24;
+    public static final int MAX_LIMIT = 100;
+
+    private Integer categoryId;
+
+    private BigDecimal minPrice;
+
+    private BigDecimal maxPrice;
+
+    private boolean inStockOnly;
+
+    private Double minRating;
+
+    @Builder.Default
+    private Sort sort = Sort.NEWEST;
+
+    // Opaque cursor returned as next_cursor by the previous page
+    private String cursor;
+
+    @Builder.Default
+    private int limit = DEFAULT_LIMIT;
+
+    // Also compute category/price/rating/stock facet counts for these filters
+    private boolean includeFacets;
+
+    /**
+     * Supported orderings. Each is a keyset over (sort column, product_id) so
+     * every page is an index range scan regardless of depth.
+     */
+    public enum Sort {
+        NEWEST("createdAt", false),
+        OLDEST("createdAt", true),
+        PRICE_ASC("price", true),
+        PRICE_DESC("price", false);
+
+        private final String property;
+        private final boolean ascending;
+
+        Sort(String property, boolean ascending) {
+            this.property = property;
+            this.ascending = ascending;
+        }
+
+        public String getProperty() {
+            return property;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        public static Sort fromParam(String value) {
+            if (value == null || value.isBlank()) {
+                return NEWEST;
+            }
+            try {
+                return Sort.valueOf(value.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported sort: " + value);
+            }
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.shophub.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.shophub.model.Product;
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductPageDTO {
+
+    private List<Product> items;
+
+    @JsonProperty("next_cursor")
+    private String nextCursor;
+
+    @JsonProperty("has_more")
+    private boolean hasMore;
+
+    // Only present when the request asked for facets
+    private ProductFacetsDTO facets;
+}
@@ -0,0 +1,23 @@
+package com.shophub.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.shophub.model.Product;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSearchHitDTO {
+
+    private Product product;
+
+    private double rank;
+
+    // HTML-escaped source text with matched terms wrapped in <mark></mark>
+    @JsonProperty("name_highlight")
+    private String nameHighlight;
+
+    @JsonProperty("description_highlight")
+    private String descriptionHighlight;
+}
@@ -0,0 +1,22 @@
+package com.shophub.dto;
+
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductSuggestionDTO {
+
+    public static final String TYPE_PRODUCT = "product";
+    public static final String TYPE_CATEGORY = "category";
+
+    // "product" or "category"
+    private String type;
+
+    private Integer id;
+
+    private String label;
+
+    private String sku;
+}
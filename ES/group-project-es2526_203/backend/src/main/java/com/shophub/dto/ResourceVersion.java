@@ -0,0 +1,59 @@
+package com.shophub.dto;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.stream.Stream;
+
+/**
+ * Cheap validator for a resource or collection: how many rows back it and when the
+ * newest of them last changed. Read with a single count/max probe so conditional
+ * requests can be answered before the rows themselves are loaded. The row count
+ * is part of the ETag so deletions change it too.
+ */
+public record ResourceVersion(long count, LocalDateTime lastModified) {
+
+    /**
+     * Probe constructor for JPQL {@code SELECT new}: the latest of the given
+     * timestamps wins, nulls ignored.
+     */
+    public ResourceVersion(Long count, LocalDateTime first, LocalDateTime second) {
+        this(count, latest(first, second));
+    }
+
+    /**
+     * Probe constructor for time-windowed collections: besides the last update, the
+     * latest start/end boundary that has already passed, since crossing one changes
+     * which rows are visible without touching {@code updated_at}.
+     */
+    public ResourceVersion(Long count, LocalDateTime lastUpdated, LocalDateTime lastStarted, LocalDateTime lastEnded) {
+        this(count, latest(lastUpdated, lastStarted, lastEnded));
+    }
+
+    public boolean exists() {
+        return count > 0;
+    }
+
+    /** Weak ETag from the row count and the change time at full (microsecond) column precision. */
+    public String etag() {
+        long micros = lastModified == null ? 0 : ChronoUnit.MICROS.between(Instant.EPOCH, toInstant());
+        return "W/\"" + count + "-" + micros + "\"";
+    }
+
+    /** Last-Modified value; -1 when there is nothing to report. */
+    public long lastModifiedMillis() {
+        return lastModified == null ? -1 : toInstant().toEpochMilli();
+    }
+
+    private Instant toInstant() {
+        return lastModified.atZone(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static LocalDateTime latest(LocalDateTime... timestamps) {
+        return Stream.of(timestamps)
+                .filter(timestamp -> timestamp != null)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,24 @@
+package com.shophub.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockDiscrepancyDTO {
+
+    @JsonProperty("product_id")
+    private Integer productId;
+
+    private String name;
+
+    // products.stock_quantity
+    @JsonProperty("stock_quantity")
+    private Integer stockQuantity;
+
+    // Latest snapshot plus the movements since
+    @JsonProperty("ledger_quantity")
+    private Integer ledgerQuantity;
+}
@@ -0,0 +1,26 @@
+package com.shophub.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockLevelDTO {
+
+    @JsonProperty("product_id")
+    private Integer productId;
+
+    // Point in time the level was computed for
+    private LocalDateTime at;
+
+    @JsonProperty("stock_quantity")
+    private Integer stockQuantity;
+
+    // Snapshot the ledger was replayed from, null when replayed from the first movement
+    @JsonProperty("snapshot_at")
+    private LocalDateTime snapshotAt;
+}
@@ -1,8 +1,10 @@
 package com.shophub.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -52,6 +54,13 @@ public class Cart {
     @JsonProperty("updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic concurrency: a quantity change saved against a stale version fails
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Long version;
+    
     @Transient
     @JsonProperty("product_name")
     private String productName;
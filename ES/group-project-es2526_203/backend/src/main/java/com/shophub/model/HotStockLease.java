@@ -0,0 +1,55 @@
+package com.shophub.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock one node has escrowed for a hot product. {@code granted - flushed} units are
+ * counted in {@code products.escrowed_stock}; sales are stamped on order_items with the
+ * lease id, so a lease whose node stopped heartbeating can be settled exactly.
+ */
+@Entity
+@Table(name = "hot_stock_leases")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HotStockLease {
+
+    @Id
+    @Column(name = "lease_id", length = 36)
+    @JsonProperty("lease_id")
+    private String leaseId;
+
+    @Column(name = "product_id", nullable = false)
+    @JsonProperty("product_id")
+    private Integer productId;
+
+    @Column(name = "node_id", nullable = false)
+    @JsonProperty("node_id")
+    private String nodeId;
+
+    // Units escrowed to the lease, net of units handed back
+    @Column(nullable = false)
+    private Integer granted;
+
+    // Units sold from the lease and already subtracted from products.stock_quantity
+    @Column(nullable = false)
+    private Integer flushed;
+
+    @Column(name = "heartbeat_at", nullable = false)
+    @JsonProperty("heartbeat_at")
+    private LocalDateTime heartbeatAt;
+
+    @Column(name = "created_at", updatable = false)
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,62 @@
+package com.shophub.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a product's {@code stock_quantity}. Insert-only: rows are written in
+ * batches by InventoryLedgerService and never updated or deleted, so the history
+ * survives the product and order rows it points at.
+ */
+@Entity
+@Table(name = "inventory_movements")
+@Immutable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventoryMovement {
+
+    public static final String REASON_OPENING_BALANCE = "opening_balance";
+    public static final String REASON_PRODUCT_CREATED = "product_created";
+    public static final String REASON_PRODUCT_UPDATED = "product_updated";
+    public static final String REASON_STOCK_ADJUSTED = "stock_adjusted";
+    public static final String REASON_STOCK_SET = "stock_set";
+    public static final String REASON_BULK_ADJUSTMENT = "bulk_adjustment";
+    public static final String REASON_ORDER = "order";
+    public static final String REASON_HOT_INVENTORY_FLUSH = "hot_inventory_flush";
+    public static final String REASON_HOT_INVENTORY_RECLAIM = "hot_inventory_reclaim";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "movement_id")
+    @JsonProperty("movement_id")
+    private Long movementId;
+
+    @Column(name = "product_id", nullable = false)
+    @JsonProperty("product_id")
+    private Integer productId;
+
+    // Signed change to stock_quantity
+    @Column(nullable = false)
+    private Integer delta;
+
+    @Column(nullable = false, length = 50)
+    private String reason;
+
+    @Column(name = "order_id")
+    @JsonProperty("order_id")
+    private Integer orderId;
+
+    // User id of the admin or buyer, or the node id for background jobs
+    @Column(length = 255)
+    private String actor;
+
+    @Column(name = "created_at", nullable = false)
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,40 @@
+package com.shophub.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A product's stock as of {@code snapshotAt}, folded from the movement ledger. Stock at
+ * any later time is the latest snapshot plus the movements after it.
+ */
+@Entity
+@Table(name = "inventory_snapshots", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"product_id", "snapshot_at"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class InventorySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "snapshot_id")
+    @JsonProperty("snapshot_id")
+    private Long snapshotId;
+
+    @Column(name = "product_id", nullable = false)
+    @JsonProperty("product_id")
+    private Integer productId;
+
+    @Column(name = "stock_quantity", nullable = false)
+    @JsonProperty("stock_quantity")
+    private Integer stockQuantity;
+
+    @Column(name = "snapshot_at", nullable = false)
+    @JsonProperty("snapshot_at")
+    private LocalDateTime snapshotAt;
+}
@@ -1,9 +1,11 @@
 package com.shophub.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -78,6 +80,13 @@ public class Order {
     @JsonProperty("updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic concurrency: a status transition saved against a stale version fails
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Long version;
+    
     @Transient
     private List<OrderItem> items;
     
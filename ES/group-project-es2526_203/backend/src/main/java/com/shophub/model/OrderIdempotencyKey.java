@@ -0,0 +1,62 @@
+package com.shophub.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * An Idempotency-Key a customer sent with an order placement, and the response it got.
+ * The row commits in the same transaction as the order, so a key is only ever recorded
+ * for an order that exists.
+ */
+@Entity
+@Table(name = "order_idempotency_keys", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "idempotency_key"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderIdempotencyKey {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "key_id")
+    @JsonProperty("key_id")
+    private Long keyId;
+
+    @Column(name = "user_id", nullable = false)
+    @JsonProperty("user_id")
+    private String userId;
+
+    @Column(name = "idempotency_key", nullable = false)
+    @JsonProperty("idempotency_key")
+    private String idempotencyKey;
+
+    // SHA-256 of the request body, so a key reused for a different order is rejected
+    @Column(name = "request_hash", nullable = false, length = 64)
+    @JsonProperty("request_hash")
+    private String requestHash;
+
+    // Null only while the order is being created in the same transaction
+    @Column(name = "order_id")
+    @JsonProperty("order_id")
+    private Integer orderId;
+
+    // The order as first returned to the client, served again on replay
+    @Column(name = "response_body", columnDefinition = "TEXT")
+    @JsonIgnore
+    private String responseBody;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -1,5 +1,6 @@
 package com.shophub.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
@@ -14,8 +15,10 @@ import java.math.BigDecimal;
 @Builder
 public class OrderItem {
     
+    // Pooled sequence (see schema.sql) so a checkout's item inserts go out as one JDBC batch
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_id_seq")
+    @SequenceGenerator(name = "order_item_id_seq", sequenceName = "order_items_order_item_id_seq", allocationSize = 50)
     @Column(name = "order_item_id")
     @JsonProperty("order_item_id")
     private Integer orderItemId;
@@ -38,10 +41,32 @@ public class OrderItem {
     @Column(nullable = false, precision = 10, scale = 2)
     private BigDecimal subtotal;
     
-    @Transient
+    // Hot-inventory lease the units were sold from, null for the regular stock path
+    @Column(name = "stock_lease_id", length = 36)
+    @JsonIgnore
+    private String stockLeaseId;
+    
+    // Snapshot of the product as it was sold, so order history survives renames and deletions
+    @Column(name = "product_name")
     @JsonProperty("product_name")
     private String productName;
     
+    @Column(name = "product_sku", length = 100)
+    @JsonProperty("product_sku")
+    private String productSku;
+    
+    @Column(name = "product_image", columnDefinition = "TEXT")
+    @JsonProperty("product_image")
+    private String productImage;
+    
+    // The snapshot's primary image, in the list shape order history has always returned
     @Transient
     private Object images;
+    
+    public void snapshotProduct(Product product) {
+        productName = product.getName();
+        productSku = product.getSku();
+        productImage = product.getImages() != null && !product.getImages().isEmpty()
+                ? product.getImages().get(0) : null;
+    }
 }
@@ -0,0 +1,50 @@
+package com.shophub.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Incrementally maintained order count and amount for one order status. Kept in step
+ * with the orders table by OrderService and periodically reconciled by OrderStatsService.
+ */
+@Entity
+@Table(name = "order_status_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OrderStatusStats {
+
+    @Id
+    @Column(name = "order_status", length = 50)
+    @JsonProperty("order_status")
+    private String orderStatus;
+
+    @Column(name = "order_count", nullable = false)
+    @JsonProperty("order_count")
+    @Builder.Default
+    private Long orderCount = 0L;
+
+    @Column(name = "total_amount", nullable = false, precision = 14, scale = 2)
+    @JsonProperty("total_amount")
+    @Builder.Default
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "updated_at")
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    public static OrderStatusStats empty(String orderStatus) {
+        return OrderStatusStats.builder().orderStatus(orderStatus).build();
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
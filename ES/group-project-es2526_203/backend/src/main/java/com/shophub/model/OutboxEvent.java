@@ -0,0 +1,76 @@
+package com.shophub.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A side effect of an order write, inserted in the same transaction and run afterwards
+ * by OutboxDispatcher. Delivered events are deleted; events that keep failing stay
+ * behind with {@code status = 'failed'} and their last error.
+ */
+@Entity
+@Table(name = "outbox_events")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    public static final String TYPE_ORDER_PLACED = "order_placed";
+    public static final String TYPE_ORDER_STATUS_CHANGED = "order_status_changed";
+    public static final String TYPE_ORDER_PAYMENT_CONFIRMED = "order_payment_confirmed";
+    public static final String TYPE_ORDER_DELIVERED = "order_delivered";
+
+    public static final String STATUS_PENDING = "pending";
+    public static final String STATUS_FAILED = "failed";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    @JsonProperty("event_id")
+    private Long eventId;
+
+    @Column(name = "event_type", nullable = false, length = 50)
+    @JsonProperty("event_type")
+    private String eventType;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(nullable = false, length = 20)
+    private String status;
+
+    // Claims so far; a claim whose dispatcher died counts as an attempt
+    @Column(nullable = false)
+    private Integer attempts;
+
+    // Not claimable before this: the next retry, or the end of the current claim
+    @Column(name = "available_at", nullable = false)
+    @JsonProperty("available_at")
+    private LocalDateTime availableAt;
+
+    @Column(name = "last_error", columnDefinition = "TEXT")
+    @JsonProperty("last_error")
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (availableAt == null) {
+            availableAt = createdAt;
+        }
+        if (status == null) {
+            status = STATUS_PENDING;
+        }
+        if (attempts == null) {
+            attempts = 0;
+        }
+    }
+}
@@ -1,10 +1,12 @@
 package com.shophub.model;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.type.SqlTypes;
 
@@ -18,7 +20,7 @@ import java.util.Map;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Builder
+@Builder(toBuilder = true)
 @JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class Product {
 
@@ -53,6 +55,29 @@ public class Product {
     @JsonProperty("stock_quantity")
     private Integer stockQuantity;
     
+    // Units leased to nodes' hot-inventory escrow (see HotInventoryService). Only ever
+    // changed by bulk updates, so entity saves never overwrite a concurrent lease
+    @Column(name = "escrowed_stock", nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Integer escrowedStock;
+    
+    // Low-stock alert state machine (see StockAlertService): the state the stock is in and the
+    // state administrators were last told about. Bulk-updated only, like escrowedStock
+    @Column(name = "alert_state", length = 10, nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("'ok'")
+    @JsonIgnore
+    private String alertState;
+    
+    @Column(name = "alert_notified_state", length = 10, nullable = false, insertable = false, updatable = false)
+    @ColumnDefault("'ok'")
+    @JsonIgnore
+    private String alertNotifiedState;
+    
+    @Column(name = "alert_changed_at", insertable = false, updatable = false)
+    @JsonIgnore
+    private LocalDateTime alertChangedAt;
+    
     @Column(name = "low_stock_threshold")
     @JsonProperty("low_stock_threshold")
     private Integer lowStockThreshold;
@@ -80,6 +105,13 @@ public class Product {
     @JsonProperty("updated_at")
     private LocalDateTime updatedAt;
     
+    // Optimistic concurrency: a save against a stale version fails; bulk stock updates bump it too
+    @Version
+    @Column(name = "version", nullable = false)
+    @ColumnDefault("0")
+    @JsonIgnore
+    private Long version;
+    
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,110 @@
+package com.shophub.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Incrementally maintained review aggregates for a product (rating sum, count and
+ * per-star histogram). Kept in step with the reviews table by ReviewService and
+ * periodically reconciled by ProductReviewStatsService.
+ */
+@Entity
+@Table(name = "product_review_stats")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ProductReviewStats {
+
+    @Id
+    @Column(name = "product_id")
+    @JsonProperty("product_id")
+    private Integer productId;
+
+    @Column(name = "rating_sum", nullable = false)
+    @JsonIgnore
+    @Builder.Default
+    private Long ratingSum = 0L;
+
+    @Column(name = "review_count", nullable = false)
+    @JsonProperty("review_count")
+    @Builder.Default
+    private Long reviewCount = 0L;
+
+    @Column(name = "rating_1_count", nullable = false)
+    @JsonIgnore
+    @Builder.Default
+    private Long rating1Count = 0L;
+
+    @Column(name = "rating_2_count", nullable = false)
+    @JsonIgnore
+    @Builder.Default
+    private Long rating2Count = 0L;
+
+    @Column(name = "rating_3_count", nullable = false)
+    @JsonIgnore
+    @Builder.Default
+    private Long rating3Count = 0L;
+
+    @Column(name = "rating_4_count", nullable = false)
+    @JsonIgnore
+    @Builder.Default
+    private Long rating4Count = 0L;
+
+    @Column(name = "rating_5_count", nullable = false)
+    @JsonIgnore
+    @Builder.Default
+    private Long rating5Count = 0L;
+
+    @Column(name = "updated_at")
+    @JsonProperty("updated_at")
+    private LocalDateTime updatedAt;
+
+    public static ProductReviewStats empty(Integer productId) {
+        return ProductReviewStats.builder().productId(productId).build();
+    }
+
+    /**
+     * Adds (positive delta) or removes (negative delta) ratings of the given star value.
+     */
+    public void apply(int rating, long delta) {
+        ratingSum += rating * delta;
+        reviewCount += delta;
+        switch (rating) {
+            case 1 -> rating1Count += delta;
+            case 2 -> rating2Count += delta;
+            case 3 -> rating3Count += delta;
+            case 4 -> rating4Count += delta;
+            case 5 -> rating5Count += delta;
+            default -> throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+    }
+
+    @JsonProperty("average_rating")
+    public Double getAverageRating() {
+        return reviewCount > 0 ? (double) ratingSum / reviewCount : 0.0;
+    }
+
+    @JsonProperty("rating_distribution")
+    public Map<Integer, Long> getRatingDistribution() {
+        Map<Integer, Long> distribution = new LinkedHashMap<>();
+        distribution.put(1, rating1Count);
+        distribution.put(2, rating2Count);
+        distribution.put(3, rating3Count);
+        distribution.put(4, rating4Count);
+        distribution.put(5, rating5Count);
+        return distribution;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void onWrite() {
+        updatedAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,53 @@
+package com.shophub.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Stock held for a user's checkout. Counts against the product's available stock for
+ * everyone else until it is converted into a real decrement by OrderService, released
+ * with the cart, or swept after {@code expiresAt}.
+ */
+@Entity
+@Table(name = "stock_reservations", uniqueConstraints = {
+    @UniqueConstraint(columnNames = {"user_id", "product_id"})
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class StockReservation {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "reservation_id")
+    @JsonProperty("reservation_id")
+    private Integer reservationId;
+
+    @Column(name = "user_id", nullable = false, length = 255)
+    @JsonProperty("user_id")
+    private String userId;
+
+    @Column(name = "product_id", nullable = false)
+    @JsonProperty("product_id")
+    private Integer productId;
+
+    @Column(nullable = false)
+    private Integer quantity;
+
+    @Column(name = "expires_at", nullable = false)
+    @JsonProperty("expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "created_at", updatable = false)
+    @JsonProperty("created_at")
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
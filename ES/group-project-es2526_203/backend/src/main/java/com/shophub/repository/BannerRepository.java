@@ -1,7 +1,10 @@
 package com.shophub.repository;
 
+import com.shophub.dto.ResourceVersion;
 import com.shophub.model.Banner;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -10,4 +13,17 @@ import java.util.List;
 @Repository
 public interface BannerRepository extends JpaRepository<Banner, Long> {
     List<Banner> findByIsPublishedTrueAndStartAtBeforeAndEndAtAfter(LocalDateTime before, LocalDateTime after);
+    
+    // Conditional GET probes
+    @Query("SELECT new com.shophub.dto.ResourceVersion(COUNT(b), MAX(b.updatedAt)) FROM Banner b")
+    ResourceVersion findVersion();
+    
+    @Query("SELECT new com.shophub.dto.ResourceVersion(COUNT(b), MAX(b.updatedAt)) FROM Banner b WHERE b.id = :id")
+    ResourceVersion findVersionById(@Param("id") Long id);
+    
+    // Scheduling windows open and close without a write, so the latest boundary already passed counts as a change
+    @Query("SELECT new com.shophub.dto.ResourceVersion(COUNT(b), MAX(b.updatedAt), " +
+           "(SELECT MAX(s.startAt) FROM Banner s WHERE s.startAt <= :now), " +
+           "(SELECT MAX(e.endAt) FROM Banner e WHERE e.endAt < :now)) FROM Banner b")
+    ResourceVersion findScheduleVersion(@Param("now") LocalDateTime now);
 }
@@ -1,7 +1,10 @@
 package com.shophub.repository;
 
+import com.shophub.dto.ResourceVersion;
 import com.shophub.model.BlogPost;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -16,4 +19,11 @@ public interface BlogPostRepository extends JpaRepository<BlogPost, Integer> {
     
     // Get posts by author
     List<BlogPost> findByAuthorIdOrderByCreatedAtDesc(String authorId);
+    
+    // Conditional GET probes
+    @Query("SELECT new com.shophub.dto.ResourceVersion(COUNT(b), MAX(b.updatedAt)) FROM BlogPost b")
+    ResourceVersion findVersion();
+    
+    @Query("SELECT new com.shophub.dto.ResourceVersion(COUNT(b), MAX(b.updatedAt)) FROM BlogPost b WHERE b.id = :id")
+    ResourceVersion findVersionById(@Param("id") Integer id);
 }
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.shophub.repository;
 
 import com.shophub.model.Cart;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,4 +23,8 @@ public interface CartRepository extends JpaRepository<Cart, Integer> {
     @Modifying
     @Query("DELETE FROM Cart c WHERE c.userId = :userId")
     void deleteByUserId(@Param("userId") String userId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM Cart c WHERE c.userId = :userId AND COALESCE(c.updatedAt, c.createdAt) <= :asOf")
+    List<Cart> lockByUserIdChangedUpTo(@Param("userId") String userId, @Param("asOf") LocalDateTime asOf);
 }
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.shophub.repository;
 
+import com.shophub.dto.ResourceVersion;
 import com.shophub.model.Category;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +12,8 @@ import java.util.List;
 public interface CategoryRepository extends JpaRepository<Category, Integer> {
     
     List<Category> findAllByOrderByNameAsc();
+    
+    // Categories are insert-only, so created_at doubles as the last change
+    @Query("SELECT new com.shophub.dto.ResourceVersion(COUNT(c), MAX(c.createdAt)) FROM Category c")
+    ResourceVersion findVersion();
 }
\ No newline at end of file
@@ -0,0 +1,40 @@
+package com.shophub.repository;
+
+import com.shophub.model.HotStockLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface HotStockLeaseRepository extends JpaRepository<HotStockLease, String> {
+
+    List<HotStockLease> findByHeartbeatAtBefore(LocalDateTime cutoff);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE HotStockLease l SET l.granted = l.granted + :quantity, l.heartbeatAt = :now " +
+           "WHERE l.leaseId = :leaseId")
+    int grant(@Param("leaseId") String leaseId,
+              @Param("quantity") int quantity,
+              @Param("now") LocalDateTime now);
+
+    // Records flushed sales and returned units, and renews the heartbeat; 0 once the lease was reclaimed
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE HotStockLease l SET l.flushed = l.flushed + :sold, l.granted = l.granted - :returned, " +
+           "l.heartbeatAt = :now WHERE l.leaseId = :leaseId")
+    int settle(@Param("leaseId") String leaseId,
+               @Param("sold") int sold,
+               @Param("returned") int returned,
+               @Param("now") LocalDateTime now);
+
+    // Lets exactly one node take over a lease that stopped heartbeating
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE HotStockLease l SET l.heartbeatAt = :now WHERE l.leaseId = :leaseId AND l.heartbeatAt < :cutoff")
+    int claimExpired(@Param("leaseId") String leaseId,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("now") LocalDateTime now);
+}
@@ -0,0 +1,42 @@
+package com.shophub.repository;
+
+import com.shophub.model.InventoryMovement;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface InventoryMovementRepository extends JpaRepository<InventoryMovement, Long> {
+
+    // Newest first within (from, to]
+    @Query("SELECT m FROM InventoryMovement m WHERE m.productId = :productId " +
+           "AND m.createdAt > :from AND m.createdAt <= :to " +
+           "ORDER BY m.createdAt DESC, m.movementId DESC")
+    List<InventoryMovement> findWindow(@Param("productId") Integer productId,
+                                       @Param("from") LocalDateTime from,
+                                       @Param("to") LocalDateTime to,
+                                       Pageable pageable);
+
+    @Query("SELECT COALESCE(SUM(m.delta), 0) FROM InventoryMovement m WHERE m.productId = :productId " +
+           "AND m.createdAt > :from AND m.createdAt <= :to")
+    long sumDelta(@Param("productId") Integer productId,
+                  @Param("from") LocalDateTime from,
+                  @Param("to") LocalDateTime to);
+
+    // [productId, SUM(delta)] for every product that moved within (from, to]
+    @Query("SELECT m.productId, SUM(m.delta) FROM InventoryMovement m " +
+           "WHERE m.createdAt > :from AND m.createdAt <= :to GROUP BY m.productId")
+    List<Object[]> sumDeltaByProduct(@Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to);
+
+    // [productId, SUM(delta)] of each product's movements after its latest snapshot
+    @Query("SELECT m.productId, SUM(m.delta) FROM InventoryMovement m " +
+           "WHERE m.createdAt > COALESCE((SELECT MAX(s.snapshotAt) FROM InventorySnapshot s " +
+           "WHERE s.productId = m.productId), :epoch) GROUP BY m.productId")
+    List<Object[]> sumDeltaSinceLatestSnapshot(@Param("epoch") LocalDateTime epoch);
+}
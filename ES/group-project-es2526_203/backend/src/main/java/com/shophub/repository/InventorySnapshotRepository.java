@@ -0,0 +1,33 @@
+package com.shophub.repository;
+
+import com.shophub.model.InventorySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface InventorySnapshotRepository extends JpaRepository<InventorySnapshot, Long> {
+
+    Optional<InventorySnapshot> findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(
+            Integer productId, LocalDateTime at);
+
+    @Query("SELECT MAX(s.snapshotAt) FROM InventorySnapshot s")
+    Optional<LocalDateTime> findLatestSnapshotAt();
+
+    // Each product's latest snapshot taken at or before :asOf
+    @Query("SELECT s FROM InventorySnapshot s WHERE s.productId IN :productIds " +
+           "AND s.snapshotAt = (SELECT MAX(s2.snapshotAt) FROM InventorySnapshot s2 " +
+           "WHERE s2.productId = s.productId AND s2.snapshotAt <= :asOf)")
+    List<InventorySnapshot> findLatestAsOf(@Param("productIds") Collection<Integer> productIds,
+                                           @Param("asOf") LocalDateTime asOf);
+
+    @Query("SELECT s FROM InventorySnapshot s WHERE s.snapshotAt = " +
+           "(SELECT MAX(s2.snapshotAt) FROM InventorySnapshot s2 WHERE s2.productId = s.productId)")
+    List<InventorySnapshot> findAllLatest();
+}
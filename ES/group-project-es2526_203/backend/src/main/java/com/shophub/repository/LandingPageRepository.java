@@ -1,10 +1,27 @@
 package com.shophub.repository;
 
+import com.shophub.dto.ResourceVersion;
 import com.shophub.model.LandingPage;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface LandingPageRepository extends JpaRepository<LandingPage, Long> {
     List<LandingPage> findByIsPublishedTrue();
+
+    // Conditional GET probes
+    @Query("SELECT new com.shophub.dto.ResourceVersion(COUNT(l), MAX(l.updatedAt)) FROM LandingPage l")
+    ResourceVersion findVersion();
+
+    @Query("SELECT new com.shophub.dto.ResourceVersion(COUNT(l), MAX(l.updatedAt)) FROM LandingPage l WHERE l.id = :id")
+    ResourceVersion findVersionById(@Param("id") Long id);
+
+    // Scheduling windows open and close without a write, so the latest boundary already passed counts as a change
+    @Query("SELECT new com.shophub.dto.ResourceVersion(COUNT(l), MAX(l.updatedAt), " +
+           "(SELECT MAX(s.startDate) FROM LandingPage s WHERE s.startDate <= :now), " +
+           "(SELECT MAX(e.endDate) FROM LandingPage e WHERE e.endDate < :now)) FROM LandingPage l")
+    ResourceVersion findScheduleVersion(@Param("now") LocalDateTime now);
 }
\ No newline at end of file
@@ -1,13 +1,30 @@
 package com.shophub.repository;
 
 import com.shophub.model.OrderItem;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface OrderItemRepository extends JpaRepository<OrderItem, Integer> {
     
     List<OrderItem> findByOrderId(Integer orderId);
+    
+    // Items of a whole page of orders in one query, in insertion order
+    List<OrderItem> findByOrderIdInOrderByOrderItemIdAsc(Collection<Integer> orderIds);
+    
+    // Items sold before order items kept a product snapshot, oldest first. Items whose
+    // product has since been deleted cannot be filled and are left out
+    @Query("SELECT oi FROM OrderItem oi WHERE oi.productName IS NULL AND " +
+           "EXISTS (SELECT 1 FROM Product p WHERE p.productId = oi.productId) ORDER BY oi.orderItemId")
+    List<OrderItem> findMissingProductSnapshot(Pageable pageable);
+    
+    // Committed units sold from one hot-inventory lease
+    @Query("SELECT COALESCE(SUM(oi.quantity), 0) FROM OrderItem oi WHERE oi.stockLeaseId = :leaseId")
+    long sumQuantityByStockLeaseId(@Param("leaseId") String leaseId);
 }
\ No newline at end of file
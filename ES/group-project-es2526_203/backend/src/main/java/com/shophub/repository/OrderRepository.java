@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface OrderRepository extends JpaRepository<Order, Integer> {
+public interface OrderRepository extends JpaRepository<Order, Integer>, OrderRepositoryCustom {
     
     List<Order> findByUserIdOrderByCreatedAtDesc(String userId);
     
@@ -25,12 +25,7 @@ public interface OrderRepository extends JpaRepository<Order, Integer> {
     List<Order> findAllWithFilters(@Param("status") String status, 
                                    @Param("search") String search);
     
-    @Query("SELECT COUNT(o) as totalOrders, " +
-           "SUM(CASE WHEN o.orderStatus = 'pending' THEN 1 ELSE 0 END) as pendingOrders, " +
-           "SUM(CASE WHEN o.orderStatus = 'processing' THEN 1 ELSE 0 END) as processingOrders, " +
-           "SUM(CASE WHEN o.orderStatus = 'shipped' THEN 1 ELSE 0 END) as shippedOrders, " +
-           "SUM(CASE WHEN o.orderStatus = 'delivered' THEN 1 ELSE 0 END) as deliveredOrders, " +
-           "COALESCE(SUM(o.totalAmount), 0) as totalRevenue " +
-           "FROM Order o")
-    Object getOrderStatistics();
+    // Per-status order count and amount; the source of truth OrderStatsService reconciles against
+    @Query("SELECT o.orderStatus, COUNT(o), COALESCE(SUM(o.totalAmount), 0) FROM Order o GROUP BY o.orderStatus")
+    List<Object[]> countAndSumByStatus();
 }
\ No newline at end of file
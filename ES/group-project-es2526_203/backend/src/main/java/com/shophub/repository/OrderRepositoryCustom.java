@@ -0,0 +1,20 @@
+package com.shophub.repository;
+
+import com.shophub.model.Order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+    
+    /**
+     * Returns up to {@code limit} orders, newest first by (created_at, order_id), optionally
+     * restricted to a status and to orders whose customer id or tracking number contains
+     * {@code search} or whose id is {@code searchOrderId}, and positioned strictly after the
+     * keyset ({@code afterCreatedAt}, {@code afterId}) when one is given. A full tracking
+     * number needs no equality branch of its own: the substring match finds it through the
+     * trigram index on tracking_number, which is selective for a string that long.
+     */
+    List<Order> findOrderPage(String status, String search, Integer searchOrderId, LocalDateTime afterCreatedAt,
+                              Integer afterId, int limit);
+}
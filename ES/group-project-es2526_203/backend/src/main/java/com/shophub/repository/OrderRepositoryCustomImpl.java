@@ -0,0 +1,55 @@
+package com.shophub.repository;
+
+import com.shophub.model.Order;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Order> findOrderPage(String status, String search, Integer searchOrderId, LocalDateTime afterCreatedAt,
+                                     Integer afterId, int limit) {
+        StringBuilder jpql = new StringBuilder("SELECT o FROM Order o WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        
+        if (status != null) {
+            jpql.append(" AND o.orderStatus = :status");
+            params.put("status", status);
+        }
+        if (search != null) {
+            // Plain LIKE on the raw columns so the trigram indexes apply; the id match uses the primary key
+            jpql.append(" AND (o.userId LIKE :pattern ESCAPE '\\' OR o.trackingNumber LIKE :pattern ESCAPE '\\'");
+            params.put("pattern", "%" + escapeLike(search) + "%");
+            if (searchOrderId != null) {
+                jpql.append(" OR o.orderId = :searchOrderId");
+                params.put("searchOrderId", searchOrderId);
+            }
+            jpql.append(')');
+        }
+        if (afterCreatedAt != null && afterId != null) {
+            jpql.append(" AND (o.createdAt < :afterCreatedAt")
+                .append(" OR (o.createdAt = :afterCreatedAt AND o.orderId < :afterId))");
+            params.put("afterCreatedAt", afterCreatedAt);
+            params.put("afterId", afterId);
+        }
+        
+        jpql.append(" ORDER BY o.createdAt DESC, o.orderId DESC");
+        
+        TypedQuery<Order> query = entityManager.createQuery(jpql.toString(), Order.class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+    
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
@@ -0,0 +1,46 @@
+package com.shophub.repository;
+
+import com.shophub.model.OrderStatusStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OrderStatusStatsRepository extends JpaRepository<OrderStatusStats, String> {
+    
+    // Atomic in-place delta so concurrent order writes never lose an update; returns 0 when no row exists yet
+    @Modifying
+    @Query("UPDATE OrderStatusStats s SET " +
+           "s.orderCount = s.orderCount + :countDelta, " +
+           "s.totalAmount = s.totalAmount + :amountDelta, " +
+           "s.updatedAt = :now " +
+           "WHERE s.orderStatus = :status")
+    int applyDelta(@Param("status") String status,
+                   @Param("countDelta") Long countDelta,
+                   @Param("amountDelta") BigDecimal amountDelta,
+                   @Param("now") LocalDateTime now);
+
+    // Creates the zero row for a status; a concurrent insert of the same status waits for the other to finish.
+    // Declaring the table keeps this native statement from flushing the caller's unrelated pending writes.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "order_status_stats"))
+    @Query(value = "INSERT INTO order_status_stats (order_status, order_count, total_amount, updated_at) " +
+                   "VALUES (:status, 0, 0, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfMissing(@Param("status") String status, @Param("now") LocalDateTime now);
+
+    // Locked in the order statusChanged touches rows in, so the rebuild cannot deadlock with it
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM OrderStatusStats s ORDER BY s.orderStatus")
+    List<OrderStatusStats> lockAll();
+}
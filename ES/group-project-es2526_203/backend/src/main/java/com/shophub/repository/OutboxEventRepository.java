@@ -0,0 +1,34 @@
+package com.shophub.repository;
+
+import com.shophub.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // Rows another dispatcher has locked are skipped, so concurrent dispatchers claim disjoint batches
+    @Query(value = "SELECT * FROM outbox_events WHERE status = 'pending' AND available_at <= :now " +
+           "ORDER BY available_at, event_id LIMIT :limit FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> lockDue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+    // Matching the claim's attempt count keeps a dispatcher whose claim expired from finishing the event
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.eventId = :eventId AND e.attempts = :attempts")
+    int deleteClaimed(@Param("eventId") Long eventId, @Param("attempts") int attempts);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.status = :status, e.availableAt = :availableAt, e.lastError = :lastError " +
+           "WHERE e.eventId = :eventId AND e.attempts = :attempts")
+    int rescheduleClaimed(@Param("eventId") Long eventId,
+                          @Param("attempts") int attempts,
+                          @Param("status") String status,
+                          @Param("availableAt") LocalDateTime availableAt,
+                          @Param("lastError") String lastError);
+}
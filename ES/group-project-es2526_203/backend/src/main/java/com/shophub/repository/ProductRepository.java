@@ -1,14 +1,22 @@
 package com.shophub.repository;
 
+import com.shophub.dto.ResourceVersion;
 import com.shophub.model.Product;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Integer> {
+public interface ProductRepository extends JpaRepository<Product, Integer>, ProductRepositoryCustom {
     
     @Query("SELECT p FROM Product p ORDER BY p.createdAt DESC")
     List<Product> findAllOrderByCreatedAtDesc();
@@ -16,9 +24,121 @@ public interface ProductRepository extends JpaRepository<Product, Integer> {
     @Query("SELECT p FROM Product p WHERE p.categoryId = :categoryId")
     List<Product> findByCategoryId(Integer categoryId);
     
+    // Atomic conditional decrement: the stock check and the write are one statement, so concurrent
+    // checkouts cannot oversell; returns 0 when the product is missing or has too little stock.
+    // Units held by other users' live reservations or escrowed to hot-inventory leases are not
+    // available to this buyer. Bumps the version so an admin edit read before it cannot overwrite
+    // the new stock. Clears the persistence context so entities read afterwards see the new stock
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :quantity, p.updatedAt = :now, " +
+           "p.version = p.version + 1 " +
+           "WHERE p.productId = :productId AND p.stockQuantity - p.escrowedStock - " +
+           "(SELECT COALESCE(SUM(r.quantity), 0) FROM StockReservation r " +
+           "WHERE r.productId = :productId AND r.userId <> :userId AND r.expiresAt > :now) >= :quantity")
+    int decrementStock(@Param("productId") Integer productId,
+                       @Param("quantity") int quantity,
+                       @Param("userId") String userId,
+                       @Param("now") LocalDateTime now);
+    
+    // Moves free stock into hot-inventory escrow; 0 when fewer than :quantity units are free
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.escrowedStock = p.escrowedStock + :quantity " +
+           "WHERE p.productId = :productId AND p.stockQuantity - p.escrowedStock - " +
+           "(SELECT COALESCE(SUM(r.quantity), 0) FROM StockReservation r " +
+           "WHERE r.productId = :productId AND r.expiresAt > :now) >= :quantity")
+    int escrowStock(@Param("productId") Integer productId,
+                    @Param("quantity") int quantity,
+                    @Param("now") LocalDateTime now);
+    
+    // Applies a lease's sales to stock and releases sold and returned units from escrow
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Product p SET p.stockQuantity = p.stockQuantity - :sold, " +
+           "p.escrowedStock = p.escrowedStock - :sold - :returned, p.updatedAt = :now, " +
+           "p.version = p.version + 1 " +
+           "WHERE p.productId = :productId")
+    int settleEscrow(@Param("productId") Integer productId,
+                     @Param("sold") int sold,
+                     @Param("returned") int returned,
+                     @Param("now") LocalDateTime now);
+    
+    // Loads the product row-locked until commit so read-check-write stock changes, such as
+    // reservations, run one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM Product p WHERE p.productId = :productId")
+    Optional<Product> lockForStockChange(@Param("productId") Integer productId);
+    
+    // lockForStockChange for a whole bulk-adjustment chunk in one statement, in id order so chunks
+    // sharing products cannot deadlock: [productId, categoryId, stockQuantity, escrowedStock,
+    // lowStockThreshold, alertState]
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p.productId, p.categoryId, p.stockQuantity, p.escrowedStock, p.lowStockThreshold, p.alertState " +
+           "FROM Product p WHERE p.productId IN :productIds ORDER BY p.productId")
+    List<Object[]> lockStockRows(@Param("productIds") Collection<Integer> productIds);
+    
+    // [sku, productId] for the given SKUs
+    @Query("SELECT p.sku, p.productId FROM Product p WHERE p.sku IN :skus")
+    List<Object[]> findIdsBySkuIn(@Param("skus") Collection<String> skus);
+    
+    // Moves the product's stock alert state; 0 when it is already in that state
+    @Modifying
+    @Query("UPDATE Product p SET p.alertState = :state, p.alertChangedAt = :now " +
+           "WHERE p.productId = :productId AND p.alertState <> :state")
+    int transitionAlertState(@Param("productId") Integer productId,
+                             @Param("state") String state,
+                             @Param("now") LocalDateTime now);
+    
+    // Stock alert transitions nobody has been told about yet that have held since :settledBefore
+    @Query("SELECT p FROM Product p WHERE p.alertState <> p.alertNotifiedState " +
+           "AND p.alertChangedAt <= :settledBefore ORDER BY p.productId")
+    List<Product> findPendingStockAlerts(@Param("settledBefore") LocalDateTime settledBefore);
+    
+    // Claims a pending transition for a digest; 0 when another run claimed it or the state moved on
+    @Modifying
+    @Query("UPDATE Product p SET p.alertNotifiedState = p.alertState WHERE p.productId = :productId " +
+           "AND p.alertState = :state AND p.alertNotifiedState = :notifiedState")
+    int markAlertNotified(@Param("productId") Integer productId,
+                          @Param("state") String state,
+                          @Param("notifiedState") String notifiedState);
+    
     // Query with category join
     @Query(value = "SELECT p.*, c.name as category_name FROM products p " +
            "LEFT JOIN categories c ON p.category_id = c.category_id " +
            "ORDER BY p.created_at DESC", nativeQuery = true)
     List<Product> findAllWithCategoryName();
+    
+    // Catalog read model: each row is [Product, categoryName, ProductReviewStats (nullable)],
+    // resolved in a single round trip against the incrementally maintained review stats
+    String CATALOG_SELECT = "SELECT p, c.name, rs FROM Product p " +
+           "LEFT JOIN Category c ON c.categoryId = p.categoryId " +
+           "LEFT JOIN ProductReviewStats rs ON rs.productId = p.productId ";
+    
+    @Query(CATALOG_SELECT)
+    List<Object[]> findAllCatalogRows();
+    
+    @Query(CATALOG_SELECT + "WHERE p.categoryId = :categoryId")
+    List<Object[]> findCatalogRowsByCategoryId(@Param("categoryId") Integer categoryId);
+    
+    @Query(CATALOG_SELECT + "WHERE p.productId = :productId")
+    List<Object[]> findCatalogRowById(@Param("productId") Integer productId);
+    
+    @Query(CATALOG_SELECT + "WHERE p.productId IN :productIds")
+    List<Object[]> findCatalogRowsByIds(@Param("productIds") Collection<Integer> productIds);
+    
+    // Type-ahead index source: [productId, name, sku] without the JSONB columns
+    @Query("SELECT p.productId, p.name, p.sku FROM Product p")
+    List<Object[]> findSuggestRows();
+    
+    @Query("SELECT p.productId, p.name, p.sku FROM Product p WHERE p.productId IN :productIds")
+    List<Object[]> findSuggestRowsByIds(@Param("productIds") Collection<Integer> productIds);
+    
+    // Conditional GET probes over the same rows as the catalog read model: a review changes
+    // the embedded rating, so the stats row's updated_at counts as a change to the product
+    String CATALOG_VERSION_SELECT = "SELECT new com.shophub.dto.ResourceVersion(COUNT(p), MAX(p.updatedAt), MAX(rs.updatedAt)) " +
+           "FROM Product p LEFT JOIN ProductReviewStats rs ON rs.productId = p.productId ";
+    
+    @Query(CATALOG_VERSION_SELECT + "WHERE p.categoryId = :categoryId")
+    ResourceVersion findCatalogVersionByCategoryId(@Param("categoryId") Integer categoryId);
+    
+    @Query(CATALOG_VERSION_SELECT + "WHERE p.productId = :productId")
+    ResourceVersion findCatalogVersionById(@Param("productId") Integer productId);
 }
\ No newline at end of file
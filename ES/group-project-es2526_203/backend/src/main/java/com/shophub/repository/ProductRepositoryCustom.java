@@ -0,0 +1,41 @@
+package com.shophub.repository;
+
+import com.shophub.dto.ProductField;
+import com.shophub.dto.ProductListRequest;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface ProductRepositoryCustom {
+    
+    /**
+     * Returns up to {@code limit} catalog rows ([Product, categoryName, ProductReviewStats])
+     * matching the request filters, ordered by the request sort and positioned strictly
+     * after the keyset ({@code afterValue}, {@code afterId}) when one is given.
+     */
+    List<Object[]> findCatalogPage(ProductListRequest request, Object afterValue, Integer afterId, int limit);
+    
+    /**
+     * Portable keyword search used when PostgreSQL full-text search is unavailable:
+     * every keyword ({@code matchAll}) or any keyword must occur as a case-insensitive
+     * substring of name, description or SKU.
+     */
+    List<Object[]> findCatalogRowsByKeywords(List<String> keywords, boolean matchAll, int limit);
+    
+    /**
+     * Counts products per facet cell in one aggregate pass over the catalog. Each row is
+     * [categoryId, priceBucket, ratingBucket, inStock, priceMatches, ratingMatches, count];
+     * the two *Matches flags (0/1) evaluate the request's price range and minimum rating so
+     * the caller can roll cells up into per-facet counts without a query per facet.
+     */
+    List<Object[]> findFacetCells(ProductListRequest request, List<BigDecimal> priceBoundaries);
+    
+    /**
+     * Selects only the columns behind the given fields for every product, ordered by id:
+     * one value per field, in field order. Category and review stats are only joined when
+     * a field needs them. The JSONB images and specifications come back as JSON text
+     * (Hibernate cannot map a scalar JSON selection onto a generic collection type);
+     * average_rating and review_count are 0 for products without reviews.
+     */
+    List<Object[]> findCatalogFields(List<ProductField> fields);
+}
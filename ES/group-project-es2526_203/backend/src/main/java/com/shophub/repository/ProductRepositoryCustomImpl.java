@@ -0,0 +1,180 @@
+package com.shophub.repository;
+
+import com.shophub.dto.ProductField;
+import com.shophub.dto.ProductListRequest;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ProductRepositoryCustomImpl implements ProductRepositoryCustom {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    @Override
+    public List<Object[]> findCatalogPage(ProductListRequest request, Object afterValue, Integer afterId, int limit) {
+        StringBuilder jpql = new StringBuilder(ProductRepository.CATALOG_SELECT).append("WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        
+        if (request.getCategoryId() != null) {
+            jpql.append(" AND p.categoryId = :categoryId");
+            params.put("categoryId", request.getCategoryId());
+        }
+        if (request.getMinPrice() != null) {
+            jpql.append(" AND p.price >= :minPrice");
+            params.put("minPrice", request.getMinPrice());
+        }
+        if (request.getMaxPrice() != null) {
+            jpql.append(" AND p.price <= :maxPrice");
+            params.put("maxPrice", request.getMaxPrice());
+        }
+        if (request.isInStockOnly()) {
+            jpql.append(" AND p.stockQuantity > 0");
+        }
+        if (request.getMinRating() != null) {
+            // average >= minRating, written without division so it stays sargable on the stats row
+            jpql.append(" AND rs.reviewCount > 0 AND rs.ratingSum >= :minRating * rs.reviewCount");
+            params.put("minRating", request.getMinRating());
+        }
+        
+        ProductListRequest.Sort sort = request.getSort();
+        String column = "p." + sort.getProperty();
+        String comparator = sort.isAscending() ? ">" : "<";
+        String direction = sort.isAscending() ? "ASC" : "DESC";
+        
+        if (afterValue != null && afterId != null) {
+            jpql.append(" AND (").append(column).append(' ').append(comparator).append(" :afterValue")
+                .append(" OR (").append(column).append(" = :afterValue AND p.productId ")
+                .append(comparator).append(" :afterId))");
+            params.put("afterValue", afterValue);
+            params.put("afterId", afterId);
+        }
+        
+        jpql.append(" ORDER BY ").append(column).append(' ').append(direction)
+            .append(", p.productId ").append(direction);
+        
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    public List<Object[]> findCatalogRowsByKeywords(List<String> keywords, boolean matchAll, int limit) {
+        StringBuilder jpql = new StringBuilder(ProductRepository.CATALOG_SELECT)
+                .append(matchAll ? "WHERE 1 = 1" : "WHERE 1 = 0");
+        Map<String, Object> params = new HashMap<>();
+        
+        for (int i = 0; i < keywords.size(); i++) {
+            String param = "keyword" + i;
+            jpql.append(matchAll ? " AND" : " OR")
+                .append(" (LOWER(p.name) LIKE :").append(param)
+                .append(" OR LOWER(p.description) LIKE :").append(param)
+                .append(" OR LOWER(p.sku) LIKE :").append(param).append(')');
+            params.put(param, "%" + keywords.get(i).toLowerCase() + "%");
+        }
+        jpql.append(" ORDER BY p.productId");
+        
+        TypedQuery<Object[]> query = entityManager.createQuery(jpql.toString(), Object[].class);
+        params.forEach(query::setParameter);
+        return query.setMaxResults(limit).getResultList();
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Object[]> findFacetCells(ProductListRequest request, List<BigDecimal> priceBoundaries) {
+        Map<String, Object> params = new HashMap<>();
+        
+        StringBuilder priceBucket = new StringBuilder("CASE");
+        for (int i = 0; i < priceBoundaries.size(); i++) {
+            priceBucket.append(" WHEN p.price < :priceBoundary").append(i).append(" THEN ").append(i);
+            params.put("priceBoundary" + i, priceBoundaries.get(i));
+        }
+        priceBucket.append(" ELSE ").append(priceBoundaries.size()).append(" END");
+        
+        // Floor of the average rating without division; 0 means unrated
+        StringBuilder ratingBucket = new StringBuilder("CASE");
+        for (int stars = 5; stars >= 2; stars--) {
+            ratingBucket.append(" WHEN rs.review_count > 0 AND rs.rating_sum >= ")
+                .append(stars).append(" * rs.review_count THEN ").append(stars);
+        }
+        ratingBucket.append(" WHEN rs.review_count > 0 THEN 1 ELSE 0 END");
+        
+        StringBuilder priceMatches = new StringBuilder("1 = 1");
+        if (request.getMinPrice() != null) {
+            priceMatches.append(" AND p.price >= :minPrice");
+            params.put("minPrice", request.getMinPrice());
+        }
+        if (request.getMaxPrice() != null) {
+            priceMatches.append(" AND p.price <= :maxPrice");
+            params.put("maxPrice", request.getMaxPrice());
+        }
+        
+        String ratingMatches = "1 = 1";
+        if (request.getMinRating() != null) {
+            ratingMatches = "rs.review_count > 0 AND rs.rating_sum >= :minRating * rs.review_count";
+            params.put("minRating", request.getMinRating());
+        }
+        
+        // Group on the derived table's columns: PostgreSQL would not match parameterised
+        // CASE expressions in GROUP BY against the identical ones in the select list
+        String sql = "SELECT f.category_id, f.price_bucket, f.rating_bucket, f.in_stock, " +
+                "f.price_matches, f.rating_matches, COUNT(*) " +
+                "FROM (SELECT p.category_id, " +
+                priceBucket + " AS price_bucket, " +
+                ratingBucket + " AS rating_bucket, " +
+                "CASE WHEN p.stock_quantity > 0 THEN 1 ELSE 0 END AS in_stock, " +
+                "CASE WHEN " + priceMatches + " THEN 1 ELSE 0 END AS price_matches, " +
+                "CASE WHEN " + ratingMatches + " THEN 1 ELSE 0 END AS rating_matches " +
+                "FROM products p LEFT JOIN product_review_stats rs ON rs.product_id = p.product_id) f " +
+                "GROUP BY f.category_id, f.price_bucket, f.rating_bucket, f.in_stock, f.price_matches, f.rating_matches";
+        
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+        return query.getResultList();
+    }
+    
+    @Override
+    public List<Object[]> findCatalogFields(List<ProductField> fields) {
+        List<String> columns = fields.stream().map(ProductRepositoryCustomImpl::fieldColumn).toList();
+        StringBuilder jpql = new StringBuilder("SELECT ")
+                .append(String.join(", ", columns))
+                .append(" FROM Product p");
+        if (columns.stream().anyMatch(column -> column.contains("c."))) {
+            jpql.append(" LEFT JOIN Category c ON c.categoryId = p.categoryId");
+        }
+        if (columns.stream().anyMatch(column -> column.contains("rs."))) {
+            jpql.append(" LEFT JOIN ProductReviewStats rs ON rs.productId = p.productId");
+        }
+        jpql.append(" ORDER BY p.productId");
+        
+        return entityManager.createQuery(jpql.toString(), Object[].class).getResultList();
+    }
+    
+    // JPQL over Product p, Category c and ProductReviewStats rs
+    private static String fieldColumn(ProductField field) {
+        return switch (field) {
+            case PRODUCT_ID -> "p.productId";
+            case NAME -> "p.name";
+            case DESCRIPTION -> "p.description";
+            case PRICE -> "p.price";
+            case STOCK_QUANTITY -> "p.stockQuantity";
+            case LOW_STOCK_THRESHOLD -> "p.lowStockThreshold";
+            case CATEGORY_ID -> "p.categoryId";
+            case CATEGORY_NAME -> "c.name";
+            case SKU -> "p.sku";
+            case IMAGES, IMAGE -> "CAST(p.images AS String)";
+            case SPECIFICATIONS -> "CAST(p.specifications AS String)";
+            case AVERAGE_RATING ->
+                    "CASE WHEN rs.reviewCount > 0 THEN CAST(rs.ratingSum AS Double) / rs.reviewCount ELSE 0.0 END";
+            case REVIEW_COUNT -> "COALESCE(rs.reviewCount, 0L)";
+            case CREATED_AT -> "p.createdAt";
+            case UPDATED_AT -> "p.updatedAt";
+        };
+    }
+}
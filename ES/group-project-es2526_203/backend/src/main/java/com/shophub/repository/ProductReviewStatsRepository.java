@@ -0,0 +1,59 @@
+package com.shophub.repository;
+
+import com.shophub.model.ProductReviewStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ProductReviewStatsRepository extends JpaRepository<ProductReviewStats, Integer> {
+    
+    // Atomic in-place delta so concurrent review writes never lose an update; returns 0 when no row exists yet
+    @Modifying
+    @Query("UPDATE ProductReviewStats s SET " +
+           "s.ratingSum = s.ratingSum + :rating * :delta, " +
+           "s.reviewCount = s.reviewCount + :delta, " +
+           "s.rating1Count = s.rating1Count + CASE WHEN :rating = 1 THEN :delta ELSE 0 END, " +
+           "s.rating2Count = s.rating2Count + CASE WHEN :rating = 2 THEN :delta ELSE 0 END, " +
+           "s.rating3Count = s.rating3Count + CASE WHEN :rating = 3 THEN :delta ELSE 0 END, " +
+           "s.rating4Count = s.rating4Count + CASE WHEN :rating = 4 THEN :delta ELSE 0 END, " +
+           "s.rating5Count = s.rating5Count + CASE WHEN :rating = 5 THEN :delta ELSE 0 END, " +
+           "s.updatedAt = :now " +
+           "WHERE s.productId = :productId")
+    int applyRatingDelta(@Param("productId") Integer productId,
+                         @Param("rating") Long rating,
+                         @Param("delta") Long delta,
+                         @Param("now") LocalDateTime now);
+
+    // Creates the zero row for a product; a concurrent insert for the same product waits for the other to finish.
+    // Declaring the table keeps this native statement from flushing the caller's unrelated pending writes.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_review_stats"))
+    @Query(value = "INSERT INTO product_review_stats (product_id, rating_sum, review_count, rating_1_count, " +
+                   "rating_2_count, rating_3_count, rating_4_count, rating_5_count, updated_at) " +
+                   "VALUES (:productId, 0, 0, 0, 0, 0, 0, 0, :now) ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfMissing(@Param("productId") Integer productId, @Param("now") LocalDateTime now);
+
+    // Zero rows for every reviewed product that has none yet, so a rebuild can lock them all
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "product_review_stats"))
+    @Query(value = "INSERT INTO product_review_stats (product_id, rating_sum, review_count, rating_1_count, " +
+                   "rating_2_count, rating_3_count, rating_4_count, rating_5_count, updated_at) " +
+                   "SELECT DISTINCT r.product_id, 0, 0, 0, 0, 0, 0, 0, :now FROM reviews r " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertMissingForReviewedProducts(@Param("now") LocalDateTime now);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM ProductReviewStats s ORDER BY s.productId")
+    List<ProductReviewStats> lockAll();
+}
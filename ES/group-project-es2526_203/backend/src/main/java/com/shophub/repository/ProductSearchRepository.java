@@ -0,0 +1,66 @@
+package com.shophub.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * PostgreSQL full-text search over the generated {@code products.search_vector}
+ * column. Only the top {@code limit} hits are passed to ts_headline, which has to
+ * re-parse the source text and is the expensive part of the query.
+ *
+ * Highlights come back as plain source text with matches between {@link #MATCH_START}
+ * and {@link #MATCH_END}; the control characters are stripped from the source first,
+ * so the caller can escape the text and only then turn the markers into markup.
+ */
+@Repository
+public class ProductSearchRepository {
+
+    private static final String SEARCH_SQL =
+            "WITH q AS (SELECT to_tsquery('english', :query) AS query), " +
+            "hits AS (" +
+            "  SELECT p.product_id, p.name, p.description, ts_rank_cd(p.search_vector, q.query) AS rank " +
+            "  FROM products p, q " +
+            "  WHERE p.search_vector @@ q.query " +
+            "  ORDER BY rank DESC, p.product_id " +
+            "  LIMIT :limit) " +
+            "SELECT h.product_id, h.rank, " +
+            "  ts_headline('english', translate(h.name, :markers, ''), q.query, :nameOptions) AS name_highlight, " +
+            "  ts_headline('english', translate(COALESCE(h.description, ''), :markers, ''), q.query, :descriptionOptions) " +
+            "    AS description_highlight " +
+            "FROM hits h, q " +
+            "ORDER BY h.rank DESC, h.product_id";
+
+    public static final String MATCH_START = "\u0001";
+    public static final String MATCH_END = "\u0002";
+
+    private static final String SELECTORS = "StartSel=\"" + MATCH_START + "\", StopSel=\"" + MATCH_END + "\"";
+    private static final String NAME_OPTIONS = SELECTORS + ", HighlightAll=true";
+    private static final String DESCRIPTION_OPTIONS =
+            SELECTORS + ", MaxWords=30, MinWords=10, MaxFragments=2, FragmentDelimiter=\" ... \"";
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public ProductSearchRepository(NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public List<Hit> search(String tsQuery, int limit) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("query", tsQuery)
+                .addValue("limit", limit)
+                .addValue("markers", MATCH_START + MATCH_END)
+                .addValue("nameOptions", NAME_OPTIONS)
+                .addValue("descriptionOptions", DESCRIPTION_OPTIONS);
+        return jdbcTemplate.query(SEARCH_SQL, params, (rs, rowNum) -> new Hit(
+                rs.getInt("product_id"),
+                rs.getDouble("rank"),
+                rs.getString("name_highlight"),
+                rs.getString("description_highlight")));
+    }
+
+    public record Hit(Integer productId, double rank, String nameHighlight, String descriptionHighlight) {
+    }
+}
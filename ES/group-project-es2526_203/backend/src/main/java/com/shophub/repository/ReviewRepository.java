@@ -27,4 +27,8 @@ public interface ReviewRepository extends JpaRepository<Review, Integer> {
     // Get review count for a product
     @Query("SELECT COUNT(r) FROM Review r WHERE r.productId = :productId")
     Long getReviewCountByProductId(@Param("productId") Integer productId);
+    
+    // Per-product, per-rating counts used to rebuild product_review_stats
+    @Query("SELECT r.productId, r.rating, COUNT(r) FROM Review r GROUP BY r.productId, r.rating")
+    List<Object[]> countByProductIdAndRating();
 }
@@ -0,0 +1,41 @@
+package com.shophub.repository;
+
+import com.shophub.model.StockReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StockReservationRepository extends JpaRepository<StockReservation, Integer> {
+
+    Optional<StockReservation> findByUserIdAndProductId(String userId, Integer productId);
+
+    List<StockReservation> findByUserIdOrderByProductIdAsc(String userId);
+
+    // Units of a product held by other users' unexpired reservations
+    @Query("SELECT COALESCE(SUM(r.quantity), 0) FROM StockReservation r " +
+           "WHERE r.productId = :productId AND r.userId <> :userId AND r.expiresAt > :now")
+    long sumReservedByOthers(@Param("productId") Integer productId,
+                             @Param("userId") String userId,
+                             @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.userId = :userId AND r.productId IN :productIds")
+    int deleteByUserIdAndProductIds(@Param("userId") String userId,
+                                    @Param("productIds") Collection<Integer> productIds);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.userId = :userId")
+    int deleteByUserId(@Param("userId") String userId);
+
+    @Modifying
+    @Query("DELETE FROM StockReservation r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -16,4 +16,6 @@ public interface UserRepository extends JpaRepository<User, String> {
     boolean existsByUserId(String userId);
     
     List<User> findByRoleIn(Collection<String> roles);
+    
+    boolean existsByRoleIn(Collection<String> roles);
 }
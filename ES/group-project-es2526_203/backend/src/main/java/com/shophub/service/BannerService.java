@@ -3,12 +3,15 @@ package com.shophub.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.shophub.config.CacheNames;
 import com.shophub.dto.BannerDTO;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.exception.InvalidInputException;
 import com.shophub.exception.ResourceNotFoundException;
 import com.shophub.model.Banner;
 import com.shophub.repository.BannerRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -19,6 +22,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BannerService {
     private final BannerRepository bannerRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     private JsonNode parseMetadata(String metadata) {
         if (metadata == null || metadata.trim().isEmpty()) {
@@ -46,6 +50,7 @@ public class BannerService {
                 .build();
 
         Banner saved = bannerRepository.save(banner);
+        evictActiveBanners();
         return convertToDTO(saved);
     }
 
@@ -64,6 +69,7 @@ public class BannerService {
         banner.setLandingPageId(dto.getLandingPageId());
 
         Banner updated = bannerRepository.save(banner);
+        evictActiveBanners();
         return convertToDTO(updated);
     }
 
@@ -73,6 +79,7 @@ public class BannerService {
 
         banner.setPublished(true);
         Banner published = bannerRepository.save(banner);
+        evictActiveBanners();
         return convertToDTO(published);
     }
 
@@ -86,9 +93,14 @@ public class BannerService {
         return convertToDTO(banner);
     }
 
-    public List<BannerDTO> getActiveBanners() {
+    /**
+     * Banners running at {@code now}, cached under the schedule version probed at the same
+     * instant: which banners run only changes on a write or when a start/end passes, and
+     * both move the version on, so the list always matches the ETag it is served with.
+     */
+    @Cacheable(value = CacheNames.ACTIVE_BANNERS, key = "#version")
+    public List<BannerDTO> getActiveBanners(LocalDateTime now, ResourceVersion version) {
         // public read - no feature toggle check here because rendering is allowed for visitors
-        LocalDateTime now = LocalDateTime.now();
         List<Banner> candidates = bannerRepository.findAll().stream()
                 .filter(b -> b.isPublished())
                 .filter(b -> (b.getStartAt() == null || !b.getStartAt().isAfter(now)))
@@ -99,6 +111,23 @@ public class BannerService {
         return candidates.stream().map(this::convertToDTO).collect(Collectors.toList());
     }
 
+    public ResourceVersion getBannersVersion() {
+        return bannerRepository.findVersion();
+    }
+
+    public ResourceVersion getActiveBannersVersion(LocalDateTime now) {
+        return bannerRepository.findScheduleVersion(now);
+    }
+
+    public ResourceVersion getBannerVersion(Long id) {
+        return bannerRepository.findVersionById(id);
+    }
+
+    // entries are keyed by schedule version, so a write clears them all
+    private void evictActiveBanners() {
+        cacheInvalidationBus.clear(List.of(CacheNames.ACTIVE_BANNERS));
+    }
+
     private BannerDTO convertToDTO(Banner banner) {
         return BannerDTO.builder()
                 .id(banner.getId())
@@ -2,6 +2,7 @@ package com.shophub.service;
 
 import com.shophub.dto.BlogPostDTO;
 import com.shophub.dto.CreateBlogPostRequest;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.dto.UpdateBlogPostRequest;
 import com.shophub.exception.ResourceNotFoundException;
 import com.shophub.model.BlogPost;
@@ -46,6 +47,17 @@ public class BlogPostService {
         return toDTO(post);
     }
     
+    // Validator probes for conditional GETs
+    @Transactional(readOnly = true)
+    public ResourceVersion getPostsVersion() {
+        return repository.findVersion();
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getPostVersion(Integer id) {
+        return repository.findVersionById(id);
+    }
+    
     // Create post
     @Transactional
     public BlogPostDTO createPost(CreateBlogPostRequest request, String authorId, String authorName) {
@@ -0,0 +1,357 @@
+package com.shophub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.shophub.config.InventoryBulkProperties;
+import com.shophub.dto.InventoryAdjustmentLine;
+import com.shophub.dto.InventoryAdjustmentReportDTO;
+import com.shophub.dto.InventoryAdjustmentReportDTO.LineResult;
+import com.shophub.model.InventoryMovement;
+import com.shophub.model.Product;
+import com.shophub.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Applies bulk stock adjustments, such as a received shipment, from a JSON array or a CSV
+ * file of {@link InventoryAdjustmentLine}s.
+ *
+ * Lines are applied as they are read, in chunks of {@code inventory.bulk.chunk-size}, each
+ * chunk in its own transaction, so a large file is never held in memory. A chunk locks its
+ * products with one statement in product id order, checks its lines in memory and writes
+ * one JDBC batch with a single UPDATE per product. Alert states move once per product per
+ * chunk. A line that cannot be applied fails on its own and is reported; the rest of its
+ * chunk still applies. Input that cannot be read any further is reported as a failed line
+ * and ends the import; the lines before it stay applied.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class BulkInventoryService {
+
+    public static final String STATUS_APPLIED = "applied";
+    public static final String STATUS_FAILED = "failed";
+
+    // Bumps the version like every other stock write, so entity saves read before it fail
+    private static final String UPDATE_STOCK =
+            "UPDATE products SET stock_quantity = ?, updated_at = ?, version = version + 1 WHERE product_id = ?";
+
+    // Rows as lists of trimmed cells; the header row is mapped to columns by name
+    private static final ObjectReader CSV_ROWS = new CsvMapper()
+            .readerForListOf(String.class)
+            .with(CsvParser.Feature.WRAP_AS_ARRAY)
+            .with(CsvParser.Feature.TRIM_SPACES)
+            .with(CsvParser.Feature.SKIP_EMPTY_LINES);
+
+    private final ProductRepository productRepository;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final StockAlertService stockAlertService;
+    private final ProductCatalogCache productCatalogCache;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final InventoryBulkProperties properties;
+
+    /**
+     * Reads a JSON array of adjustment lines from the stream and applies them.
+     */
+    public InventoryAdjustmentReportDTO applyJson(InputStream body) throws IOException {
+        ChunkedAdjustment adjustment = new ChunkedAdjustment();
+        try (MappingIterator<InventoryAdjustmentLine> iterator =
+                     objectMapper.readerFor(InventoryAdjustmentLine.class).readValues(body)) {
+            while (iterator.hasNextValue()) {
+                if (!adjustment.add(iterator.nextValue())) {
+                    break;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            adjustment.stop("Malformed adjustment: " + e.getOriginalMessage());
+        }
+        return adjustment.finish();
+    }
+
+    /**
+     * Reads CSV adjustment lines from the stream and applies them. The header names the
+     * columns: product_id, sku, delta and absolute, in any order; empty cells are unset.
+     */
+    public InventoryAdjustmentReportDTO applyCsv(InputStream body) throws IOException {
+        ChunkedAdjustment adjustment = new ChunkedAdjustment();
+        try (MappingIterator<List<String>> rows = CSV_ROWS.readValues(body)) {
+            if (!rows.hasNextValue()) {
+                return adjustment.finish();
+            }
+            Map<String, Integer> columns = new LinkedHashMap<>();
+            List<String> names = rows.nextValue();
+            for (int i = 0; i < names.size(); i++) {
+                columns.put(names.get(i).toLowerCase(Locale.ROOT), i);
+            }
+            if (!columns.containsKey("product_id") && !columns.containsKey("sku")) {
+                throw new IllegalArgumentException("CSV header must name a product_id or sku column");
+            }
+
+            while (rows.hasNextValue()) {
+                List<String> cells = rows.nextValue();
+                if (cells.stream().allMatch(String::isEmpty)) {
+                    continue;
+                }
+                String sku = cell(cells, columns.get("sku"));
+                InventoryAdjustmentLine line;
+                try {
+                    line = InventoryAdjustmentLine.builder()
+                            .productId(intCell(cells, columns.get("product_id")))
+                            .sku(sku)
+                            .delta(intCell(cells, columns.get("delta")))
+                            .absolute(intCell(cells, columns.get("absolute")))
+                            .build();
+                } catch (NumberFormatException e) {
+                    if (!adjustment.addUnreadable(InventoryAdjustmentLine.builder().sku(sku).build(), e.getMessage())) {
+                        break;
+                    }
+                    continue;
+                }
+                if (!adjustment.add(line)) {
+                    break;
+                }
+            }
+        } catch (JsonProcessingException e) {
+            adjustment.stop("Malformed CSV: " + e.getOriginalMessage());
+        }
+        return adjustment.finish();
+    }
+
+    private List<LineResult> applyChunk(List<InventoryAdjustmentLine> chunk, List<String> readErrors, int offset) {
+        String[] errors = new String[chunk.size()];
+        Set<String> skus = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            InventoryAdjustmentLine line = chunk.get(i);
+            errors[i] = readErrors.get(i) != null ? readErrors.get(i) : validate(line);
+            if (errors[i] == null && StringUtils.hasText(line.getSku())) {
+                skus.add(line.getSku());
+            }
+        }
+        Map<String, Integer> idsBySku = skus.isEmpty() ? Map.of() : productRepository.findIdsBySkuIn(skus).stream()
+                .collect(Collectors.toMap(row -> (String) row[0], row -> (Integer) row[1]));
+
+        // Resolve every line to a product id first so the chunk's rows are locked in one statement
+        Integer[] targets = new Integer[chunk.size()];
+        Set<Integer> productIds = new HashSet<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            if (errors[i] == null) {
+                InventoryAdjustmentLine line = chunk.get(i);
+                targets[i] = line.getProductId() != null ? line.getProductId() : idsBySku.get(line.getSku());
+                if (targets[i] == null) {
+                    errors[i] = "Product not found";
+                } else {
+                    productIds.add(targets[i]);
+                }
+            }
+        }
+        Map<Integer, Product> products = new LinkedHashMap<>();
+        if (!productIds.isEmpty()) {
+            for (Object[] row : productRepository.lockStockRows(productIds)) {
+                // Detached stand-ins: the batch below writes stock, not Hibernate
+                Product product = Product.builder()
+                        .productId((Integer) row[0])
+                        .categoryId((Integer) row[1])
+                        .stockQuantity((Integer) row[2])
+                        .escrowedStock(row[3] != null ? (Integer) row[3] : 0)
+                        .lowStockThreshold((Integer) row[4])
+                        .alertState((String) row[5])
+                        .build();
+                products.put(product.getProductId(), product);
+            }
+        }
+
+        List<LineResult> results = new ArrayList<>(chunk.size());
+        Map<Integer, Product> changed = new LinkedHashMap<>();
+        for (int i = 0; i < chunk.size(); i++) {
+            InventoryAdjustmentLine line = chunk.get(i);
+            Product product = targets[i] != null ? products.get(targets[i]) : null;
+            if (errors[i] == null && product == null) {
+                errors[i] = "Product not found";
+            }
+            if (errors[i] != null) {
+                results.add(failed(offset + i + 1, line, errors[i]));
+                continue;
+            }
+
+            int stock = product.getStockQuantity();
+            long newStock = line.getAbsolute() != null ? line.getAbsolute() : (long) stock + line.getDelta();
+            if (newStock < product.getEscrowedStock()) {
+                results.add(failed(offset + i + 1, line, product.getEscrowedStock() > 0
+                        ? "Stock cannot go below the " + product.getEscrowedStock() + " units escrowed for hot sales"
+                        : "Stock cannot go below zero"));
+                continue;
+            }
+            if (newStock > Integer.MAX_VALUE) {
+                results.add(failed(offset + i + 1, line, "Stock quantity is too large"));
+                continue;
+            }
+            inventoryLedgerService.record(product.getProductId(), (int) newStock - stock,
+                    InventoryMovement.REASON_BULK_ADJUSTMENT, null);
+            product.setStockQuantity((int) newStock);
+            changed.put(product.getProductId(), product);
+            results.add(LineResult.builder()
+                    .line(offset + i + 1)
+                    .productId(product.getProductId())
+                    .sku(line.getSku())
+                    .status(STATUS_APPLIED)
+                    .stockQuantity((int) newStock)
+                    .build());
+        }
+
+        if (!changed.isEmpty()) {
+            Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(UPDATE_STOCK, changed.values(), changed.size(), (ps, product) -> {
+                ps.setInt(1, product.getStockQuantity());
+                ps.setTimestamp(2, now);
+                ps.setInt(3, product.getProductId());
+            });
+            for (Product product : changed.values()) {
+                stockAlertService.onStockChanged(product);
+                productCatalogCache.evictProduct(product.getProductId(), product.getCategoryId());
+            }
+        }
+        return results;
+    }
+
+    private String validate(InventoryAdjustmentLine line) {
+        if ((line.getProductId() == null) == !StringUtils.hasText(line.getSku())) {
+            return "Exactly one of product_id or sku is required";
+        }
+        if ((line.getDelta() == null) == (line.getAbsolute() == null)) {
+            return "Exactly one of delta or absolute is required";
+        }
+        if (line.getAbsolute() != null && line.getAbsolute() < 0) {
+            return "Absolute stock cannot be negative";
+        }
+        return null;
+    }
+
+    private LineResult failed(int lineNumber, InventoryAdjustmentLine line, String error) {
+        return LineResult.builder()
+                .line(lineNumber)
+                .productId(line.getProductId())
+                .sku(line.getSku())
+                .status(STATUS_FAILED)
+                .error(error)
+                .build();
+    }
+
+    private static String cell(List<String> cells, Integer column) {
+        if (column == null || column >= cells.size() || cells.get(column).isEmpty()) {
+            return null;
+        }
+        return cells.get(column);
+    }
+
+    private static Integer intCell(List<String> cells, Integer column) {
+        String value = cell(cells, column);
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new NumberFormatException("'" + value + "' is not a whole number");
+        }
+    }
+
+    /**
+     * Collects lines as they are read and applies them a chunk at a time, keeping only the
+     * current chunk and the per-line results.
+     */
+    private final class ChunkedAdjustment {
+
+        private final int chunkSize = Math.max(1, properties.getChunkSize());
+        private final List<InventoryAdjustmentLine> chunk = new ArrayList<>(chunkSize);
+        private final List<String> readErrors = new ArrayList<>(chunkSize);
+        private final List<LineResult> results = new ArrayList<>();
+        private int read;
+
+        /** Queues a line; false once the request's line limit is reached and reading must stop. */
+        boolean add(InventoryAdjustmentLine line) {
+            return add(line, null);
+        }
+
+        /** Queues a line whose cells could not be parsed, to be reported as failed in its place. */
+        boolean addUnreadable(InventoryAdjustmentLine line, String error) {
+            return add(line, error);
+        }
+
+        /** Reports the input as unreadable from the next line on. */
+        void stop(String error) {
+            queue(InventoryAdjustmentLine.builder().build(), error);
+        }
+
+        InventoryAdjustmentReportDTO finish() {
+            flush();
+            int applied = (int) results.stream().filter(result -> STATUS_APPLIED.equals(result.getStatus())).count();
+            log.info("Bulk inventory adjustment: {} line(s), {} applied, {} failed",
+                    results.size(), applied, results.size() - applied);
+            return InventoryAdjustmentReportDTO.builder()
+                    .total(results.size())
+                    .applied(applied)
+                    .failed(results.size() - applied)
+                    .results(results)
+                    .build();
+        }
+
+        private boolean add(InventoryAdjustmentLine line, String readError) {
+            if (read >= properties.getMaxLines()) {
+                stop("At most " + properties.getMaxLines() + " lines per request; the rest was not read");
+                return false;
+            }
+            queue(line, readError);
+            return true;
+        }
+
+        private void queue(InventoryAdjustmentLine line, String readError) {
+            read++;
+            chunk.add(line);
+            readErrors.add(readError);
+            if (chunk.size() == chunkSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            int offset = read - chunk.size();
+            try {
+                results.addAll(transactionTemplate.execute(status -> applyChunk(chunk, readErrors, offset)));
+            } catch (DataAccessException e) {
+                log.warn("Bulk inventory chunk at line {} failed: {}", offset + 1, e.getMessage());
+                for (int i = 0; i < chunk.size(); i++) {
+                    results.add(failed(offset + i + 1, chunk.get(i), "Could not apply this batch, please retry"));
+                }
+            }
+            chunk.clear();
+            readErrors.clear();
+        }
+    }
+}
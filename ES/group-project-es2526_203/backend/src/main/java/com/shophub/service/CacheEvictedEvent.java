@@ -0,0 +1,19 @@
+package com.shophub.service;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Published by CacheInvalidationBus whenever entries of the named caches are
+ * dropped on this node, whether the write happened here or on another replica.
+ *
+ * {@code keys} holds the individually evicted keys per cache; a named cache without
+ * keys was cleared as a whole. {@code remote} marks evictions caused by another node,
+ * including a full local clear after notifications may have been missed.
+ */
+public record CacheEvictedEvent(Set<String> cacheNames, Map<String, Set<Object>> keys, boolean remote) {
+
+    public boolean cleared(String cacheName) {
+        return cacheNames.contains(cacheName) && !keys.containsKey(cacheName);
+    }
+}
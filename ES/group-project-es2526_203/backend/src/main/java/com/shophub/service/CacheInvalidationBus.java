@@ -0,0 +1,187 @@
+package com.shophub.service;
+
+import com.shophub.config.CatalogCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Evicts cache entries locally and broadcasts the eviction to the other backend
+ * replicas through PostgreSQL NOTIFY. Notifications sent inside a transaction are
+ * only delivered on commit, so remote nodes never evict ahead of the write.
+ *
+ * Payload format: {@code <origin node>|<cache>:<key>;<cache>:<key>...} where a key is
+ * {@code i<int>}, {@code l<long>}, {@code e} (no-arg method key) or {@code *} (clear cache).
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    private static final String CLEAR = "*";
+    private static final String EMPTY_KEY = "e";
+
+    private final CacheManager cacheManager;
+    private final JdbcTemplate jdbcTemplate;
+    private final CatalogCacheProperties properties;
+    private final ApplicationEventPublisher eventPublisher;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Counter publishedCounter;
+    private final Counter receivedCounter;
+
+    public CacheInvalidationBus(CacheManager cacheManager, JdbcTemplate jdbcTemplate,
+                                CatalogCacheProperties properties, MeterRegistry meterRegistry,
+                                ApplicationEventPublisher eventPublisher) {
+        this.cacheManager = cacheManager;
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.eventPublisher = eventPublisher;
+        this.publishedCounter = Counter.builder("cache.invalidation.published")
+                .description("Cache invalidation notifications sent to other nodes")
+                .register(meterRegistry);
+        this.receivedCounter = Counter.builder("cache.invalidation.received")
+                .description("Cache invalidation notifications received from other nodes")
+                .register(meterRegistry);
+    }
+
+    public void evict(String cacheName, Object key) {
+        evict(List.of(Map.entry(cacheName, key)));
+    }
+
+    public void evict(List<Map.Entry<String, Object>> entries) {
+        Map<String, Set<Object>> keys = new HashMap<>();
+        entries.forEach(entry -> {
+            evictLocally(entry.getKey(), entry.getValue());
+            keys.computeIfAbsent(entry.getKey(), cacheName -> new HashSet<>()).add(entry.getValue());
+        });
+        notifyEvicted(keys.keySet(), keys, false);
+        publish(entries.stream()
+                .map(entry -> entry.getKey() + ":" + encodeKey(entry.getValue()))
+                .collect(Collectors.joining(";")));
+    }
+
+    public void clear(Collection<String> cacheNames) {
+        cacheNames.forEach(this::clearLocally);
+        notifyEvicted(Set.copyOf(cacheNames), Map.of(), false);
+        publish(cacheNames.stream()
+                .map(cacheName -> cacheName + ":" + CLEAR)
+                .collect(Collectors.joining(";")));
+    }
+
+    public boolean isDistributed() {
+        return properties.isEnabled() && properties.isDistributedInvalidation();
+    }
+
+    /**
+     * Applies an invalidation received from the notification channel, ignoring our own.
+     */
+    void applyRemote(String payload) {
+        int separator = payload.indexOf('|');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        receivedCounter.increment();
+        Set<String> evicted = new HashSet<>();
+        Set<String> cleared = new HashSet<>();
+        Map<String, Set<Object>> keys = new HashMap<>();
+        for (String entry : payload.substring(separator + 1).split(";")) {
+            int colon = entry.lastIndexOf(':');
+            if (colon <= 0) {
+                log.warn("Ignoring malformed cache invalidation entry: {}", entry);
+                continue;
+            }
+            String cacheName = entry.substring(0, colon);
+            String key = entry.substring(colon + 1);
+            if (CLEAR.equals(key)) {
+                clearLocally(cacheName);
+                cleared.add(cacheName);
+            } else {
+                Object decoded = decodeKey(key);
+                evictLocally(cacheName, decoded);
+                keys.computeIfAbsent(cacheName, name -> new HashSet<>()).add(decoded);
+            }
+            evicted.add(cacheName);
+        }
+        // A cache cleared in the same notification lost every key, not just the listed ones
+        keys.keySet().removeAll(cleared);
+        notifyEvicted(evicted, keys, true);
+    }
+
+    /**
+     * Drops every cached entry on this node, e.g. after the listener reconnects
+     * and may have missed notifications.
+     */
+    void clearAllLocally() {
+        cacheManager.getCacheNames().forEach(this::clearLocally);
+        notifyEvicted(Set.copyOf(cacheManager.getCacheNames()), Map.of(), true);
+    }
+
+    private void publish(String entries) {
+        if (!isDistributed() || entries.isEmpty()) {
+            return;
+        }
+        // pg_notify joins the caller's transaction, so the message is only sent on commit
+        jdbcTemplate.query("SELECT pg_notify(?, ?)", rs -> null,
+                properties.getInvalidationChannel(), nodeId + "|" + entries);
+        publishedCounter.increment();
+    }
+
+    private void notifyEvicted(Set<String> cacheNames, Map<String, Set<Object>> keys, boolean remote) {
+        if (!cacheNames.isEmpty()) {
+            eventPublisher.publishEvent(new CacheEvictedEvent(Set.copyOf(cacheNames), Map.copyOf(keys), remote));
+        }
+    }
+
+    private void evictLocally(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null && key != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clearLocally(String cacheName) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    static String encodeKey(Object key) {
+        if (key instanceof Integer value) {
+            return "i" + value;
+        }
+        if (key instanceof Long value) {
+            return "l" + value;
+        }
+        if (SimpleKey.EMPTY.equals(key)) {
+            return EMPTY_KEY;
+        }
+        // Unknown key types cannot be rebuilt remotely, so drop the whole cache there
+        return CLEAR;
+    }
+
+    static Object decodeKey(String encoded) {
+        if (EMPTY_KEY.equals(encoded)) {
+            return SimpleKey.EMPTY;
+        }
+        return switch (encoded.charAt(0)) {
+            case 'i' -> Integer.valueOf(encoded.substring(1));
+            case 'l' -> Long.valueOf(encoded.substring(1));
+            default -> throw new IllegalArgumentException("Unknown cache key encoding: " + encoded);
+        };
+    }
+}
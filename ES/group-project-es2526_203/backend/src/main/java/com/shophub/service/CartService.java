@@ -1,5 +1,6 @@
 package com.shophub.service;
 
+import com.shophub.config.OptimisticRetryConfig;
 import com.shophub.dto.CartDTO;
 import com.shophub.exception.ResourceNotFoundException;
 import com.shophub.model.Cart;
@@ -11,9 +12,11 @@ import com.shophub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Service
@@ -24,6 +27,7 @@ public class CartService {
     private final CartRepository cartRepository;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
+    private final StockReservationService stockReservationService;
     
     @Transactional(readOnly = true)
     public List<Cart> getUserCart(String userId) {
@@ -42,6 +46,7 @@ public class CartService {
         return cartItems;
     }
     
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public Cart addToCart(String userId, CartDTO cartDTO, Jwt jwt) {
         // Auto-create user if doesn't exist
@@ -71,7 +76,9 @@ public class CartService {
         Product product = productRepository.findById(cartDTO.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
         
-        if (product.getStockQuantity() < cartDTO.getQuantity()) {
+        // Units other shoppers hold at checkout are not available
+        int availableStock = stockReservationService.availableStock(product, userId);
+        if (availableStock < cartDTO.getQuantity()) {
             throw new IllegalArgumentException("Insufficient stock");
         }
         
@@ -81,7 +88,7 @@ public class CartService {
                     int newQuantity = existingCart.getQuantity() + cartDTO.getQuantity();
                     
                     // Validate total quantity against stock
-                    if (product.getStockQuantity() < newQuantity) {
+                    if (availableStock < newQuantity) {
                         throw new IllegalArgumentException("Insufficient stock");
                     }
                     
@@ -116,6 +123,7 @@ public class CartService {
                 });
     }
     
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public Cart updateCartItem(String userId, Integer cartId, CartDTO cartDTO) {
         Cart cart = cartRepository.findById(cartId)
@@ -133,7 +141,7 @@ public class CartService {
         Product product = productRepository.findById(cart.getProductId())
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
         
-        if (product.getStockQuantity() < cartDTO.getQuantity()) {
+        if (stockReservationService.availableStock(product, userId) < cartDTO.getQuantity()) {
             throw new IllegalArgumentException("Insufficient stock");
         }
         
@@ -150,6 +158,7 @@ public class CartService {
         return saved;
     }
     
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public void removeCartItem(String userId, Integer cartId) {
         Cart cart = cartRepository.findById(cartId)
@@ -161,11 +170,30 @@ public class CartService {
         
         log.info("Removing cart item: {} for user: {}", cartId, userId);
         cartRepository.delete(cart);
+        stockReservationService.release(userId, List.of(cart.getProductId()));
     }
     
     @Transactional
     public void clearCart(String userId) {
         log.info("Clearing cart for user: {}", userId);
         cartRepository.deleteByUserId(userId);
+        stockReservationService.releaseAll(userId);
+    }
+    
+    /**
+     * Clears the cart an order was placed from. Runs after checkout (see OutboxDispatcher),
+     * so lines added or changed after {@code placedAt} belong to the shopper's next order and
+     * stay, together with their stock holds.
+     */
+    @Transactional
+    public void clearCartPlacedAt(String userId, LocalDateTime placedAt) {
+        if (placedAt == null) {
+            clearCart(userId);
+            return;
+        }
+        List<Cart> checkedOut = cartRepository.lockByUserIdChangedUpTo(userId, placedAt);
+        cartRepository.deleteAllInBatch(checkedOut);
+        stockReservationService.release(userId, checkedOut.stream().map(Cart::getProductId).toList());
+        log.info("Cleared {} checked-out cart item(s) for user: {}", checkedOut.size(), userId);
     }
 }
\ No newline at end of file
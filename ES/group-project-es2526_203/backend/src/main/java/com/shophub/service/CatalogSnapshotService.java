@@ -0,0 +1,177 @@
+package com.shophub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shophub.config.CacheNames;
+import com.shophub.config.CatalogSnapshotProperties;
+import com.shophub.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Holds the public product and category listings as ready-to-write JSON (plain and
+ * gzip) with a strong ETag, so anonymous catalog reads skip the database and Jackson.
+ *
+ * Rebuilds run on a single background thread and are coalesced: any number of
+ * evictions while a rebuild is queued produce one rebuild. Until a snapshot exists
+ * (or after a failed rebuild) requests fall through to the regular controllers.
+ */
+@Service
+@Slf4j
+public class CatalogSnapshotService {
+
+    public static final String PRODUCTS = "products";
+    public static final String CATEGORIES = "categories";
+
+    private final ProductRepository productRepository;
+    private final CategoryService categoryService;
+    private final ObjectMapper objectMapper;
+    private final CatalogSnapshotProperties properties;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Slot products = new Slot(PRODUCTS);
+    private final Slot categories = new Slot(CATEGORIES);
+
+    public CatalogSnapshotService(ProductRepository productRepository, CategoryService categoryService,
+                                  ObjectMapper objectMapper, CatalogSnapshotProperties properties) {
+        this.productRepository = productRepository;
+        this.categoryService = categoryService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    public Snapshot getProducts() {
+        return properties.isEnabled() ? products.current : null;
+    }
+
+    public Snapshot getCategories() {
+        return properties.isEnabled() ? categories.current : null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refreshAll();
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.snapshot.refresh-interval:PT5M}",
+               initialDelayString = "${catalog.snapshot.refresh-interval:PT5M}")
+    public void refreshAll() {
+        scheduleRebuild(products);
+        scheduleRebuild(categories);
+    }
+
+    /**
+     * Runs after the evicting transaction commits (or immediately for evictions
+     * received from other replicas), so the rebuild reads the new data.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCacheEvicted(CacheEvictedEvent event) {
+        if (event.cacheNames().contains(CacheNames.PRODUCT_CATALOG)) {
+            scheduleRebuild(products);
+        }
+    }
+
+    /**
+     * Rebuilds the product snapshot on the calling thread.
+     */
+    public void rebuildProducts() {
+        rebuild(products);
+    }
+
+    public void rebuildCategories() {
+        rebuild(categories);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void scheduleRebuild(Slot slot) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (slot.queued.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                // Cleared before reading, so evictions during the rebuild queue another one
+                slot.queued.set(false);
+                rebuild(slot);
+            });
+        }
+    }
+
+    private void rebuild(Slot slot) {
+        try {
+            Supplier<Object> source = slot == products
+                    ? () -> productRepository.findAllCatalogRows().stream()
+                            .map(ProductService::toCatalogProduct)
+                            .toList()
+                    : categoryService::getAllCategories;
+            slot.current = Snapshot.of(objectMapper.writeValueAsBytes(source.get()));
+            log.debug("Rebuilt {} snapshot: {} bytes, {} gzipped, etag {}",
+                    slot.name, slot.current.json().length, slot.current.gzip().length, slot.current.etag());
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Never keep serving a snapshot we know is stale
+            slot.current = null;
+            log.error("Failed to rebuild {} snapshot; serving from the controller until the next rebuild",
+                    slot.name, e);
+        }
+    }
+
+    public record Snapshot(byte[] json, byte[] gzip, String etag) {
+
+        static Snapshot of(byte[] json) {
+            return new Snapshot(json, gzip(json), "\"" + sha256(json) + "\"");
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4 + 64);
+            try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+                gzip.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        private static String sha256(byte[] json) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                return HexFormat.of().formatHex(digest, 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class Slot {
+        final String name;
+        final AtomicBoolean queued = new AtomicBoolean();
+        volatile Snapshot current;
+
+        Slot(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.shophub.service;
 
+import com.shophub.dto.ResourceVersion;
 import com.shophub.model.Category;
 import com.shophub.repository.CategoryRepository;
 import lombok.RequiredArgsConstructor;
@@ -18,4 +19,9 @@ public class CategoryService {
     public List<Category> getAllCategories() {
         return categoryRepository.findAllByOrderByNameAsc();
     }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getCategoriesVersion() {
+        return categoryRepository.findVersion();
+    }
 }
\ No newline at end of file
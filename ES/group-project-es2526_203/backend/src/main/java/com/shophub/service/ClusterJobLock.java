@@ -0,0 +1,45 @@
+package com.shophub.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Lets a scheduled job run on one node at a time. The lock is a PostgreSQL
+ * transaction-scoped advisory lock, released when the caller's transaction ends; other
+ * databases (H2 in tests) have none and are treated as a single node.
+ */
+@Component
+@RequiredArgsConstructor
+public class ClusterJobLock {
+
+    public static final long ORDER_STATS_REBUILD = 0x6f72646572737473L;
+    public static final long REVIEW_STATS_REBUILD = 0x7265766965777374L;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private volatile Boolean postgres;
+
+    /**
+     * @return true when this transaction now holds the lock, false when another node does
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean tryLock(long key) {
+        if (!isPostgres()) {
+            return true;
+        }
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(
+                "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, key));
+    }
+
+    private boolean isPostgres() {
+        if (postgres == null) {
+            postgres = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+                    "PostgreSQL".equals(connection.getMetaData().getDatabaseProductName())));
+        }
+        return postgres;
+    }
+}
@@ -22,6 +22,7 @@ public class FeatureToggleService {
     public static final String FLAG_CONTENT_MANAGER_LANDING_PAGES = "content_manager_landing_pages";
     public static final String FLAG_PROMOTIONAL_BANNERS = "promotional_banners";
     public static final String FLAG_THEME_CUSTOMIZATION = "theme_customization";
+    public static final String FLAG_HOT_INVENTORY_PREFIX = "hot_inventory_";
 
     private final FlagsmithService flagsmithService;
     private final FeatureFlagsProperties defaultFlags;
@@ -70,4 +71,12 @@ public class FeatureToggleService {
     public boolean isThemeCustomizationEnabled() {
         return isFeatureEnabled(FLAG_THEME_CUSTOMIZATION, defaultFlags.isThemeCustomizationEnabled());
     }
+
+    /**
+     * Per-product flag, e.g. {@code hot_inventory_42}, for flash-sale stock handling.
+     */
+    public boolean isHotInventoryEnabled(Integer productId) {
+        return isFeatureEnabled(FLAG_HOT_INVENTORY_PREFIX + productId,
+            defaultFlags.getHotInventoryProductIds().contains(productId));
+    }
 }
@@ -0,0 +1,339 @@
+package com.shophub.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shophub.config.HotInventoryProperties;
+import com.shophub.model.HotStockLease;
+import com.shophub.model.InventoryMovement;
+import com.shophub.model.Product;
+import com.shophub.repository.HotStockLeaseRepository;
+import com.shophub.repository.OrderItemRepository;
+import com.shophub.repository.ProductRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Flash-sale stock handling for products toggled hot in FeatureToggleService.
+ *
+ * Instead of every checkout decrementing the product row, a node escrows a chunk of stock
+ * ({@code products.escrowed_stock}, recorded per node in hot_stock_leases) and sells it
+ * from striped in-memory counters. The flusher writes the node's sales back to
+ * {@code products.stock_quantity} once per interval and heartbeats the lease. Sold order
+ * items carry the lease id, so if the node dies another node settles the lease exactly
+ * from order_items after {@code inventory.hot.lease-ttl} and the product falls back to
+ * the regular OrderService path. Escrowed units are never sold by the regular path,
+ * so neither route can oversell.
+ */
+@Service
+@Slf4j
+public class HotInventoryService {
+
+    private final ProductRepository productRepository;
+    private final HotStockLeaseRepository hotStockLeaseRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final FeatureToggleService featureToggleService;
+    private final HotInventoryProperties properties;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final StockAlertService stockAlertService;
+    private final ProductCatalogCache productCatalogCache;
+    private final TransactionTemplate requiresNew;
+    private final Cache<Integer, Boolean> hotFlags;
+    private final String nodeId;
+
+    private final Map<Integer, Lease> leases = new ConcurrentHashMap<>();
+
+    public HotInventoryService(ProductRepository productRepository,
+                               HotStockLeaseRepository hotStockLeaseRepository,
+                               OrderItemRepository orderItemRepository,
+                               FeatureToggleService featureToggleService,
+                               HotInventoryProperties properties,
+                               InventoryLedgerService inventoryLedgerService,
+                               StockAlertService stockAlertService,
+                               ProductCatalogCache productCatalogCache,
+                               PlatformTransactionManager transactionManager) {
+        this.productRepository = productRepository;
+        this.hotStockLeaseRepository = hotStockLeaseRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.featureToggleService = featureToggleService;
+        this.properties = properties;
+        this.inventoryLedgerService = inventoryLedgerService;
+        this.stockAlertService = stockAlertService;
+        this.productCatalogCache = productCatalogCache;
+        // Escrow changes commit on their own, never with the order that triggered them
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.hotFlags = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getToggleRefresh())
+                .build();
+        this.nodeId = StringUtils.hasText(properties.getNodeId())
+                ? properties.getNodeId()
+                : UUID.randomUUID().toString();
+    }
+
+    /**
+     * Takes units of a hot product from this node's escrow for the current order
+     * transaction. Returns the lease id to stamp on the order items, or null when the
+     * product is not hot or the escrow cannot cover the order, in which case the caller
+     * uses the regular stock path. Call before the order takes any product row locks:
+     * a refill commits in its own transaction and locks the product row.
+     */
+    public String tryTake(Integer productId, int quantity) {
+        Lease current = leases.get(productId);
+        if (!isHot(productId)) {
+            if (current != null) {
+                current.open = false;
+            }
+            return null;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        Lease lease = current != null
+                ? current
+                : leases.computeIfAbsent(productId, id -> new Lease(productId, properties.getStripes()));
+        if (!lease.usable(properties.getLeaseTtl().toNanos() / 2)) {
+            return null;
+        }
+        if (!lease.counter.tryTake(quantity)) {
+            // One refill per lease at a time; the others retry against the refilled stripes
+            synchronized (lease) {
+                if (!lease.counter.tryTake(quantity)
+                        && !(grant(lease, Math.max(quantity, properties.getChunkSize()))
+                             && lease.counter.tryTake(quantity))) {
+                    return null;
+                }
+            }
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    lease.sold.add(quantity);
+                } else {
+                    lease.counter.add(quantity);
+                }
+            }
+        });
+        return lease.leaseId;
+    }
+
+    /**
+     * Writes each lease's sales since the last flush back to the product row, renews its
+     * heartbeat, hands back the escrow of products no longer hot and tops up the rest.
+     */
+    @Scheduled(fixedDelayString = "${inventory.hot.flush-interval:PT1S}")
+    public void flush() {
+        leases.values().forEach(this::flush);
+    }
+
+    /**
+     * Settles leases whose node stopped heartbeating: units sold from them (per
+     * order_items) are applied to stock and the unsold remainder leaves escrow.
+     */
+    @Scheduled(fixedDelayString = "${inventory.hot.lease-ttl:PT30S}")
+    public int reclaimExpiredLeases() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minus(properties.getLeaseTtl());
+        int reclaimed = 0;
+        for (HotStockLease expired : hotStockLeaseRepository.findByHeartbeatAtBefore(cutoff)) {
+            Boolean settled = requiresNew.execute(status -> {
+                if (hotStockLeaseRepository.claimExpired(expired.getLeaseId(), cutoff, now) == 0) {
+                    return false;
+                }
+                HotStockLease lease = hotStockLeaseRepository.findById(expired.getLeaseId()).orElseThrow();
+                int sold = Math.toIntExact(orderItemRepository.sumQuantityByStockLeaseId(lease.getLeaseId()));
+                int unflushed = sold - lease.getFlushed();
+                int unsold = lease.getGranted() - sold;
+                productRepository.settleEscrow(lease.getProductId(), unflushed, unsold, now);
+                inventoryLedgerService.record(lease.getProductId(), -unflushed,
+                        InventoryMovement.REASON_HOT_INVENTORY_RECLAIM, null, nodeId);
+                productRepository.findById(lease.getProductId()).ifPresent(product -> {
+                    stockAlertService.onStockChanged(product);
+                    evictAfterCommit(product);
+                });
+                hotStockLeaseRepository.delete(lease);
+                log.warn("Reclaimed hot-inventory lease {} of node {} for product {}: {} sold unflushed, {} returned",
+                        lease.getLeaseId(), lease.getNodeId(), lease.getProductId(), unflushed, unsold);
+                return true;
+            });
+            if (Boolean.TRUE.equals(settled)) {
+                reclaimed++;
+            }
+        }
+        return reclaimed;
+    }
+
+    // Hands back this node's escrow so other nodes do not wait out the lease TTL
+    @PreDestroy
+    public void shutdown() {
+        leases.values().forEach(lease -> {
+            lease.open = false;
+            flush(lease);
+        });
+    }
+
+    private boolean isHot(Integer productId) {
+        return hotFlags.get(productId, featureToggleService::isHotInventoryEnabled);
+    }
+
+    private void flush(Lease lease) {
+        synchronized (lease) {
+            if (lease.open && !isHot(lease.productId)) {
+                lease.open = false;
+            }
+            if (!lease.persisted) {
+                if (!lease.open) {
+                    leases.remove(lease.productId, lease);
+                }
+                return;
+            }
+
+            int sold = Math.toIntExact(lease.sold.sumThenReset());
+            int returned = lease.open ? 0 : Math.toIntExact(lease.counter.drain());
+            boolean closing = !lease.open && lease.outstanding - sold - returned == 0;
+            LocalDateTime now = LocalDateTime.now();
+            Boolean kept;
+            try {
+                kept = requiresNew.execute(status -> {
+                    if (hotStockLeaseRepository.settle(lease.leaseId, sold, returned, now) == 0) {
+                        return false;
+                    }
+                    if (sold + returned > 0) {
+                        productRepository.settleEscrow(lease.productId, sold, returned, now);
+                        inventoryLedgerService.record(lease.productId, -sold,
+                                InventoryMovement.REASON_HOT_INVENTORY_FLUSH, null, nodeId);
+                        productRepository.findById(lease.productId).ifPresent(product -> {
+                            if (sold > 0) {
+                                // Hot sales reach stock here, so this is where their alert state moves
+                                stockAlertService.onStockChanged(product);
+                            }
+                            evictAfterCommit(product);
+                        });
+                    }
+                    if (closing) {
+                        hotStockLeaseRepository.deleteById(lease.leaseId);
+                    }
+                    return true;
+                });
+            } catch (DataAccessException e) {
+                lease.sold.add(sold);
+                lease.counter.add(returned);
+                log.warn("Failed to flush hot-inventory lease {} for product {}: {}",
+                        lease.leaseId, lease.productId, e.getMessage());
+                return;
+            }
+
+            if (!Boolean.TRUE.equals(kept)) {
+                // Another node decided this node was dead and already settled the lease from order_items
+                lease.open = false;
+                leases.remove(lease.productId, lease);
+                log.error("Hot-inventory lease {} for product {} was reclaimed while this node held it",
+                        lease.leaseId, lease.productId);
+                return;
+            }
+            lease.outstanding -= sold + returned;
+            lease.renewedAt = System.nanoTime();
+            if (closing) {
+                leases.remove(lease.productId, lease);
+            } else if (lease.open && lease.counter.sum() < properties.getChunkSize() / 2) {
+                grant(lease, properties.getChunkSize());
+            }
+        }
+    }
+
+    // Cached listings and snapshots keep the pre-settlement stock until the escrow transaction commits
+    private void evictAfterCommit(Product product) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            productCatalogCache.evictProduct(product.getProductId(), product.getCategoryId());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                // The committed transaction's resources are still bound: publish from a new one
+                requiresNew.executeWithoutResult(status ->
+                        productCatalogCache.evictProduct(product.getProductId(), product.getCategoryId()));
+            }
+        });
+    }
+
+    // Moves free stock into the lease's escrow and onto its counters; false when too little is free
+    private boolean grant(Lease lease, int quantity) {
+        LocalDateTime now = LocalDateTime.now();
+        Boolean granted;
+        try {
+            granted = requiresNew.execute(status -> {
+                if (productRepository.escrowStock(lease.productId, quantity, now) == 0) {
+                    return false;
+                }
+                if (!lease.persisted) {
+                    hotStockLeaseRepository.save(HotStockLease.builder()
+                            .leaseId(lease.leaseId)
+                            .productId(lease.productId)
+                            .nodeId(nodeId)
+                            .granted(quantity)
+                            .flushed(0)
+                            .heartbeatAt(now)
+                            .build());
+                } else if (hotStockLeaseRepository.grant(lease.leaseId, quantity, now) == 0) {
+                    // Reclaimed by another node; the next flush drops it
+                    status.setRollbackOnly();
+                    return false;
+                }
+                return true;
+            });
+        } catch (DataAccessException e) {
+            log.warn("Failed to escrow stock for hot product {}: {}", lease.productId, e.getMessage());
+            return false;
+        }
+        if (!Boolean.TRUE.equals(granted)) {
+            return false;
+        }
+        lease.persisted = true;
+        lease.outstanding += quantity;
+        lease.renewedAt = System.nanoTime();
+        lease.counter.add(quantity);
+        log.debug("Escrowed {} units of product {} to lease {}", quantity, lease.productId, lease.leaseId);
+        return true;
+    }
+
+    private static final class Lease {
+        final String leaseId = UUID.randomUUID().toString();
+        final Integer productId;
+        final StripedStockCounter counter;
+        // Units sold by committed orders and not yet flushed
+        final LongAdder sold = new LongAdder();
+        volatile boolean open = true;
+        volatile boolean persisted;
+        volatile long renewedAt = System.nanoTime();
+        // granted - flushed as recorded in the database; only changed under the lease monitor
+        long outstanding;
+
+        Lease(Integer productId, int stripes) {
+            this.productId = productId;
+            this.counter = new StripedStockCounter(stripes);
+        }
+
+        // A node that could not heartbeat for half the TTL stops selling before anyone may reclaim
+        boolean usable(long fenceNanos) {
+            return open && (!persisted || System.nanoTime() - renewedAt < fenceNanos);
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.shophub.service;
+
+import com.shophub.config.InventoryLedgerProperties;
+import com.shophub.dto.StockDiscrepancyDTO;
+import com.shophub.dto.StockLevelDTO;
+import com.shophub.exception.ResourceNotFoundException;
+import com.shophub.model.InventoryMovement;
+import com.shophub.model.InventorySnapshot;
+import com.shophub.model.Product;
+import com.shophub.repository.InventoryMovementRepository;
+import com.shophub.repository.InventorySnapshotRepository;
+import com.shophub.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only history of every {@code stock_quantity} change, plus periodic per-product
+ * snapshots so stock at any point in time is one snapshot read and one bounded SUM
+ * instead of a replay of orders.
+ *
+ * Movements recorded during a transaction are buffered and written in one JDBC batch
+ * just before it commits, so they commit or roll back with the stock change itself.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class InventoryLedgerService {
+
+    // Lower bound for ledger windows that start before the first snapshot
+    static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final String INSERT_MOVEMENT =
+            "INSERT INTO inventory_movements (product_id, delta, reason, order_id, actor, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final InventoryMovementRepository inventoryMovementRepository;
+    private final InventorySnapshotRepository inventorySnapshotRepository;
+    private final ProductRepository productRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final InventoryLedgerProperties properties;
+
+    /**
+     * Records a stock change by the current authenticated user, or "system" outside a request.
+     */
+    public void record(Integer productId, int delta, String reason, Integer orderId) {
+        record(productId, delta, reason, orderId, currentActor());
+    }
+
+    public void record(Integer productId, int delta, String reason, Integer orderId, String actor) {
+        if (delta == 0) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            throw new IllegalStateException("Inventory movements must be recorded inside a transaction");
+        }
+        currentBatch().movements.add(InventoryMovement.builder()
+                .productId(productId)
+                .delta(delta)
+                .reason(reason)
+                .orderId(orderId)
+                .actor(actor)
+                .build());
+    }
+
+    @Transactional(readOnly = true)
+    public List<InventoryMovement> getMovements(Integer productId, LocalDateTime from, LocalDateTime to, int limit) {
+        int size = Math.max(1, Math.min(limit, properties.getMaxMovements()));
+        return inventoryMovementRepository.findWindow(productId,
+                from != null ? from : EPOCH,
+                to != null ? to : LocalDateTime.now(),
+                PageRequest.of(0, size));
+    }
+
+    /**
+     * Stock of a product at {@code at} (now when null): the latest snapshot at or before
+     * that time plus the movements between the two.
+     */
+    @Transactional(readOnly = true)
+    public StockLevelDTO getStockAt(Integer productId, LocalDateTime at) {
+        if (!productRepository.existsById(productId)) {
+            throw new ResourceNotFoundException("Product not found");
+        }
+        LocalDateTime pointInTime = at != null ? at : LocalDateTime.now();
+        InventorySnapshot snapshot = inventorySnapshotRepository
+                .findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(productId, pointInTime)
+                .orElse(null);
+        LocalDateTime from = snapshot != null ? snapshot.getSnapshotAt() : EPOCH;
+        long base = snapshot != null ? snapshot.getStockQuantity() : 0;
+        long stock = base + inventoryMovementRepository.sumDelta(productId, from, pointInTime);
+        return StockLevelDTO.builder()
+                .productId(productId)
+                .at(pointInTime)
+                .stockQuantity(Math.toIntExact(stock))
+                .snapshotAt(snapshot != null ? snapshot.getSnapshotAt() : null)
+                .build();
+    }
+
+    /**
+     * Products whose stock_quantity disagrees with the ledger. Movements commit together
+     * with their stock change, so a row here means stock was written around the ledger;
+     * an order committing mid-check can show up once and disappear on the next call.
+     */
+    @Transactional(readOnly = true)
+    public List<StockDiscrepancyDTO> findDiscrepancies() {
+        Map<Integer, Integer> snapshots = inventorySnapshotRepository.findAllLatest().stream()
+                .collect(Collectors.toMap(InventorySnapshot::getProductId, InventorySnapshot::getStockQuantity));
+        Map<Integer, Long> deltas = toDeltaMap(inventoryMovementRepository.sumDeltaSinceLatestSnapshot(EPOCH));
+
+        List<StockDiscrepancyDTO> discrepancies = new ArrayList<>();
+        for (Product product : productRepository.findAll()) {
+            long ledger = snapshots.getOrDefault(product.getProductId(), 0)
+                    + deltas.getOrDefault(product.getProductId(), 0L);
+            if (product.getStockQuantity() != ledger) {
+                discrepancies.add(StockDiscrepancyDTO.builder()
+                        .productId(product.getProductId())
+                        .name(product.getName())
+                        .stockQuantity(product.getStockQuantity())
+                        .ledgerQuantity(Math.toIntExact(ledger))
+                        .build());
+            }
+        }
+        return discrepancies;
+    }
+
+    /**
+     * Folds the movements since the previous snapshot run into a new snapshot for every
+     * product that moved. Runs stay {@code settle-lag} behind the present so no open
+     * transaction can still add a movement to the window being folded.
+     */
+    @Scheduled(fixedDelayString = "${inventory.ledger.snapshot-interval:PT1H}")
+    @Transactional
+    public int takeSnapshots() {
+        LocalDateTime cutoff = LocalDateTime.now().minus(properties.getSettleLag());
+        LocalDateTime previous = inventorySnapshotRepository.findLatestSnapshotAt().orElse(EPOCH);
+        if (!cutoff.isAfter(previous)) {
+            return 0;
+        }
+
+        Map<Integer, Long> deltas = toDeltaMap(inventoryMovementRepository.sumDeltaByProduct(previous, cutoff));
+        if (deltas.isEmpty()) {
+            return 0;
+        }
+        // Base each product on its snapshot as of the window start, not on one a concurrent run just wrote
+        Map<Integer, Integer> bases = inventorySnapshotRepository.findLatestAsOf(deltas.keySet(), previous).stream()
+                .collect(Collectors.toMap(InventorySnapshot::getProductId, InventorySnapshot::getStockQuantity));
+
+        List<InventorySnapshot> snapshots = deltas.entrySet().stream()
+                .map(entry -> InventorySnapshot.builder()
+                        .productId(entry.getKey())
+                        .stockQuantity(Math.toIntExact(bases.getOrDefault(entry.getKey(), 0) + entry.getValue()))
+                        .snapshotAt(cutoff)
+                        .build())
+                .toList();
+        inventorySnapshotRepository.saveAll(snapshots);
+        log.info("Took {} inventory snapshot(s) as of {}", snapshots.size(), cutoff);
+        return snapshots.size();
+    }
+
+    private Map<Integer, Long> toDeltaMap(List<Object[]> rows) {
+        return rows.stream().collect(Collectors.toMap(
+                row -> (Integer) row[0],
+                row -> ((Number) row[1]).longValue()));
+    }
+
+    private MovementBatch currentBatch() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof MovementBatch batch) {
+                return batch;
+            }
+        }
+        MovementBatch batch = new MovementBatch();
+        TransactionSynchronizationManager.registerSynchronization(batch);
+        return batch;
+    }
+
+    private String currentActor() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "system";
+        }
+        return authentication.getName();
+    }
+
+    /**
+     * The current transaction's movements. Looked up among the transaction's own
+     * synchronizations, which REQUIRES_NEW suspends, so an inner transaction gets its own batch.
+     */
+    private final class MovementBatch implements TransactionSynchronization {
+
+        private final List<InventoryMovement> movements = new ArrayList<>();
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            if (movements.isEmpty()) {
+                return;
+            }
+            Timestamp createdAt = Timestamp.valueOf(LocalDateTime.now());
+            jdbcTemplate.batchUpdate(INSERT_MOVEMENT, movements, movements.size(), (ps, movement) -> {
+                ps.setInt(1, movement.getProductId());
+                ps.setInt(2, movement.getDelta());
+                ps.setString(3, movement.getReason());
+                ps.setObject(4, movement.getOrderId(), Types.INTEGER);
+                ps.setString(5, movement.getActor());
+                ps.setTimestamp(6, createdAt);
+            });
+            movements.clear();
+        }
+    }
+}
@@ -1,10 +1,13 @@
 package com.shophub.service;
 
+import com.shophub.config.CacheNames;
 import com.shophub.dto.LandingPageDTO;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.model.LandingPage;
 import com.shophub.repository.LandingPageRepository;
 import com.shophub.exception.ResourceNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -19,6 +22,7 @@ import com.shophub.exception.InvalidInputException;
 @RequiredArgsConstructor
 public class LandingPageService {
     private final LandingPageRepository landingPageRepository;
+    private final CacheInvalidationBus cacheInvalidationBus;
 
     public LandingPageDTO createLandingPage(LandingPageDTO dto) {
         JsonNode metadataNode = parseMetadata(dto.getMetadata());
@@ -50,6 +54,7 @@ public class LandingPageService {
         landingPage.setEndDate(dto.getEndDate() != null ? LocalDateTime.parse(dto.getEndDate()) : null);
 
         LandingPage updated = landingPageRepository.save(landingPage);
+        evictPublishedLandingPages();
         return convertToDTO(updated);
     }
 
@@ -73,6 +78,7 @@ public class LandingPageService {
         landingPage.setPublishedAt(LocalDateTime.now());
         
         LandingPage published = landingPageRepository.save(landingPage);
+        evictPublishedLandingPages();
         return convertToDTO(published);
     }
 
@@ -84,6 +90,7 @@ public class LandingPageService {
         landingPage.setPublishedAt(null);
 
         LandingPage updated = landingPageRepository.save(landingPage);
+        evictPublishedLandingPages();
         return convertToDTO(updated);
     }
 
@@ -99,8 +106,12 @@ public class LandingPageService {
         return convertToDTO(landingPage);
     }
 
-    public List<LandingPageDTO> getPublishedLandingPages() {
-        LocalDateTime now = LocalDateTime.now();
+    /**
+     * Pages live at {@code now}, cached under the schedule version probed at the same
+     * instant so the list always matches the ETag it is served with.
+     */
+    @Cacheable(value = CacheNames.PUBLISHED_LANDING_PAGES, key = "#version")
+    public List<LandingPageDTO> getPublishedLandingPages(LocalDateTime now, ResourceVersion version) {
         return landingPageRepository.findByIsPublishedTrue().stream()
             .filter(lp -> {
                 if (lp.getStartDate() != null && now.isBefore(lp.getStartDate())) return false;
@@ -111,11 +122,29 @@ public class LandingPageService {
             .collect(Collectors.toList());
     }
 
+    public ResourceVersion getLandingPagesVersion() {
+        return landingPageRepository.findVersion();
+    }
+
+    public ResourceVersion getPublishedLandingPagesVersion(LocalDateTime now) {
+        return landingPageRepository.findScheduleVersion(now);
+    }
+
+    public ResourceVersion getLandingPageVersion(Long id) {
+        return landingPageRepository.findVersionById(id);
+    }
+
     public void deleteLandingPage(Long id) {
         if (!landingPageRepository.existsById(id)) {
             throw new ResourceNotFoundException("Landing page not found with id: " + id);
         }
         landingPageRepository.deleteById(id);
+        evictPublishedLandingPages();
+    }
+
+    // entries are keyed by schedule version, so a write clears them all
+    private void evictPublishedLandingPages() {
+        cacheInvalidationBus.clear(List.of(CacheNames.PUBLISHED_LANDING_PAGES));
     }
 
     private LandingPageDTO convertToDTO(LandingPage landingPage) {
@@ -13,6 +13,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -40,50 +41,57 @@ public class NotificationService {
     @Transactional
     public void sendOrderStatusNotification(Order order, String oldStatus, String newStatus) {
         try {
-            // Get user details
-            User user = userRepository.findById(order.getUserId()).orElse(null);
-            
-            OrderNotification notification = OrderNotification.builder()
-                    .orderId(order.getOrderId())
-                    .userId(order.getUserId())
-                    .customerEmail(user != null ? user.getEmail() : "unknown@example.com")
-                    .customerName(user != null ? (user.getFirstName() + " " + user.getLastName()) : "Customer")
-                    .oldStatus(oldStatus)
-                    .newStatus(newStatus)
-                    .trackingNumber(order.getTrackingNumber())
-                    .shippingProvider(order.getShippingProvider())
-                    .totalAmount(order.getTotalAmount())
-                    .updatedAt(LocalDateTime.now())
-                    .message(generateStatusMessage(newStatus, order))
-                    .build();
-            
-            // Save notification to database
-            createNotification(
-                order.getUserId(),
-                order.getOrderId(),
-                "Order Status Updated",
-                notification.getMessage(),
-                "order_status"
-            );
-            
-            // Log the notification (in production, this would send an actual email)
-            log.info("📧 ORDER NOTIFICATION:");
-            log.info("   To: {} ({})", notification.getCustomerName(), notification.getCustomerEmail());
-            log.info("   Subject: Order #{} Status Update", notification.getOrderId());
-            log.info("   Order Status: {} → {}", oldStatus, newStatus);
-            log.info("   Message: {}", notification.getMessage());
-            
-            if (order.getTrackingNumber() != null) {
-                log.info("   Tracking: {} ({})", order.getTrackingNumber(), order.getShippingProvider());
-            }
-            
-            log.info("   ✅ Notification sent successfully");
-            
+            notifyOrderStatusChanged(order, oldStatus, newStatus);
         } catch (Exception e) {
             log.error("Failed to send notification for order {}: {}", order.getOrderId(), e.getMessage(), e);
         }
     }
 
+    /**
+     * sendOrderStatusNotification for the outbox: failures propagate so the event is retried
+     */
+    @Transactional
+    public void notifyOrderStatusChanged(Order order, String oldStatus, String newStatus) {
+        // Get user details
+        User user = userRepository.findById(order.getUserId()).orElse(null);
+        
+        OrderNotification notification = OrderNotification.builder()
+                .orderId(order.getOrderId())
+                .userId(order.getUserId())
+                .customerEmail(user != null ? user.getEmail() : "unknown@example.com")
+                .customerName(user != null ? (user.getFirstName() + " " + user.getLastName()) : "Customer")
+                .oldStatus(oldStatus)
+                .newStatus(newStatus)
+                .trackingNumber(order.getTrackingNumber())
+                .shippingProvider(order.getShippingProvider())
+                .totalAmount(order.getTotalAmount())
+                .updatedAt(LocalDateTime.now())
+                .message(generateStatusMessage(newStatus, order))
+                .build();
+        
+        // Save notification to database
+        createNotification(
+            order.getUserId(),
+            order.getOrderId(),
+            "Order Status Updated",
+            notification.getMessage(),
+            "order_status"
+        );
+        
+        // Log the notification (in production, this would send an actual email)
+        log.info("📧 ORDER NOTIFICATION:");
+        log.info("   To: {} ({})", notification.getCustomerName(), notification.getCustomerEmail());
+        log.info("   Subject: Order #{} Status Update", notification.getOrderId());
+        log.info("   Order Status: {} → {}", oldStatus, newStatus);
+        log.info("   Message: {}", notification.getMessage());
+        
+        if (order.getTrackingNumber() != null) {
+            log.info("   Tracking: {} ({})", order.getTrackingNumber(), order.getShippingProvider());
+        }
+        
+        log.info("   ✅ Notification sent successfully");
+    }
+
     /**
      * Send a generic notification to a user (admin actions, etc.).
      * This stores the notification in the database with no associated order.
@@ -111,86 +119,68 @@ public class NotificationService {
     @Transactional
     public void sendDeliveryNotificationToStaff(Order order) {
         try {
-            List<User> staffMembers = userRepository.findByRoleIn(DELIVERY_STAFF_ROLES);
-            
-            if (staffMembers == null || staffMembers.isEmpty()) {
-                log.info("No staff members found for delivery notification roles {}", DELIVERY_STAFF_ROLES);
-                return;
-            }
-            
-            User customer = userRepository.findById(order.getUserId()).orElse(null);
-            String customerName = customer != null
-                ? String.format("%s %s", 
-                    customer.getFirstName() != null ? customer.getFirstName() : "",
-                    customer.getLastName() != null ? customer.getLastName() : "")
-                    .trim()
-                : order.getUserId();
-            
-            if (customerName == null || customerName.isBlank()) {
-                customerName = order.getUserId();
-            }
-            
-            String message = String.format(
-                "Order #%d for %s has been marked as delivered.",
-                order.getOrderId(),
-                customerName
-            );
-            
-            if (order.getTrackingNumber() != null && !order.getTrackingNumber().isBlank()) {
-                message += String.format(" Tracking number: %s.", order.getTrackingNumber());
-            }
-            
-            for (User staff : staffMembers) {
-                createNotification(
-                    staff.getUserId(),
-                    order.getOrderId(),
-                    "Order Delivered",
-                    message,
-                    "order_delivery"
-                );
-                
-                log.info("📦 Staff delivery notification stored for {} ({}) about order #{}",
-                        staff.getEmail(), staff.getRole(), order.getOrderId());
-            }
+            notifyStaffOfDelivery(order);
         } catch (Exception e) {
             log.error("Failed to notify staff about delivery for order {}: {}", 
                     order.getOrderId(), e.getMessage(), e);
         }
     }
-    
+
     /**
-     * Send payment confirmation notification
+     * sendDeliveryNotificationToStaff for the outbox: failures propagate so the event is retried
      */
     @Transactional
-    public void sendPaymentConfirmationNotification(Order order) {
-        try {
-            User user = userRepository.findById(order.getUserId()).orElse(null);
-            
-            String message = "Your payment has been confirmed and your order is being processed.";
-            
-            // Add tracking info if available
-            if (order.getTrackingNumber() != null && !order.getTrackingNumber().isBlank()) {
-                message += String.format(" Tracking: %s", order.getTrackingNumber());
-            }
-            
-            // Save notification to database
+    public void notifyStaffOfDelivery(Order order) {
+        List<User> staffMembers = userRepository.findByRoleIn(DELIVERY_STAFF_ROLES);
+        
+        if (staffMembers == null || staffMembers.isEmpty()) {
+            log.info("No staff members found for delivery notification roles {}", DELIVERY_STAFF_ROLES);
+            return;
+        }
+        
+        User customer = userRepository.findById(order.getUserId()).orElse(null);
+        String customerName = customer != null
+            ? String.format("%s %s", 
+                customer.getFirstName() != null ? customer.getFirstName() : "",
+                customer.getLastName() != null ? customer.getLastName() : "")
+                .trim()
+            : order.getUserId();
+        
+        if (customerName == null || customerName.isBlank()) {
+            customerName = order.getUserId();
+        }
+        
+        String message = String.format(
+            "Order #%d for %s has been marked as delivered.",
+            order.getOrderId(),
+            customerName
+        );
+        
+        if (order.getTrackingNumber() != null && !order.getTrackingNumber().isBlank()) {
+            message += String.format(" Tracking number: %s.", order.getTrackingNumber());
+        }
+        
+        for (User staff : staffMembers) {
             createNotification(
-                order.getUserId(),
+                staff.getUserId(),
                 order.getOrderId(),
-                "Payment Confirmed",
+                "Order Delivered",
                 message,
-                "payment"
+                "order_delivery"
             );
             
-            log.info("💳 PAYMENT CONFIRMATION:");
-            log.info("   To: {} ({})", 
-                    user != null ? (user.getFirstName() + " " + user.getLastName()) : "Customer",
-                    user != null ? user.getEmail() : "unknown@example.com");
-            log.info("   Order: #{}", order.getOrderId());
-            log.info("   Amount: ${}", order.getTotalAmount());
-            log.info("   Message: {}", message);
-            log.info("   ✅ Payment confirmation sent successfully");
-            
+            log.info("📦 Staff delivery notification stored for {} ({}) about order #{}",
+                    staff.getEmail(), staff.getRole(), order.getOrderId());
+        }
+    }
+    
+    /**
+     * Send payment confirmation notification
+     */
+    @Transactional
+    public void sendPaymentConfirmationNotification(Order order) {
+        try {
+            notifyPaymentConfirmed(order);
         } catch (Exception e) {
             log.error("Failed to send payment confirmation for order {}: {}", 
                     order.getOrderId(), e.getMessage(), e);
@@ -198,82 +188,87 @@ public class NotificationService {
     }
 
     /**
-     * Send low-stock alert to administrators.
+     * sendPaymentConfirmationNotification for the outbox: failures propagate so the event is retried
      */
     @Transactional
-    public void sendLowStockAlert(Product product) {
-        int stock = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
-        int threshold = product.getLowStockThreshold() != null ? product.getLowStockThreshold() : 10;
-        boolean outOfStock = stock <= 0;
-        boolean lowStock = stock > 0 && stock <= threshold;
-
-        // Only create notifications for low or no stock
-        if (!outOfStock && !lowStock) {
-            log.info("Stock OK for product {} (ID: {}) - stock={}, threshold={}, skipping alert",
-                    product.getName(), product.getProductId(), stock, threshold);
-            return;
+    public void notifyPaymentConfirmed(Order order) {
+        User user = userRepository.findById(order.getUserId()).orElse(null);
+        
+        String message = "Your payment has been confirmed and your order is being processed.";
+        
+        // Add tracking info if available
+        if (order.getTrackingNumber() != null && !order.getTrackingNumber().isBlank()) {
+            message += String.format(" Tracking: %s", order.getTrackingNumber());
         }
+        
+        // Save notification to database
+        createNotification(
+            order.getUserId(),
+            order.getOrderId(),
+            "Payment Confirmed",
+            message,
+            "payment"
+        );
+        
+        log.info("💳 PAYMENT CONFIRMATION:");
+        log.info("   To: {} ({})", 
+                user != null ? (user.getFirstName() + " " + user.getLastName()) : "Customer",
+                user != null ? user.getEmail() : "unknown@example.com");
+        log.info("   Order: #{}", order.getOrderId());
+        log.info("   Amount: ${}", order.getTotalAmount());
+        log.info("   Message: {}", message);
+        log.info("   ✅ Payment confirmation sent successfully");
+    }
 
-        log.warn("🚨 {} ALERT TRIGGERED for product: {} (ID: {}, Stock: {}, Threshold: {})",
-                outOfStock ? "OUT OF STOCK" : "LOW STOCK",
-                product.getName(), product.getProductId(), stock, threshold);
-
-        try {
-            // Find administrators only for inventory alerts
-            List<User> admins = userRepository.findByRoleIn(INVENTORY_ALERT_ROLES);
-
-            log.warn("🔍 Found {} inventory alert recipients in database", admins != null ? admins.size() : 0);
+    @Transactional(readOnly = true)
+    public boolean hasStockAlertRecipients() {
+        return userRepository.existsByRoleIn(INVENTORY_ALERT_ROLES);
+    }
 
-            if (admins == null || admins.isEmpty()) {
-                log.error("❌ NO STAFF FOUND to notify about inventory status for product {}", product.getProductId());
-                log.error("❌ Check your database - make sure users have role in {}", INVENTORY_ALERT_ROLES);
-                return;
-            }
+    /**
+     * Send one stock alert digest to each administrator, covering every product in
+     * {@code products} (see StockAlertService). Failures propagate, so the caller's
+     * claim on the alerts rolls back and the next digest reports them again.
+     */
+    @Transactional
+    public void sendStockAlertDigest(List<Product> products) {
+        if (products.isEmpty()) {
+            return;
+        }
 
-            String title;
-            String message;
-            String type;
+        // Find administrators only for inventory alerts
+        List<User> admins = userRepository.findByRoleIn(INVENTORY_ALERT_ROLES);
+        if (admins.isEmpty()) {
+            throw new IllegalStateException("No staff with a role in " + INVENTORY_ALERT_ROLES
+                    + " to notify about " + products.size() + " stock alert(s)");
+        }
 
-            if (outOfStock) {
-                title = "Out of Stock Alert";
-                message = String.format(
-                    "Product '%s' (ID #%d) is out of stock.",
-                    product.getName(),
-                    product.getProductId()
-                );
-                type = "inventory_out_of_stock";
+        boolean anyOutOfStock = false;
+        List<String> lines = new ArrayList<>();
+        for (Product product : products) {
+            int stock = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+            int threshold = product.getLowStockThreshold() != null ? product.getLowStockThreshold() : 10;
+            if (stock <= 0) {
+                anyOutOfStock = true;
+                lines.add(String.format("Product '%s' (ID #%d) is out of stock.",
+                        product.getName(), product.getProductId()));
             } else {
-                title = "Low/No Stock Alert";
-                message = String.format(
-                    "Product '%s' (ID #%d) is low on stock: %d units (threshold: %d).",
-                    product.getName(),
-                    product.getProductId(),
-                    stock,
-                    threshold
-                );
-                type = "inventory_low_stock";
+                lines.add(String.format("Product '%s' (ID #%d) is low on stock: %d units (threshold: %d).",
+                        product.getName(), product.getProductId(), stock, threshold));
             }
+        }
 
-            for (User admin : admins) {
-                log.warn("📧 Creating notification for admin: {} (ID: {}, Email: {})",
-                        admin.getUserId(), admin.getUserId(), admin.getEmail());
-
-                createNotification(
-                        admin.getUserId(),
-                        null, // not tied to an order
-                        title,
-                        message,
-                        type
-                );
+        String title = anyOutOfStock ? "Out of Stock Alert" : "Low/No Stock Alert";
+        String type = anyOutOfStock ? "inventory_out_of_stock" : "inventory_low_stock";
+        String message = String.join("\n", lines);
 
-                log.warn("✅ Notification created successfully for user {}", admin.getUserId());
-            }
-
-            log.warn("✅ INVENTORY ALERT COMPLETED - Created {} notifications", admins.size());
-        } catch (Exception e) {
-            log.error("❌ FAILED to send low-stock alerts for product {}: {}", product.getProductId(), e.getMessage(), e);
-            e.printStackTrace();
+        List<Notification> notifications = new ArrayList<>(admins.size());
+        for (User admin : admins) {
+            notifications.add(buildNotification(admin.getUserId(), null, title, message, type));
         }
+        notificationRepository.saveAll(notifications);
+
+        log.warn("🚨 INVENTORY ALERT DIGEST sent to {} admin(s) for {} product(s)", admins.size(), products.size());
     }
     
     /**
@@ -305,6 +300,10 @@ public class NotificationService {
      * Create and save a notification to database
      */
     private void createNotification(String userId, Integer orderId, String title, String message, String type) {
+        notificationRepository.save(buildNotification(userId, orderId, title, message, type));
+    }
+    
+    private Notification buildNotification(String userId, Integer orderId, String title, String message, String type) {
         Notification notification = new Notification();
         notification.setUserId(userId);
         notification.setOrderId(orderId);
@@ -313,6 +312,6 @@ public class NotificationService {
         notification.setType(type);
         notification.setRead(false);
         notification.setCreatedAt(LocalDateTime.now());
-        notificationRepository.save(notification);
+        return notification;
     }
 }
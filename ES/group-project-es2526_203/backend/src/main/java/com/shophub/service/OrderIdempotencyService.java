@@ -0,0 +1,233 @@
+package com.shophub.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.shophub.config.OrderIdempotencyProperties;
+import com.shophub.dto.CreateOrderRequest;
+import com.shophub.model.Order;
+import com.shophub.model.OrderIdempotencyKey;
+import com.shophub.repository.OrderIdempotencyKeyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Exactly-once order placement for clients that send an Idempotency-Key.
+ *
+ * The key is recorded in order_idempotency_keys in the same transaction as the order, and
+ * is claimed before the order's stock is touched: a duplicate on another node blocks on the
+ * unique (user_id, idempotency_key) row until the first request commits or rolls back.
+ * Duplicates on this node wait on the first request in memory instead, and recently
+ * completed keys are answered from memory without a query. A replay returns the stored
+ * response of the first request; a failed placement records nothing, so the client may
+ * retry the key.
+ */
+@Service
+@Slf4j
+public class OrderIdempotencyService {
+
+    public static final int MAX_KEY_LENGTH = 255;
+
+    private final OrderService orderService;
+    private final OrderIdempotencyKeyRepository keyRepository;
+    private final OrderIdempotencyProperties properties;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Completed> recentKeys;
+    private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+
+    public OrderIdempotencyService(OrderService orderService,
+                                   OrderIdempotencyKeyRepository keyRepository,
+                                   OrderIdempotencyProperties properties,
+                                   ObjectMapper objectMapper,
+                                   TransactionTemplate transactionTemplate) {
+        this.orderService = orderService;
+        this.keyRepository = keyRepository;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(properties.getRecentKeys())
+                .expireAfterWrite(properties.getRetention())
+                .build();
+    }
+
+    /**
+     * Places the order once per (user, key). Returns the order with {@code replayed} set
+     * when an earlier request with the same key already placed it.
+     */
+    public Result placeOrder(String userId, String idempotencyKey, CreateOrderRequest request, Jwt jwt) {
+        String key = idempotencyKey.trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(request);
+        String cacheKey = userId + '\n' + key;
+
+        Completed recent = recentKeys.getIfPresent(cacheKey);
+        if (recent != null) {
+            return replay(userId, recent, requestHash);
+        }
+
+        InFlight mine = new InFlight(requestHash);
+        InFlight first = inFlight.putIfAbsent(cacheKey, mine);
+        if (first != null) {
+            checkSameRequest(first.requestHash, requestHash);
+            return replay(userId, await(first), requestHash);
+        }
+        try {
+            Placed placed = placeOnce(userId, key, requestHash, request, jwt);
+            recentKeys.put(cacheKey, placed.completed());
+            mine.outcome.complete(placed.completed());
+            return placed.result();
+        } catch (RuntimeException e) {
+            mine.outcome.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, mine);
+        }
+    }
+
+    private Placed placeOnce(String userId, String key, String requestHash, CreateOrderRequest request, Jwt jwt) {
+        OrderIdempotencyKey stored = keyRepository.findByUserIdAndIdempotencyKey(userId, key).orElse(null);
+        if (stored != null) {
+            return replayStored(stored, requestHash);
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                OrderIdempotencyKey claim = keyRepository.saveAndFlush(OrderIdempotencyKey.builder()
+                        .userId(userId)
+                        .idempotencyKey(key)
+                        .requestHash(requestHash)
+                        .build());
+                Order created = orderService.createOrder(userId, request, jwt);
+                claim.setOrderId(created.getOrderId());
+                claim.setResponseBody(serialize(created));
+                // Saved explicitly: the stock updates in createOrder clear the persistence context
+                keyRepository.save(claim);
+                return new Placed(new Result(created, false), new Completed(requestHash, claim.getResponseBody()));
+            });
+        } catch (DataIntegrityViolationException e) {
+            // Another node placed the order for this key first and has committed it
+            log.info("Idempotency-Key for user {} was placed concurrently elsewhere; replaying", userId);
+            return keyRepository.findByUserIdAndIdempotencyKey(userId, key)
+                    .map(row -> replayStored(row, requestHash))
+                    .orElseThrow(() -> e);
+        }
+    }
+
+    private Placed replayStored(OrderIdempotencyKey stored, String requestHash) {
+        Completed completed = new Completed(stored.getRequestHash(), stored.getResponseBody());
+        return new Placed(replay(stored.getUserId(), completed, requestHash), completed);
+    }
+
+    private Result replay(String userId, Completed completed, String requestHash) {
+        checkSameRequest(completed.requestHash(), requestHash);
+        Order order = deserialize(completed.responseBody());
+        log.info("Replaying order {} to user {} for a repeated Idempotency-Key", order.getOrderId(), userId);
+        return new Result(order, true);
+    }
+
+    private static void checkSameRequest(String storedHash, String requestHash) {
+        if (!storedHash.equals(requestHash)) {
+            throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                    "Idempotency-Key was already used for a different order");
+        }
+    }
+
+    private Completed await(InFlight first) {
+        try {
+            return first.outcome.get(properties.getWaitTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // The duplicate gets the same outcome as the request it duplicates
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "An order with this Idempotency-Key is still being placed");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "An order with this Idempotency-Key is still being placed");
+        }
+    }
+
+    private String serialize(Order order) {
+        try {
+            return objectMapper.writeValueAsString(order);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not store the order response", e);
+        }
+    }
+
+    private Order deserialize(String responseBody) {
+        try {
+            return objectMapper.readValue(responseBody, Order.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not read the stored order response", e);
+        }
+    }
+
+    private String hash(CreateOrderRequest request) {
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint order request", e);
+        }
+    }
+
+    /**
+     * Forgets keys older than {@code orders.idempotency.retention}; a retry after that
+     * places a new order.
+     */
+    @Scheduled(fixedDelayString = "${orders.idempotency.purge-interval:PT1H}")
+    @Transactional
+    public int purgeExpired() {
+        int purged = keyRepository.deleteCreatedBefore(LocalDateTime.now().minus(properties.getRetention()));
+        if (purged > 0) {
+            log.info("Purged {} expired order idempotency key(s)", purged);
+        }
+        return purged;
+    }
+
+    public record Result(Order order, boolean replayed) {
+    }
+
+    private record Completed(String requestHash, String responseBody) {
+    }
+
+    private record Placed(Result result, Completed completed) {
+    }
+
+    private static final class InFlight {
+
+        private final String requestHash;
+        private final CompletableFuture<Completed> outcome = new CompletableFuture<>();
+
+        InFlight(String requestHash) {
+            this.requestHash = requestHash;
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.shophub.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shophub.config.OptimisticRetryConfig;
 import com.shophub.dto.AdminOrderUpdateRequest;
 import com.shophub.dto.CreateOrderRequest;
+import com.shophub.dto.OrderListRequest;
+import com.shophub.dto.OrderOutboxPayload;
+import com.shophub.dto.OrderPageDTO;
 import com.shophub.exception.ResourceNotFoundException;
+import com.shophub.model.InventoryMovement;
 import com.shophub.model.Order;
 import com.shophub.model.OrderItem;
+import com.shophub.model.OutboxEvent;
 import com.shophub.model.Product;
+import com.shophub.model.User;
 import com.shophub.repository.OrderItemRepository;
 import com.shophub.repository.OrderRepository;
 import com.shophub.repository.ProductRepository;
@@ -15,14 +22,23 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.http.HttpStatus;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -33,29 +49,19 @@ public class OrderService {
     private final OrderItemRepository orderItemRepository;
     private final ProductRepository productRepository;
     private final UserService userService;
-    private final CartService cartService;
-    private final NotificationService notificationService;
+    private final ProductCatalogCache productCatalogCache;
+    private final StockReservationService stockReservationService;
+    private final HotInventoryService hotInventoryService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final StockAlertService stockAlertService;
+    private final OrderStatsService orderStatsService;
+    private final OutboxService outboxService;
     private final ObjectMapper objectMapper;
     
     @Transactional(readOnly = true)
     public List<Order> getUserOrders(String userId) {
         List<Order> orders = orderRepository.findByUserIdOrderByCreatedAtDesc(userId);
-        
-        // Load items for each order with product details
-        orders.forEach(order -> {
-            List<OrderItem> items = orderItemRepository.findByOrderId(order.getOrderId());
-            
-            // Populate product details for each item
-            items.forEach(item -> {
-                productRepository.findById(item.getProductId()).ifPresent(product -> {
-                    item.setProductName(product.getName());
-                    item.setImages(product.getImages());
-                });
-            });
-            
-            order.setItems(items);
-        });
-        
+        attachItems(orders);
         return orders;
     }
     
@@ -63,19 +69,7 @@ public class OrderService {
     public Order getOrderById(String userId, Integer orderId) {
         Order order = orderRepository.findByOrderIdAndUserId(orderId, userId)
                 .orElseThrow(() -> new ResourceNotFoundException("Order not found"));
-        
-        List<OrderItem> items = orderItemRepository.findByOrderId(orderId);
-        
-        // Populate product details for each item
-        items.forEach(item -> {
-            productRepository.findById(item.getProductId()).ifPresent(product -> {
-                item.setProductName(product.getName());
-                item.setImages(product.getImages());
-            });
-        });
-        
-        order.setItems(items);
-        
+        attachItems(List.of(order));
         return order;
     }
     
@@ -105,6 +99,52 @@ public class OrderService {
             throw new IllegalArgumentException("Order must contain at least one item");
         }
         
+        // Total quantity per product, keyed in product_id order so concurrent checkouts
+        // always take the product row locks in the same order and cannot deadlock
+        Map<Integer, Integer> quantities = new TreeMap<>();
+        for (CreateOrderRequest.OrderItemRequest item : request.getItems()) {
+            Integer productId = item.getProductId() != null ? item.getProductId() : item.getId();
+            
+            if (productId == null) {
+                throw new IllegalArgumentException("Product ID is required for all items");
+            }
+            if (item.getQuantity() == null || item.getQuantity() < 1) {
+                throw new IllegalArgumentException("Quantity must be at least 1");
+            }
+            quantities.merge(productId, item.getQuantity(), Integer::sum);
+        }
+        
+        // Flash-sale products first: they come out of this node's in-memory escrow without
+        // touching the product row, and any escrow refill must not wait behind row locks taken below
+        Map<Integer, String> stockLeases = new HashMap<>();
+        quantities.forEach((productId, quantity) -> {
+            String leaseId = hotInventoryService.tryTake(productId, quantity);
+            if (leaseId != null) {
+                stockLeases.put(productId, leaseId);
+            }
+        });
+        
+        // Take the rest with one conditional UPDATE per product; any failure rolls back the earlier ones.
+        // The user's own checkout holds count as available to them, other users' do not
+        LocalDateTime now = LocalDateTime.now();
+        quantities.forEach((productId, quantity) -> {
+            if (stockLeases.containsKey(productId)) {
+                return;
+            }
+            if (productRepository.decrementStock(productId, quantity, userId, now) == 0) {
+                Product product = productRepository.findById(productId)
+                        .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + productId));
+                throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+            }
+        });
+        
+        // The held units are now decremented for real
+        stockReservationService.release(userId, quantities.keySet());
+        
+        // Read back after the decrements, so stock levels below are post-order
+        Map<Integer, Product> products = productRepository.findAllById(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        
         // Generate tracking number
         String trackingNumber = "TRK-" + System.currentTimeMillis() + "-" + 
                                 UUID.randomUUID().toString().substring(0, 8).toUpperCase();
@@ -134,23 +174,22 @@ public class OrderService {
                 .build();
         
         order = orderRepository.save(order);
+        orderStatsService.orderCreated(order);
         log.info("Order created: {}", order.getOrderId());
         
-        // Create order items
+        // Ledger the row decrements; hot-inventory sales reach stock (and the ledger) when their lease flushes
+        for (Map.Entry<Integer, Integer> entry : quantities.entrySet()) {
+            if (!stockLeases.containsKey(entry.getKey())) {
+                inventoryLedgerService.record(entry.getKey(), -entry.getValue(),
+                        InventoryMovement.REASON_ORDER, order.getOrderId(), userId);
+            }
+        }
+        
+        // Create order items; ids come from the pooled sequence, so the inserts flush as one batch
+        List<OrderItem> items = new ArrayList<>();
         for (CreateOrderRequest.OrderItemRequest item : request.getItems()) {
             Integer productId = item.getProductId() != null ? item.getProductId() : item.getId();
-            
-            if (productId == null) {
-                throw new IllegalArgumentException("Product ID is required for all items");
-            }
-            
-            // Get product to ensure it exists and has stock
-            Product product = productRepository.findById(productId)
-                    .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + productId));
-            
-            if (product.getStockQuantity() < item.getQuantity()) {
-                throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
-            }
+            Product product = products.get(productId);
             
             BigDecimal unitPrice = item.getPrice() != null ? item.getPrice() : product.getPrice();
             BigDecimal subtotal = unitPrice.multiply(BigDecimal.valueOf(item.getQuantity()));
@@ -161,39 +200,33 @@ public class OrderService {
                     .quantity(item.getQuantity())
                     .unitPrice(unitPrice)
                     .subtotal(subtotal)
+                    .stockLeaseId(stockLeases.get(productId))
                     .build();
-            
-            orderItemRepository.save(orderItem);
-            
-            // Update product stock and trigger low/none stock alerts when needed
-            int newStock = product.getStockQuantity() - item.getQuantity();
-            product.setStockQuantity(newStock);
-            productRepository.save(product);
-
-            Integer threshold = product.getLowStockThreshold() != null ? product.getLowStockThreshold() : 10;
-            if (newStock <= threshold) {
-                log.warn("🚨 Low/none stock detected during order creation for product {}: stock={}, threshold={}",
-                        productId, newStock, threshold);
-                notificationService.sendLowStockAlert(product);
-            }
-            
-            log.info("Added order item: Product {} x{}", productId, item.getQuantity());
+            orderItem.snapshotProduct(product);
+            items.add(orderItem);
         }
-        
-        // Clear user's cart after successful order
-        try {
-            cartService.clearCart(userId);
-            log.info("Cleared cart for user: {}", userId);
-        } catch (Exception e) {
-            log.warn("Failed to clear cart for user: {}", userId, e);
+        orderItemRepository.saveAll(items);
+        log.info("Added {} order item(s) to order {}", items.size(), order.getOrderId());
+        
+        // Stock was already decremented above; refresh caches and move stock alert states. Only a
+        // transition writes anything, and the alerts themselves go out in the next digest
+        for (Product product : products.values()) {
+            productCatalogCache.evictProduct(product.getProductId(), product.getCategoryId());
+            stockAlertService.onStockChanged(product);
         }
         
+        // The cart is cleared once the order commits (see OutboxDispatcher)
+        outboxService.enqueue(OutboxEvent.TYPE_ORDER_PLACED, OrderOutboxPayload.of(order, null));
+        
         log.info("Order completed successfully: {}", order.getOrderId());
         
-        // Return order with items
-        return getOrderById(userId, order.getOrderId());
+        // Everything the response needs is already in memory
+        items.forEach(OrderService::attachImages);
+        order.setItems(items);
+        return order;
     }
     
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public Order updateOrderStatus(Integer orderId, String status) {
         Order order = orderRepository.findById(orderId)
@@ -210,9 +243,10 @@ public class OrderService {
         log.info("Updating order {} status from {} to {}", orderId, oldStatus, status);
         
         Order savedOrder = orderRepository.save(order);
+        orderStatsService.statusChanged(savedOrder, oldStatus);
         
-        // Send notification to customer
-        notificationService.sendOrderStatusNotification(savedOrder, oldStatus, status);
+        // Notify the customer once the change commits
+        outboxService.enqueue(OutboxEvent.TYPE_ORDER_STATUS_CHANGED, OrderOutboxPayload.of(savedOrder, oldStatus));
         
         return savedOrder;
     }
@@ -220,6 +254,7 @@ public class OrderService {
     /**
      * Admin confirms payment for an order and moves it to processing
      */
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public Order confirmPayment(Integer orderId) {
         Order order = orderRepository.findById(orderId)
@@ -234,10 +269,10 @@ public class OrderService {
         
         log.info("Admin confirmed payment for order {}", orderId);
         Order savedOrder = orderRepository.save(order);
+        orderStatsService.statusChanged(savedOrder, oldStatus);
         
-        // Send payment confirmation notification
-        notificationService.sendPaymentConfirmationNotification(savedOrder);
-        notificationService.sendOrderStatusNotification(savedOrder, oldStatus, "processing");
+        // Payment confirmation and status notifications go out once the change commits
+        outboxService.enqueue(OutboxEvent.TYPE_ORDER_PAYMENT_CONFIRMED, OrderOutboxPayload.of(savedOrder, oldStatus));
         
         return savedOrder;
     }
@@ -245,6 +280,7 @@ public class OrderService {
     /**
      * Admin updates order with comprehensive details (status, tracking, etc.)
      */
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public Order adminUpdateOrder(Integer orderId, AdminOrderUpdateRequest request) {
         Order order = orderRepository.findById(orderId)
@@ -274,10 +310,11 @@ public class OrderService {
                 orderId, request.getStatus(), request.getTrackingNumber(), request.getShippingProvider());
         
         Order savedOrder = orderRepository.save(order);
+        orderStatsService.statusChanged(savedOrder, oldStatus);
         
         // Send appropriate notifications
         if (!oldStatus.equals(savedOrder.getOrderStatus())) {
-            notificationService.sendOrderStatusNotification(savedOrder, oldStatus, savedOrder.getOrderStatus());
+            outboxService.enqueue(OutboxEvent.TYPE_ORDER_STATUS_CHANGED, OrderOutboxPayload.of(savedOrder, oldStatus));
         }
         
         return savedOrder;
@@ -286,6 +323,7 @@ public class OrderService {
     /**
      * Warehouse staff marks order as shipped with tracking details
      */
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public Order markAsShipped(Integer orderId, String trackingNumber, String shippingProvider) {
         Order order = orderRepository.findById(orderId)
@@ -313,9 +351,10 @@ public class OrderService {
                 orderId, trackingNumber, shippingProvider);
         
         Order savedOrder = orderRepository.save(order);
+        orderStatsService.statusChanged(savedOrder, oldStatus);
         
         // Send status notification (includes tracking info)
-        notificationService.sendOrderStatusNotification(savedOrder, oldStatus, "shipped");
+        outboxService.enqueue(OutboxEvent.TYPE_ORDER_STATUS_CHANGED, OrderOutboxPayload.of(savedOrder, oldStatus));
         
         return savedOrder;
     }
@@ -323,6 +362,7 @@ public class OrderService {
     /**
      * Warehouse staff confirms delivery for an order
      */
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public Order markAsDelivered(Integer orderId, boolean confirmationProvided) {
         if (!confirmationProvided) {
@@ -343,9 +383,10 @@ public class OrderService {
         log.info("Order {} marked as delivered.", orderId);
         
         Order savedOrder = orderRepository.save(order);
+        orderStatsService.statusChanged(savedOrder, oldStatus);
         
-        notificationService.sendOrderStatusNotification(savedOrder, oldStatus, "delivered");
-        notificationService.sendDeliveryNotificationToStaff(savedOrder);
+        // Customer and staff delivery notifications
+        outboxService.enqueue(OutboxEvent.TYPE_ORDER_DELIVERED, OrderOutboxPayload.of(savedOrder, oldStatus));
         
         return savedOrder;
     }
@@ -353,34 +394,113 @@ public class OrderService {
     @Transactional(readOnly = true)
     public List<Order> getAllOrders(String status, String search) {
         List<Order> orders = orderRepository.findAllWithFilters(status, search);
-        
-        // Load items for each order with product details and user information
-        orders.forEach(order -> {
-            List<OrderItem> items = orderItemRepository.findByOrderId(order.getOrderId());
-            
-            // Populate product details for each item
-            items.forEach(item -> {
-                productRepository.findById(item.getProductId()).ifPresent(product -> {
-                    item.setProductName(product.getName());
-                    item.setImages(product.getImages());
-                });
-            });
-            
-            order.setItems(items);
-            
-            // Populate user details (firstName and lastName)
+        attachItems(orders);
+        attachCustomers(orders);
+        return orders;
+    }
+    
+    /**
+     * Keyset-paginated admin/warehouse order listing, newest first. The cursor encodes the
+     * created_at and order id of the last order on the previous page. A search matches the
+     * order with that id (when it is a number) and every order whose customer id or tracking
+     * number contains it, in the same pages. Items and customers are attached to the returned
+     * page only.
+     */
+    @Transactional(readOnly = true)
+    public OrderPageDTO listOrders(OrderListRequest request) {
+        int limit = Math.max(1, Math.min(request.getLimit(), OrderListRequest.MAX_LIMIT));
+        String status = blankToNull(request.getStatus());
+        String search = blankToNull(request.getSearch());
+        Integer searchOrderId = search != null && search.matches("\\d{1,9}") ? Integer.valueOf(search) : null;
+        
+        LocalDateTime afterCreatedAt = null;
+        Integer afterId = null;
+        if (blankToNull(request.getCursor()) != null) {
+            String[] parts = decodeCursor(request.getCursor());
             try {
-                com.shophub.model.User user = userService.getUserById(order.getUserId());
-                if (user != null) {
-                    order.setFirstName(user.getFirstName());
-                    order.setLastName(user.getLastName());
-                    order.setEmail(user.getEmail());
-                }
-            } catch (Exception e) {
-                log.warn("Failed to fetch user details for order: {}", order.getOrderId(), e);
+                afterCreatedAt = LocalDateTime.parse(parts[0]);
+                afterId = Integer.valueOf(parts[1]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
-        });
+        }
         
-        return orders;
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Order> rows = orderRepository.findOrderPage(status, search, searchOrderId, afterCreatedAt, afterId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Order> orders = new ArrayList<>(rows.subList(0, Math.min(limit, rows.size())));
+        attachItems(orders);
+        attachCustomers(orders);
+        
+        return OrderPageDTO.builder()
+                .items(orders)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(orders.get(orders.size() - 1)) : null)
+                .build();
+    }
+    
+    private String encodeCursor(Order last) {
+        String raw = last.getCreatedAt() + "|" + last.getOrderId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private String[] decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split("\\|");
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        return parts;
+    }
+    
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+    
+    /**
+     * Loads the items of all the given orders with one query and attaches them. Product
+     * names and images come from the snapshot each item took when it was sold.
+     */
+    private void attachItems(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<Integer, List<OrderItem>> itemsByOrder = orderItemRepository
+                .findByOrderIdInOrderByOrderItemIdAsc(orders.stream().map(Order::getOrderId).toList()).stream()
+                .collect(Collectors.groupingBy(OrderItem::getOrderId));
+        
+        for (Order order : orders) {
+            List<OrderItem> items = itemsByOrder.getOrDefault(order.getOrderId(), new ArrayList<>());
+            items.forEach(OrderService::attachImages);
+            order.setItems(items);
+        }
+    }
+    
+    private static void attachImages(OrderItem item) {
+        item.setImages(item.getProductImage() != null ? List.of(item.getProductImage()) : List.of());
+    }
+    
+    /**
+     * Attaches customer names and emails, loading every customer of the orders in one query.
+     */
+    private void attachCustomers(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<String, User> users = userService.getUsersByIds(
+                orders.stream().map(Order::getUserId).collect(Collectors.toSet()));
+        for (Order order : orders) {
+            User user = users.get(order.getUserId());
+            if (user != null) {
+                order.setFirstName(user.getFirstName());
+                order.setLastName(user.getLastName());
+                order.setEmail(user.getEmail());
+            }
+        }
     }
 }
@@ -0,0 +1,68 @@
+package com.shophub.service;
+
+import com.shophub.config.OrderSnapshotBackfillProperties;
+import com.shophub.model.OrderItem;
+import com.shophub.model.Product;
+import com.shophub.repository.OrderItemRepository;
+import com.shophub.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Fills the product snapshot (name, SKU, primary image) of order items sold before
+ * {@code OrderService.createOrder} started taking one. Works through the items in batches
+ * of {@code orders.snapshot-backfill.batch-size}, each in its own transaction, from the
+ * products as they are now. Items whose product was deleted keep an empty snapshot.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderSnapshotBackfillService {
+
+    private final OrderItemRepository orderItemRepository;
+    private final ProductRepository productRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final OrderSnapshotBackfillProperties properties;
+
+    @Scheduled(initialDelayString = "PT1M", fixedDelayString = "${orders.snapshot-backfill.interval:PT10M}")
+    public int backfill() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int filled = 0;
+        int batch;
+        do {
+            batch = transactionTemplate.execute(status -> fillBatch(batchSize));
+            filled += batch;
+        } while (batch == batchSize);
+
+        if (filled > 0) {
+            log.info("Backfilled the product snapshot of {} order item(s)", filled);
+        }
+        return filled;
+    }
+
+    private int fillBatch(int batchSize) {
+        List<OrderItem> items = orderItemRepository.findMissingProductSnapshot(PageRequest.of(0, batchSize));
+        Map<Integer, Product> products = productRepository.findAllById(items.stream()
+                        .map(OrderItem::getProductId)
+                        .collect(Collectors.toSet())).stream()
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        for (OrderItem item : items) {
+            Product product = products.get(item.getProductId());
+            // Deleted since the batch was read: the next query no longer finds the item
+            if (product != null) {
+                item.snapshotProduct(product);
+            }
+        }
+        orderItemRepository.saveAll(items);
+        return items.size();
+    }
+}
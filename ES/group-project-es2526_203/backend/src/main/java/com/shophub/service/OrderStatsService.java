@@ -0,0 +1,147 @@
+package com.shophub.service;
+
+import com.shophub.model.Order;
+import com.shophub.model.OrderStatusStats;
+import com.shophub.repository.OrderRepository;
+import com.shophub.repository.OrderStatusStatsRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Maintains the order_status_stats table so the admin order statistics are a read of
+ * one row per status instead of an aggregate over the orders table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatsService {
+
+    private static final List<String> STATUSES = List.of("pending", "processing", "shipped", "delivered", "cancelled");
+
+    private final OrderStatusStatsRepository statsRepository;
+    private final OrderRepository orderRepository;
+    private final ClusterJobLock clusterJobLock;
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getStatistics() {
+        Map<String, OrderStatusStats> byStatus = new HashMap<>();
+        statsRepository.findAll().forEach(stats -> byStatus.put(stats.getOrderStatus(), stats));
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("totalOrders", byStatus.values().stream().mapToLong(OrderStatusStats::getOrderCount).sum());
+        for (String status : STATUSES) {
+            OrderStatusStats stats = byStatus.get(status);
+            statistics.put(status + "Orders", stats != null ? stats.getOrderCount() : 0L);
+        }
+        statistics.put("totalRevenue", byStatus.values().stream()
+                .map(OrderStatusStats::getTotalAmount)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        return statistics;
+    }
+
+    /**
+     * Counts a newly created order in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(Order order) {
+        apply(order.getOrderStatus(), 1, amountOf(order));
+    }
+
+    /**
+     * Moves an order from its previous status to its current one in the caller's transaction.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void statusChanged(Order order, String oldStatus) {
+        String newStatus = order.getOrderStatus();
+        if (newStatus.equals(oldStatus)) {
+            return;
+        }
+        BigDecimal amount = amountOf(order);
+        // Touch the two rows in a fixed order so opposite transitions cannot deadlock
+        if (oldStatus.compareTo(newStatus) < 0) {
+            apply(oldStatus, -1, amount.negate());
+            apply(newStatus, 1, amount);
+        } else {
+            apply(newStatus, 1, amount);
+            apply(oldStatus, -1, amount.negate());
+        }
+    }
+
+    private void apply(String status, long countDelta, BigDecimal amountDelta) {
+        LocalDateTime now = LocalDateTime.now();
+        if (statsRepository.applyDelta(status, countDelta, amountDelta, now) == 0) {
+            // First order with this status: a concurrent creator makes this insert wait and then do nothing
+            statsRepository.insertIfMissing(status, now);
+            statsRepository.applyDelta(status, countDelta, amountDelta, now);
+        }
+    }
+
+    private static BigDecimal amountOf(Order order) {
+        return order.getTotalAmount() != null ? order.getTotalAmount() : BigDecimal.ZERO;
+    }
+
+    /**
+     * Recomputes every status's counters from the orders table and corrects any drift.
+     *
+     * The stats rows are locked before the orders are counted, so deltas committed before
+     * the count are part of it and deltas still to come wait and apply on top of the
+     * corrected values. On PostgreSQL only one node rebuilds at a time; the others skip.
+     *
+     * @return number of statuses whose stored counters differed from the recomputed ones
+     */
+    @Scheduled(cron = "${orders.stats-rebuild-cron:0 20 * * * *}")
+    @Transactional
+    public int rebuildAll() {
+        if (!clusterJobLock.tryLock(ClusterJobLock.ORDER_STATS_REBUILD)) {
+            log.debug("Order status stats rebuild already running on another node");
+            return 0;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        Set<String> statuses = new TreeSet<>(STATUSES);
+        Map<String, OrderStatusStats> rows;
+        Map<String, Object[]> actual;
+        do {
+            // Every counted status needs a row before the lock, or a first insert could slip past it
+            statuses.forEach(status -> statsRepository.insertIfMissing(status, now));
+            rows = new HashMap<>();
+            for (OrderStatusStats stats : statsRepository.lockAll()) {
+                rows.put(stats.getOrderStatus(), stats);
+            }
+            actual = new HashMap<>();
+            for (Object[] row : orderRepository.countAndSumByStatus()) {
+                actual.put((String) row[0], row);
+            }
+            statuses.addAll(actual.keySet());
+        } while (!rows.keySet().containsAll(actual.keySet()));
+
+        int corrected = 0;
+        for (OrderStatusStats stored : rows.values()) {
+            Object[] row = actual.get(stored.getOrderStatus());
+            long count = row != null ? ((Number) row[1]).longValue() : 0L;
+            BigDecimal amount = row != null ? (BigDecimal) row[2] : BigDecimal.ZERO;
+            if (stored.getOrderCount() != count || stored.getTotalAmount().compareTo(amount) != 0) {
+                stored.setOrderCount(count);
+                stored.setTotalAmount(amount);
+                corrected++;
+            }
+        }
+        statsRepository.saveAll(rows.values());
+
+        log.info("Rebuilt order status stats: {} statuses checked, {} corrected", rows.size(), corrected);
+        return corrected;
+    }
+}
@@ -0,0 +1,144 @@
+package com.shophub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shophub.config.OutboxProperties;
+import com.shophub.dto.OrderOutboxPayload;
+import com.shophub.model.Order;
+import com.shophub.model.OutboxEvent;
+import com.shophub.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Runs the side effects recorded by OutboxService.
+ *
+ * Due events are claimed in batches with {@code FOR UPDATE SKIP LOCKED}: the claim pushes
+ * {@code available_at} out by {@code outbox.claim-timeout} and commits, so other nodes skip
+ * the batch without holding locks while it runs. Each event then runs in its own
+ * transaction together with its delete, so its database effects happen once. Handlers
+ * must let failures propagate: the transaction then rolls back, and the event is retried
+ * with exponential backoff and marked failed after {@code outbox.max-attempts}. An event
+ * whose dispatcher died is taken over once its claim expires.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final NotificationService notificationService;
+    private final CartService cartService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final OutboxProperties properties;
+
+    @Scheduled(initialDelayString = "${outbox.poll-interval:PT1S}", fixedDelayString = "${outbox.poll-interval:PT1S}")
+    public int dispatch() {
+        int batchSize = Math.max(1, properties.getBatchSize());
+        int delivered = 0;
+        List<OutboxEvent> batch;
+        do {
+            batch = transactionTemplate.execute(status -> claim(batchSize));
+            for (OutboxEvent event : batch) {
+                if (deliver(event)) {
+                    delivered++;
+                }
+            }
+        } while (batch.size() == batchSize);
+        return delivered;
+    }
+
+    private List<OutboxEvent> claim(int batchSize) {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxEvent> events = outboxEventRepository.lockDue(now, batchSize);
+        for (OutboxEvent event : events) {
+            event.setAttempts(event.getAttempts() + 1);
+            event.setAvailableAt(now.plus(properties.getClaimTimeout()));
+        }
+        return outboxEventRepository.saveAll(events);
+    }
+
+    private boolean deliver(OutboxEvent event) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                handle(event);
+                if (outboxEventRepository.deleteClaimed(event.getEventId(), event.getAttempts()) == 0) {
+                    throw new ClaimLostException();
+                }
+            });
+            return true;
+        } catch (ClaimLostException e) {
+            log.warn("Outbox event {} was taken over by another dispatcher; discarding this attempt", event.getEventId());
+            return false;
+        } catch (RuntimeException e) {
+            reschedule(event, e);
+            return false;
+        }
+    }
+
+    private void handle(OutboxEvent event) {
+        OrderOutboxPayload payload = readPayload(event);
+        Order order = payload.toOrder();
+        switch (event.getEventType()) {
+            case OutboxEvent.TYPE_ORDER_PLACED -> cartService.clearCartPlacedAt(payload.getUserId(), payload.getPlacedAt());
+            case OutboxEvent.TYPE_ORDER_STATUS_CHANGED ->
+                    notificationService.notifyOrderStatusChanged(order, payload.getOldStatus(), payload.getNewStatus());
+            case OutboxEvent.TYPE_ORDER_PAYMENT_CONFIRMED -> {
+                notificationService.notifyPaymentConfirmed(order);
+                notificationService.notifyOrderStatusChanged(order, payload.getOldStatus(), payload.getNewStatus());
+            }
+            case OutboxEvent.TYPE_ORDER_DELIVERED -> {
+                notificationService.notifyOrderStatusChanged(order, payload.getOldStatus(), payload.getNewStatus());
+                notificationService.notifyStaffOfDelivery(order);
+            }
+            default -> throw new IllegalStateException("Unknown outbox event type: " + event.getEventType());
+        }
+    }
+
+    private OrderOutboxPayload readPayload(OutboxEvent event) {
+        try {
+            return objectMapper.readValue(event.getPayload(), OrderOutboxPayload.class);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unreadable payload", e);
+        }
+    }
+
+    private void reschedule(OutboxEvent event, RuntimeException error) {
+        int attempts = event.getAttempts();
+        boolean givingUp = attempts >= properties.getMaxAttempts();
+        if (givingUp) {
+            log.error("Outbox event {} ({}) failed {} time(s); giving up", event.getEventId(), event.getEventType(),
+                    attempts, error);
+        } else {
+            log.warn("Outbox event {} ({}) failed on attempt {}: {}", event.getEventId(), event.getEventType(),
+                    attempts, error.toString());
+        }
+        transactionTemplate.executeWithoutResult(status -> outboxEventRepository.rescheduleClaimed(
+                event.getEventId(),
+                attempts,
+                givingUp ? OutboxEvent.STATUS_FAILED : OutboxEvent.STATUS_PENDING,
+                LocalDateTime.now().plus(backoff(attempts)),
+                error.toString()));
+    }
+
+    // initial-backoff, doubled per attempt, capped at max-backoff
+    private Duration backoff(int attempts) {
+        Duration delay = properties.getInitialBackoff().multipliedBy(1L << Math.min(attempts - 1, 30));
+        return delay.compareTo(properties.getMaxBackoff()) > 0 ? properties.getMaxBackoff() : delay;
+    }
+
+    private static class ClaimLostException extends RuntimeException {
+
+        ClaimLostException() {
+            super(null, null, false, false);
+        }
+    }
+}
@@ -21,7 +21,6 @@ import com.shophub.model.Order;
 import com.shophub.model.OrderItem;
 import com.shophub.repository.OrderItemRepository;
 import com.shophub.repository.OrderRepository;
-import com.shophub.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -41,7 +40,6 @@ public class PackingSlipService {
     
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
-    private final ProductRepository productRepository;
     private final UserService userService;
     
     @Transactional(readOnly = true)
@@ -57,13 +55,13 @@ public class PackingSlipService {
         Integer totalQuantity = 0;
         
         for (OrderItem item : items) {
-            String productName = productRepository.findById(item.getProductId())
-                    .map(p -> p.getName())
-                    .orElse("Unknown Product");
+            // The product as it was sold; items the snapshot backfill could not reach have none
+            String productName = item.getProductName() != null ? item.getProductName() : "Unknown Product";
             
             PackingSlipItemDTO slipItem = PackingSlipItemDTO.builder()
                     .productId(item.getProductId())
                     .productName(productName)
+                    .sku(item.getProductSku())
                     .quantity(item.getQuantity())
                     .unitPrice(item.getUnitPrice())
                     .subtotal(item.getSubtotal())
@@ -0,0 +1,69 @@
+package com.shophub.service;
+
+import com.shophub.config.CacheNames;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Invalidation rules for the product catalog caches populated by
+ * ProductService's @Cacheable read methods. Evictions go through the
+ * CacheInvalidationBus so every node drops the same entries.
+ *
+ * Also keeps the catalog version behind the ETag of the catalog-wide listings: it is
+ * bumped whenever the catalog listing is evicted on this node, after the evicting
+ * transaction commits or when another node's eviction arrives, so those requests are
+ * validated without touching the database.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProductCatalogCache {
+
+    private static final List<String> CATALOG_CACHES = List.of(
+            CacheNames.PRODUCTS, CacheNames.PRODUCT_CATALOG, CacheNames.PRODUCTS_BY_CATEGORY);
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    // Versions are per node: another node's ETag never matches here, so it costs a full response, not a stale 304
+    private final String node = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong catalogVersion = new AtomicLong();
+
+    /**
+     * Evicts a product's detail entry, the full catalog listing and the listings of
+     * the given categories (pass both old and new category when a product moves).
+     */
+    public void evictProduct(Integer productId, Integer... categoryIds) {
+        List<Map.Entry<String, Object>> entries = new ArrayList<>();
+        entries.add(Map.entry(CacheNames.PRODUCTS, productId));
+        entries.add(Map.entry(CacheNames.PRODUCT_CATALOG, SimpleKey.EMPTY));
+        for (Integer categoryId : categoryIds) {
+            if (categoryId != null) {
+                entries.add(Map.entry(CacheNames.PRODUCTS_BY_CATEGORY, categoryId));
+            }
+        }
+        cacheInvalidationBus.evict(entries);
+    }
+
+    public void evictAll() {
+        cacheInvalidationBus.clear(CATALOG_CACHES);
+    }
+
+    /** Weak ETag for the catalog-wide listings (all products, field projections, keyset pages, search). */
+    public String catalogEtag() {
+        return "W/\"" + node + "-" + catalogVersion.get() + "\"";
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCacheEvicted(CacheEvictedEvent event) {
+        if (event.cacheNames().contains(CacheNames.PRODUCT_CATALOG)) {
+            catalogVersion.incrementAndGet();
+        }
+    }
+}
@@ -1,11 +1,9 @@
 package com.shophub.service;
 
 import com.shophub.model.Product;
-import com.shophub.repository.ProductRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.util.Arrays;
@@ -16,8 +14,8 @@ import java.util.stream.Collectors;
  * ProductContextService - Simplified RAG Implementation (Level 1-2)
  *
  * This service provides context to the LLM by retrieving relevant product information
- * from the database. For MLOps Level 1-2, we use simple keyword matching rather than
- * vector embeddings.
+ * from the database. For MLOps Level 1-2, we use keyword search over the catalog's
+ * full-text index rather than vector embeddings.
  */
 @Service
 public class ProductContextService {
@@ -26,7 +24,7 @@ public class ProductContextService {
     private static final int MAX_PRODUCTS_IN_CONTEXT = 5;
 
     @Autowired
-    private ProductRepository productRepository;
+    private ProductSearchService productSearchService;
 
     /**
      * Build product context from user query using simple keyword matching
@@ -73,25 +71,10 @@ public class ProductContextService {
     }
 
     /**
-     * Find products by keyword matching (simple SQL LIKE)
+     * Find products by keyword using the catalog search index
      */
     private List<Product> findProductsByKeywords(List<String> keywords) {
-        List<Product> products = productRepository.findAll(PageRequest.of(0, 50)).getContent();
-
-        return products.stream()
-            .filter(product -> matchesKeywords(product, keywords))
-            .limit(MAX_PRODUCTS_IN_CONTEXT)
-            .collect(Collectors.toList());
-    }
-
-    /**
-     * Check if product matches any keywords
-     */
-    private boolean matchesKeywords(Product product, List<String> keywords) {
-        String searchText = (product.getName() + " " + product.getDescription()).toLowerCase();
-
-        return keywords.stream()
-            .anyMatch(keyword -> searchText.contains(keyword));
+        return productSearchService.findRelevantProducts(keywords, MAX_PRODUCTS_IN_CONTEXT);
     }
 
     /**
@@ -0,0 +1,141 @@
+package com.shophub.service;
+
+import com.shophub.config.CatalogFacetProperties;
+import com.shophub.dto.ProductFacetsDTO;
+import com.shophub.dto.ProductFacetsDTO.FacetValue;
+import com.shophub.dto.ProductListRequest;
+import com.shophub.model.Category;
+import com.shophub.repository.CategoryRepository;
+import com.shophub.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Computes category, price, rating and stock facet counts from a single aggregate
+ * query. The database groups products into facet cells (one row per combination of
+ * category, price bucket, rating bucket and stock state); the counts for each facet
+ * are then rolled up from those cells, which is what GROUPING SETS would return.
+ */
+@Service
+@RequiredArgsConstructor
+public class ProductFacetService {
+    
+    private static final int[] RATING_THRESHOLDS = {4, 3, 2, 1};
+    
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CatalogFacetProperties properties;
+    
+    @Transactional(readOnly = true)
+    public ProductFacetsDTO computeFacets(ProductListRequest request) {
+        List<BigDecimal> boundaries = properties.getPriceBuckets();
+        List<Cell> cells = productRepository.findFacetCells(request, boundaries).stream()
+                .map(Cell::of)
+                .toList();
+        
+        // A facet ignores its own filter but honours all the others
+        Predicate<Cell> category = cell -> request.getCategoryId() == null
+                || request.getCategoryId().equals(cell.categoryId());
+        Predicate<Cell> price = Cell::priceMatches;
+        Predicate<Cell> rating = Cell::ratingMatches;
+        Predicate<Cell> stock = cell -> !request.isInStockOnly() || cell.inStock();
+        
+        return ProductFacetsDTO.builder()
+                .categories(categoryFacet(cells, price.and(rating).and(stock)))
+                .price(priceFacet(cells, category.and(rating).and(stock), boundaries))
+                .rating(ratingFacet(cells, category.and(price).and(stock)))
+                .stock(stockFacet(cells, category.and(price).and(rating)))
+                .build();
+    }
+    
+    private List<FacetValue> categoryFacet(List<Cell> cells, Predicate<Cell> filter) {
+        Map<Integer, Long> counts = cells.stream()
+                .filter(filter)
+                .filter(cell -> cell.categoryId() != null)
+                .collect(Collectors.groupingBy(Cell::categoryId, Collectors.summingLong(Cell::count)));
+        if (counts.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, String> names = categoryRepository.findAllById(counts.keySet()).stream()
+                .collect(Collectors.toMap(Category::getCategoryId, Category::getName));
+        return counts.entrySet().stream()
+                .map(entry -> new FacetValue(String.valueOf(entry.getKey()),
+                        names.getOrDefault(entry.getKey(), "Unknown"), entry.getValue()))
+                .sorted(Comparator.comparingLong(FacetValue::getCount).reversed()
+                        .thenComparing(FacetValue::getLabel))
+                .toList();
+    }
+    
+    private List<FacetValue> priceFacet(List<Cell> cells, Predicate<Cell> filter, List<BigDecimal> boundaries) {
+        Map<Integer, Long> counts = sumBy(cells, filter, Cell::priceBucket);
+        List<FacetValue> values = new ArrayList<>();
+        for (int bucket = 0; bucket <= boundaries.size(); bucket++) {
+            String low = bucket == 0 ? "0" : boundaries.get(bucket - 1).toPlainString();
+            String value;
+            String label;
+            if (bucket < boundaries.size()) {
+                String high = boundaries.get(bucket).toPlainString();
+                value = low + "-" + high;
+                label = "$" + low + " - $" + high;
+            } else {
+                value = low + "+";
+                label = "$" + low + " and above";
+            }
+            values.add(new FacetValue(value, label, counts.getOrDefault(bucket, 0L)));
+        }
+        return values;
+    }
+    
+    private List<FacetValue> ratingFacet(List<Cell> cells, Predicate<Cell> filter) {
+        Map<Integer, Long> counts = sumBy(cells, filter, Cell::ratingBucket);
+        List<FacetValue> values = new ArrayList<>();
+        for (int threshold : RATING_THRESHOLDS) {
+            long count = counts.entrySet().stream()
+                    .filter(entry -> entry.getKey() >= threshold)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+            values.add(new FacetValue(String.valueOf(threshold), threshold + " stars & up", count));
+        }
+        return values;
+    }
+    
+    private List<FacetValue> stockFacet(List<Cell> cells, Predicate<Cell> filter) {
+        Map<Boolean, Long> counts = cells.stream()
+                .filter(filter)
+                .collect(Collectors.partitioningBy(Cell::inStock, Collectors.summingLong(Cell::count)));
+        return List.of(
+                new FacetValue("in_stock", "In stock", counts.get(true)),
+                new FacetValue("out_of_stock", "Out of stock", counts.get(false)));
+    }
+    
+    private static Map<Integer, Long> sumBy(List<Cell> cells, Predicate<Cell> filter, Function<Cell, Integer> key) {
+        return cells.stream()
+                .filter(filter)
+                .collect(Collectors.groupingBy(key, Collectors.summingLong(Cell::count)));
+    }
+    
+    private record Cell(Integer categoryId, int priceBucket, int ratingBucket, boolean inStock,
+                        boolean priceMatches, boolean ratingMatches, long count) {
+        
+        static Cell of(Object[] row) {
+            return new Cell(
+                    row[0] != null ? ((Number) row[0]).intValue() : null,
+                    ((Number) row[1]).intValue(),
+                    ((Number) row[2]).intValue(),
+                    ((Number) row[3]).intValue() == 1,
+                    ((Number) row[4]).intValue() == 1,
+                    ((Number) row[5]).intValue() == 1,
+                    ((Number) row[6]).longValue());
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.shophub.service;
+
+import com.shophub.model.ProductReviewStats;
+import com.shophub.repository.ProductReviewStatsRepository;
+import com.shophub.repository.ReviewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maintains the product_review_stats table so product reads and review stats
+ * are single-row lookups instead of aggregates over the reviews table.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductReviewStatsService {
+
+    private final ProductReviewStatsRepository statsRepository;
+    private final ReviewRepository reviewRepository;
+    private final ClusterJobLock clusterJobLock;
+    private final ProductCatalogCache productCatalogCache;
+
+    @Transactional(readOnly = true)
+    public ProductReviewStats getStats(Integer productId) {
+        return statsRepository.findById(productId)
+                .orElseGet(() -> ProductReviewStats.empty(productId));
+    }
+
+    /**
+     * Applies a rating delta in the caller's transaction (delta = 1 on create, -1 on delete).
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void applyRating(Integer productId, int rating, int delta) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5: " + rating);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (statsRepository.applyRatingDelta(productId, (long) rating, (long) delta, now) == 0) {
+            // First review for this product: a concurrent creator makes this insert wait and then do nothing
+            statsRepository.insertIfMissing(productId, now);
+            statsRepository.applyRatingDelta(productId, (long) rating, (long) delta, now);
+        }
+        // The catalog embeds the rating
+        productCatalogCache.evictProduct(productId);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changeRating(Integer productId, int oldRating, int newRating) {
+        if (oldRating == newRating) {
+            return;
+        }
+        applyRating(productId, oldRating, -1);
+        applyRating(productId, newRating, 1);
+    }
+
+    /**
+     * Recomputes every product's stats from the reviews table and corrects any drift.
+     *
+     * The stats rows are locked before the reviews are counted, so deltas committed before
+     * the count are part of it and deltas still to come wait and apply on top of the
+     * corrected values. On PostgreSQL only one node rebuilds at a time; the others skip.
+     *
+     * @return number of products whose stored stats differed from the recomputed ones
+     */
+    @Scheduled(cron = "${reviews.stats-rebuild-cron:0 15 3 * * *}")
+    @Transactional
+    public int rebuildAll() {
+        if (!clusterJobLock.tryLock(ClusterJobLock.REVIEW_STATS_REBUILD)) {
+            log.debug("Product review stats rebuild already running on another node");
+            return 0;
+        }
+
+        Map<Integer, ProductReviewStats> rows;
+        Map<Integer, ProductReviewStats> expected;
+        do {
+            // A product's first review may commit between passes; its row is then locked on the next one
+            statsRepository.insertMissingForReviewedProducts(LocalDateTime.now());
+            rows = new HashMap<>();
+            for (ProductReviewStats stats : statsRepository.lockAll()) {
+                rows.put(stats.getProductId(), stats);
+            }
+            expected = new HashMap<>();
+            for (Object[] row : reviewRepository.countByProductIdAndRating()) {
+                Integer productId = (Integer) row[0];
+                int rating = (Integer) row[1];
+                long count = ((Number) row[2]).longValue();
+                expected.computeIfAbsent(productId, ProductReviewStats::empty).apply(rating, count);
+            }
+        } while (!rows.keySet().containsAll(expected.keySet()));
+
+        int corrected = 0;
+        for (ProductReviewStats stored : rows.values()) {
+            ProductReviewStats actual = expected.get(stored.getProductId());
+            if (actual == null) {
+                actual = ProductReviewStats.empty(stored.getProductId());
+            }
+            if (!sameCounts(stored, actual)) {
+                copyCounts(actual, stored);
+                corrected++;
+            }
+        }
+        statsRepository.saveAll(rows.values());
+        if (corrected > 0) {
+            productCatalogCache.evictAll();
+        }
+
+        log.info("Rebuilt product review stats: {} products checked, {} corrected", rows.size(), corrected);
+        return corrected;
+    }
+
+    private static boolean sameCounts(ProductReviewStats a, ProductReviewStats b) {
+        return a.getRatingSum().equals(b.getRatingSum())
+                && a.getReviewCount().equals(b.getReviewCount())
+                && a.getRatingDistribution().equals(b.getRatingDistribution());
+    }
+
+    private static void copyCounts(ProductReviewStats from, ProductReviewStats to) {
+        to.setRatingSum(from.getRatingSum());
+        to.setReviewCount(from.getReviewCount());
+        to.setRating1Count(from.getRating1Count());
+        to.setRating2Count(from.getRating2Count());
+        to.setRating3Count(from.getRating3Count());
+        to.setRating4Count(from.getRating4Count());
+        to.setRating5Count(from.getRating5Count());
+    }
+}
@@ -0,0 +1,160 @@
+package com.shophub.service;
+
+import com.shophub.config.CatalogSearchProperties;
+import com.shophub.dto.ProductSearchHitDTO;
+import com.shophub.model.Product;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.ProductSearchRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ProductSearchService {
+    
+    private static final Pattern TERM = Pattern.compile("[\\p{L}\\p{N}]+");
+    private static final int MAX_TERMS = 10;
+    
+    private final ProductRepository productRepository;
+    private final ProductSearchRepository productSearchRepository;
+    private final CatalogSearchProperties properties;
+    
+    /**
+     * Ranked search where every term must match; each term also matches as a
+     * prefix so partially typed words ("lapt") already find results.
+     */
+    @Transactional(readOnly = true)
+    public List<ProductSearchHitDTO> search(String query, Integer limit) {
+        List<String> terms = extractTerms(query);
+        if (terms.isEmpty()) {
+            throw new IllegalArgumentException("Search query must contain at least one word");
+        }
+        int size = limit == null
+                ? properties.getDefaultLimit()
+                : Math.max(1, Math.min(limit, properties.getMaxLimit()));
+        return search(terms, true, size);
+    }
+    
+    /**
+     * Products matching any of the keywords, best matches first. Used to ground
+     * chatbot answers, where queries are conversational rather than exact.
+     */
+    @Transactional(readOnly = true)
+    public List<Product> findRelevantProducts(List<String> keywords, int limit) {
+        List<String> terms = extractTerms(String.join(" ", keywords));
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return search(terms, false, limit).stream()
+                .map(ProductSearchHitDTO::getProduct)
+                .toList();
+    }
+    
+    private List<ProductSearchHitDTO> search(List<String> terms, boolean matchAll, int limit) {
+        return properties.isFullText()
+                ? fullTextSearch(terms, matchAll, limit)
+                : keywordSearch(terms, matchAll, limit);
+    }
+    
+    private List<ProductSearchHitDTO> fullTextSearch(List<String> terms, boolean matchAll, int limit) {
+        List<ProductSearchRepository.Hit> hits = productSearchRepository.search(toTsQuery(terms, matchAll), limit);
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+        
+        Map<Integer, Product> products = productRepository.findCatalogRowsByIds(
+                        hits.stream().map(ProductSearchRepository.Hit::productId).toList()).stream()
+                .map(ProductService::toCatalogProduct)
+                .collect(Collectors.toMap(Product::getProductId, Function.identity()));
+        
+        // Keep the rank order from the search query; skip products deleted in between
+        List<ProductSearchHitDTO> results = new ArrayList<>(hits.size());
+        for (ProductSearchRepository.Hit hit : hits) {
+            Product product = products.get(hit.productId());
+            if (product != null) {
+                results.add(ProductSearchHitDTO.builder()
+                        .product(product)
+                        .rank(hit.rank())
+                        .nameHighlight(toMarkup(hit.nameHighlight()))
+                        .descriptionHighlight(toMarkup(hit.descriptionHighlight()))
+                        .build());
+            }
+        }
+        return results;
+    }
+    
+    private List<ProductSearchHitDTO> keywordSearch(List<String> terms, boolean matchAll, int limit) {
+        Pattern highlight = Pattern.compile(terms.stream()
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|")), Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        
+        return productRepository.findCatalogRowsByKeywords(terms, matchAll, limit).stream()
+                .map(ProductService::toCatalogProduct)
+                .map(product -> ProductSearchHitDTO.builder()
+                        .product(product)
+                        .rank(0.0)
+                        .nameHighlight(highlight(product.getName(), highlight))
+                        .descriptionHighlight(highlight(product.getDescription(), highlight))
+                        .build())
+                .toList();
+    }
+    
+    /**
+     * Builds a tsquery from sanitized terms, e.g. {@code lapt:* & pro:*}. Terms are
+     * restricted to letters and digits, so user input can never inject tsquery operators.
+     */
+    static String toTsQuery(List<String> terms, boolean matchAll) {
+        return terms.stream()
+                .map(term -> term + ":*")
+                .collect(Collectors.joining(matchAll ? " & " : " | "));
+    }
+    
+    static List<String> extractTerms(String query) {
+        if (query == null) {
+            return List.of();
+        }
+        List<String> terms = new ArrayList<>();
+        Matcher matcher = TERM.matcher(query.toLowerCase(Locale.ROOT));
+        while (matcher.find() && terms.size() < MAX_TERMS) {
+            if (!terms.contains(matcher.group())) {
+                terms.add(matcher.group());
+            }
+        }
+        return terms;
+    }
+    
+    private static String highlight(String text, Pattern terms) {
+        if (text == null || text.isEmpty()) {
+            return text;
+        }
+        String source = text.replace(ProductSearchRepository.MATCH_START, "").replace(ProductSearchRepository.MATCH_END, "");
+        return toMarkup(terms.matcher(source).replaceAll(match -> Matcher.quoteReplacement(
+                ProductSearchRepository.MATCH_START + match.group() + ProductSearchRepository.MATCH_END)));
+    }
+    
+    /**
+     * HTML-escapes the product text and only then wraps the marked matches in {@code <mark>},
+     * so markup stored in a name or description is shown as text, never rendered.
+     */
+    static String toMarkup(String marked) {
+        if (marked == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(marked)
+                .replace(ProductSearchRepository.MATCH_START, "<mark>")
+                .replace(ProductSearchRepository.MATCH_END, "</mark>");
+    }
+}
@@ -1,17 +1,36 @@
 package com.shophub.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shophub.config.CacheNames;
+import com.shophub.config.OptimisticRetryConfig;
 import com.shophub.dto.ProductDTO;
+import com.shophub.dto.ProductField;
+import com.shophub.dto.ProductListRequest;
+import com.shophub.dto.ProductPageDTO;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.exception.ResourceNotFoundException;
+import com.shophub.model.InventoryMovement;
 import com.shophub.model.Product;
+import com.shophub.model.ProductReviewStats;
 import com.shophub.repository.CategoryRepository;
 import com.shophub.repository.ProductRepository;
-import com.shophub.repository.ReviewRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -20,63 +39,175 @@ public class ProductService {
     
     private final ProductRepository productRepository;
     private final CategoryRepository categoryRepository;
-    private final ReviewRepository reviewRepository;
-    private final NotificationService notificationService;
+    private final StockAlertService stockAlertService;
+    private final ProductCatalogCache productCatalogCache;
+    private final ProductSuggestIndex productSuggestIndex;
+    private final ProductFacetService productFacetService;
+    private final InventoryLedgerService inventoryLedgerService;
+    private final ObjectMapper objectMapper;
     
+    private static final TypeReference<List<String>> IMAGES_TYPE = new TypeReference<>() {};
+    private static final TypeReference<Map<String, Object>> SPECIFICATIONS_TYPE = new TypeReference<>() {};
+    
+    @Cacheable(CacheNames.PRODUCT_CATALOG)
     @Transactional(readOnly = true)
     public List<Product> getAllProducts() {
-        List<Product> products = productRepository.findAll();
-        
-        // Manually populate category names and review statistics
-        products.forEach(product -> {
-            if (product.getCategoryId() != null) {
-                categoryRepository.findById(product.getCategoryId())
-                    .ifPresent(category -> product.setCategoryName(category.getName()));
-            }
-            
-            // Populate review statistics
-            Double avgRating = reviewRepository.getAverageRatingByProductId(product.getProductId());
-            Long reviewCount = reviewRepository.getReviewCountByProductId(product.getProductId());
-            product.setAverageRating(avgRating != null ? avgRating : 0.0);
-            product.setReviewCount(reviewCount != null ? reviewCount : 0L);
-        });
-        
-        return products;
+        return productRepository.findAllCatalogRows().stream()
+                .map(ProductService::toCatalogProduct)
+                .toList();
     }
     
+    @Cacheable(CacheNames.PRODUCTS)
     @Transactional(readOnly = true)
     public Product getProductById(Integer productId) {
-        Product product = productRepository.findById(productId)
+        return productRepository.findCatalogRowById(productId).stream()
+                .findFirst()
+                .map(ProductService::toCatalogProduct)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
-        
-        // Populate category name
-        if (product.getCategoryId() != null) {
-            categoryRepository.findById(product.getCategoryId())
-                .ifPresent(category -> product.setCategoryName(category.getName()));
-        }
-        
-        // Populate review statistics
-        Double avgRating = reviewRepository.getAverageRatingByProductId(product.getProductId());
-        Long reviewCount = reviewRepository.getReviewCountByProductId(product.getProductId());
-        product.setAverageRating(avgRating != null ? avgRating : 0.0);
-        product.setReviewCount(reviewCount != null ? reviewCount : 0L);
-        
-        return product;
     }
     
+    /**
+     * Validator probes for conditional GETs: row count plus latest change, read without
+     * loading the catalog rows themselves.
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getCategoryVersion(Integer categoryId) {
+        return productRepository.findCatalogVersionByCategoryId(categoryId);
+    }
+    
+    @Transactional(readOnly = true)
+    public ResourceVersion getProductVersion(Integer productId) {
+        return productRepository.findCatalogVersionById(productId);
+    }
+    
+    @Cacheable(CacheNames.PRODUCTS_BY_CATEGORY)
     @Transactional(readOnly = true)
     public List<Product> getProductsByCategory(Integer categoryId) {
-        List<Product> products = productRepository.findByCategoryId(categoryId);
+        return productRepository.findCatalogRowsByCategoryId(categoryId).stream()
+                .map(ProductService::toCatalogProduct)
+                .toList();
+    }
+    
+    /**
+     * Sparse fieldset read of the whole catalog: only the columns behind the requested
+     * fields are selected, so e.g. the JSONB specifications are never loaded for list views.
+     */
+    @Transactional(readOnly = true)
+    public List<Map<String, Object>> getProductFields(List<ProductField> fields) {
+        return productRepository.findCatalogFields(fields).stream()
+                .map(row -> {
+                    Map<String, Object> product = new LinkedHashMap<>();
+                    for (int i = 0; i < fields.size(); i++) {
+                        product.put(fields.get(i).getJsonName(), fieldValue(fields.get(i), row[i]));
+                    }
+                    return product;
+                })
+                .toList();
+    }
+    
+    private Object fieldValue(ProductField field, Object column) {
+        return switch (field) {
+            case IMAGES -> readJson(column, IMAGES_TYPE);
+            case IMAGE -> {
+                List<String> images = readJson(column, IMAGES_TYPE);
+                yield images == null || images.isEmpty() ? null : images.get(0);
+            }
+            case SPECIFICATIONS -> readJson(column, SPECIFICATIONS_TYPE);
+            default -> column;
+        };
+    }
+    
+    private <T> T readJson(Object json, TypeReference<T> type) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue((String) json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Malformed product JSON column", e);
+        }
+    }
+    
+    /**
+     * Keyset-paginated, filtered catalog listing. The cursor encodes the sort key and
+     * product id of the last item on the previous page, so each page costs the same
+     * regardless of how deep the client has scrolled.
+     */
+    @Transactional(readOnly = true)
+    public ProductPageDTO listProducts(ProductListRequest request) {
+        int limit = Math.max(1, Math.min(request.getLimit(), ProductListRequest.MAX_LIMIT));
+        ProductListRequest.Sort sort = request.getSort();
         
-        // Manually populate category names
-        products.forEach(product -> {
-            if (product.getCategoryId() != null) {
-                categoryRepository.findById(product.getCategoryId())
-                    .ifPresent(category -> product.setCategoryName(category.getName()));
+        Object afterValue = null;
+        Integer afterId = null;
+        if (request.getCursor() != null && !request.getCursor().isBlank()) {
+            String[] parts = decodeCursor(request.getCursor(), sort);
+            try {
+                afterValue = "price".equals(sort.getProperty())
+                        ? new BigDecimal(parts[1])
+                        : LocalDateTime.parse(parts[1]);
+                afterId = Integer.valueOf(parts[2]);
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Invalid cursor");
             }
-        });
+        }
+        
+        // Fetch one extra row to learn whether another page exists without a COUNT query
+        List<Object[]> rows = productRepository.findCatalogPage(request, afterValue, afterId, limit + 1);
+        boolean hasMore = rows.size() > limit;
+        List<Product> items = rows.stream()
+                .limit(limit)
+                .map(ProductService::toCatalogProduct)
+                .toList();
         
-        return products;
+        return ProductPageDTO.builder()
+                .items(items)
+                .hasMore(hasMore)
+                .nextCursor(hasMore ? encodeCursor(sort, items.get(items.size() - 1)) : null)
+                .facets(request.isIncludeFacets() ? productFacetService.computeFacets(request) : null)
+                .build();
+    }
+    
+    private String encodeCursor(ProductListRequest.Sort sort, Product last) {
+        Object value = "price".equals(sort.getProperty())
+                ? last.getPrice().toPlainString()
+                : last.getCreatedAt().toString();
+        String raw = sort.name() + "|" + value + "|" + last.getProductId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+    
+    private String[] decodeCursor(String cursor, ProductListRequest.Sort sort) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        String[] parts = raw.split("\\|");
+        if (parts.length != 3 || !parts[0].equals(sort.name())) {
+            throw new IllegalArgumentException("Cursor does not match the requested sort");
+        }
+        return parts;
+    }
+    
+    /**
+     * Maps a catalog row ([Product, categoryName, ProductReviewStats]) onto a detached copy
+     * of the product with its transient display fields set. The result is cached and shared
+     * between requests, so it is never the session's managed entity and its images and
+     * specifications are read-only.
+     */
+    static Product toCatalogProduct(Object[] row) {
+        Product product = (Product) row[0];
+        ProductReviewStats stats = (ProductReviewStats) row[2];
+        return product.toBuilder()
+                .images(product.getImages() != null ? List.copyOf(product.getImages()) : null)
+                .specifications(product.getSpecifications() != null
+                        ? Collections.unmodifiableMap(new LinkedHashMap<>(product.getSpecifications()))
+                        : null)
+                .categoryName((String) row[1])
+                .averageRating(stats != null ? stats.getAverageRating() : 0.0)
+                .reviewCount(stats != null ? stats.getReviewCount() : 0L)
+                .build();
     }
     
     @Transactional
@@ -104,19 +235,21 @@ public class ProductService {
 
         log.info("Creating new product: {}", product.getName());
         Product saved = productRepository.save(product);
+        inventoryLedgerService.record(saved.getProductId(), stockQty, InventoryMovement.REASON_PRODUCT_CREATED, null);
+        productCatalogCache.evictProduct(saved.getProductId(), saved.getCategoryId());
+        productSuggestIndex.upsert(saved);
 
-        // Check for low stock alert on creation
-        if (stockQty <= threshold) {
-            notificationService.sendLowStockAlert(saved);
-            log.info("Low stock alert sent for new product {} (stock: {}, threshold: {})",
-                    saved.getProductId(), stockQty, threshold);
-        }
+        // Low/none stock is reported by the next alert digest
+        stockAlertService.onStockChanged(saved);
 
         return saved;
     }
     
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public Product updateProduct(Integer productId, ProductDTO productDTO) {
+        // No row lock: the versioned save fails if stock moved since this read, and the retry
+        // recomputes the ledger delta against the new value
         Product product = productRepository.findById(productId)
                 .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
 
@@ -126,6 +259,8 @@ public class ProductService {
                     .orElseThrow(() -> new ResourceNotFoundException("Category not found"));
         }
 
+        Integer previousCategoryId = product.getCategoryId();
+        Integer previousStock = product.getStockQuantity();
         product.setName(productDTO.getName());
         product.setDescription(productDTO.getDescription());
         product.setPrice(productDTO.getPrice());
@@ -138,34 +273,32 @@ public class ProductService {
 
         log.info("Updating product: {}", productId);
         Product saved = productRepository.save(product);
-
-        // Check for low stock alert
-        Integer threshold = saved.getLowStockThreshold() != null ? saved.getLowStockThreshold() : 10;
-        Integer currentStock = saved.getStockQuantity();
-
-        log.warn("🔍 STOCK CHECK: Product {} | Stock: {} | Threshold: {} | Condition: {}",
-                productId, currentStock, threshold, (currentStock != null && currentStock <= threshold));
-
-        if (currentStock != null && currentStock <= threshold) {
-            log.warn("🚨 TRIGGERING LOW STOCK ALERT for product {}", productId);
-            notificationService.sendLowStockAlert(saved);
-        } else {
-            log.warn("❌ NOT triggering alert. Stock: {}, Threshold: {}", currentStock, threshold);
+        if (previousStock != null && saved.getStockQuantity() != null) {
+            inventoryLedgerService.record(productId, saved.getStockQuantity() - previousStock,
+                    InventoryMovement.REASON_PRODUCT_UPDATED, null);
         }
+        productCatalogCache.evictProduct(productId, previousCategoryId, saved.getCategoryId());
+        productSuggestIndex.upsert(saved);
+
+        // Stock or threshold may have changed; low/none stock is reported by the next alert digest
+        stockAlertService.onStockChanged(saved);
 
         return saved;
     }
     
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public void deleteProduct(Integer productId) {
-        if (!productRepository.existsById(productId)) {
-            throw new ResourceNotFoundException("Product not found");
-        }
+        Product product = productRepository.findById(productId)
+                .orElseThrow(() -> new ResourceNotFoundException("Product not found"));
         
         log.info("Deleting product: {}", productId);
         productRepository.deleteById(productId);
+        productCatalogCache.evictProduct(productId, product.getCategoryId());
+        productSuggestIndex.remove(productId);
     }
     
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public void updateStock(Integer productId, Integer quantity) {
         Product product = productRepository.findById(productId)
@@ -180,17 +313,13 @@ public class ProductService {
         product.setStockQuantity(newStock);
         log.info("Updated stock for product {}: {} -> {}", productId, product.getStockQuantity() + quantity, newStock);
         Product saved = productRepository.save(product);
+        inventoryLedgerService.record(productId, -quantity, InventoryMovement.REASON_STOCK_ADJUSTED, null);
+        productCatalogCache.evictProduct(productId, saved.getCategoryId());
 
-        Integer threshold = saved.getLowStockThreshold() != null ? saved.getLowStockThreshold() : 10;
-        log.warn("🔍 ORDER STOCK CHECK: Product {} | New Stock: {} | Threshold: {} | Condition: {}",
-                productId, newStock, threshold, (newStock <= threshold));
-
-        if (newStock <= threshold) {
-            log.warn("🚨 TRIGGERING LOW STOCK ALERT from ORDER for product {}", productId);
-            notificationService.sendLowStockAlert(saved);
-        }
+        stockAlertService.onStockChanged(saved);
     }
     
+    @Retryable(interceptor = OptimisticRetryConfig.INTERCEPTOR)
     @Transactional
     public Product setStockQuantity(Integer productId, Integer stockQuantity) {
         Product product = productRepository.findById(productId)
@@ -201,17 +330,10 @@ public class ProductService {
 
         log.info("Set stock quantity for product {}: {} -> {}", productId, oldStock, stockQuantity);
         Product saved = productRepository.save(product);
+        inventoryLedgerService.record(productId, stockQuantity - oldStock, InventoryMovement.REASON_STOCK_SET, null);
+        productCatalogCache.evictProduct(productId, saved.getCategoryId());
 
-        Integer threshold = saved.getLowStockThreshold() != null ? saved.getLowStockThreshold() : 10;
-        log.warn("🔍 INVENTORY UPDATE CHECK: Product {} | New Stock: {} | Threshold: {} | Condition: {}",
-                productId, stockQuantity, threshold, (stockQuantity <= threshold));
-
-        if (stockQuantity <= threshold) {
-            log.warn("🚨 TRIGGERING LOW STOCK ALERT from INVENTORY UPDATE for product {}", productId);
-            notificationService.sendLowStockAlert(saved);
-        } else {
-            log.warn("✅ Stock OK - no alert needed. Stock: {}, Threshold: {}", stockQuantity, threshold);
-        }
+        stockAlertService.onStockChanged(saved);
 
         return saved;
     }
@@ -0,0 +1,330 @@
+package com.shophub.service;
+
+import com.shophub.config.CacheNames;
+import com.shophub.config.CatalogSuggestProperties;
+import com.shophub.dto.ProductSuggestionDTO;
+import com.shophub.model.Category;
+import com.shophub.model.Product;
+import com.shophub.repository.CategoryRepository;
+import com.shophub.repository.ProductRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * In-memory type-ahead index over product names, SKUs and category names.
+ *
+ * Every word-suffix of a name is a key in a sorted map ("logitech wireless mouse",
+ * "wireless mouse", "mouse"), so a prefix lookup is a single range scan that matches
+ * both leading words and phrases starting mid-name. Lookups never touch the database.
+ */
+@Component
+@Slf4j
+public class ProductSuggestIndex {
+
+    // Upper bound on postings examined per lookup before ranking
+    private static final int MAX_CANDIDATES = 200;
+
+    private final ProductRepository productRepository;
+    private final CategoryRepository categoryRepository;
+    private final CatalogSuggestProperties properties;
+    private final Timer buildTimer;
+
+    private volatile Index index = new Index();
+    private List<Consumer<Index>> pendingDuringRebuild;
+
+    public ProductSuggestIndex(ProductRepository productRepository, CategoryRepository categoryRepository,
+                               CatalogSuggestProperties properties, MeterRegistry meterRegistry) {
+        this.productRepository = productRepository;
+        this.categoryRepository = categoryRepository;
+        this.properties = properties;
+        this.buildTimer = Timer.builder("catalog.suggest.index.build")
+                .description("Time to rebuild the type-ahead index from the database")
+                .register(meterRegistry);
+        Gauge.builder("catalog.suggest.index.products", this, s -> s.index.products.size())
+                .description("Products in the type-ahead index")
+                .register(meterRegistry);
+        Gauge.builder("catalog.suggest.index.keys", this, s -> s.index.productKeys.size() + s.index.categoryKeys.size())
+                .description("Prefix keys in the type-ahead index")
+                .register(meterRegistry);
+        Gauge.builder("catalog.suggest.index.memory", this, s -> s.index.estimatedBytes)
+                .description("Estimated heap used by the type-ahead index as of the last rebuild")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.suggest.rebuild-interval:PT10M}",
+               initialDelayString = "${catalog.suggest.rebuild-interval:PT10M}")
+    public void scheduledRebuild() {
+        if (properties.isEnabled()) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Rebuilds the whole index off to the side and swaps it in. Incremental updates
+     * that arrive while the database is being read are replayed onto the new index.
+     */
+    public void rebuild() {
+        synchronized (this) {
+            pendingDuringRebuild = new ArrayList<>();
+        }
+        Index fresh = new Index();
+        try {
+            buildTimer.record(() -> {
+                categoryRepository.findAll().forEach(fresh::putCategory);
+                productRepository.findSuggestRows().forEach(row ->
+                        fresh.putProduct((Integer) row[0], (String) row[1], (String) row[2]));
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingDuringRebuild = null;
+            }
+            throw e;
+        }
+        synchronized (this) {
+            pendingDuringRebuild.forEach(update -> update.accept(fresh));
+            pendingDuringRebuild = null;
+            fresh.estimatedBytes = fresh.estimateBytes();
+            index = fresh;
+        }
+        log.info("Rebuilt type-ahead index: {} products, {} categories, ~{} KiB",
+                fresh.products.size(), fresh.categories.size(), fresh.estimatedBytes / 1024);
+    }
+
+    /**
+     * Indexes (or re-indexes) a product once the surrounding transaction commits.
+     */
+    public void upsert(Product product) {
+        Integer productId = product.getProductId();
+        String name = product.getName();
+        String sku = product.getSku();
+        afterCommit(idx -> idx.putProduct(productId, name, sku));
+    }
+
+    public void remove(Integer productId) {
+        afterCommit(idx -> idx.removeProduct(productId));
+    }
+
+    /**
+     * Follows product writes made on other replicas as their catalog evictions arrive
+     * through the CacheInvalidationBus: evicted products are re-read and re-indexed (or
+     * dropped once deleted), and a cleared product cache, e.g. after missed notifications,
+     * triggers a rebuild. Local writes already update the index through upsert/remove.
+     */
+    @EventListener
+    public void onCacheEvicted(CacheEvictedEvent event) {
+        if (!properties.isEnabled() || !event.remote() || !event.cacheNames().contains(CacheNames.PRODUCTS)) {
+            return;
+        }
+        if (event.cleared(CacheNames.PRODUCTS)) {
+            rebuild();
+            return;
+        }
+        Set<Integer> productIds = event.keys().get(CacheNames.PRODUCTS).stream()
+                .filter(Integer.class::isInstance)
+                .map(Integer.class::cast)
+                .collect(Collectors.toSet());
+        if (productIds.isEmpty()) {
+            return;
+        }
+        Map<Integer, Object[]> rows = productRepository.findSuggestRowsByIds(productIds).stream()
+                .collect(Collectors.toMap(row -> (Integer) row[0], row -> row));
+        afterCommit(idx -> productIds.forEach(productId -> {
+            Object[] row = rows.get(productId);
+            if (row != null) {
+                idx.putProduct(productId, (String) row[1], (String) row[2]);
+            } else {
+                idx.removeProduct(productId);
+            }
+        }));
+    }
+
+    public List<ProductSuggestionDTO> suggest(String query, Integer limit) {
+        String prefix = normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        int size = limit == null
+                ? properties.getDefaultLimit()
+                : Math.max(1, Math.min(limit, properties.getMaxLimit()));
+
+        Index current = index;
+        List<ProductSuggestionDTO> results = new ArrayList<>(size);
+        lookup(current.categoryKeys, prefix).stream()
+                .map(current.categories::get)
+                .filter(entry -> entry != null)
+                .sorted(rank(prefix))
+                .limit(Math.min(size, properties.getMaxCategories()))
+                .forEach(entry -> results.add(entry.toSuggestion(ProductSuggestionDTO.TYPE_CATEGORY)));
+        lookup(current.productKeys, prefix).stream()
+                .map(current.products::get)
+                .filter(entry -> entry != null)
+                .sorted(rank(prefix))
+                .limit(size - results.size())
+                .forEach(entry -> results.add(entry.toSuggestion(ProductSuggestionDTO.TYPE_PRODUCT)));
+        return results;
+    }
+
+    private void afterCommit(Consumer<Index> update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(update);
+                }
+            });
+        } else {
+            apply(update);
+        }
+    }
+
+    private synchronized void apply(Consumer<Index> update) {
+        update.accept(index);
+        if (pendingDuringRebuild != null) {
+            pendingDuringRebuild.add(update);
+        }
+    }
+
+    private static Set<Integer> lookup(NavigableMap<String, Set<Integer>> keys, String prefix) {
+        Set<Integer> ids = new LinkedHashSet<>();
+        for (Set<Integer> postings : keys.subMap(prefix, true, prefix + Character.MAX_VALUE, true).values()) {
+            for (Integer id : postings) {
+                ids.add(id);
+                if (ids.size() >= MAX_CANDIDATES) {
+                    return ids;
+                }
+            }
+        }
+        return ids;
+    }
+
+    // Whole-label prefix matches first, then shorter labels, then alphabetical
+    private static Comparator<Entry> rank(String prefix) {
+        return Comparator.comparing((Entry entry) -> !entry.normalizedLabel.startsWith(prefix))
+                .thenComparingInt(entry -> entry.label.length())
+                .thenComparing(entry -> entry.normalizedLabel);
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+
+    /**
+     * Keys for a label: each word-suffix of the normalized label.
+     */
+    static List<String> keys(String label) {
+        String normalized = normalize(label);
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private record Entry(Integer id, String label, String normalizedLabel, String sku, List<String> keys) {
+
+        ProductSuggestionDTO toSuggestion(String type) {
+            return ProductSuggestionDTO.builder()
+                    .type(type)
+                    .id(id)
+                    .label(label)
+                    .sku(sku)
+                    .build();
+        }
+    }
+
+    private static final class Index {
+
+        final Map<Integer, Entry> products = new ConcurrentHashMap<>();
+        final Map<Integer, Entry> categories = new ConcurrentHashMap<>();
+        final ConcurrentSkipListMap<String, Set<Integer>> productKeys = new ConcurrentSkipListMap<>();
+        final ConcurrentSkipListMap<String, Set<Integer>> categoryKeys = new ConcurrentSkipListMap<>();
+        volatile long estimatedBytes;
+
+        void putProduct(Integer productId, String name, String sku) {
+            removeProduct(productId);
+            List<String> keys = keys(name);
+            String normalizedSku = normalize(sku);
+            if (!normalizedSku.isEmpty()) {
+                keys.add(normalizedSku);
+            }
+            Entry entry = new Entry(productId, name, normalize(name), sku, keys);
+            products.put(productId, entry);
+            keys.forEach(key -> productKeys.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(productId));
+        }
+
+        void removeProduct(Integer productId) {
+            Entry previous = products.remove(productId);
+            if (previous == null) {
+                return;
+            }
+            for (String key : previous.keys()) {
+                productKeys.computeIfPresent(key, (k, ids) -> {
+                    ids.remove(productId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        void putCategory(Category category) {
+            List<String> keys = keys(category.getName());
+            categories.put(category.getCategoryId(), new Entry(category.getCategoryId(), category.getName(),
+                    normalize(category.getName()), null, keys));
+            keys.forEach(key -> categoryKeys.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet())
+                    .add(category.getCategoryId()));
+        }
+
+        /**
+         * Rough heap estimate: String headers plus UTF-16/Latin-1 payload for keys and
+         * labels, skip-list nodes and posting-set entries. Good enough to spot growth.
+         */
+        long estimateBytes() {
+            long bytes = 0;
+            for (Map.Entry<String, Set<Integer>> key : productKeys.entrySet()) {
+                bytes += 48 + key.getKey().length() + 64 + 32L * key.getValue().size();
+            }
+            for (Map.Entry<String, Set<Integer>> key : categoryKeys.entrySet()) {
+                bytes += 48 + key.getKey().length() + 64 + 32L * key.getValue().size();
+            }
+            for (Entry entry : products.values()) {
+                bytes += 96 + 2L * entry.label().length() + 32L * entry.keys().size();
+            }
+            return bytes;
+        }
+    }
+}
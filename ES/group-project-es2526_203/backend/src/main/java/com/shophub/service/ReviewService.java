@@ -1,6 +1,7 @@
 package com.shophub.service;
 
 import com.shophub.exception.ResourceNotFoundException;
+import com.shophub.model.ProductReviewStats;
 import com.shophub.model.Review;
 import com.shophub.model.User;
 import com.shophub.repository.ReviewRepository;
@@ -23,6 +24,7 @@ public class ReviewService {
     
     private final ReviewRepository reviewRepository;
     private final UserService userService;
+    private final ProductReviewStatsService productReviewStatsService;
     
     @Transactional(readOnly = true)
     public List<Review> getReviewsByProductId(Integer productId) {
@@ -37,12 +39,12 @@ public class ReviewService {
     
     @Transactional(readOnly = true)
     public Map<String, Object> getProductReviewStats(Integer productId) {
-        Double avgRating = reviewRepository.getAverageRatingByProductId(productId);
-        Long reviewCount = reviewRepository.getReviewCountByProductId(productId);
+        ProductReviewStats productStats = productReviewStatsService.getStats(productId);
         
         Map<String, Object> stats = new HashMap<>();
-        stats.put("averageRating", avgRating != null ? avgRating : 0.0);
-        stats.put("reviewCount", reviewCount != null ? reviewCount : 0L);
+        stats.put("averageRating", productStats.getAverageRating());
+        stats.put("reviewCount", productStats.getReviewCount());
+        stats.put("ratingDistribution", productStats.getRatingDistribution());
         
         return stats;
     }
@@ -79,7 +81,9 @@ public class ReviewService {
         }
         
         log.info("Creating review for product {} by user {}", review.getProductId(), username);
-        return reviewRepository.save(review);
+        Review saved = reviewRepository.save(review);
+        productReviewStatsService.applyRating(saved.getProductId(), saved.getRating(), 1);
+        return saved;
     }
     
     @Transactional
@@ -111,12 +115,15 @@ public class ReviewService {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Username in review must match authenticated user's username");
         }
         
+        int oldRating = existingReview.getRating();
         existingReview.setRating(updatedReview.getRating());
         existingReview.setTitle(updatedReview.getTitle());
         existingReview.setComment(updatedReview.getComment());
         
         log.info("Updating review: {} by user {}", reviewId, username);
-        return reviewRepository.save(existingReview);
+        Review saved = reviewRepository.save(existingReview);
+        productReviewStatsService.changeRating(saved.getProductId(), oldRating, saved.getRating());
+        return saved;
     }
     
     @Transactional
@@ -131,5 +138,6 @@ public class ReviewService {
         
         log.info("Deleting review: {} by user {}", reviewId, userId);
         reviewRepository.deleteById(reviewId);
+        productReviewStatsService.applyRating(existingReview.getProductId(), existingReview.getRating(), -1);
     }
 }
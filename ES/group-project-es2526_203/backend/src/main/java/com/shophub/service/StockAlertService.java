@@ -0,0 +1,103 @@
+package com.shophub.service;
+
+import com.shophub.config.StockAlertProperties;
+import com.shophub.model.Product;
+import com.shophub.repository.ProductRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-product low-stock alert state machine (ok → low → out and back).
+ *
+ * Stock changes only move {@code products.alert_state}, and only when the state actually
+ * changes, so the checkout path costs nothing while a product stays low. A scheduled
+ * digest picks up the transitions that have held for {@code debounce}, claims them and
+ * sends every administrator one notification covering all of them. Moves towards "ok"
+ * are acknowledged silently.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockAlertService {
+
+    public static final String STATE_OK = "ok";
+    public static final String STATE_LOW = "low";
+    public static final String STATE_OUT = "out";
+
+    private static final int DEFAULT_THRESHOLD = 10;
+
+    private final ProductRepository productRepository;
+    private final NotificationService notificationService;
+    private final StockAlertProperties properties;
+
+    /**
+     * Records the alert state of a product whose stock just changed. Must run in the
+     * transaction that changed the stock, which already holds the product row.
+     */
+    public void onStockChanged(Product product) {
+        String state = stateOf(product);
+        String current = product.getAlertState() != null ? product.getAlertState() : STATE_OK;
+        if (state.equals(current)) {
+            return;
+        }
+        if (productRepository.transitionAlertState(product.getProductId(), state, LocalDateTime.now()) > 0) {
+            log.info("Stock alert state of product {} moved {} -> {} (stock: {})",
+                    product.getProductId(), current, state, product.getStockQuantity());
+        }
+        product.setAlertState(state);
+    }
+
+    /**
+     * Sends one digest per administrator for the settled transitions no run has claimed
+     * yet. Claims and notifications commit together, so concurrent runs on other nodes
+     * never report the same transition twice, and a failed send rolls the claims back for
+     * the next run. Nothing is claimed while there is nobody to notify.
+     */
+    @Scheduled(fixedDelayString = "${notifications.stock-alerts.digest-interval:PT1M}")
+    @Transactional
+    public int sendDigest() {
+        if (!notificationService.hasStockAlertRecipients()) {
+            log.warn("No staff to receive stock alerts; leaving pending transitions for a later digest");
+            return 0;
+        }
+        LocalDateTime settledBefore = LocalDateTime.now().minus(properties.getDebounce());
+        List<Product> alerts = new ArrayList<>();
+        for (Product product : productRepository.findPendingStockAlerts(settledBefore)) {
+            if (productRepository.markAlertNotified(product.getProductId(),
+                    product.getAlertState(), product.getAlertNotifiedState()) == 0) {
+                continue;
+            }
+            if (severity(product.getAlertState()) > severity(product.getAlertNotifiedState())) {
+                alerts.add(product);
+            }
+        }
+        if (!alerts.isEmpty()) {
+            notificationService.sendStockAlertDigest(alerts);
+        }
+        return alerts.size();
+    }
+
+    static String stateOf(Product product) {
+        int stock = product.getStockQuantity() != null ? product.getStockQuantity() : 0;
+        int threshold = product.getLowStockThreshold() != null ? product.getLowStockThreshold() : DEFAULT_THRESHOLD;
+        if (stock <= 0) {
+            return STATE_OUT;
+        }
+        return stock <= threshold ? STATE_LOW : STATE_OK;
+    }
+
+    private static int severity(String state) {
+        return switch (state) {
+            case STATE_OUT -> 2;
+            case STATE_LOW -> 1;
+            default -> 0;
+        };
+    }
+}
@@ -0,0 +1,121 @@
+package com.shophub.service;
+
+import com.shophub.config.InventoryReservationProperties;
+import com.shophub.exception.ResourceNotFoundException;
+import com.shophub.model.Cart;
+import com.shophub.model.Product;
+import com.shophub.model.StockReservation;
+import com.shophub.repository.CartRepository;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.StockReservationRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Time-bounded stock holds for checkout. Reserving a cart holds each line's quantity
+ * for {@code inventory.reservation.hold}; while the hold is live those units are not
+ * available to other users' carts or orders. OrderService converts the holds into the
+ * real decrement, and the sweeper deletes the ones that expire.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StockReservationService {
+
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductRepository productRepository;
+    private final CartRepository cartRepository;
+    private final InventoryReservationProperties properties;
+
+    /**
+     * Holds stock for every line of the user's cart, replacing any earlier hold and
+     * restarting the clock. All-or-nothing: if any product lacks available stock the
+     * whole call fails and no holds change.
+     */
+    @Transactional
+    public List<StockReservation> reserveCart(String userId) {
+        List<Cart> cartItems = cartRepository.findByUserId(userId);
+        if (cartItems.isEmpty()) {
+            throw new IllegalArgumentException("Cart is empty");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime expiresAt = now.plus(properties.getHold());
+        // product_id order, the same lock order OrderService uses for its decrements
+        List<Cart> ordered = cartItems.stream()
+                .sorted(Comparator.comparing(Cart::getProductId))
+                .toList();
+        for (Cart item : ordered) {
+            Product product = productRepository.lockForStockChange(item.getProductId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Product not found: " + item.getProductId()));
+            if (availableStock(product, userId, now) < item.getQuantity()) {
+                throw new IllegalArgumentException("Insufficient stock for product: " + product.getName());
+            }
+
+            StockReservation reservation = stockReservationRepository
+                    .findByUserIdAndProductId(userId, item.getProductId())
+                    .orElseGet(() -> StockReservation.builder()
+                            .userId(userId)
+                            .productId(item.getProductId())
+                            .build());
+            reservation.setQuantity(item.getQuantity());
+            reservation.setExpiresAt(expiresAt);
+            stockReservationRepository.save(reservation);
+        }
+
+        log.info("Reserved {} cart line(s) for user {} until {}", ordered.size(), userId, expiresAt);
+        return stockReservationRepository.findByUserIdOrderByProductIdAsc(userId);
+    }
+
+    /**
+     * Stock the given user may still put in a cart or order: on-hand stock minus the
+     * units escrowed to hot-inventory leases and what other users currently hold, the
+     * same rule ProductRepository.decrementStock applies at checkout. The user's own
+     * hold is not subtracted.
+     */
+    @Transactional(readOnly = true)
+    public int availableStock(Product product, String userId) {
+        return availableStock(product, userId, LocalDateTime.now());
+    }
+
+    /**
+     * Drops the user's holds on these products: once OrderService has decremented the
+     * held units for real, or when the lines leave the cart.
+     */
+    @Transactional
+    public void release(String userId, Collection<Integer> productIds) {
+        if (!productIds.isEmpty()) {
+            stockReservationRepository.deleteByUserIdAndProductIds(userId, productIds);
+        }
+    }
+
+    @Transactional
+    public void releaseAll(String userId) {
+        stockReservationRepository.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${inventory.reservation.sweep-interval:PT1M}")
+    @Transactional
+    public int releaseExpired() {
+        int released = stockReservationRepository.deleteExpired(LocalDateTime.now());
+        if (released > 0) {
+            log.info("Released {} expired stock reservation(s)", released);
+        }
+        return released;
+    }
+
+    private int availableStock(Product product, String userId, LocalDateTime now) {
+        long reservedByOthers = stockReservationRepository.sumReservedByOthers(product.getProductId(), userId, now);
+        // escrowed_stock is database-defaulted, so a product saved in this session has no value yet
+        int escrowed = product.getEscrowedStock() == null ? 0 : product.getEscrowedStock();
+        return (int) Math.max(0, product.getStockQuantity() - escrowed - reservedByOthers);
+    }
+}
@@ -0,0 +1,86 @@
+package com.shophub.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Stock count split across stripes so concurrent takers mostly CAS different cells.
+ * Unlike a LongAdder the total can never go negative: a take claims units stripe by
+ * stripe, starting at the calling thread's home stripe, and hands them back if all
+ * stripes together cannot cover the request.
+ */
+final class StripedStockCounter {
+
+    // Cells sit a cache line (8 longs) apart so neighbouring stripes do not false-share
+    private static final int PAD = 8;
+
+    private final int stripes;
+    private final AtomicLongArray cells;
+
+    StripedStockCounter(int stripes) {
+        if (stripes < 1) {
+            throw new IllegalArgumentException("stripes must be at least 1");
+        }
+        this.stripes = stripes;
+        this.cells = new AtomicLongArray(stripes * PAD);
+    }
+
+    boolean tryTake(long quantity) {
+        int home = homeStripe();
+        long taken = 0;
+        for (int i = 0; i < stripes && taken < quantity; i++) {
+            int cell = ((home + i) % stripes) * PAD;
+            while (true) {
+                long have = cells.get(cell);
+                if (have == 0) {
+                    break;
+                }
+                long take = Math.min(have, quantity - taken);
+                if (cells.compareAndSet(cell, have, have - take)) {
+                    taken += take;
+                    break;
+                }
+            }
+        }
+        if (taken < quantity) {
+            if (taken > 0) {
+                cells.addAndGet(home * PAD, taken);
+            }
+            return false;
+        }
+        return true;
+    }
+
+    // Spreads the units over all stripes so the next takes rarely need to scan
+    void add(long quantity) {
+        long share = quantity / stripes;
+        long remainder = quantity % stripes;
+        for (int i = 0; i < stripes; i++) {
+            long units = share + (i < remainder ? 1 : 0);
+            if (units > 0) {
+                cells.addAndGet(i * PAD, units);
+            }
+        }
+    }
+
+    // Empties every stripe and returns what was in them
+    long drain() {
+        long drained = 0;
+        for (int i = 0; i < stripes; i++) {
+            drained += cells.getAndSet(i * PAD, 0);
+        }
+        return drained;
+    }
+
+    long sum() {
+        long sum = 0;
+        for (int i = 0; i < stripes; i++) {
+            sum += cells.get(i * PAD);
+        }
+        return sum;
+    }
+
+    private int homeStripe() {
+        long id = Thread.currentThread().getId();
+        return (int) ((id ^ (id >>> 16)) % stripes);
+    }
+}
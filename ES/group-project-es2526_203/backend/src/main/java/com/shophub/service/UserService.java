@@ -9,7 +9,10 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -34,6 +37,13 @@ public class UserService {
                 .orElseThrow(() -> new ResourceNotFoundException("User not found"));
     }
     
+    // Users keyed by id, loaded with one query; unknown ids are left out
+    @Transactional(readOnly = true)
+    public Map<String, User> getUsersByIds(Collection<String> userIds) {
+        return userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getUserId, Function.identity()));
+    }
+    
     @Transactional(readOnly = true)
     public List<User> getAllCustomers() {
         return userRepository.findByRoleIn(List.of("customer"));
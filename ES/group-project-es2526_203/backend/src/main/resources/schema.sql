@@ -46,6 +46,178 @@ CREATE INDEX IF NOT EXISTS idx_banners_end_at ON banners(end_at);
 CREATE INDEX IF NOT EXISTS idx_landing_pages_created_at ON landing_pages(created_at DESC);
 CREATE INDEX IF NOT EXISTS idx_landing_pages_published_at ON landing_pages(published_at DESC);
 
+-- Incrementally maintained review aggregates (see ProductReviewStatsService)
+CREATE TABLE IF NOT EXISTS product_review_stats (
+    product_id INTEGER PRIMARY KEY REFERENCES products(product_id) ON DELETE CASCADE,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    review_count BIGINT NOT NULL DEFAULT 0,
+    rating_1_count BIGINT NOT NULL DEFAULT 0,
+    rating_2_count BIGINT NOT NULL DEFAULT 0,
+    rating_3_count BIGINT NOT NULL DEFAULT 0,
+    rating_4_count BIGINT NOT NULL DEFAULT 0,
+    rating_5_count BIGINT NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO product_review_stats (product_id, rating_sum, review_count,
+    rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count)
+SELECT product_id, SUM(rating), COUNT(*),
+    COUNT(*) FILTER (WHERE rating = 1), COUNT(*) FILTER (WHERE rating = 2),
+    COUNT(*) FILTER (WHERE rating = 3), COUNT(*) FILTER (WHERE rating = 4),
+    COUNT(*) FILTER (WHERE rating = 5)
+FROM reviews
+GROUP BY product_id
+ON CONFLICT (product_id) DO NOTHING;
+
+-- Keyset pagination for the product listing (see ProductRepositoryCustomImpl)
+CREATE INDEX IF NOT EXISTS idx_products_created_at_id ON products(created_at DESC, product_id DESC);
+CREATE INDEX IF NOT EXISTS idx_products_price_id ON products(price, product_id);
+CREATE INDEX IF NOT EXISTS idx_products_category_created_at_id ON products(category_id, created_at DESC, product_id DESC);
+
+-- Full-text product search (see ProductSearchRepository)
+ALTER TABLE products ADD COLUMN IF NOT EXISTS search_vector tsvector
+    GENERATED ALWAYS AS (
+        setweight(to_tsvector('english', coalesce(name, '')), 'A') ||
+        setweight(to_tsvector('simple', coalesce(sku, '')), 'A') ||
+        setweight(to_tsvector('english', coalesce(description, '')), 'B')
+    ) STORED;
+CREATE INDEX IF NOT EXISTS idx_products_search_vector ON products USING GIN (search_vector);
+
+-- Time-bounded checkout stock holds (see StockReservationService)
+CREATE TABLE IF NOT EXISTS stock_reservations (
+    reservation_id SERIAL PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL REFERENCES users(user_id) ON DELETE CASCADE,
+    product_id INTEGER NOT NULL REFERENCES products(product_id) ON DELETE CASCADE,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    expires_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_reservation_user_product UNIQUE(user_id, product_id)
+);
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_product_expires ON stock_reservations(product_id, expires_at);
+CREATE INDEX IF NOT EXISTS idx_stock_reservations_expires_at ON stock_reservations(expires_at);
+
+-- Flash-sale escrow for hot products (see HotInventoryService)
+ALTER TABLE products ADD COLUMN IF NOT EXISTS escrowed_stock INTEGER NOT NULL DEFAULT 0;
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS stock_lease_id VARCHAR(36);
+CREATE TABLE IF NOT EXISTS hot_stock_leases (
+    lease_id VARCHAR(36) PRIMARY KEY,
+    product_id INTEGER NOT NULL REFERENCES products(product_id) ON DELETE CASCADE,
+    node_id VARCHAR(255) NOT NULL,
+    granted INTEGER NOT NULL CHECK (granted >= 0),
+    flushed INTEGER NOT NULL CHECK (flushed >= 0),
+    heartbeat_at TIMESTAMP NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_hot_stock_leases_heartbeat_at ON hot_stock_leases(heartbeat_at);
+CREATE INDEX IF NOT EXISTS idx_order_items_stock_lease_id ON order_items(stock_lease_id) WHERE stock_lease_id IS NOT NULL;
+
+-- Append-only stock history and periodic snapshots (see InventoryLedgerService).
+-- No foreign keys: the history outlives the products and orders it mentions.
+CREATE TABLE IF NOT EXISTS inventory_movements (
+    movement_id BIGSERIAL PRIMARY KEY,
+    product_id INTEGER NOT NULL,
+    delta INTEGER NOT NULL,
+    reason VARCHAR(50) NOT NULL,
+    order_id INTEGER,
+    actor VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_inventory_movements_product_created ON inventory_movements(product_id, created_at);
+CREATE INDEX IF NOT EXISTS idx_inventory_movements_created_at ON inventory_movements(created_at);
+CREATE TABLE IF NOT EXISTS inventory_snapshots (
+    snapshot_id BIGSERIAL PRIMARY KEY,
+    product_id INTEGER NOT NULL,
+    stock_quantity INTEGER NOT NULL,
+    snapshot_at TIMESTAMP NOT NULL,
+    CONSTRAINT unique_inventory_snapshot_product_at UNIQUE(product_id, snapshot_at)
+);
+CREATE INDEX IF NOT EXISTS idx_inventory_snapshots_snapshot_at ON inventory_snapshots(snapshot_at);
+-- Opening balance so the ledger of existing products adds up to their current stock
+INSERT INTO inventory_movements (product_id, delta, reason, actor)
+SELECT p.product_id, p.stock_quantity, 'opening_balance', 'migration'
+FROM products p
+WHERE p.stock_quantity <> 0
+  AND NOT EXISTS (SELECT 1 FROM inventory_movements m WHERE m.product_id = p.product_id);
+
+-- Low-stock alert state machine (see StockAlertService)
+ALTER TABLE products ADD COLUMN IF NOT EXISTS alert_state VARCHAR(10) NOT NULL DEFAULT 'ok';
+ALTER TABLE products ADD COLUMN IF NOT EXISTS alert_notified_state VARCHAR(10) NOT NULL DEFAULT 'ok';
+ALTER TABLE products ADD COLUMN IF NOT EXISTS alert_changed_at TIMESTAMP;
+-- Existing products start in their current state, counted as already alerted
+UPDATE products SET
+    alert_state = CASE WHEN stock_quantity <= 0 THEN 'out'
+                       WHEN stock_quantity <= COALESCE(low_stock_threshold, 10) THEN 'low'
+                       ELSE 'ok' END,
+    alert_notified_state = CASE WHEN stock_quantity <= 0 THEN 'out'
+                                WHEN stock_quantity <= COALESCE(low_stock_threshold, 10) THEN 'low'
+                                ELSE 'ok' END,
+    alert_changed_at = CURRENT_TIMESTAMP
+WHERE alert_changed_at IS NULL;
+CREATE INDEX IF NOT EXISTS idx_products_pending_stock_alert ON products(alert_changed_at) WHERE alert_state <> alert_notified_state;
+
+-- Optimistic concurrency versions (@Version on Product, Order and Cart)
+ALTER TABLE products ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE orders ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE cart ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Product snapshot on order items (see OrderItem.snapshotProduct); older rows are filled by OrderSnapshotBackfillService
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS product_name VARCHAR(255);
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS product_sku VARCHAR(100);
+ALTER TABLE order_items ADD COLUMN IF NOT EXISTS product_image TEXT;
+CREATE INDEX IF NOT EXISTS idx_order_items_missing_snapshot ON order_items(order_item_id) WHERE product_name IS NULL;
+
+-- Keyset pagination and search for the admin/warehouse order listing (see OrderRepositoryCustomImpl)
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE INDEX IF NOT EXISTS idx_orders_created_at_id ON orders(created_at DESC, order_id DESC);
+CREATE INDEX IF NOT EXISTS idx_orders_status_created_at_id ON orders(order_status, created_at DESC, order_id DESC);
+-- Exact tracking number lookups go through the trigram index; drop the old btree on upgrade
+DROP INDEX IF EXISTS idx_orders_tracking_number;
+CREATE INDEX IF NOT EXISTS idx_orders_user_id_trgm ON orders USING GIN (user_id gin_trgm_ops);
+CREATE INDEX IF NOT EXISTS idx_orders_tracking_number_trgm ON orders USING GIN (tracking_number gin_trgm_ops);
+
+-- Per-status order counters for the admin statistics (see OrderStatsService)
+CREATE TABLE IF NOT EXISTS order_status_stats (
+    order_status VARCHAR(50) PRIMARY KEY,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    total_amount NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO order_status_stats (order_status, order_count, total_amount)
+SELECT order_status, COUNT(*), COALESCE(SUM(total_amount), 0)
+FROM orders
+GROUP BY order_status
+ON CONFLICT (order_status) DO NOTHING;
+
+-- Order item ids are allocated by Hibernate in blocks of 50 (see OrderItem); must match allocationSize
+ALTER SEQUENCE order_items_order_item_id_seq INCREMENT BY 50;
+
+-- Idempotency-Key replay for order placement (see OrderIdempotencyService)
+CREATE TABLE IF NOT EXISTS order_idempotency_keys (
+    key_id BIGSERIAL PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    idempotency_key VARCHAR(255) NOT NULL,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id INTEGER REFERENCES orders(order_id) ON DELETE CASCADE,
+    response_body TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT unique_idempotency_user_key UNIQUE(user_id, idempotency_key)
+);
+CREATE INDEX IF NOT EXISTS idx_order_idempotency_keys_created_at ON order_idempotency_keys(created_at);
+
+-- Transactional outbox: side effects of order writes, committed with the order and run by OutboxDispatcher
+CREATE TABLE IF NOT EXISTS outbox_events (
+    event_id BIGSERIAL PRIMARY KEY,
+    event_type VARCHAR(50) NOT NULL,
+    payload TEXT NOT NULL,
+    status VARCHAR(20) NOT NULL DEFAULT 'pending',
+    attempts INTEGER NOT NULL DEFAULT 0,
+    available_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    last_error TEXT,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IF NOT EXISTS idx_outbox_events_due ON outbox_events(available_at, event_id) WHERE status = 'pending';
+
 -- ============================================
 -- Chatbot Tables (Sprint #5)
 -- ============================================
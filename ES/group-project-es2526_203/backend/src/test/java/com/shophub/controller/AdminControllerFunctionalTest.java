@@ -25,6 +25,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.Map;
 import java.util.Arrays;
 
 import static org.hamcrest.Matchers.*;
@@ -64,6 +65,33 @@ public class AdminControllerFunctionalTest {
         userRepository.deleteAll();
     }
 
+    @Test
+    @Transactional
+    @WithMockUser(roles = "administrator")
+    void getAllProducts_withFields_returnsOnlyRequestedFields() throws Exception {
+        // Arrange
+        productRepository.save(Product.builder()
+                .name("Sparse Product")
+                .price(new BigDecimal("10.00"))
+                .sku("SP-1")
+                .stockQuantity(4)
+                .lowStockThreshold(2)
+                .specifications(Map.of("color", "red"))
+                .build());
+
+        // Act and Assert
+        mockMvc.perform(get("/api/admin/products")
+                        .param("fields", "sku,stock_quantity")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].product_id").exists())
+                .andExpect(jsonPath("$[0].sku", is("SP-1")))
+                .andExpect(jsonPath("$[0].stock_quantity", is(4)))
+                .andExpect(jsonPath("$[0].name").doesNotExist())
+                .andExpect(jsonPath("$[0].specifications").doesNotExist());
+    }
+
     @Test
     @Transactional
     @WithMockUser(roles = "administrator")
@@ -383,13 +411,14 @@ public class AdminControllerFunctionalTest {
     @Test
     @Transactional
     @WithMockUser(roles = "administrator")
-    void getOrderStatistics_asAdmin_returnsStatisticsPlaceholder() throws Exception {
-        // Act and Assert
+    void getOrderStatistics_asAdmin_returnsStatusCounters() throws Exception {
+        // Act and Assert - no orders yet
         mockMvc.perform(get("/api/admin/orders/stats")
                         .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$.message", is("Order statistics endpoint")))
-                .andExpect(jsonPath("$.status", is("not_implemented")));
+                .andExpect(jsonPath("$.totalOrders", is(0)))
+                .andExpect(jsonPath("$.pendingOrders", is(0)))
+                .andExpect(jsonPath("$.totalRevenue", is(0)));
     }
 
     @Test
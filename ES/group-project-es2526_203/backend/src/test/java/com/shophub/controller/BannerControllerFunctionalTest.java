@@ -14,11 +14,14 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
+import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -28,6 +31,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Import(TestSecurityConfig.class)
+@TestPropertySource(properties = {
+        "catalog.cache.enabled=true",
+        "catalog.cache.distributed-invalidation=false"
+})
 public class BannerControllerFunctionalTest {
 
     @Autowired
@@ -334,4 +341,59 @@ public class BannerControllerFunctionalTest {
         mockMvc.perform(put("/api/v1/banners/{id}/publish", banner.getId()).with(csrf()))
                 .andExpect(status().isForbidden());
     }
+
+    @Test
+    @Transactional
+    void getActiveBanners_withCurrentEtag_returnsNotModified() throws Exception {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        bannerRepository.save(createBanner("Active", true,
+                now.minusDays(1), now.plusDays(1), 10));
+        String etag = mockMvc.perform(get("/api/v1/banners/active"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act and Assert
+        mockMvc.perform(get("/api/v1/banners/active")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void getActiveBanners_afterAStartPasses_servesTheNewListUnderANewEtag() throws Exception {
+        // Arrange - the list is cached before the banner starts
+        LocalDateTime startAt = LocalDateTime.now().plusSeconds(1);
+        bannerRepository.save(createBanner("Starting Soon", true, startAt, startAt.plusDays(1), 10));
+        String etag = mockMvc.perform(get("/api/v1/banners/active"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(0)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act
+        Thread.sleep(Duration.between(LocalDateTime.now(), startAt).toMillis() + 50);
+
+        // Assert
+        mockMvc.perform(get("/api/v1/banners/active")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Starting Soon")));
+    }
+
+    @Test
+    @Transactional
+    void activeBannersVersion_changesWhenScheduleWindowOpens() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        bannerRepository.saveAndFlush(createBanner("Upcoming", true,
+                now.plusHours(1), now.plusDays(1), 10));
+
+        // Act
+        String beforeStart = bannerRepository.findScheduleVersion(now).etag();
+        String afterStart = bannerRepository.findScheduleVersion(now.plusHours(2)).etag();
+
+        // Assert
+        assertThat(afterStart, not(beforeStart));
+    }
 }
@@ -1,6 +1,7 @@
 package com.shophub.controller;
 
 import com.shophub.dto.BannerDTO;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.service.BannerService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,7 +11,11 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 
@@ -28,6 +33,10 @@ class BannerControllerTest {
     @InjectMocks
     private BannerController bannerController;
 
+    private static final ResourceVersion VERSION = new ResourceVersion(2, LocalDateTime.of(2025, 1, 1, 12, 0));
+
+    private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/"));
+
     private BannerDTO sample;
 
     @BeforeEach
@@ -93,7 +102,8 @@ class BannerControllerTest {
     void getAllBanners_returnsList() {
         when(bannerService.getAllBanners()).thenReturn(Arrays.asList(sample));
 
-        ResponseEntity<List<BannerDTO>> response = bannerController.getAllBanners();
+        when(bannerService.getBannersVersion()).thenReturn(VERSION);
+        ResponseEntity<List<BannerDTO>> response = bannerController.getAllBanners(webRequest);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
@@ -103,21 +113,23 @@ class BannerControllerTest {
 
     @Test
     void getActiveBanners_returnsActiveList() {
-        when(bannerService.getActiveBanners()).thenReturn(List.of(sample));
+        when(bannerService.getActiveBanners(any(LocalDateTime.class), eq(VERSION))).thenReturn(List.of(sample));
 
-        ResponseEntity<List<BannerDTO>> response = bannerController.getActiveBanners();
+        when(bannerService.getActiveBannersVersion(any(LocalDateTime.class))).thenReturn(VERSION);
+        ResponseEntity<List<BannerDTO>> response = bannerController.getActiveBanners(webRequest);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
         assertThat(response.getBody()).hasSize(1);
-        verify(bannerService).getActiveBanners();
+        verify(bannerService).getActiveBanners(any(LocalDateTime.class), eq(VERSION));
     }
 
     @Test
     void getBanner_returnsBannerById() {
         when(bannerService.getBanner(1L)).thenReturn(sample);
 
-        ResponseEntity<BannerDTO> response = bannerController.getBanner(1L);
+        when(bannerService.getBannerVersion(1L)).thenReturn(VERSION);
+        ResponseEntity<BannerDTO> response = bannerController.getBanner(1L, webRequest);
 
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody()).isNotNull();
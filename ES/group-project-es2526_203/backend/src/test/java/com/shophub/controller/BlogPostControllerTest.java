@@ -2,6 +2,7 @@ package com.shophub.controller;
 
 import com.shophub.dto.BlogPostDTO;
 import com.shophub.dto.CreateBlogPostRequest;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.dto.UpdateBlogPostRequest;
 import com.shophub.service.BlogPostService;
 import org.junit.jupiter.api.BeforeEach;
@@ -12,7 +13,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -34,6 +38,10 @@ class BlogPostControllerTest {
     @InjectMocks
     private BlogPostController controller;
 
+    private static final ResourceVersion VERSION = new ResourceVersion(2, LocalDateTime.of(2025, 1, 1, 12, 0));
+
+    private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/"));
+
     private BlogPostDTO samplePost;
     private CreateBlogPostRequest createRequest;
     private UpdateBlogPostRequest updateRequest;
@@ -101,9 +109,10 @@ class BlogPostControllerTest {
         // Given
         List<BlogPostDTO> posts = Arrays.asList(samplePost);
         when(service.getPublishedPosts()).thenReturn(posts);
+        when(service.getPostsVersion()).thenReturn(VERSION);
 
         // When
-        ResponseEntity<List<BlogPostDTO>> response = controller.getPublishedPosts();
+        ResponseEntity<List<BlogPostDTO>> response = controller.getPublishedPosts(webRequest);
 
         // Then
         assertNotNull(response);
@@ -121,9 +130,10 @@ class BlogPostControllerTest {
     void getPost_ShouldReturnPost_WhenPostExists() {
         // Given
         when(service.getPost(1)).thenReturn(samplePost);
+        when(service.getPostVersion(1)).thenReturn(VERSION);
 
         // When
-        ResponseEntity<BlogPostDTO> response = controller.getPost(1);
+        ResponseEntity<BlogPostDTO> response = controller.getPost(1, webRequest);
 
         // Then
         assertNotNull(response);
@@ -148,9 +158,10 @@ class BlogPostControllerTest {
         
         List<BlogPostDTO> posts = Arrays.asList(samplePost, draftPost);
         when(service.getAllPosts()).thenReturn(posts);
+        when(service.getPostsVersion()).thenReturn(VERSION);
 
         // When
-        ResponseEntity<List<BlogPostDTO>> response = controller.getAllPosts();
+        ResponseEntity<List<BlogPostDTO>> response = controller.getAllPosts(webRequest);
 
         // Then
         assertNotNull(response);
@@ -2,7 +2,9 @@ package com.shophub.controller;
 
 import com.shophub.dto.CartDTO;
 import com.shophub.model.Cart;
+import com.shophub.model.StockReservation;
 import com.shophub.service.CartService;
+import com.shophub.service.StockReservationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -29,6 +31,9 @@ class CartControllerTest {
     @Mock
     private CartService cartService;
 
+    @Mock
+    private StockReservationService stockReservationService;
+
     @Mock
     private Jwt jwt;
 
@@ -239,4 +244,30 @@ class CartControllerTest {
         
         verify(cartService, times(1)).updateCartItem(eq(testUserId), eq(cartId), any(CartDTO.class));
     }
+
+    /**
+     * Test: Checkout holds the cart's stock for the authenticated user
+     */
+    @Test
+    void reserveCart_ShouldReturnHolds_ForAuthenticatedUser() {
+        // Given
+        StockReservation hold = StockReservation.builder()
+                .reservationId(1)
+                .userId(testUserId)
+                .productId(101)
+                .quantity(2)
+                .expiresAt(LocalDateTime.now().plusMinutes(15))
+                .build();
+        when(stockReservationService.reserveCart(testUserId)).thenReturn(List.of(hold));
+
+        // When
+        ResponseEntity<List<StockReservation>> response = cartController.reserveCart(jwt);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(1, response.getBody().size());
+        assertEquals(101, response.getBody().get(0).getProductId());
+        verify(stockReservationService).reserveCart(testUserId);
+        verifyNoInteractions(cartService);
+    }
 }
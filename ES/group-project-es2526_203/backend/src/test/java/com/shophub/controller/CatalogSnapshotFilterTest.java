@@ -0,0 +1,135 @@
+package com.shophub.controller;
+
+import com.shophub.service.CatalogSnapshotService;
+import com.shophub.service.CatalogSnapshotService.Snapshot;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotFilterTest {
+
+    private static final Snapshot SNAPSHOT = new Snapshot(
+            "[{\"product_id\":1}]".getBytes(StandardCharsets.UTF_8), new byte[]{31, -117, 8}, "\"abc123\"");
+
+    @Mock
+    private CatalogSnapshotService catalogSnapshotService;
+
+    @Mock
+    private FilterChain filterChain;
+
+    @InjectMocks
+    private CatalogSnapshotFilter filter;
+
+    @Test
+    void shouldWriteSnapshotBytesWithEtag() throws Exception {
+        // Given
+        when(catalogSnapshotService.getProducts()).thenReturn(SNAPSHOT);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/products"), response, filterChain);
+
+        // Then
+        assertEquals(200, response.getStatus());
+        assertEquals("[{\"product_id\":1}]", response.getContentAsString());
+        assertEquals("\"abc123\"", response.getHeader("ETag"));
+        assertEquals("application/json", response.getContentType());
+        verifyNoInteractions(filterChain);
+    }
+
+    @Test
+    void shouldWriteGzipVariantWhenAccepted() throws Exception {
+        // Given
+        when(catalogSnapshotService.getCategories()).thenReturn(SNAPSHOT);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/categories");
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertArrayEquals(SNAPSHOT.gzip(), response.getContentAsByteArray());
+    }
+
+    @Test
+    void shouldWritePlainJsonWhenGzipIsRefused() throws Exception {
+        // Given
+        when(catalogSnapshotService.getProducts()).thenReturn(SNAPSHOT);
+
+        for (String acceptEncoding : new String[]{"gzip;q=0", "identity, gzip;q=0", "*;q=0.5, gzip; q=0.0"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+            request.addHeader("Accept-Encoding", acceptEncoding);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // When
+            filter.doFilter(request, response, filterChain);
+
+            // Then
+            assertNull(response.getHeader("Content-Encoding"), acceptEncoding);
+            assertEquals("[{\"product_id\":1}]", response.getContentAsString(), acceptEncoding);
+        }
+    }
+
+    @Test
+    void shouldWriteGzipVariantForWildcardWithPositiveQuality() throws Exception {
+        // Given
+        when(catalogSnapshotService.getProducts()).thenReturn(SNAPSHOT);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("Accept-Encoding", "br;q=1.0, *;q=0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertArrayEquals(SNAPSHOT.gzip(), response.getContentAsByteArray());
+    }
+
+    @Test
+    void shouldAnswerNotModifiedForCurrentEtag() throws Exception {
+        // Given
+        when(catalogSnapshotService.getProducts()).thenReturn(SNAPSHOT);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("If-None-Match", "W/\"old\", \"abc123\"");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void shouldPassThroughQueriesAndMissingSnapshots() throws Exception {
+        // Given
+        MockHttpServletRequest withQuery = new MockHttpServletRequest("GET", "/api/products");
+        withQuery.setQueryString("limit=10");
+        MockHttpServletRequest noSnapshot = new MockHttpServletRequest("GET", "/api/products");
+        MockHttpServletRequest post = new MockHttpServletRequest("POST", "/api/products");
+
+        // When
+        filter.doFilter(withQuery, new MockHttpServletResponse(), filterChain);
+        filter.doFilter(noSnapshot, new MockHttpServletResponse(), filterChain);
+        filter.doFilter(post, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        verify(filterChain, times(3)).doFilter(any(), any());
+        verify(catalogSnapshotService, times(1)).getProducts();
+    }
+}
@@ -1,5 +1,6 @@
 package com.shophub.controller;
 
+import com.shophub.dto.ResourceVersion;
 import com.shophub.model.Category;
 import com.shophub.service.CategoryService;
 import org.junit.jupiter.api.BeforeEach;
@@ -10,6 +11,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -27,6 +31,10 @@ class CategoryControllerTest {
     @InjectMocks
     private CategoryController controller;
 
+    private static final ResourceVersion VERSION = new ResourceVersion(2, LocalDateTime.of(2025, 1, 1, 12, 0));
+
+    private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/"));
+
     private Category category1;
     private Category category2;
 
@@ -55,9 +63,10 @@ class CategoryControllerTest {
         // Given
         List<Category> categories = Arrays.asList(category1, category2);
         when(categoryService.getAllCategories()).thenReturn(categories);
+        when(categoryService.getCategoriesVersion()).thenReturn(VERSION);
 
         // When
-        ResponseEntity<List<Category>> response = controller.getAllCategories();
+        ResponseEntity<List<Category>> response = controller.getAllCategories(webRequest);
 
         // Then
         assertNotNull(response);
@@ -78,9 +87,10 @@ class CategoryControllerTest {
         // Given
         List<Category> categories = Arrays.asList(category1, category2);
         when(categoryService.getAllCategories()).thenReturn(categories);
+        when(categoryService.getCategoriesVersion()).thenReturn(VERSION);
 
         // When
-        ResponseEntity<List<Category>> response = controller.getAllCategories();
+        ResponseEntity<List<Category>> response = controller.getAllCategories(webRequest);
 
         // Then
         assertNotNull(response.getBody());
@@ -105,9 +115,10 @@ class CategoryControllerTest {
         
         List<Category> orderedCategories = Arrays.asList(cat1, cat2, cat3);
         when(categoryService.getAllCategories()).thenReturn(orderedCategories);
+        when(categoryService.getCategoriesVersion()).thenReturn(VERSION);
 
         // When
-        ResponseEntity<List<Category>> response = controller.getAllCategories();
+        ResponseEntity<List<Category>> response = controller.getAllCategories(webRequest);
 
         // Then
         assertEquals(3, response.getBody().size());
@@ -125,9 +136,10 @@ class CategoryControllerTest {
     void getAllCategories_ShouldReturnSingleCategory_WhenOnlyOneExists() {
         // Given
         when(categoryService.getAllCategories()).thenReturn(Arrays.asList(category1));
+        when(categoryService.getCategoriesVersion()).thenReturn(VERSION);
 
         // When
-        ResponseEntity<List<Category>> response = controller.getAllCategories();
+        ResponseEntity<List<Category>> response = controller.getAllCategories(webRequest);
 
         // Then
         assertEquals(HttpStatus.OK, response.getStatusCode());
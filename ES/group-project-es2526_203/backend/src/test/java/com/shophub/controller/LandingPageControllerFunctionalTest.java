@@ -15,9 +15,11 @@ import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 
 import static org.hamcrest.Matchers.*;
@@ -29,6 +31,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @Import(TestSecurityConfig.class)
+@TestPropertySource(properties = {
+        "catalog.cache.enabled=true",
+        "catalog.cache.distributed-invalidation=false"
+})
 public class LandingPageControllerFunctionalTest {
 
     @Autowired
@@ -95,6 +101,36 @@ public class LandingPageControllerFunctionalTest {
                 .andExpect(jsonPath("$[0].isPublished", is(true)));
     }
 
+    @Test
+    void getPublishedLandingPages_afterAnEndPasses_servesTheNewListUnderANewEtag() throws Exception {
+        // Arrange - the list is cached while the page is still live
+        LocalDateTime endDate = LocalDateTime.now().plusSeconds(1);
+        landingPageRepository.save(LandingPage.builder()
+                .title("Ending Soon")
+                .description("This page is about to end")
+                .isPublished(true)
+                .startDate(endDate.minusDays(1))
+                .endDate(endDate)
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build());
+        String etag = mockMvc.perform(get("/api/v1/landing-pages/published"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act
+        Thread.sleep(Duration.between(LocalDateTime.now(), endDate).toMillis() + 50);
+
+        // Assert
+        mockMvc.perform(get("/api/v1/landing-pages/published")
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Published Landing Page")));
+    }
+
     @Test
     void getLandingPageById_ReturnsPage() throws Exception {
         mockMvc.perform(get("/api/v1/landing-pages/" + publishedPage.getId())
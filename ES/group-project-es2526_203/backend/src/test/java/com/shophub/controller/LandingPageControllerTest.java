@@ -2,6 +2,7 @@ package com.shophub.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shophub.dto.LandingPageDTO;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.service.LandingPageService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,12 +14,17 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.LocalDateTime;
+
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -32,6 +38,8 @@ class LandingPageControllerTest {
     @Autowired
     private ObjectMapper objectMapper;
 
+    private static final ResourceVersion VERSION = new ResourceVersion(1, LocalDateTime.of(2025, 1, 1, 12, 0));
+
     @MockBean
     private LandingPageService landingPageService;
 
@@ -104,9 +112,11 @@ class LandingPageControllerTest {
                         LandingPageDTO.builder().id(2L).title("Page 2").description("Desc 2").build()
                 )
         );
+        when(landingPageService.getLandingPagesVersion()).thenReturn(VERSION);
 
         mockMvc.perform(get("/api/v1/landing-pages"))
                 .andExpect(status().isOk())
+                .andExpect(header().string("ETag", VERSION.etag()))
                 .andExpect(jsonPath("$.length()").value(2))
                 .andExpect(jsonPath("$[0].title").value("Page 1"))
                 .andExpect(jsonPath("$[1].title").value("Page 2"));
@@ -123,6 +133,7 @@ class LandingPageControllerTest {
                 .build();
 
         when(landingPageService.getLandingPage(id)).thenReturn(landingPage);
+        when(landingPageService.getLandingPageVersion(id)).thenReturn(VERSION);
 
         mockMvc.perform(get("/api/v1/landing-pages/{id}", id))
                 .andExpect(status().isOk())
@@ -131,4 +142,14 @@ class LandingPageControllerTest {
                 .andExpect(jsonPath("$.description").value("Test Description"))
                 .andExpect(jsonPath("$.metadata").value("{\"key\":\"value\"}"));
     }
+
+    @Test
+    void getLandingPage_NotModified() throws Exception {
+        when(landingPageService.getLandingPageVersion(1L)).thenReturn(VERSION);
+
+        mockMvc.perform(get("/api/v1/landing-pages/{id}", 1L).header("If-None-Match", VERSION.etag()))
+                .andExpect(status().isNotModified());
+
+        verify(landingPageService, never()).getLandingPage(1L);
+    }
 }
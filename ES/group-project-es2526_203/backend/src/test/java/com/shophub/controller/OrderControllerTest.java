@@ -2,6 +2,7 @@ package com.shophub.controller;
 
 import com.shophub.dto.CreateOrderRequest;
 import com.shophub.model.Order;
+import com.shophub.service.OrderIdempotencyService;
 import com.shophub.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +29,9 @@ class OrderControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private OrderIdempotencyService orderIdempotencyService;
+
     @Mock
     private Jwt jwt;
 
@@ -86,7 +90,7 @@ class OrderControllerTest {
                 .thenReturn(sampleOrder);
 
         // When
-        ResponseEntity<Order> response = controller.createOrder(jwt, createRequest);
+        ResponseEntity<Order> response = controller.createOrder(jwt, null, createRequest);
 
         // Then
         assertNotNull(response);
@@ -99,6 +103,26 @@ class OrderControllerTest {
         verify(orderService, times(1)).createOrder(eq(testUserId), any(CreateOrderRequest.class), eq(jwt));
     }
 
+    /**
+     * Test: A retried order with the same Idempotency-Key returns the first order
+     */
+    @Test
+    void createOrder_ShouldMarkReplayedOrder_WhenIdempotencyKeyRepeats() {
+        // Given
+        when(jwt.getSubject()).thenReturn(testUserId);
+        when(orderIdempotencyService.placeOrder(testUserId, "key-1", createRequest, jwt))
+                .thenReturn(new OrderIdempotencyService.Result(sampleOrder, true));
+
+        // When
+        ResponseEntity<Order> response = controller.createOrder(jwt, "key-1", createRequest);
+
+        // Then
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertSame(sampleOrder, response.getBody());
+        assertEquals("true", response.getHeaders().getFirst("Idempotent-Replayed"));
+        verify(orderService, never()).createOrder(any(), any(), any());
+    }
+
     /**
      * Test: Get all orders for a user
      */
@@ -176,7 +200,7 @@ class OrderControllerTest {
                 .thenReturn(sampleOrder);
 
         // When
-        ResponseEntity<Order> response = controller.createOrder(jwt, multiItemRequest);
+        ResponseEntity<Order> response = controller.createOrder(jwt, null, multiItemRequest);
 
         // Then
         assertEquals(HttpStatus.CREATED, response.getStatusCode());
@@ -5,6 +5,9 @@ import com.shophub.model.Category;
 import com.shophub.model.Product;
 import com.shophub.repository.CategoryRepository;
 import com.shophub.repository.ProductRepository;
+import com.shophub.service.ProductService;
+import com.shophub.service.ProductSuggestIndex;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +41,12 @@ public class ProductControllerFunctionalTest {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Autowired
+    private ProductService productService;
+
     private Category category1;
     private Category category2;
     private Product product1;
@@ -96,6 +105,13 @@ public class ProductControllerFunctionalTest {
         product3 = productRepository.save(product3);
     }
 
+    @AfterEach
+    void tearDown() {
+        // Tests that commit their writes must not leave the fixtures behind
+        productRepository.deleteAll();
+        categoryRepository.deleteAll();
+    }
+
     @Test
     @Transactional
     void getAllProducts_returnsAllProducts() throws Exception {
@@ -110,6 +126,123 @@ public class ProductControllerFunctionalTest {
                 .andExpect(jsonPath("$[*].product_id", hasItem(product3.getProductId())));
     }
 
+    @Test
+    @Transactional
+    void getAllProducts_withSummaryFields_returnsSummaryProjection() throws Exception {
+        // Act and Assert
+        mockMvc.perform(get("/api/products")
+                        .param("fields", "summary")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(3)))
+                .andExpect(jsonPath("$[?(@.product_id == " + product1.getProductId() + ")].image")
+                        .value(hasItem("image1.jpg")))
+                .andExpect(jsonPath("$[0].average_rating").value(0.0))
+                .andExpect(jsonPath("$[0].review_count").value(0))
+                .andExpect(jsonPath("$[0].images").doesNotExist())
+                .andExpect(jsonPath("$[0].description").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void getAllProducts_withUnknownField_returnsBadRequest() throws Exception {
+        // Act and Assert
+        mockMvc.perform(get("/api/products")
+                        .param("fields", "name,password")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void suggestProducts_returnsCategoryAndProductSuggestions() throws Exception {
+        // Arrange - fixtures are written through the repository, so index them explicitly
+        productSuggestIndex.rebuild();
+
+        // Act and Assert
+        mockMvc.perform(get("/api/products/suggest")
+                        .param("q", "elec")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].type").value("category"))
+                .andExpect(jsonPath("$[0].label").value("Electronics"));
+
+        mockMvc.perform(get("/api/products/suggest")
+                        .param("q", "mou")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value(product2.getProductId()))
+                .andExpect(jsonPath("$[0].sku").value("MOU-001"));
+    }
+
+    @Test
+    @Transactional
+    void searchProducts_returnsMatchesWithHighlights() throws Exception {
+        // Act and Assert
+        mockMvc.perform(get("/api/products/search")
+                        .param("q", "wirel")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].product.product_id").value(product2.getProductId()))
+                .andExpect(jsonPath("$[0].description_highlight").value("<mark>Wirel</mark>ess Mouse"));
+    }
+
+    @Test
+    @Transactional
+    void searchProducts_withoutSearchableTerms_returnsBadRequest() throws Exception {
+        // Act and Assert
+        mockMvc.perform(get("/api/products/search")
+                        .param("q", "  &!  ")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void listProducts_withLimit_returnsFilteredKeysetPage() throws Exception {
+        // Act and Assert
+        mockMvc.perform(get("/api/products")
+                        .param("limit", "1")
+                        .param("category_id", String.valueOf(category1.getCategoryId()))
+                        .param("sort", "price_asc")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(1)))
+                .andExpect(jsonPath("$.items[0].product_id").value(product2.getProductId()))
+                .andExpect(jsonPath("$.has_more").value(true))
+                .andExpect(jsonPath("$.next_cursor").isNotEmpty())
+                .andExpect(jsonPath("$.facets").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    void listProducts_withFacets_returnsFacetCounts() throws Exception {
+        // Act and Assert
+        mockMvc.perform(get("/api/products")
+                        .param("limit", "10")
+                        .param("facets", "true")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items", hasSize(3)))
+                .andExpect(jsonPath("$.facets.categories", hasSize(2)))
+                .andExpect(jsonPath("$.facets.categories[0].label").value("Electronics"))
+                .andExpect(jsonPath("$.facets.categories[0].count").value(2))
+                .andExpect(jsonPath("$.facets.stock[0].count").value(3));
+    }
+
+    @Test
+    @Transactional
+    void listProducts_withUnknownSort_returnsBadRequest() throws Exception {
+        // Act and Assert
+        mockMvc.perform(get("/api/products")
+                        .param("limit", "10")
+                        .param("sort", "popularity")
+                        .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @Transactional
     void getAllProducts_returnsEmptyList_whenNoProducts() throws Exception {
@@ -275,4 +408,57 @@ public class ProductControllerFunctionalTest {
                     .andExpect(jsonPath("$", hasSize(3)));
         }
     }
+
+    @Test
+    @Transactional
+    void getProductById_withCurrentEtag_returnsNotModified() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/products/{id}", product1.getProductId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act and Assert
+        mockMvc.perform(get("/api/products/{id}", product1.getProductId())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    @Transactional
+    void getProductsByCategory_afterProductUpdate_returnsNewEtag() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/products/category/{categoryId}", category1.getCategoryId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        product2.setPrice(new BigDecimal("24.99"));
+        productRepository.saveAndFlush(product2);
+
+        // Act and Assert
+        mockMvc.perform(get("/api/products/category/{categoryId}", category1.getCategoryId())
+                        .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void listProducts_withCurrentEtag_returnsNotModifiedUntilTheCatalogChanges() throws Exception {
+        // Arrange
+        String etag = mockMvc.perform(get("/api/products").param("limit", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        // Act and Assert - unchanged catalog
+        mockMvc.perform(get("/api/products").param("limit", "10").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+
+        // Act and Assert - a committed product write moves the version on
+        productService.setStockQuantity(product2.getProductId(), 7);
+        mockMvc.perform(get("/api/products").param("limit", "10").header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)));
+    }
 }
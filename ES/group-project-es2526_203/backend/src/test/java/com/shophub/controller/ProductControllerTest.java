@@ -1,7 +1,12 @@
 package com.shophub.controller;
 
+import com.shophub.dto.ResourceVersion;
+import com.shophub.exception.ResourceNotFoundException;
 import com.shophub.model.Product;
+import com.shophub.service.ProductCatalogCache;
+import com.shophub.service.ProductSearchService;
 import com.shophub.service.ProductService;
+import com.shophub.service.ProductSuggestIndex;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,6 +15,10 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -30,9 +39,24 @@ class ProductControllerTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private ProductSearchService productSearchService;
+
+    @Mock
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
     @InjectMocks
     private ProductController productController;
 
+    private static final String CATALOG_ETAG = "W/\"node-1\"";
+
+    private static final ResourceVersion VERSION = new ResourceVersion(2, LocalDateTime.of(2025, 1, 1, 12, 0));
+
+    private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest("GET", "/"));
+
     private Product sampleProduct1;
     private Product sampleProduct2;
     private List<Product> productList;
@@ -77,9 +101,10 @@ class ProductControllerTest {
     void getAllProducts_ShouldReturnAllProducts_WhenCatalogIsNotEmpty() {
         // Given
         when(productService.getAllProducts()).thenReturn(productList);
+        when(productCatalogCache.catalogEtag()).thenReturn(CATALOG_ETAG);
 
         // When
-        ResponseEntity<List<Product>> response = productController.getAllProducts();
+        ResponseEntity<List<Product>> response = productController.getAllProducts(webRequest);
 
         // Then
         assertNotNull(response, "Response should not be null");
@@ -104,9 +129,10 @@ class ProductControllerTest {
     void getAllProducts_ShouldReturnEmptyList_WhenCatalogIsEmpty() {
         // Given
         when(productService.getAllProducts()).thenReturn(Arrays.asList());
+        when(productCatalogCache.catalogEtag()).thenReturn(CATALOG_ETAG);
 
         // When
-        ResponseEntity<List<Product>> response = productController.getAllProducts();
+        ResponseEntity<List<Product>> response = productController.getAllProducts(webRequest);
 
         // Then
         assertNotNull(response, "Response should not be null");
@@ -124,9 +150,10 @@ class ProductControllerTest {
     void getProductById_ShouldReturnProduct_WhenProductExists() {
         // Given
         when(productService.getProductById(1)).thenReturn(sampleProduct1);
+        when(productService.getProductVersion(1)).thenReturn(VERSION);
 
         // When
-        ResponseEntity<Product> response = productController.getProductById(1);
+        ResponseEntity<Product> response = productController.getProductById(1, webRequest);
 
         // Then
         assertNotNull(response, "Response should not be null");
@@ -151,9 +178,10 @@ class ProductControllerTest {
     void getProductsByCategory_ShouldReturnFilteredProducts_WhenCategoryExists() {
         // Given
         when(productService.getProductsByCategory(1)).thenReturn(productList);
+        when(productService.getCategoryVersion(1)).thenReturn(VERSION);
 
         // When
-        ResponseEntity<List<Product>> response = productController.getProductsByCategory(1);
+        ResponseEntity<List<Product>> response = productController.getProductsByCategory(1, webRequest);
 
         // Then
         assertNotNull(response, "Response should not be null");
@@ -177,9 +205,10 @@ class ProductControllerTest {
     void getAllProducts_ShouldContainEssentialProductInformation() {
         // Given
         when(productService.getAllProducts()).thenReturn(productList);
+        when(productCatalogCache.catalogEtag()).thenReturn(CATALOG_ETAG);
 
         // When
-        ResponseEntity<List<Product>> response = productController.getAllProducts();
+        ResponseEntity<List<Product>> response = productController.getAllProducts(webRequest);
 
         // Then
         assertNotNull(response.getBody(), "Product list should not be null");
@@ -204,4 +233,83 @@ class ProductControllerTest {
         
         verify(productService, times(1)).getAllProducts();
     }
+
+    /**
+     * Test: Conditional GET on the catalog listing is answered from the in-memory version
+     */
+    @Test
+    void getAllProducts_ShouldReturnNotModified_WhenCatalogEtagMatches() {
+        // Given
+        when(productCatalogCache.catalogEtag()).thenReturn(CATALOG_ETAG);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products");
+        request.addHeader("If-None-Match", CATALOG_ETAG);
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // When
+        ResponseEntity<List<Product>> response = productController.getAllProducts(new ServletWebRequest(request, servletResponse));
+
+        // Then
+        assertNull(response, "Handler should not build a body for a 304");
+        assertEquals(304, servletResponse.getStatus());
+        assertEquals(CATALOG_ETAG, servletResponse.getHeader("ETag"));
+        verifyNoInteractions(productService);
+    }
+
+    /**
+     * Test: Conditional GET with a current ETag short-circuits before the product is loaded
+     */
+    @Test
+    void getProductById_ShouldReturnNotModified_WhenEtagMatches() {
+        // Given
+        when(productService.getProductVersion(1)).thenReturn(VERSION);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.addHeader("If-None-Match", VERSION.etag());
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // When
+        ResponseEntity<Product> response = productController.getProductById(1, new ServletWebRequest(request, servletResponse));
+
+        // Then
+        assertNull(response, "Handler should not build a body for a 304");
+        assertEquals(304, servletResponse.getStatus());
+        assertEquals(VERSION.etag(), servletResponse.getHeader("ETag"));
+        verify(productService, never()).getProductById(anyInt());
+    }
+
+    /**
+     * Test: Conditional GET with a stale Last-Modified loads the product and sends fresh validators
+     */
+    @Test
+    void getProductById_ShouldReturnProductWithValidators_WhenModifiedSince() {
+        // Given
+        when(productService.getProductVersion(1)).thenReturn(VERSION);
+        when(productService.getProductById(1)).thenReturn(sampleProduct1);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/1");
+        request.addHeader("If-Modified-Since", VERSION.lastModifiedMillis() - 60_000);
+        MockHttpServletResponse servletResponse = new MockHttpServletResponse();
+
+        // When
+        ResponseEntity<Product> response = productController.getProductById(1, new ServletWebRequest(request, servletResponse));
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(VERSION.etag(), servletResponse.getHeader("ETag"));
+        assertEquals(VERSION.lastModifiedMillis() / 1000 * 1000, servletResponse.getDateHeader("Last-Modified"));
+    }
+
+    /**
+     * Test: Unknown products carry no validators and fall through to the 404 path
+     */
+    @Test
+    void getProductById_ShouldSkipValidators_WhenProductDoesNotExist() {
+        // Given
+        when(productService.getProductVersion(99)).thenReturn(new ResourceVersion(0, null));
+        when(productService.getProductById(99)).thenThrow(new ResourceNotFoundException("Product not found"));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/products/99");
+        request.addHeader("If-None-Match", "*");
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class,
+                () -> productController.getProductById(99, new ServletWebRequest(request, new MockHttpServletResponse())));
+    }
 }
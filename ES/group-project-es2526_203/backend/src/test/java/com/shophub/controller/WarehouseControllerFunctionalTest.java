@@ -262,4 +262,40 @@ public class WarehouseControllerFunctionalTest {
                 .andExpect(jsonPath("$[0].shipping_address").exists())
                 .andExpect(jsonPath("$[0].tracking_number").exists());
     }
+
+    @Test
+    void adjustInventory_appliesCsvAndReportsEachLine_withWarehouseStaffRole() throws Exception {
+        // Arrange
+        Product product = productRepository.save(Product.builder()
+                .name("Received Item")
+                .sku("RECV-001")
+                .price(new BigDecimal("12.00"))
+                .stockQuantity(4)
+                .build());
+        String csv = "sku,delta\nRECV-001,36\nRECV-404,1\n";
+
+        // Act and Assert
+        mockMvc.perform(post("/api/warehouse/inventory/adjustments")
+                        .with(jwt().jwt(jwt -> jwt.subject(warehouseStaffUserId))
+                                .authorities(new SimpleGrantedAuthority("ROLE_warehouse-staff")))
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(2))
+                .andExpect(jsonPath("$.applied").value(1))
+                .andExpect(jsonPath("$.results[0].product_id").value(product.getProductId()))
+                .andExpect(jsonPath("$.results[0].stock_quantity").value(40))
+                .andExpect(jsonPath("$.results[1].status").value("failed"))
+                .andExpect(jsonPath("$.results[1].error").value("Product not found"));
+    }
+
+    @Test
+    void adjustInventory_returnsForbidden_withCustomerRole() throws Exception {
+        mockMvc.perform(post("/api/warehouse/inventory/adjustments")
+                        .with(jwt().jwt(jwt -> jwt.subject(customerUserId))
+                                .authorities(new SimpleGrantedAuthority("ROLE_customer")))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"sku\": \"RECV-001\", \"delta\": 1}]"))
+                .andExpect(status().isForbidden());
+    }
 }
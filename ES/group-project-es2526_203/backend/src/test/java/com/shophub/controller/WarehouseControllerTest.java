@@ -1,6 +1,9 @@
 package com.shophub.controller;
 
+import com.shophub.dto.StockLevelDTO;
 import com.shophub.model.Order;
+import com.shophub.service.BulkInventoryService;
+import com.shophub.service.InventoryLedgerService;
 import com.shophub.service.OrderService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -26,6 +29,12 @@ class WarehouseControllerTest {
     @Mock
     private OrderService orderService;
 
+    @Mock
+    private InventoryLedgerService inventoryLedgerService;
+
+    @Mock
+    private BulkInventoryService bulkInventoryService;
+
     @InjectMocks
     private WarehouseController controller;
 
@@ -78,4 +87,20 @@ class WarehouseControllerTest {
 
         verify(orderService, times(1)).getAllOrders("SHIPPED", "customer1");
     }
+
+    @Test
+    void getStockAt_ShouldReturnLedgerStockLevel() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2025, 1, 1, 12, 0);
+        StockLevelDTO level = StockLevelDTO.builder().productId(7).at(at).stockQuantity(42).build();
+        when(inventoryLedgerService.getStockAt(7, at)).thenReturn(level);
+
+        // When
+        ResponseEntity<StockLevelDTO> response = controller.getStockAt(7, at);
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(42, response.getBody().getStockQuantity());
+        verify(inventoryLedgerService).getStockAt(7, at);
+    }
 }
@@ -30,6 +30,11 @@ public class BannerServiceIntegrationTest {
         bannerRepository.deleteAll();
     }
 
+    private List<BannerDTO> activeBanners() {
+        LocalDateTime now = LocalDateTime.now();
+        return bannerService.getActiveBanners(now, bannerService.getActiveBannersVersion(now));
+    }
+
     private Banner createBanner(String title, boolean published, LocalDateTime start, LocalDateTime end, Integer priority) {
         return Banner.builder()
                 .title(title)
@@ -52,7 +57,7 @@ public class BannerServiceIntegrationTest {
         bannerRepository.save(createBanner("Expired", true, now.minusDays(5), now.minusDays(1), 15));
         bannerRepository.save(createBanner("Unpublished", false, now.minusDays(1), now.plusDays(1), 20));
 
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = activeBanners();
 
         assertThat(result).hasSize(1);
         assertThat(result.get(0).getTitle()).isEqualTo("Active");
@@ -62,7 +67,7 @@ public class BannerServiceIntegrationTest {
     @Transactional
     void getActiveBanners_includesBannerWithNoDates() {
         bannerRepository.save(createBanner("Always Active", true, null, null, 5));
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = activeBanners();
         assertThat(result).extracting("title").contains("Always Active");
     }
 
@@ -72,7 +77,7 @@ public class BannerServiceIntegrationTest {
         LocalDateTime now = LocalDateTime.now();
         bannerRepository.save(createBanner("Started", true, now.minusDays(1), null, 10));
         bannerRepository.save(createBanner("Future", true, now.plusDays(1), null, 5));
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = activeBanners();
         assertThat(result).extracting("title").contains("Started");
         assertThat(result).extracting("title").doesNotContain("Future");
     }
@@ -83,7 +88,7 @@ public class BannerServiceIntegrationTest {
         LocalDateTime now = LocalDateTime.now();
         bannerRepository.save(createBanner("Ending", true, null, now.plusDays(1), 10));
         bannerRepository.save(createBanner("Ended", true, null, now.minusDays(1), 5));
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = activeBanners();
         assertThat(result).extracting("title").contains("Ending");
         assertThat(result).extracting("title").doesNotContain("Ended");
     }
@@ -93,7 +98,7 @@ public class BannerServiceIntegrationTest {
     void getActiveBanners_excludesUnpublishedBanners() {
         LocalDateTime now = LocalDateTime.now();
         bannerRepository.save(createBanner("Unpublished", false, now.minusDays(1), now.plusDays(1), 10));
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = activeBanners();
         assertThat(result).isEmpty();
     }
 
@@ -103,7 +108,7 @@ public class BannerServiceIntegrationTest {
         LocalDateTime now = LocalDateTime.now();
         bannerRepository.save(createBanner("Starting Now", true, now, now.plusDays(1), 10));
         bannerRepository.save(createBanner("Ending Now", true, now.minusDays(1), now, 5));
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = activeBanners();
         assertThat(result).extracting("title").contains("Starting Now");
         assertThat(result).extracting("title").doesNotContain("Ending Now");
     }
@@ -114,7 +119,7 @@ public class BannerServiceIntegrationTest {
         LocalDateTime now = LocalDateTime.now();
         bannerRepository.save(createBanner("Expired", true, now.minusDays(5), now.minusDays(1), 10));
         bannerRepository.save(createBanner("Future", true, now.plusDays(1), now.plusDays(2), 5));
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = activeBanners();
         assertThat(result).isEmpty();
     }
 
@@ -128,7 +133,7 @@ public class BannerServiceIntegrationTest {
         bannerRepository.save(createBanner("Ending", true, null, now.plusDays(1), 7));
         bannerRepository.save(createBanner("Future", true, now.plusDays(1), now.plusDays(2), 6));
         bannerRepository.save(createBanner("Expired", true, now.minusDays(2), now.minusDays(1), 9));
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = activeBanners();
         assertThat(result).extracting("title")
             .containsExactlyInAnyOrder("Active", "Always", "Started", "Ending");
     }
@@ -140,7 +145,7 @@ public class BannerServiceIntegrationTest {
         bannerRepository.save(createBanner("Low", true, now.minusDays(1), now.plusDays(1), 5));
         bannerRepository.save(createBanner("High", true, now.minusDays(1), now.plusDays(1), 20));
         bannerRepository.save(createBanner("Medium", true, now.minusDays(1), now.plusDays(1), 10));
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = activeBanners();
         assertThat(result).hasSize(3);
         assertThat(result.get(0).getTitle()).isEqualTo("High");
         assertThat(result.get(1).getTitle()).isEqualTo("Medium");
@@ -2,7 +2,9 @@ package com.shophub.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shophub.config.CacheNames;
 import com.shophub.dto.BannerDTO;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.exception.InvalidInputException;
 import com.shophub.exception.ResourceNotFoundException;
 import com.shophub.model.Banner;
@@ -29,9 +31,14 @@ class BannerServiceTest {
     @Mock
     private BannerRepository bannerRepository;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private BannerService bannerService;
 
+    private static final ResourceVersion VERSION = new ResourceVersion(4, LocalDateTime.of(2025, 1, 1, 12, 0));
+
     private ObjectMapper objectMapper;
     private JsonNode testMetadata;
     private Banner testBanner;
@@ -162,6 +169,7 @@ class BannerServiceTest {
         assertTrue(result.isPublished());
         verify(bannerRepository).findById(1L);
         verify(bannerRepository).save(any(Banner.class));
+        verify(cacheInvalidationBus).clear(List.of(CacheNames.ACTIVE_BANNERS));
     }
 
     @Test
@@ -254,7 +262,7 @@ class BannerServiceTest {
                 activeBanner, futureBanner, expiredBanner, unpublishedBanner
         ));
 
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = bannerService.getActiveBanners(LocalDateTime.now(), VERSION);
 
         assertNotNull(result);
         assertEquals(1, result.size());
@@ -287,7 +295,7 @@ class BannerServiceTest {
 
         when(bannerRepository.findAll()).thenReturn(Arrays.asList(lowPriority, highPriority, mediumPriority));
 
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = bannerService.getActiveBanners(LocalDateTime.now(), VERSION);
 
         assertNotNull(result);
         assertEquals(3, result.size());
@@ -312,7 +320,7 @@ class BannerServiceTest {
 
         when(bannerRepository.findAll()).thenReturn(Arrays.asList(published, unpublished));
 
-        List<BannerDTO> result = bannerService.getActiveBanners();
+        List<BannerDTO> result = bannerService.getActiveBanners(LocalDateTime.now(), VERSION);
 
         assertNotNull(result);
         assertEquals(1, result.size());
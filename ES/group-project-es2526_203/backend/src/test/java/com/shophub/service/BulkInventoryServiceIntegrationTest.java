@@ -0,0 +1,168 @@
+package com.shophub.service;
+
+import com.shophub.dto.InventoryAdjustmentReportDTO;
+import com.shophub.dto.InventoryAdjustmentReportDTO.LineResult;
+import com.shophub.model.InventoryMovement;
+import com.shophub.model.Product;
+import com.shophub.repository.InventoryMovementRepository;
+import com.shophub.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "inventory.bulk.chunk-size=2")
+public class BulkInventoryServiceIntegrationTest {
+
+    @Autowired
+    private BulkInventoryService bulkInventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    @AfterEach
+    void cleanup() {
+        inventoryMovementRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void applyCsv_appliesLinesAcrossChunksAndReportsEachLine() throws Exception {
+        // Arrange
+        Product mouse = productRepository.save(Product.builder()
+                .name("Mouse").sku("BULK-MOUSE").price(new BigDecimal("10.00")).stockQuantity(5).build());
+        Product keyboard = productRepository.save(Product.builder()
+                .name("Keyboard").sku("BULK-KEY").price(new BigDecimal("30.00")).stockQuantity(8).build());
+        String csv = "sku,product_id,delta,absolute\n" +
+                "BULK-MOUSE,,20,\n" +
+                "," + keyboard.getProductId() + ",,50\n" +
+                "BULK-MISSING,,1,\n" +
+                "BULK-MOUSE,,-100,\n" +
+                "\n" +
+                "BULK-MOUSE,,-5,\n";
+
+        // Act
+        InventoryAdjustmentReportDTO report = bulkInventoryService.applyCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(report.getTotal()).isEqualTo(5);
+        assertThat(report.getApplied()).isEqualTo(3);
+        assertThat(report.getFailed()).isEqualTo(2);
+        assertThat(report.getResults())
+                .extracting(LineResult::getLine, LineResult::getStatus, LineResult::getStockQuantity)
+                .containsExactly(
+                        tuple(1, BulkInventoryService.STATUS_APPLIED, 25),
+                        tuple(2, BulkInventoryService.STATUS_APPLIED, 50),
+                        tuple(3, BulkInventoryService.STATUS_FAILED, null),
+                        tuple(4, BulkInventoryService.STATUS_FAILED, null),
+                        tuple(5, BulkInventoryService.STATUS_APPLIED, 20));
+        assertThat(report.getResults().get(2).getError()).isEqualTo("Product not found");
+        assertThat(report.getResults().get(3).getError()).isEqualTo("Stock cannot go below zero");
+
+        assertThat(productRepository.findById(mouse.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(20);
+        assertThat(productRepository.findById(keyboard.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(50);
+        assertThat(inventoryMovementRepository.findAll())
+                .filteredOn(movement -> movement.getProductId().equals(mouse.getProductId()))
+                .extracting(InventoryMovement::getDelta, InventoryMovement::getReason)
+                .containsExactlyInAnyOrder(
+                        tuple(20, InventoryMovement.REASON_BULK_ADJUSTMENT),
+                        tuple(-5, InventoryMovement.REASON_BULK_ADJUSTMENT));
+    }
+
+    @Test
+    void applyJson_rejectsLinesWithoutExactlyOneTargetOrAmount() throws Exception {
+        // Arrange
+        Product product = productRepository.save(Product.builder()
+                .name("Cable").sku("BULK-CABLE").price(new BigDecimal("5.00")).stockQuantity(3).build());
+        String json = "[" +
+                "{\"product_id\": " + product.getProductId() + ", \"delta\": 2}," +
+                "{\"product_id\": " + product.getProductId() + ", \"sku\": \"BULK-CABLE\", \"delta\": 1}," +
+                "{\"sku\": \"BULK-CABLE\", \"delta\": 1, \"absolute\": 9}" +
+                "]";
+
+        // Act
+        InventoryAdjustmentReportDTO report = bulkInventoryService.applyJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(report.getResults())
+                .extracting(LineResult::getStatus, LineResult::getError)
+                .containsExactly(
+                        tuple(BulkInventoryService.STATUS_APPLIED, null),
+                        tuple(BulkInventoryService.STATUS_FAILED, "Exactly one of product_id or sku is required"),
+                        tuple(BulkInventoryService.STATUS_FAILED, "Exactly one of delta or absolute is required"));
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(5);
+    }
+
+    @Test
+    void applyCsv_readsQuotedCellsAndReportsMalformedNumbersOnTheirLine() throws Exception {
+        // Arrange
+        Product product = productRepository.save(Product.builder()
+                .name("Adapter").sku("BULK,ADAPTER").price(new BigDecimal("5.00")).stockQuantity(3).build());
+        String csv = "Sku,Delta\n\"BULK,ADAPTER\",4\n\"BULK,ADAPTER\",four\n\"BULK,ADAPTER\", 1 \n";
+
+        // Act
+        InventoryAdjustmentReportDTO report = bulkInventoryService.applyCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(report.getResults())
+                .extracting(LineResult::getLine, LineResult::getSku, LineResult::getStatus, LineResult::getError)
+                .containsExactly(
+                        tuple(1, "BULK,ADAPTER", BulkInventoryService.STATUS_APPLIED, null),
+                        tuple(2, "BULK,ADAPTER", BulkInventoryService.STATUS_FAILED, "'four' is not a whole number"),
+                        tuple(3, "BULK,ADAPTER", BulkInventoryService.STATUS_APPLIED, null));
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(8);
+    }
+
+    @Test
+    void applyJson_keepsTheChunksReadBeforeMalformedInput() throws Exception {
+        // Arrange - the first chunk (two lines) is complete before the input breaks off
+        Product product = productRepository.save(Product.builder()
+                .name("Hub").sku("BULK-HUB").price(new BigDecimal("15.00")).stockQuantity(1).build());
+        String json = "[" +
+                "{\"product_id\": " + product.getProductId() + ", \"delta\": 1}," +
+                "{\"sku\": \"BULK-HUB\", \"delta\": 2}," +
+                "{\"sku\": \"BULK-HUB\", \"delta\": ";
+
+        // Act
+        InventoryAdjustmentReportDTO report = bulkInventoryService.applyJson(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertThat(report.getResults())
+                .extracting(LineResult::getLine, LineResult::getStatus)
+                .containsExactly(
+                        tuple(1, BulkInventoryService.STATUS_APPLIED),
+                        tuple(2, BulkInventoryService.STATUS_APPLIED),
+                        tuple(3, BulkInventoryService.STATUS_FAILED));
+        assertThat(report.getResults().get(2).getError()).startsWith("Malformed adjustment");
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(4);
+    }
+
+    @Test
+    void applyCsv_rejectsAHeaderWithoutAProductColumn() {
+        String csv = "name,delta\nAdapter,4\n";
+
+        assertThatThrownBy(() -> bulkInventoryService.applyCsv(
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("product_id or sku");
+    }
+}
@@ -0,0 +1,140 @@
+package com.shophub.service;
+
+import com.shophub.config.CacheConfig;
+import com.shophub.config.CacheNames;
+import com.shophub.config.CatalogCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Captor
+    private ArgumentCaptor<String> payloadCaptor;
+
+    private CatalogCacheProperties properties;
+    private CacheManager cacheManager;
+    private CacheInvalidationBus bus;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogCacheProperties();
+        cacheManager = new CacheConfig().cacheManager(properties);
+        bus = new CacheInvalidationBus(cacheManager, jdbcTemplate, properties, new SimpleMeterRegistry(), eventPublisher);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void evict_ShouldEvictLocallyAndNotifyOtherNodes() {
+        // Given
+        cache(CacheNames.PRODUCTS).put(5, "product-5");
+
+        // When
+        bus.evict(List.of(
+                Map.entry(CacheNames.PRODUCTS, 5),
+                Map.entry(CacheNames.PRODUCT_CATALOG, SimpleKey.EMPTY)));
+
+        // Then
+        assertNull(cache(CacheNames.PRODUCTS).get(5));
+        verify(jdbcTemplate).query(eq("SELECT pg_notify(?, ?)"), any(ResultSetExtractor.class),
+                eq("shophub_cache_invalidation"), endsWithArg("|products:i5;productCatalog:e"));
+        verify(eventPublisher).publishEvent(new CacheEvictedEvent(
+                Set.of(CacheNames.PRODUCTS, CacheNames.PRODUCT_CATALOG),
+                Map.of(CacheNames.PRODUCTS, Set.of(5), CacheNames.PRODUCT_CATALOG, Set.of(SimpleKey.EMPTY)),
+                false));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void evict_ShouldNotNotifyWhenDistributedInvalidationIsDisabled() {
+        // Given
+        properties.setDistributedInvalidation(false);
+
+        // When
+        bus.evict(CacheNames.ACTIVE_BANNERS, SimpleKey.EMPTY);
+
+        // Then
+        verify(jdbcTemplate, never()).query(anyString(), any(ResultSetExtractor.class), any(Object[].class));
+    }
+
+    @Test
+    void applyRemote_ShouldEvictKeysAndClearCachesFromOtherNodes() {
+        // Given
+        cache(CacheNames.PRODUCTS).put(5, "product-5");
+        cache(CacheNames.PRODUCTS).put(6, "product-6");
+        cache(CacheNames.PRODUCT_CATALOG).put(SimpleKey.EMPTY, List.of());
+        cache(CacheNames.PRODUCTS_BY_CATEGORY).put(1, List.of());
+
+        // When
+        bus.applyRemote("other-node|products:i5;productCatalog:e;productsByCategory:*");
+
+        // Then
+        assertNull(cache(CacheNames.PRODUCTS).get(5));
+        assertNotNull(cache(CacheNames.PRODUCTS).get(6));
+        assertNull(cache(CacheNames.PRODUCT_CATALOG).get(SimpleKey.EMPTY));
+        assertNull(cache(CacheNames.PRODUCTS_BY_CATEGORY).get(1));
+        verify(eventPublisher).publishEvent(new CacheEvictedEvent(
+                Set.of(CacheNames.PRODUCTS, CacheNames.PRODUCT_CATALOG, CacheNames.PRODUCTS_BY_CATEGORY),
+                Map.of(CacheNames.PRODUCTS, Set.of(5), CacheNames.PRODUCT_CATALOG, Set.of(SimpleKey.EMPTY)),
+                true));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void applyRemote_ShouldIgnoreOwnNotifications() {
+        // Given
+        cache(CacheNames.PRODUCTS).put(5, "product-5");
+        bus.evict(CacheNames.PRODUCTS, 7);
+        verify(jdbcTemplate).query(anyString(), any(ResultSetExtractor.class), anyString(), payloadCaptor.capture());
+
+        // When - our own notification echoes back from PostgreSQL
+        bus.applyRemote(payloadCaptor.getValue().replace("i7", "i5"));
+
+        // Then
+        assertNotNull(cache(CacheNames.PRODUCTS).get(5));
+    }
+
+    @Test
+    void keyEncoding_ShouldRoundTripSupportedKeyTypes() {
+        assertEquals(42, CacheInvalidationBus.decodeKey(CacheInvalidationBus.encodeKey(42)));
+        assertEquals(42L, CacheInvalidationBus.decodeKey(CacheInvalidationBus.encodeKey(42L)));
+        assertEquals(SimpleKey.EMPTY, CacheInvalidationBus.decodeKey(CacheInvalidationBus.encodeKey(SimpleKey.EMPTY)));
+        assertEquals("*", CacheInvalidationBus.encodeKey("unsupported"));
+    }
+
+    private static String endsWithArg(String suffix) {
+        return argThat(value -> value != null && value.endsWith(suffix));
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
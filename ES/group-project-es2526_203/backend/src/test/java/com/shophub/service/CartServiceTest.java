@@ -17,6 +17,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -38,6 +39,9 @@ class CartServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private StockReservationService stockReservationService;
+
     @Mock
     private Jwt jwt;
 
@@ -79,6 +83,10 @@ class CartServiceTest {
                 .productId(1)
                 .quantity(2)
                 .build();
+
+        // No other shopper holds stock unless a test says otherwise
+        lenient().when(stockReservationService.availableStock(any(Product.class), anyString()))
+                .thenAnswer(invocation -> invocation.<Product>getArgument(0).getStockQuantity());
     }
 
     @Test
@@ -180,6 +188,18 @@ class CartServiceTest {
         verify(cartRepository, never()).save(any(Cart.class));
     }
 
+    @Test
+    void addToCart_ShouldRejectStockHeldByOtherShoppers() {
+        // Given - 10 on hand, 9 held at other users' checkouts
+        when(userRepository.findById("user123")).thenReturn(Optional.of(testUser));
+        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
+        when(stockReservationService.availableStock(testProduct, "user123")).thenReturn(1);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> cartService.addToCart("user123", testCartDTO, jwt));
+        verify(cartRepository, never()).save(any(Cart.class));
+    }
+
     @Test
     void updateCartItem_ShouldUpdateCartItemSuccessfully() {
         // Given
@@ -245,6 +265,7 @@ class CartServiceTest {
         // Then
         verify(cartRepository).findById(1);
         verify(cartRepository).delete(testCart);
+        verify(stockReservationService).release("user123", List.of(1));
     }
 
     @Test
@@ -266,5 +287,21 @@ class CartServiceTest {
 
         // Then
         verify(cartRepository).deleteByUserId("user123");
+        verify(stockReservationService).releaseAll("user123");
+    }
+
+    @Test
+    void clearCartPlacedAt_ShouldReleaseOnlyTheCheckedOutLinesHolds() {
+        // Given
+        LocalDateTime placedAt = LocalDateTime.now();
+        when(cartRepository.lockByUserIdChangedUpTo("user123", placedAt)).thenReturn(List.of(testCart));
+
+        // When
+        cartService.clearCartPlacedAt("user123", placedAt);
+
+        // Then
+        verify(cartRepository).deleteAllInBatch(List.of(testCart));
+        verify(stockReservationService).release("user123", List.of(1));
+        verify(stockReservationService, never()).releaseAll(anyString());
     }
 }
@@ -0,0 +1,151 @@
+package com.shophub.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.shophub.config.CacheNames;
+import com.shophub.config.CatalogSnapshotProperties;
+import com.shophub.model.Category;
+import com.shophub.model.Product;
+import com.shophub.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CatalogSnapshotServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryService categoryService;
+
+    private CatalogSnapshotProperties properties;
+    private CatalogSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogSnapshotProperties();
+        snapshotService = new CatalogSnapshotService(productRepository, categoryService,
+                new ObjectMapper().registerModule(new JavaTimeModule()), properties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        snapshotService.shutdown();
+    }
+
+    @Test
+    void rebuildProducts_ShouldHoldJsonGzipAndStrongEtag() throws IOException {
+        // Given
+        when(productRepository.findAllCatalogRows()).thenReturn(List.<Object[]>of(
+                new Object[]{product(1, "Laptop"), "Electronics", null}));
+
+        // When
+        snapshotService.rebuildProducts();
+
+        // Then
+        CatalogSnapshotService.Snapshot snapshot = snapshotService.getProducts();
+        String json = new String(snapshot.json(), StandardCharsets.UTF_8);
+        assertTrue(json.contains("\"product_id\":1"));
+        assertTrue(json.contains("\"category_name\":\"Electronics\""));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(snapshot.gzip()))) {
+            assertArrayEquals(snapshot.json(), gzip.readAllBytes());
+        }
+        assertTrue(snapshot.etag().matches("\"[0-9a-f]{32}\""));
+    }
+
+    @Test
+    void rebuildProducts_ShouldChangeEtagOnlyWhenContentChanges() {
+        // Given
+        when(productRepository.findAllCatalogRows())
+                .thenReturn(List.<Object[]>of(new Object[]{product(1, "Laptop"), null, null}))
+                .thenReturn(List.<Object[]>of(new Object[]{product(1, "Laptop"), null, null}))
+                .thenReturn(List.<Object[]>of(new Object[]{product(1, "Laptop Pro"), null, null}));
+
+        // When
+        snapshotService.rebuildProducts();
+        String first = snapshotService.getProducts().etag();
+        snapshotService.rebuildProducts();
+        String unchanged = snapshotService.getProducts().etag();
+        snapshotService.rebuildProducts();
+        String changed = snapshotService.getProducts().etag();
+
+        // Then
+        assertEquals(first, unchanged);
+        assertNotEquals(first, changed);
+    }
+
+    @Test
+    void rebuildProducts_ShouldDropSnapshotWhenRebuildFails() {
+        // Given
+        when(productRepository.findAllCatalogRows())
+                .thenReturn(List.<Object[]>of(new Object[]{product(1, "Laptop"), null, null}))
+                .thenThrow(new IllegalStateException("database down"));
+        snapshotService.rebuildProducts();
+
+        // When
+        snapshotService.rebuildProducts();
+
+        // Then
+        assertNull(snapshotService.getProducts());
+    }
+
+    @Test
+    void onCacheEvicted_ShouldRebuildProductSnapshotInBackground() {
+        // Given
+        when(productRepository.findAllCatalogRows()).thenReturn(List.<Object[]>of(
+                new Object[]{product(1, "Laptop"), null, null}));
+
+        // When
+        snapshotService.onCacheEvicted(new CacheEvictedEvent(Set.of(CacheNames.PRODUCT_CATALOG), Map.of(), false));
+
+        // Then
+        verify(productRepository, timeout(2000)).findAllCatalogRows();
+        verifyNoInteractions(categoryService);
+    }
+
+    @Test
+    void onCacheEvicted_ShouldIgnoreUnrelatedCaches() {
+        snapshotService.onCacheEvicted(new CacheEvictedEvent(Set.of(CacheNames.ACTIVE_BANNERS), Map.of(), false));
+
+        verify(productRepository, after(200).never()).findAllCatalogRows();
+    }
+
+    @Test
+    void getters_ShouldReturnNothingWhenDisabled() {
+        // Given
+        when(categoryService.getAllCategories()).thenReturn(List.of(
+                Category.builder().categoryId(1).name("Books").build()));
+        snapshotService.rebuildCategories();
+
+        // When
+        properties.setEnabled(false);
+
+        // Then
+        assertNull(snapshotService.getCategories());
+    }
+
+    private Product product(int id, String name) {
+        return Product.builder()
+                .productId(id)
+                .name(name)
+                .price(new BigDecimal("10.00"))
+                .build();
+    }
+}
@@ -0,0 +1,182 @@
+package com.shophub.service;
+
+import com.shophub.dto.CreateOrderRequest;
+import com.shophub.model.HotStockLease;
+import com.shophub.model.Order;
+import com.shophub.model.Product;
+import com.shophub.repository.HotStockLeaseRepository;
+import com.shophub.repository.OrderItemRepository;
+import com.shophub.repository.OrderRepository;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "inventory.hot.chunk-size=5",
+        "inventory.hot.toggle-refresh=PT0S",
+        // Keep the schedulers out of the way; the tests flush and reclaim explicitly
+        "inventory.hot.flush-interval=PT1H",
+        "inventory.hot.lease-ttl=PT1H"
+})
+public class HotInventoryIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private HotInventoryService hotInventoryService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private HotStockLeaseRepository hotStockLeaseRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockBean
+    private FeatureToggleService featureToggleService;
+
+    @AfterEach
+    void cleanup() {
+        when(featureToggleService.isHotInventoryEnabled(anyInt())).thenReturn(false);
+        hotInventoryService.flush();
+        hotStockLeaseRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void hotProduct_sellsFromEscrowAndFlushesSalesToStock() {
+        // Arrange
+        Product product = productRepository.save(Product.builder()
+                .name("Drop").price(new BigDecimal("10.00")).stockQuantity(12).build());
+        when(featureToggleService.isHotInventoryEnabled(product.getProductId())).thenReturn(true);
+        Jwt jwt = jwtFor("hot-buyer");
+
+        // Act - the first order escrows a chunk of 5 and takes 2 of it
+        orderService.createOrder(jwt.getSubject(), requestFor(product, 2), jwt);
+
+        // Assert - the row only moved into escrow, the sale itself is still in memory
+        Product afterOrder = productRepository.findById(product.getProductId()).orElseThrow();
+        assertThat(afterOrder.getStockQuantity()).isEqualTo(12);
+        assertThat(afterOrder.getEscrowedStock()).isEqualTo(5);
+        HotStockLease lease = hotStockLeaseRepository.findAll().get(0);
+        assertThat(orderItemRepository.sumQuantityByStockLeaseId(lease.getLeaseId())).isEqualTo(2);
+
+        // Act - write-behind
+        hotInventoryService.flush();
+
+        // Assert
+        Product afterFlush = productRepository.findById(product.getProductId()).orElseThrow();
+        assertThat(afterFlush.getStockQuantity()).isEqualTo(10);
+        assertThat(afterFlush.getEscrowedStock()).isEqualTo(3);
+        assertThat(hotStockLeaseRepository.findById(lease.getLeaseId()).orElseThrow().getFlushed()).isEqualTo(2);
+    }
+
+    @Test
+    void escrowedUnits_areNotSoldByTheRegularPath() {
+        // Arrange - 6 units, 5 escrowed by a hot order that takes 1
+        Product product = productRepository.save(Product.builder()
+                .name("Escrowed").price(new BigDecimal("10.00")).stockQuantity(6).build());
+        when(featureToggleService.isHotInventoryEnabled(product.getProductId())).thenReturn(true);
+        Jwt hotBuyer = jwtFor("hot-buyer");
+        orderService.createOrder(hotBuyer.getSubject(), requestFor(product, 1), hotBuyer);
+
+        // Act & Assert - with the toggle off on this node only the 1 unescrowed unit is on the regular path
+        when(featureToggleService.isHotInventoryEnabled(product.getProductId())).thenReturn(false);
+        Jwt regularBuyer = jwtFor("regular-buyer");
+        assertThatThrownBy(() -> orderService.createOrder(regularBuyer.getSubject(), requestFor(product, 2), regularBuyer))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Escrowed");
+        orderService.createOrder(regularBuyer.getSubject(), requestFor(product, 1), regularBuyer);
+
+        // Turning the toggle off hands the unsold escrow back
+        hotInventoryService.flush();
+        Product settled = productRepository.findById(product.getProductId()).orElseThrow();
+        assertThat(settled.getStockQuantity()).isEqualTo(4);
+        assertThat(settled.getEscrowedStock()).isZero();
+        assertThat(hotStockLeaseRepository.count()).isZero();
+    }
+
+    @Test
+    void expiredLease_isSettledFromOrderItems() {
+        // Arrange - a hot order, then the lease stops heartbeating as if its node died
+        Product product = productRepository.save(Product.builder()
+                .name("Orphaned").price(new BigDecimal("10.00")).stockQuantity(20).build());
+        when(featureToggleService.isHotInventoryEnabled(product.getProductId())).thenReturn(true);
+        Jwt jwt = jwtFor("hot-buyer");
+        Order order = orderService.createOrder(jwt.getSubject(), requestFor(product, 3), jwt);
+        assertThat(order.getOrderId()).isNotNull();
+        HotStockLease lease = hotStockLeaseRepository.findAll().get(0);
+        lease.setHeartbeatAt(LocalDateTime.now().minusHours(2));
+        hotStockLeaseRepository.save(lease);
+
+        // Act
+        int reclaimed = hotInventoryService.reclaimExpiredLeases();
+
+        // Assert - the 3 sold units reach stock and the other 2 leave escrow
+        assertThat(reclaimed).isEqualTo(1);
+        Product settled = productRepository.findById(product.getProductId()).orElseThrow();
+        assertThat(settled.getStockQuantity()).isEqualTo(17);
+        assertThat(settled.getEscrowedStock()).isZero();
+        assertThat(hotStockLeaseRepository.count()).isZero();
+
+        // This node notices on its next flush and does not apply the sales a second time
+        hotInventoryService.flush();
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(17);
+    }
+
+    private Jwt jwtFor(String subject) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("sub", subject)
+                .claim("email", subject + "@example.com")
+                .claim("name", "Buyer " + subject)
+                .build();
+    }
+
+    private CreateOrderRequest requestFor(Product product, int quantity) {
+        CreateOrderRequest.OrderItemRequest itemReq = new CreateOrderRequest.OrderItemRequest();
+        itemReq.setProductId(product.getProductId());
+        itemReq.setQuantity(quantity);
+        itemReq.setPrice(product.getPrice());
+
+        CreateOrderRequest.Address address = new CreateOrderRequest.Address(
+                "Test User", "123 Street", "City", "0000", "+100000000"
+        );
+
+        return CreateOrderRequest.builder()
+                .items(List.of(itemReq))
+                .total(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                .shipping(new CreateOrderRequest.ShippingInfo(address, BigDecimal.ZERO))
+                .build();
+    }
+}
@@ -0,0 +1,298 @@
+package com.shophub.service;
+
+import com.shophub.config.HotInventoryProperties;
+import com.shophub.model.HotStockLease;
+import com.shophub.model.InventoryMovement;
+import com.shophub.model.Product;
+import com.shophub.repository.HotStockLeaseRepository;
+import com.shophub.repository.OrderItemRepository;
+import com.shophub.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HotInventoryServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private HotStockLeaseRepository hotStockLeaseRepository;
+
+    @Mock
+    private OrderItemRepository orderItemRepository;
+
+    @Mock
+    private FeatureToggleService featureToggleService;
+
+    @Mock
+    private InventoryLedgerService inventoryLedgerService;
+
+    @Mock
+    private StockAlertService stockAlertService;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private HotInventoryService hotInventoryService;
+
+    @BeforeEach
+    void setUp() {
+        HotInventoryProperties properties = new HotInventoryProperties();
+        properties.setNodeId("node-a");
+        properties.setChunkSize(50);
+        properties.setStripes(4);
+        // Ask the toggle service every time so tests can flip it
+        properties.setToggleRefresh(Duration.ZERO);
+        lenient().when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        hotInventoryService = new HotInventoryService(productRepository, hotStockLeaseRepository,
+                orderItemRepository, featureToggleService, properties, inventoryLedgerService, stockAlertService, productCatalogCache, transactionManager);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void tryTake_ShouldReturnNullWhenProductIsNotHot() {
+        // Given
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(false);
+
+        // When & Then
+        assertNull(hotInventoryService.tryTake(1, 2));
+        verifyNoInteractions(productRepository, hotStockLeaseRepository);
+    }
+
+    @Test
+    void tryTake_ShouldEscrowAChunkOnFirstTake() {
+        // Given
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(true);
+        when(productRepository.escrowStock(eq(1), eq(50), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        String leaseId = hotInventoryService.tryTake(1, 2);
+
+        // Then
+        assertNotNull(leaseId);
+        ArgumentCaptor<HotStockLease> saved = ArgumentCaptor.forClass(HotStockLease.class);
+        verify(hotStockLeaseRepository).save(saved.capture());
+        assertEquals(leaseId, saved.getValue().getLeaseId());
+        assertEquals("node-a", saved.getValue().getNodeId());
+        assertEquals(50, saved.getValue().getGranted());
+        assertEquals(0, saved.getValue().getFlushed());
+
+        // Later takes come from memory
+        assertEquals(leaseId, hotInventoryService.tryTake(1, 40));
+        verify(productRepository, times(1)).escrowStock(anyInt(), anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void tryTake_ShouldFallBackWhenStockCannotBeEscrowed() {
+        // Given
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(true);
+        when(productRepository.escrowStock(eq(1), eq(50), any(LocalDateTime.class))).thenReturn(0);
+
+        // When & Then
+        assertNull(hotInventoryService.tryTake(1, 2));
+        verify(hotStockLeaseRepository, never()).save(any(HotStockLease.class));
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void tryTake_ShouldOutsideATransactionUseTheRegularPath() {
+        // Given
+        TransactionSynchronizationManager.clearSynchronization();
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(true);
+
+        // When & Then
+        assertNull(hotInventoryService.tryTake(1, 2));
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void rolledBackOrder_ShouldHandUnitsBackToTheCounter() {
+        // Given
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(true);
+        when(productRepository.escrowStock(eq(1), eq(50), any(LocalDateTime.class))).thenReturn(1);
+        hotInventoryService.tryTake(1, 30);
+
+        // When
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        // Then - all 50 units can be taken again without another escrow
+        TransactionSynchronizationManager.initSynchronization();
+        assertNotNull(hotInventoryService.tryTake(1, 50));
+        verify(productRepository, times(1)).escrowStock(anyInt(), anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void flush_ShouldWriteCommittedSalesBackToTheProduct() {
+        // Given
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(true);
+        when(productRepository.escrowStock(eq(1), eq(50), any(LocalDateTime.class))).thenReturn(1);
+        String leaseId = hotInventoryService.tryTake(1, 3);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        when(hotStockLeaseRepository.settle(eq(leaseId), eq(3), eq(0), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        hotInventoryService.flush();
+
+        // Then
+        verify(productRepository).settleEscrow(eq(1), eq(3), eq(0), any(LocalDateTime.class));
+        verify(inventoryLedgerService).record(1, -3, InventoryMovement.REASON_HOT_INVENTORY_FLUSH, null, "node-a");
+        verify(hotStockLeaseRepository, never()).deleteById(anyString());
+    }
+
+    @Test
+    void flush_ShouldEvictTheCachedProductOnceTheSettlementCommits() {
+        // Given
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(true);
+        when(productRepository.escrowStock(eq(1), eq(50), any(LocalDateTime.class))).thenReturn(1);
+        String leaseId = hotInventoryService.tryTake(1, 3);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        when(hotStockLeaseRepository.settle(eq(leaseId), eq(3), eq(0), any(LocalDateTime.class))).thenReturn(1);
+        when(productRepository.findById(1)).thenReturn(Optional.of(Product.builder().productId(1).categoryId(4).build()));
+        TransactionSynchronizationManager.initSynchronization();
+
+        // When
+        hotInventoryService.flush();
+
+        // Then - nothing is evicted while the settlement could still roll back
+        verifyNoInteractions(productCatalogCache);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        verify(productCatalogCache).evictProduct(1, 4);
+    }
+
+    @Test
+    void flush_ShouldHandBackEscrowWhenProductIsNoLongerHot() {
+        // Given
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(true);
+        when(productRepository.escrowStock(eq(1), eq(50), any(LocalDateTime.class))).thenReturn(1);
+        String leaseId = hotInventoryService.tryTake(1, 3);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(false);
+        when(hotStockLeaseRepository.settle(eq(leaseId), eq(3), eq(47), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        hotInventoryService.flush();
+
+        // Then
+        verify(productRepository).settleEscrow(eq(1), eq(3), eq(47), any(LocalDateTime.class));
+        verify(hotStockLeaseRepository).deleteById(leaseId);
+    }
+
+    @Test
+    void flush_ShouldDropALeaseReclaimedByAnotherNode() {
+        // Given
+        when(featureToggleService.isHotInventoryEnabled(1)).thenReturn(true);
+        when(productRepository.escrowStock(eq(1), eq(50), any(LocalDateTime.class))).thenReturn(1);
+        String leaseId = hotInventoryService.tryTake(1, 3);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        when(hotStockLeaseRepository.settle(eq(leaseId), eq(3), eq(0), any(LocalDateTime.class))).thenReturn(0);
+
+        // When
+        hotInventoryService.flush();
+
+        // Then - the reclaiming node already applied the sales; the next take starts a new lease
+        verify(productRepository, never()).settleEscrow(anyInt(), anyInt(), anyInt(), any(LocalDateTime.class));
+        TransactionSynchronizationManager.initSynchronization();
+        String nextLeaseId = hotInventoryService.tryTake(1, 3);
+        assertNotNull(nextLeaseId);
+        assertNotEquals(leaseId, nextLeaseId);
+        verify(productRepository, times(2)).escrowStock(anyInt(), anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void reclaimExpiredLeases_ShouldSettleFromOrderItems() {
+        // Given - 50 granted, 10 flushed, 25 sold in total per order_items
+        HotStockLease expired = HotStockLease.builder()
+                .leaseId("lease-1")
+                .productId(1)
+                .nodeId("node-b")
+                .granted(50)
+                .flushed(10)
+                .heartbeatAt(LocalDateTime.now().minusMinutes(5))
+                .build();
+        when(hotStockLeaseRepository.findByHeartbeatAtBefore(any(LocalDateTime.class))).thenReturn(List.of(expired));
+        when(hotStockLeaseRepository.claimExpired(eq("lease-1"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(hotStockLeaseRepository.findById("lease-1")).thenReturn(Optional.of(expired));
+        when(orderItemRepository.sumQuantityByStockLeaseId("lease-1")).thenReturn(25L);
+
+        // When
+        int reclaimed = hotInventoryService.reclaimExpiredLeases();
+
+        // Then - 15 sold units reach stock, 25 unsold leave escrow
+        assertEquals(1, reclaimed);
+        verify(productRepository).settleEscrow(eq(1), eq(15), eq(25), any(LocalDateTime.class));
+        verify(hotStockLeaseRepository).delete(expired);
+    }
+
+    @Test
+    void reclaimExpiredLeases_ShouldEvictTheCachedProduct() {
+        // Given
+        HotStockLease expired = HotStockLease.builder()
+                .leaseId("lease-1").productId(1).nodeId("node-b").granted(50).flushed(0)
+                .heartbeatAt(LocalDateTime.now().minusMinutes(5)).build();
+        when(hotStockLeaseRepository.findByHeartbeatAtBefore(any(LocalDateTime.class))).thenReturn(List.of(expired));
+        when(hotStockLeaseRepository.claimExpired(eq("lease-1"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+        when(hotStockLeaseRepository.findById("lease-1")).thenReturn(Optional.of(expired));
+        when(orderItemRepository.sumQuantityByStockLeaseId("lease-1")).thenReturn(5L);
+        when(productRepository.findById(1)).thenReturn(Optional.of(Product.builder().productId(1).categoryId(4).build()));
+
+        // When
+        hotInventoryService.reclaimExpiredLeases();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Then
+        verify(productCatalogCache).evictProduct(1, 4);
+    }
+
+    @Test
+    void reclaimExpiredLeases_ShouldSkipALeaseAnotherNodeClaimed() {
+        // Given
+        HotStockLease expired = HotStockLease.builder().leaseId("lease-1").productId(1).build();
+        when(hotStockLeaseRepository.findByHeartbeatAtBefore(any(LocalDateTime.class))).thenReturn(List.of(expired));
+        when(hotStockLeaseRepository.claimExpired(eq("lease-1"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(0);
+
+        // When & Then
+        assertEquals(0, hotInventoryService.reclaimExpiredLeases());
+        verifyNoInteractions(orderItemRepository, productRepository);
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(status));
+    }
+}
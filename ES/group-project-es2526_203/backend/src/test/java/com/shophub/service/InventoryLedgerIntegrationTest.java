@@ -0,0 +1,145 @@
+package com.shophub.service;
+
+import com.shophub.dto.StockDiscrepancyDTO;
+import com.shophub.model.InventoryMovement;
+import com.shophub.model.Product;
+import com.shophub.repository.InventoryMovementRepository;
+import com.shophub.repository.InventorySnapshotRepository;
+import com.shophub.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = "inventory.ledger.settle-lag=PT0S")
+public class InventoryLedgerIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private InventoryLedgerService inventoryLedgerService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    @Autowired
+    private InventorySnapshotRepository inventorySnapshotRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanup() {
+        inventorySnapshotRepository.deleteAllInBatch();
+        inventoryMovementRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void stockChanges_areLedgeredWhenTheyCommit() {
+        // Arrange
+        Product product = openProduct("Ledgered", 20);
+
+        // Act
+        productService.updateStock(product.getProductId(), 3);
+        productService.setStockQuantity(product.getProductId(), 30);
+
+        // Assert - newest first
+        List<InventoryMovement> movements = inventoryLedgerService.getMovements(product.getProductId(), null, null, 10);
+        assertThat(movements)
+                .extracting(InventoryMovement::getDelta, InventoryMovement::getReason)
+                .containsExactly(
+                        tuple(13, InventoryMovement.REASON_STOCK_SET),
+                        tuple(-3, InventoryMovement.REASON_STOCK_ADJUSTED),
+                        tuple(20, InventoryMovement.REASON_OPENING_BALANCE));
+        assertThat(inventoryLedgerService.getStockAt(product.getProductId(), null).getStockQuantity()).isEqualTo(30);
+        assertThat(inventoryLedgerService.findDiscrepancies())
+                .extracting(StockDiscrepancyDTO::getProductId)
+                .doesNotContain(product.getProductId());
+    }
+
+    @Test
+    void rolledBackStockChange_leavesNoMovement() {
+        // Arrange
+        Product product = openProduct("Rolled back", 2);
+
+        // Act
+        assertThatThrownBy(() -> productService.updateStock(product.getProductId(), 5))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Assert
+        assertThat(inventoryLedgerService.getMovements(product.getProductId(), null, null, 10)).hasSize(1);
+    }
+
+    @Test
+    void snapshots_keepStockAtTimeAnswerable() throws InterruptedException {
+        // Arrange
+        Product product = openProduct("Snapshotted", 10);
+        productService.setStockQuantity(product.getProductId(), 7);
+
+        // Act - pauses keep the movement, snapshot and read timestamps apart
+        Thread.sleep(5);
+        int taken = inventoryLedgerService.takeSnapshots();
+        Thread.sleep(5);
+        LocalDateTime afterSnapshot = LocalDateTime.now();
+        Thread.sleep(5);
+        productService.setStockQuantity(product.getProductId(), 12);
+
+        // Assert - the snapshot holds the folded total and later movements are added on top
+        assertThat(taken).isEqualTo(1);
+        assertThat(inventoryLedgerService.getStockAt(product.getProductId(), afterSnapshot).getStockQuantity())
+                .isEqualTo(7);
+        assertThat(inventoryLedgerService.getStockAt(product.getProductId(), null))
+                .satisfies(level -> {
+                    assertThat(level.getStockQuantity()).isEqualTo(12);
+                    assertThat(level.getSnapshotAt()).isNotNull();
+                });
+        assertThat(inventoryLedgerService.findDiscrepancies())
+                .extracting(StockDiscrepancyDTO::getProductId)
+                .doesNotContain(product.getProductId());
+    }
+
+    @Test
+    void stockWrittenAroundTheLedger_isReportedAsDiscrepancy() {
+        // Arrange
+        Product product = openProduct("Drifted", 10);
+        product.setStockQuantity(4);
+        productRepository.save(product);
+
+        // Act
+        List<StockDiscrepancyDTO> discrepancies = inventoryLedgerService.findDiscrepancies();
+
+        // Assert
+        assertThat(discrepancies)
+                .filteredOn(discrepancy -> discrepancy.getProductId().equals(product.getProductId()))
+                .extracting(StockDiscrepancyDTO::getStockQuantity, StockDiscrepancyDTO::getLedgerQuantity)
+                .containsExactly(tuple(4, 10));
+    }
+
+    private Product openProduct(String name, int stock) {
+        return transactionTemplate.execute(status -> {
+            Product product = productRepository.save(Product.builder()
+                    .name(name).price(new BigDecimal("10.00")).stockQuantity(stock).build());
+            inventoryLedgerService.record(product.getProductId(), stock,
+                    InventoryMovement.REASON_OPENING_BALANCE, null, "test");
+            return product;
+        });
+    }
+}
@@ -0,0 +1,188 @@
+package com.shophub.service;
+
+import com.shophub.config.InventoryLedgerProperties;
+import com.shophub.dto.StockLevelDTO;
+import com.shophub.exception.ResourceNotFoundException;
+import com.shophub.model.InventoryMovement;
+import com.shophub.model.InventorySnapshot;
+import com.shophub.repository.InventoryMovementRepository;
+import com.shophub.repository.InventorySnapshotRepository;
+import com.shophub.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryLedgerServiceTest {
+
+    @Mock
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    @Mock
+    private InventorySnapshotRepository inventorySnapshotRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private InventoryLedgerService inventoryLedgerService;
+
+    @BeforeEach
+    void setUp() {
+        InventoryLedgerProperties properties = new InventoryLedgerProperties();
+        properties.setSettleLag(Duration.ofMinutes(5));
+        properties.setMaxMovements(50);
+        inventoryLedgerService = new InventoryLedgerService(inventoryMovementRepository,
+                inventorySnapshotRepository, productRepository, jdbcTemplate, properties);
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void record_ShouldWriteMovementsInOneBatchBeforeCommit() {
+        // Given
+        List<Integer> written = new ArrayList<>();
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), eq(2), any(ParameterizedPreparedStatementSetter.class)))
+                .thenAnswer(invocation -> {
+                    Collection<InventoryMovement> batch = invocation.getArgument(1);
+                    batch.forEach(movement -> written.add(movement.getDelta()));
+                    return new int[0][];
+                });
+        inventoryLedgerService.record(1, -2, InventoryMovement.REASON_ORDER, 10, "user123");
+        inventoryLedgerService.record(7, -4, InventoryMovement.REASON_ORDER, 10, "user123");
+
+        // When - nothing is written until the transaction commits
+        verifyNoInteractions(jdbcTemplate);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        assertEquals(1, synchronizations.size());
+        synchronizations.get(0).beforeCommit(false);
+
+        // Then
+        assertEquals(List.of(-2, -4), written);
+    }
+
+    @Test
+    void record_ShouldSkipZeroDelta() {
+        // When
+        inventoryLedgerService.record(1, 0, InventoryMovement.REASON_STOCK_SET, null, "admin");
+
+        // Then
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
+
+    @Test
+    void record_ShouldRejectMovementsOutsideATransaction() {
+        // Given
+        TransactionSynchronizationManager.clearSynchronization();
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+                () -> inventoryLedgerService.record(1, 5, InventoryMovement.REASON_STOCK_SET, null, "admin"));
+    }
+
+    @Test
+    void getStockAt_ShouldAddMovementsSinceTheLatestSnapshot() {
+        // Given
+        LocalDateTime at = LocalDateTime.of(2025, 3, 1, 12, 0);
+        LocalDateTime snapshotAt = LocalDateTime.of(2025, 3, 1, 11, 0);
+        when(productRepository.existsById(1)).thenReturn(true);
+        when(inventorySnapshotRepository.findFirstByProductIdAndSnapshotAtLessThanEqualOrderBySnapshotAtDesc(1, at))
+                .thenReturn(Optional.of(InventorySnapshot.builder()
+                        .productId(1).stockQuantity(40).snapshotAt(snapshotAt).build()));
+        when(inventoryMovementRepository.sumDelta(1, snapshotAt, at)).thenReturn(-6L);
+
+        // When
+        StockLevelDTO level = inventoryLedgerService.getStockAt(1, at);
+
+        // Then
+        assertEquals(34, level.getStockQuantity());
+        assertEquals(snapshotAt, level.getSnapshotAt());
+    }
+
+    @Test
+    void getStockAt_ShouldThrowWhenProductNotFound() {
+        // Given
+        when(productRepository.existsById(1)).thenReturn(false);
+
+        // When & Then
+        assertThrows(ResourceNotFoundException.class, () -> inventoryLedgerService.getStockAt(1, null));
+        verifyNoInteractions(inventoryMovementRepository);
+    }
+
+    @Test
+    void getMovements_ShouldCapTheLimit() {
+        // When
+        inventoryLedgerService.getMovements(1, null, null, 10_000);
+
+        // Then
+        verify(inventoryMovementRepository).findWindow(eq(1), eq(InventoryLedgerService.EPOCH),
+                any(LocalDateTime.class), argThat(page -> page.getPageSize() == 50));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void takeSnapshots_ShouldFoldMovementsOntoThePreviousSnapshot() {
+        // Given - product 1 had 40 at the last run and moved by -6 since, product 7 is new
+        LocalDateTime previous = LocalDateTime.now().minusHours(1);
+        when(inventorySnapshotRepository.findLatestSnapshotAt()).thenReturn(Optional.of(previous));
+        when(inventoryMovementRepository.sumDeltaByProduct(eq(previous), any(LocalDateTime.class)))
+                .thenReturn(List.of(new Object[]{1, -6L}, new Object[]{7, 12L}));
+        when(inventorySnapshotRepository.findLatestAsOf(any(), eq(previous))).thenReturn(List.of(
+                InventorySnapshot.builder().productId(1).stockQuantity(40).snapshotAt(previous).build()));
+
+        // When
+        int taken = inventoryLedgerService.takeSnapshots();
+
+        // Then
+        assertEquals(2, taken);
+        ArgumentCaptor<List<InventorySnapshot>> saved = ArgumentCaptor.forClass(List.class);
+        verify(inventorySnapshotRepository).saveAll(saved.capture());
+        assertEquals(34, saved.getValue().stream()
+                .filter(s -> s.getProductId() == 1).findFirst().orElseThrow().getStockQuantity());
+        assertEquals(12, saved.getValue().stream()
+                .filter(s -> s.getProductId() == 7).findFirst().orElseThrow().getStockQuantity());
+        assertTrue(saved.getValue().get(0).getSnapshotAt().isBefore(LocalDateTime.now().minusMinutes(4)));
+    }
+
+    @Test
+    void takeSnapshots_ShouldSkipWhenNothingMoved() {
+        // Given
+        when(inventorySnapshotRepository.findLatestSnapshotAt()).thenReturn(Optional.empty());
+        when(inventoryMovementRepository.sumDeltaByProduct(eq(InventoryLedgerService.EPOCH), any(LocalDateTime.class)))
+                .thenReturn(List.of());
+
+        // When & Then
+        assertEquals(0, inventoryLedgerService.takeSnapshots());
+        verify(inventorySnapshotRepository, never()).saveAll(any());
+    }
+}
@@ -165,7 +165,9 @@ public class LandingPageServiceIntegrationTest {
         landingPageRepository.save(createTestPage("Published 2", true));
 
         // Act
-        List<LandingPageDTO> publishedPages = landingPageService.getPublishedLandingPages();
+        LocalDateTime now = LocalDateTime.now();
+        List<LandingPageDTO> publishedPages = landingPageService.getPublishedLandingPages(
+                now, landingPageService.getPublishedLandingPagesVersion(now));
 
         // Assert
         assertThat(publishedPages).hasSize(2);
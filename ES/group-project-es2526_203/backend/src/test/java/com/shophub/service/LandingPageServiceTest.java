@@ -2,7 +2,9 @@ package com.shophub.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.shophub.config.CacheNames;
 import com.shophub.dto.LandingPageDTO;
+import com.shophub.dto.ResourceVersion;
 import com.shophub.exception.InvalidInputException;
 import com.shophub.exception.ResourceNotFoundException;
 import com.shophub.model.LandingPage;
@@ -28,9 +30,14 @@ class LandingPageServiceTest {
     @Mock
     private LandingPageRepository landingPageRepository;
 
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
     @InjectMocks
     private LandingPageService landingPageService;
 
+    private static final ResourceVersion VERSION = new ResourceVersion(2, LocalDateTime.of(2025, 1, 1, 12, 0));
+
     private ObjectMapper objectMapper;
     private JsonNode metadataNode;
     private LandingPageDTO sampleDto;
@@ -139,6 +146,7 @@ class LandingPageServiceTest {
         LandingPageDTO result = landingPageService.publishLandingPage(1L);
 
         assertTrue(result.isPublished());
+        verify(cacheInvalidationBus).clear(List.of(CacheNames.PUBLISHED_LANDING_PAGES));
     }
 
     @Test
@@ -193,7 +201,7 @@ class LandingPageServiceTest {
 
         when(landingPageRepository.findByIsPublishedTrue()).thenReturn(List.of(active, expired));
 
-        List<LandingPageDTO> result = landingPageService.getPublishedLandingPages();
+        List<LandingPageDTO> result = landingPageService.getPublishedLandingPages(LocalDateTime.now(), VERSION);
 
         assertEquals(1, result.size());
         assertEquals("Active", result.get(0).getTitle());
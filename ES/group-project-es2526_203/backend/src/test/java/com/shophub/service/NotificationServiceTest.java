@@ -2,21 +2,25 @@ package com.shophub.service;
 
 import com.shophub.model.Notification;
 import com.shophub.model.Order;
+import com.shophub.model.Product;
 import com.shophub.model.User;
 import com.shophub.repository.NotificationRepository;
 import com.shophub.repository.UserRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -85,4 +89,53 @@ class NotificationServiceTest {
         notificationService.sendPaymentConfirmationNotification(order);
         verify(notificationRepository).save(any(Notification.class));
     }
+
+    @Test
+    void notifyOrderStatusChanged_shouldPropagateFailuresThatSendOrderStatusNotificationLogs() {
+        Order order = new Order();
+        order.setOrderId(1);
+        order.setUserId("user1");
+        order.setTotalAmount(new BigDecimal("100.00"));
+
+        when(userRepository.findById("user1")).thenReturn(Optional.empty());
+        when(notificationRepository.save(any(Notification.class))).thenThrow(new IllegalStateException("db down"));
+
+        assertThrows(IllegalStateException.class,
+                () -> notificationService.notifyOrderStatusChanged(order, "pending", "processing"));
+        assertDoesNotThrow(() -> notificationService.sendOrderStatusNotification(order, "pending", "processing"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void sendStockAlertDigest_shouldSendOneNotificationPerAdmin() {
+        User admin1 = new User();
+        admin1.setUserId("admin1");
+        User admin2 = new User();
+        admin2.setUserId("admin2");
+        Product low = Product.builder().productId(1).name("Mouse").stockQuantity(3).lowStockThreshold(5).build();
+        Product out = Product.builder().productId(2).name("Keyboard").stockQuantity(0).build();
+
+        when(userRepository.findByRoleIn(anyList())).thenReturn(List.of(admin1, admin2));
+
+        notificationService.sendStockAlertDigest(List.of(low, out));
+
+        ArgumentCaptor<List<Notification>> saved = ArgumentCaptor.forClass(List.class);
+        verify(notificationRepository).saveAll(saved.capture());
+        verify(notificationRepository, never()).save(any(Notification.class));
+        assertEquals(List.of("admin1", "admin2"), saved.getValue().stream().map(Notification::getUserId).toList());
+        Notification digest = saved.getValue().get(0);
+        assertEquals("inventory_out_of_stock", digest.getType());
+        assertTrue(digest.getMessage().contains("'Mouse' (ID #1) is low on stock: 3 units"));
+        assertTrue(digest.getMessage().contains("'Keyboard' (ID #2) is out of stock"));
+    }
+
+    @Test
+    void sendStockAlertDigest_withoutAdmins_shouldFailInsteadOfDroppingTheAlerts() {
+        Product low = Product.builder().productId(1).name("Mouse").stockQuantity(3).lowStockThreshold(5).build();
+
+        when(userRepository.findByRoleIn(anyList())).thenReturn(List.of());
+
+        assertThrows(IllegalStateException.class, () -> notificationService.sendStockAlertDigest(List.of(low)));
+        verifyNoInteractions(notificationRepository);
+    }
 }
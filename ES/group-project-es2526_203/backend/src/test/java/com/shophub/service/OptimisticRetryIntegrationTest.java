@@ -0,0 +1,173 @@
+package com.shophub.service;
+
+import com.shophub.model.InventoryMovement;
+import com.shophub.model.Order;
+import com.shophub.model.Product;
+import com.shophub.repository.InventoryMovementRepository;
+import com.shophub.repository.NotificationRepository;
+import com.shophub.repository.OrderRepository;
+import com.shophub.repository.OutboxEventRepository;
+import com.shophub.repository.ProductRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "concurrency.optimistic-retry.initial-backoff=PT0.001S",
+        "concurrency.optimistic-retry.max-backoff=PT0.005S"
+})
+public class OptimisticRetryIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @SpyBean
+    private InventoryLedgerService inventoryLedgerService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @SpyBean
+    private OutboxService outboxService;
+
+    @AfterEach
+    void cleanup() {
+        outboxEventRepository.deleteAllInBatch();
+        notificationRepository.deleteAllInBatch();
+        inventoryMovementRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void setStockQuantity_retriesAfterAConcurrentSaleAndLedgersTheNewDelta() {
+        // Arrange - a checkout sells 2 units between the admin's read and write, once
+        Product product = productRepository.save(Product.builder()
+                .name("Contended").price(new BigDecimal("10.00")).stockQuantity(10).lowStockThreshold(1).build());
+        AtomicInteger sales = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (sales.getAndIncrement() == 0) {
+                concurrently("UPDATE products SET stock_quantity = stock_quantity - 2, version = version + 1 " +
+                        "WHERE product_id = ?", product.getProductId());
+            }
+            return invocation.callRealMethod();
+        }).when(inventoryLedgerService).record(eq(product.getProductId()), anyInt(), anyString(), any());
+        double conflicts = count("optimistic.lock.conflicts", "ProductService.setStockQuantity");
+        double retries = count("optimistic.lock.retries", "ProductService.setStockQuantity");
+
+        // Act
+        productService.setStockQuantity(product.getProductId(), 50);
+
+        // Assert - the admin's value wins, measured against the stock the sale left behind
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(50);
+        assertThat(inventoryMovementRepository.findAll())
+                .filteredOn(movement -> movement.getProductId().equals(product.getProductId()))
+                .filteredOn(movement -> InventoryMovement.REASON_STOCK_SET.equals(movement.getReason()))
+                .extracting(InventoryMovement::getDelta)
+                .containsExactly(42);
+        assertThat(count("optimistic.lock.conflicts", "ProductService.setStockQuantity")).isEqualTo(conflicts + 1);
+        assertThat(count("optimistic.lock.retries", "ProductService.setStockQuantity")).isEqualTo(retries + 1);
+    }
+
+    @Test
+    void markAsShipped_reChecksTheStatusAfterAConcurrentCancellation() {
+        // Arrange - the order is cancelled while the warehouse is shipping it
+        Order order = orderRepository.save(Order.builder()
+                .userId("retry-customer").orderStatus("processing").totalAmount(new BigDecimal("20.00")).build());
+        // Stubbed behind the transactional proxy: enqueue requires the order's transaction
+        doAnswer(invocation -> {
+            concurrently("UPDATE orders SET order_status = 'cancelled', version = version + 1 " +
+                    "WHERE order_id = ? AND order_status = 'processing'", order.getOrderId());
+            return invocation.callRealMethod();
+        }).when(AopTestUtils.<OutboxService>getUltimateTargetObject(outboxService)).enqueue(anyString(), any());
+
+        // Act & Assert - the retry sees the cancellation instead of overwriting it
+        assertThatThrownBy(() -> orderService.markAsShipped(order.getOrderId(), "TRACK-1", "CTT"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("cancelled");
+        Order stored = orderRepository.findById(order.getOrderId()).orElseThrow();
+        assertThat(stored.getOrderStatus()).isEqualTo("cancelled");
+        assertThat(stored.getTrackingNumber()).isNull();
+    }
+
+    @Test
+    void updateStock_givesUpWhenEveryAttemptConflicts() {
+        // Arrange - another writer gets in first on every attempt
+        Product product = productRepository.save(Product.builder()
+                .name("Hot").price(new BigDecimal("10.00")).stockQuantity(100).lowStockThreshold(1).build());
+        doAnswer(invocation -> {
+            concurrently("UPDATE products SET version = version + 1 WHERE product_id = ?", product.getProductId());
+            return invocation.callRealMethod();
+        }).when(inventoryLedgerService).record(eq(product.getProductId()), anyInt(), anyString(), any());
+        double conflicts = count("optimistic.lock.conflicts", "ProductService.updateStock");
+        double exhausted = count("optimistic.lock.exhausted", "ProductService.updateStock");
+
+        // Act & Assert
+        assertThatThrownBy(() -> productService.updateStock(product.getProductId(), 5))
+                .isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(100);
+        assertThat(count("optimistic.lock.conflicts", "ProductService.updateStock")).isEqualTo(conflicts + 4);
+        assertThat(count("optimistic.lock.exhausted", "ProductService.updateStock")).isEqualTo(exhausted + 1);
+    }
+
+    // Commits a write from another transaction, as a competing request would
+    private void concurrently(String sql, Integer id) {
+        TransactionTemplate other = new TransactionTemplate(transactionManager);
+        other.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        other.executeWithoutResult(status -> jdbcTemplate.update(sql, id));
+    }
+
+    private double count(String name, String operation) {
+        Counter counter = meterRegistry.find(name).tag("operation", operation).counter();
+        return counter != null ? counter.count() : 0;
+    }
+}
@@ -0,0 +1,247 @@
+package com.shophub.service;
+
+import com.shophub.dto.CreateOrderRequest;
+import com.shophub.model.OrderIdempotencyKey;
+import com.shophub.model.Product;
+import com.shophub.repository.CartRepository;
+import com.shophub.repository.InventoryMovementRepository;
+import com.shophub.repository.OrderIdempotencyKeyRepository;
+import com.shophub.repository.OrderItemRepository;
+import com.shophub.repository.OrderRepository;
+import com.shophub.repository.OrderStatusStatsRepository;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderIdempotencyServiceIntegrationTest {
+
+    @Autowired
+    private OrderIdempotencyService idempotencyService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderIdempotencyKeyRepository keyRepository;
+
+    @Autowired
+    private OrderStatusStatsRepository orderStatusStatsRepository;
+
+    @Autowired
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanup() {
+        keyRepository.deleteAllInBatch();
+        cartRepository.deleteAllInBatch();
+        inventoryMovementRepository.deleteAllInBatch();
+        orderStatusStatsRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void placeOrder_retriedWithTheSameKey_placesTheOrderOnce() {
+        // Arrange
+        Product product = product("Retried", 10);
+        Jwt jwt = jwtFor("retry-buyer");
+        String key = UUID.randomUUID().toString();
+
+        // Act
+        OrderIdempotencyService.Result first = idempotencyService.placeOrder("retry-buyer", key, requestFor(product, 2), jwt);
+        OrderIdempotencyService.Result retry = idempotencyService.placeOrder("retry-buyer", key, requestFor(product, 2), jwt);
+
+        // Assert
+        assertThat(first.replayed()).isFalse();
+        assertThat(retry.replayed()).isTrue();
+        assertThat(retry.order().getOrderId()).isEqualTo(first.order().getOrderId());
+        assertThat(retry.order().getItems()).extracting("productName").containsExactly("Retried");
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockOf(product)).isEqualTo(8);
+    }
+
+    @Test
+    void placeOrder_concurrentDuplicates_waitForTheFirstAndGetItsOrder() throws Exception {
+        // Arrange - a client firing the same request four times at once
+        Product product = product("Double Tapped", 10);
+        Jwt jwt = jwtFor("tap-buyer");
+        String key = UUID.randomUUID().toString();
+        int attempts = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<OrderIdempotencyService.Result>> results = new ArrayList<>();
+        for (int i = 0; i < attempts; i++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.placeOrder("tap-buyer", key, requestFor(product, 1), jwt);
+            }));
+        }
+
+        // Act
+        start.countDown();
+        List<OrderIdempotencyService.Result> outcomes = new ArrayList<>();
+        for (Future<OrderIdempotencyService.Result> result : results) {
+            outcomes.add(result.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(outcomes).extracting(result -> result.order().getOrderId()).containsOnly(outcomes.get(0).order().getOrderId());
+        assertThat(outcomes).filteredOn(result -> !result.replayed()).hasSize(1);
+        assertThat(orderRepository.count()).isEqualTo(1);
+        assertThat(stockOf(product)).isEqualTo(9);
+    }
+
+    @Test
+    void placeOrder_keyReusedForADifferentOrder_isRejected() {
+        // Arrange
+        Product product = product("Reused", 10);
+        Jwt jwt = jwtFor("reuse-buyer");
+        String key = UUID.randomUUID().toString();
+        idempotencyService.placeOrder("reuse-buyer", key, requestFor(product, 1), jwt);
+
+        // Act & Assert
+        assertThatThrownBy(() -> idempotencyService.placeOrder("reuse-buyer", key, requestFor(product, 3), jwt))
+                .isInstanceOf(ResponseStatusException.class)
+                .satisfies(e -> assertThat(((ResponseStatusException) e).getStatusCode())
+                        .isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY));
+        assertThat(stockOf(product)).isEqualTo(9);
+    }
+
+    @Test
+    void placeOrder_failedPlacement_leavesTheKeyFreeForARetry() {
+        // Arrange
+        Product product = product("Restocked", 1);
+        Jwt jwt = jwtFor("restock-buyer");
+        String key = UUID.randomUUID().toString();
+        assertThatThrownBy(() -> idempotencyService.placeOrder("restock-buyer", key, requestFor(product, 2), jwt))
+                .isInstanceOf(IllegalArgumentException.class);
+        jdbcTemplate.update("UPDATE products SET stock_quantity = 5 WHERE product_id = ?", product.getProductId());
+
+        // Act
+        OrderIdempotencyService.Result result = idempotencyService.placeOrder("restock-buyer", key, requestFor(product, 2), jwt);
+
+        // Assert
+        assertThat(result.replayed()).isFalse();
+        assertThat(keyRepository.count()).isEqualTo(1);
+        assertThat(stockOf(product)).isEqualTo(3);
+    }
+
+    @Test
+    void placeOrder_keyStoredByAnotherNode_isReplayedFromTheTable() {
+        // Arrange - the first request was answered by another node, so this one has no memory of it
+        Product product = product("Elsewhere", 10);
+        Jwt jwt = jwtFor("node-buyer");
+        String key = UUID.randomUUID().toString();
+        OrderIdempotencyService.Result first = idempotencyService.placeOrder("node-buyer", key, requestFor(product, 1), jwt);
+        OrderIdempotencyKey stored = keyRepository.findByUserIdAndIdempotencyKey("node-buyer", key).orElseThrow();
+        keyRepository.deleteAllInBatch();
+        keyRepository.save(OrderIdempotencyKey.builder()
+                .userId("node-buyer")
+                .idempotencyKey(key + "-elsewhere")
+                .requestHash(stored.getRequestHash())
+                .orderId(stored.getOrderId())
+                .responseBody(stored.getResponseBody())
+                .build());
+
+        // Act
+        OrderIdempotencyService.Result replay = idempotencyService.placeOrder(
+                "node-buyer", key + "-elsewhere", requestFor(product, 1), jwt);
+
+        // Assert
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.order().getOrderId()).isEqualTo(first.order().getOrderId());
+        assertThat(stockOf(product)).isEqualTo(9);
+    }
+
+    @Test
+    void purgeExpired_forgetsKeysPastTheRetention() {
+        // Arrange
+        Product product = product("Old", 10);
+        Jwt jwt = jwtFor("old-buyer");
+        idempotencyService.placeOrder("old-buyer", UUID.randomUUID().toString(), requestFor(product, 1), jwt);
+        jdbcTemplate.update("UPDATE order_idempotency_keys SET created_at = created_at - INTERVAL '2' DAY");
+
+        // Act
+        int purged = idempotencyService.purgeExpired();
+
+        // Assert
+        assertThat(purged).isEqualTo(1);
+        assertThat(keyRepository.count()).isZero();
+    }
+
+    private Product product(String name, int stock) {
+        return productRepository.save(Product.builder()
+                .name(name).price(new BigDecimal("4.00")).stockQuantity(stock).lowStockThreshold(0).build());
+    }
+
+    private int stockOf(Product product) {
+        return productRepository.findById(product.getProductId()).orElseThrow().getStockQuantity();
+    }
+
+    private Jwt jwtFor(String subject) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("sub", subject)
+                .claim("email", subject + "@example.com")
+                .claim("name", "Buyer " + subject)
+                .build();
+    }
+
+    private CreateOrderRequest requestFor(Product product, int quantity) {
+        CreateOrderRequest.OrderItemRequest itemReq = new CreateOrderRequest.OrderItemRequest();
+        itemReq.setProductId(product.getProductId());
+        itemReq.setQuantity(quantity);
+        itemReq.setPrice(product.getPrice());
+
+        CreateOrderRequest.Address address = new CreateOrderRequest.Address(
+                "Test User", "123 Street", "City", "0000", "+100000000"
+        );
+
+        return CreateOrderRequest.builder()
+                .items(List.of(itemReq))
+                .total(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                .shipping(new CreateOrderRequest.ShippingInfo(address, BigDecimal.ZERO))
+                .build();
+    }
+}
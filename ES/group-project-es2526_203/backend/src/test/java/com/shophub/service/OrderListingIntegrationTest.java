@@ -0,0 +1,129 @@
+package com.shophub.service;
+
+import com.shophub.dto.OrderListRequest;
+import com.shophub.dto.OrderPageDTO;
+import com.shophub.model.Order;
+import com.shophub.repository.OrderRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderListingIntegrationTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @AfterEach
+    void cleanup() {
+        orderRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void listOrders_walksAllPagesNewestFirstWithoutGapsOrDuplicates() {
+        // Arrange - orders created back to back share timestamps, exercising the order_id tie-breaker
+        for (int i = 0; i < 7; i++) {
+            order("page-customer-" + i, "pending", null);
+        }
+        order("page-customer-x", "shipped", "TRK-SHIPPED");
+
+        // Act
+        List<Order> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            OrderPageDTO page = orderService.listOrders(OrderListRequest.builder()
+                    .status("pending")
+                    .limit(3)
+                    .cursor(cursor)
+                    .build());
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        // Assert
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(7);
+        assertThat(seen).extracting(Order::getOrderId).doesNotHaveDuplicates();
+        assertThat(seen).extracting(Order::getOrderStatus).containsOnly("pending");
+        assertThat(seen).isSortedAccordingTo(Comparator.comparing(Order::getCreatedAt)
+                .thenComparing(Order::getOrderId).reversed());
+    }
+
+    @Test
+    void listOrders_matchesTheOrderIdAlongsideSubstringsOfCustomersAndTrackingNumbers() {
+        // Arrange
+        Order byId = order("search-customer-a", "pending", null);
+        Order byCustomer = order("search-customer-" + byId.getOrderId(), "pending", null);
+        Order tracked = order("search-customer-b", "shipped", "TRK-100");
+        Order trackedLonger = order("search-customer-c", "shipped", "TRK-1000");
+
+        // Act
+        OrderPageDTO idPage = orderService.listOrders(OrderListRequest.builder()
+                .search(String.valueOf(byId.getOrderId())).build());
+        OrderPageDTO trackingPage = orderService.listOrders(OrderListRequest.builder()
+                .search("TRK-100").build());
+
+        // Assert
+        assertThat(idPage.getItems()).extracting(Order::getOrderId)
+                .containsExactlyInAnyOrder(byId.getOrderId(), byCustomer.getOrderId());
+        assertThat(trackingPage.getItems()).extracting(Order::getOrderId)
+                .containsExactlyInAnyOrder(tracked.getOrderId(), trackedLonger.getOrderId());
+    }
+
+    @Test
+    void listOrders_treatsLikeWildcardsInTheSearchLiterally() {
+        // Arrange
+        order("percent%customer", "pending", null);
+        order("plain-customer", "pending", null);
+
+        // Act
+        OrderPageDTO page = orderService.listOrders(OrderListRequest.builder().search("t%c").build());
+
+        // Assert
+        assertThat(page.getItems()).extracting(Order::getUserId).containsExactly("percent%customer");
+    }
+
+    @Test
+    void listOrders_capsThePageSizeAndRejectsInvalidCursors() {
+        // Arrange
+        for (int i = 0; i < OrderListRequest.MAX_LIMIT + 1; i++) {
+            order("bulk-customer", "pending", null);
+        }
+
+        // Act
+        OrderPageDTO page = orderService.listOrders(OrderListRequest.builder().limit(10_000).build());
+
+        // Assert
+        assertThat(page.getItems()).hasSize(OrderListRequest.MAX_LIMIT);
+        assertThat(page.isHasMore()).isTrue();
+        assertThatThrownBy(() -> orderService.listOrders(OrderListRequest.builder()
+                .cursor("not-a-cursor").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private Order order(String userId, String status, String trackingNumber) {
+        return orderRepository.save(Order.builder()
+                .userId(userId)
+                .orderStatus(status)
+                .trackingNumber(trackingNumber)
+                .totalAmount(new BigDecimal("10.00"))
+                .build());
+    }
+}
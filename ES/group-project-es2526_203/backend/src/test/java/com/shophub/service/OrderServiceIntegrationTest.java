@@ -1,11 +1,14 @@
 package com.shophub.service;
 
 import com.shophub.dto.CreateOrderRequest;
+import com.shophub.model.Cart;
 import com.shophub.model.Order;
 import com.shophub.model.Product;
+import com.shophub.repository.CartRepository;
 import com.shophub.repository.OrderItemRepository;
 import com.shophub.repository.OrderRepository;
 import com.shophub.repository.ProductRepository;
+import com.shophub.repository.StockReservationRepository;
 import com.shophub.repository.UserRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -16,9 +19,16 @@ import org.springframework.transaction.annotation.Transactional;
 import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -39,12 +49,24 @@ public class OrderServiceIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private StockReservationService stockReservationService;
+
     @AfterEach
     void cleanup() {
-        orderItemRepository.deleteAll();
-        orderRepository.deleteAll();
-        productRepository.deleteAll();
-        userRepository.deleteAll();
+        // Batch deletes: committed orders' JSON addresses do not round-trip through H2's JSON type
+        stockReservationRepository.deleteAllInBatch();
+        cartRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
     }
 
     @Test
@@ -112,4 +134,125 @@ public class OrderServiceIntegrationTest {
         assertThat(userOrders).isNotEmpty();
         assertThat(userOrders.get(0).getOrderId()).isEqualTo(created.getOrderId());
     }
+
+    @Test
+    void createOrder_concurrentCheckoutsOfLastUnits_neverOversell() throws Exception {
+        // Arrange - 3 units, 6 buyers each wanting 1
+        Product product = productRepository.save(Product.builder()
+                .name("Flash Sale Product")
+                .price(new BigDecimal("5.00"))
+                .stockQuantity(3)
+                .lowStockThreshold(0)
+                .build());
+        int buyers = 6;
+        ExecutorService executor = Executors.newFixedThreadPool(buyers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < buyers; i++) {
+            Jwt jwt = jwtFor("flash-buyer-" + i);
+            CreateOrderRequest request = requestFor(product, 1);
+            results.add(executor.submit(() -> {
+                start.await();
+                try {
+                    orderService.createOrder(jwt.getSubject(), request, jwt);
+                    return true;
+                } catch (IllegalArgumentException e) {
+                    return false;
+                }
+            }));
+        }
+
+        // Act
+        start.countDown();
+        int succeeded = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(30, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        executor.shutdown();
+
+        // Assert
+        assertThat(succeeded).isEqualTo(3);
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(orderRepository.count()).isEqualTo(3);
+    }
+
+    @Test
+    void createOrder_insufficientStockOnSecondItem_rollsBackWholeOrder() {
+        // Arrange
+        Product plenty = productRepository.save(Product.builder()
+                .name("Plenty").price(new BigDecimal("1.00")).stockQuantity(10).build());
+        Product scarce = productRepository.save(Product.builder()
+                .name("Scarce").price(new BigDecimal("1.00")).stockQuantity(1).build());
+        CreateOrderRequest request = requestFor(plenty, 2);
+        CreateOrderRequest.OrderItemRequest scarceItem = new CreateOrderRequest.OrderItemRequest();
+        scarceItem.setProductId(scarce.getProductId());
+        scarceItem.setQuantity(2);
+        request.setItems(List.of(request.getItems().get(0), scarceItem));
+        Jwt jwt = jwtFor("rollback-buyer");
+
+        // Act
+        assertThatThrownBy(() -> orderService.createOrder(jwt.getSubject(), request, jwt))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Scarce");
+
+        // Assert
+        assertThat(productRepository.findById(plenty.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(10);
+        assertThat(productRepository.findById(scarce.getProductId()).orElseThrow().getStockQuantity()).isEqualTo(1);
+        assertThat(orderRepository.count()).isZero();
+    }
+
+    @Test
+    void createOrder_stockHeldByAnotherUser_isNotSold() {
+        // Arrange - the holder reserves 2 of the 3 units at checkout
+        Product product = productRepository.save(Product.builder()
+                .name("Held").price(new BigDecimal("5.00")).stockQuantity(3).build());
+        Jwt holder = jwtFor("holder");
+        Jwt other = jwtFor("other-buyer");
+        cartRepository.save(Cart.builder()
+                .userId(holder.getSubject())
+                .productId(product.getProductId())
+                .quantity(2)
+                .unitPrice(product.getPrice())
+                .build());
+        stockReservationService.reserveCart(holder.getSubject());
+
+        // Act & Assert - only the unheld unit is on sale to anyone else
+        assertThatThrownBy(() -> orderService.createOrder(other.getSubject(), requestFor(product, 2), other))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Held");
+        orderService.createOrder(other.getSubject(), requestFor(product, 1), other);
+
+        // The holder's own order consumes the hold
+        orderService.createOrder(holder.getSubject(), requestFor(product, 2), holder);
+        assertThat(productRepository.findById(product.getProductId()).orElseThrow().getStockQuantity()).isZero();
+        assertThat(stockReservationRepository.count()).isZero();
+    }
+
+    private Jwt jwtFor(String subject) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("sub", subject)
+                .claim("email", subject + "@example.com")
+                .claim("name", "Buyer " + subject)
+                .build();
+    }
+
+    private CreateOrderRequest requestFor(Product product, int quantity) {
+        CreateOrderRequest.OrderItemRequest itemReq = new CreateOrderRequest.OrderItemRequest();
+        itemReq.setProductId(product.getProductId());
+        itemReq.setQuantity(quantity);
+        itemReq.setPrice(product.getPrice());
+
+        CreateOrderRequest.Address address = new CreateOrderRequest.Address(
+                "Test User", "123 Street", "City", "0000", "+100000000"
+        );
+
+        return CreateOrderRequest.builder()
+                .items(List.of(itemReq))
+                .total(product.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                .shipping(new CreateOrderRequest.ShippingInfo(address, BigDecimal.ZERO))
+                .build();
+    }
 }
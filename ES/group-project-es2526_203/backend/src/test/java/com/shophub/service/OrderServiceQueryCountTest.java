@@ -0,0 +1,205 @@
+package com.shophub.service;
+
+import com.shophub.dto.CreateOrderRequest;
+import com.shophub.model.Order;
+import com.shophub.model.OrderItem;
+import com.shophub.model.Product;
+import com.shophub.model.User;
+import com.shophub.repository.CartRepository;
+import com.shophub.repository.InventoryMovementRepository;
+import com.shophub.repository.OrderItemRepository;
+import com.shophub.repository.OrderRepository;
+import com.shophub.repository.OrderStatusStatsRepository;
+import com.shophub.repository.OutboxEventRepository;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.UserRepository;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the order paths against N+1 queries: reads must not grow with the number of
+ * orders, items or customers, and checkout must insert its items as one batch.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=" +
+        "com.shophub.service.OrderServiceQueryCountTest$StatementCounter")
+public class OrderServiceQueryCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    @Autowired
+    private OrderStatusStatsRepository orderStatusStatsRepository;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @AfterEach
+    void cleanup() {
+        outboxEventRepository.deleteAllInBatch();
+        cartRepository.deleteAllInBatch();
+        inventoryMovementRepository.deleteAllInBatch();
+        orderStatusStatsRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void getAllOrders_usesTheSameStatementsForOneOrderAndForMany() {
+        // Arrange
+        createOrders("qc-customer-0", 1);
+        long oneOrder = statements(() -> orderService.getAllOrders(null, "qc-customer"));
+        for (int customer = 1; customer <= 4; customer++) {
+            createOrders("qc-customer-" + customer, 5);
+        }
+
+        // Act
+        List<Order> orders = orderService.getAllOrders(null, "qc-customer");
+        long manyOrders = statements(() -> orderService.getAllOrders(null, "qc-customer"));
+
+        // Assert - orders, items and customers: one statement each
+        assertThat(orders).hasSize(21);
+        assertThat(orders).allSatisfy(order -> {
+            assertThat(order.getItems()).hasSize(2);
+            assertThat(order.getItems()).allSatisfy(item -> assertThat(item.getProductName()).isNotNull());
+            assertThat(order.getFirstName()).isEqualTo("Query");
+        });
+        assertThat(manyOrders).isEqualTo(oneOrder).isEqualTo(3);
+    }
+
+    @Test
+    void getUserOrders_usesTheSameStatementsForOneOrderAndForMany() {
+        // Arrange
+        createOrders("qc-buyer", 1);
+        long oneOrder = statements(() -> orderService.getUserOrders("qc-buyer"));
+        createOrders("qc-buyer", 9);
+
+        // Act
+        long manyOrders = statements(() -> orderService.getUserOrders("qc-buyer"));
+
+        // Assert - orders and items
+        assertThat(orderService.getUserOrders("qc-buyer")).hasSize(10);
+        assertThat(manyOrders).isEqualTo(oneOrder).isEqualTo(2);
+    }
+
+    @Test
+    void createOrder_insertsAllItemsWithOneBatchedStatementAndNoReadBack() {
+        // Arrange - a 20-line checkout
+        List<CreateOrderRequest.OrderItemRequest> lines = new ArrayList<>();
+        for (int line = 0; line < 20; line++) {
+            Product product = productRepository.save(Product.builder()
+                    .name("Line " + line).price(new BigDecimal("2.00")).stockQuantity(10).lowStockThreshold(1).build());
+            lines.add(new CreateOrderRequest.OrderItemRequest(
+                    product.getProductId(), null, 1, product.getPrice(), product.getName()));
+        }
+        CreateOrderRequest request = CreateOrderRequest.builder()
+                .items(lines)
+                .total(new BigDecimal("40.00"))
+                .shipping(new CreateOrderRequest.ShippingInfo(new CreateOrderRequest.Address(
+                        "Batch Buyer", "1 Street", "City", "0000", "+100000000"), BigDecimal.ZERO))
+                .build();
+        Jwt jwt = Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("sub", "qc-checkout")
+                .claim("email", "qc-checkout@example.com")
+                .claim("given_name", "Batch")
+                .claim("family_name", "Buyer")
+                .build();
+        userService.getOrCreateUser(jwt);
+
+        // Act
+        StatementCounter.STATEMENTS.get().clear();
+        Order order = orderService.createOrder("qc-checkout", request, jwt);
+        List<String> statements = List.copyOf(StatementCounter.STATEMENTS.get());
+
+        // Assert
+        assertThat(order.getItems()).hasSize(20).allSatisfy(item -> assertThat(item.getOrderItemId()).isNotNull());
+        assertThat(orderItemRepository.findByOrderIdInOrderByOrderItemIdAsc(List.of(order.getOrderId()))).hasSize(20);
+        assertThat(statements).filteredOn(sql -> sql.startsWith("insert into order_items")).hasSize(1);
+        assertThat(statements).filteredOn(sql -> sql.startsWith("select") && sql.contains(" order_items ")).isEmpty();
+        assertThat(statements).filteredOn(sql -> sql.startsWith("select") && sql.contains(" products ")).hasSize(1);
+        // Side effects cost one outbox insert; the cart is cleared after commit
+        assertThat(statements).filteredOn(sql -> sql.startsWith("insert into outbox_events")).hasSize(1);
+        assertThat(statements).filteredOn(sql -> sql.startsWith("delete from cart")).isEmpty();
+    }
+
+    private void createOrders(String userId, int count) {
+        if (!userRepository.existsById(userId)) {
+            userRepository.save(User.builder()
+                    .userId(userId).email(userId + "@example.com").firstName("Query").lastName("Count")
+                    .role("customer").build());
+        }
+        for (int i = 0; i < count; i++) {
+            Order order = orderRepository.save(Order.builder()
+                    .userId(userId).orderStatus("pending").totalAmount(new BigDecimal("30.00")).build());
+            for (int line = 0; line < 2; line++) {
+                Product product = productRepository.save(Product.builder()
+                        .name("Item " + i + "-" + line).price(new BigDecimal("15.00")).stockQuantity(5).build());
+                OrderItem item = OrderItem.builder()
+                        .orderId(order.getOrderId()).productId(product.getProductId()).quantity(1)
+                        .unitPrice(new BigDecimal("15.00")).subtotal(new BigDecimal("15.00")).build();
+                item.snapshotProduct(product);
+                orderItemRepository.save(item);
+            }
+        }
+    }
+
+    private static long statements(Supplier<?> call) {
+        StatementCounter.STATEMENTS.get().clear();
+        call.get();
+        return StatementCounter.STATEMENTS.get().size();
+    }
+
+    /**
+     * Records the statements Hibernate prepares on the calling thread, so scheduled jobs
+     * running alongside the test do not skew the count. A JDBC batch is prepared once.
+     */
+    public static class StatementCounter implements StatementInspector {
+
+        static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.get().add(sql.replaceAll("\\s+", " ").trim().toLowerCase());
+            return sql;
+        }
+    }
+}
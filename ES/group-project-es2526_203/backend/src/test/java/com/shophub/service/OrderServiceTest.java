@@ -2,16 +2,21 @@ package com.shophub.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.shophub.dto.CreateOrderRequest;
+import com.shophub.dto.OrderOutboxPayload;
 import com.shophub.exception.ResourceNotFoundException;
+import com.shophub.model.InventoryMovement;
 import com.shophub.model.Order;
 import com.shophub.model.OrderItem;
+import com.shophub.model.OutboxEvent;
 import com.shophub.model.Product;
+import com.shophub.model.User;
 import com.shophub.repository.OrderItemRepository;
 import com.shophub.repository.OrderRepository;
 import com.shophub.repository.ProductRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,13 +24,18 @@ import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,13 +51,28 @@ class OrderServiceTest {
     private ProductRepository productRepository;
 
     @Mock
-    private NotificationService notificationService;
+    private UserService userService;
 
     @Mock
-    private UserService userService;
+    private ProductCatalogCache productCatalogCache;
+
+    @Mock
+    private StockReservationService stockReservationService;
+
+    @Mock
+    private HotInventoryService hotInventoryService;
+
+    @Mock
+    private InventoryLedgerService inventoryLedgerService;
+
+    @Mock
+    private StockAlertService stockAlertService;
+
+    @Mock
+    private OrderStatsService orderStatsService;
 
     @Mock
-    private CartService cartService;
+    private OutboxService outboxService;
 
     @Mock
     private ObjectMapper objectMapper;
@@ -62,9 +87,16 @@ class OrderServiceTest {
     private OrderItem testOrderItem;
     private Product testProduct;
     private CreateOrderRequest testOrderRequest;
+    private User activeUser;
 
     @BeforeEach
     void setUp() {
+        activeUser = User.builder()
+                .userId("user123")
+                .isLocked(false)
+                .isDeactivated(false)
+                .build();
+
         testProduct = Product.builder()
                 .productId(1)
                 .name("Test Product")
@@ -80,6 +112,8 @@ class OrderServiceTest {
                 .quantity(2)
                 .unitPrice(new BigDecimal("99.99"))
                 .subtotal(new BigDecimal("199.98"))
+                .productName("Test Product")
+                .productImage("image1.jpg")
                 .build();
 
         testOrder = Order.builder()
@@ -114,8 +148,7 @@ class OrderServiceTest {
         List<Order> orders = Arrays.asList(testOrder);
         List<OrderItem> items = Arrays.asList(testOrderItem);
         when(orderRepository.findByUserIdOrderByCreatedAtDesc("user123")).thenReturn(orders);
-        when(orderItemRepository.findByOrderId(1)).thenReturn(items);
-        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
+        when(orderItemRepository.findByOrderIdInOrderByOrderItemIdAsc(List.of(1))).thenReturn(items);
 
         // When
         List<Order> result = orderService.getUserOrders("user123");
@@ -124,9 +157,10 @@ class OrderServiceTest {
         assertEquals(1, result.size());
         assertEquals(1, result.get(0).getItems().size());
         assertEquals("Test Product", result.get(0).getItems().get(0).getProductName());
+        assertEquals(List.of("image1.jpg"), result.get(0).getItems().get(0).getImages());
         verify(orderRepository).findByUserIdOrderByCreatedAtDesc("user123");
-        verify(orderItemRepository).findByOrderId(1);
-        verify(productRepository).findById(1);
+        verify(orderItemRepository).findByOrderIdInOrderByOrderItemIdAsc(List.of(1));
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -134,8 +168,7 @@ class OrderServiceTest {
         // Given
         List<OrderItem> items = Arrays.asList(testOrderItem);
         when(orderRepository.findByOrderIdAndUserId(1, "user123")).thenReturn(Optional.of(testOrder));
-        when(orderItemRepository.findByOrderId(1)).thenReturn(items);
-        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
+        when(orderItemRepository.findByOrderIdInOrderByOrderItemIdAsc(List.of(1))).thenReturn(items);
 
         // When
         Order result = orderService.getOrderById("user123", 1);
@@ -144,9 +177,10 @@ class OrderServiceTest {
         assertEquals("pending", result.getOrderStatus());
         assertEquals(1, result.getItems().size());
         assertEquals("Test Product", result.getItems().get(0).getProductName());
+        assertEquals(List.of("image1.jpg"), result.getItems().get(0).getImages());
         verify(orderRepository).findByOrderIdAndUserId(1, "user123");
-        verify(orderItemRepository).findByOrderId(1);
-        verify(productRepository).findById(1);
+        verify(orderItemRepository).findByOrderIdInOrderByOrderItemIdAsc(List.of(1));
+        verifyNoInteractions(productRepository);
     }
 
     @Test
@@ -165,11 +199,10 @@ class OrderServiceTest {
         when(userService.getOrCreateUser(jwt)).thenReturn(null);
         when(objectMapper.writeValueAsString(any())).thenReturn("{}");
         when(objectMapper.readValue(anyString(), eq(java.util.Map.class))).thenReturn(java.util.Map.of());
+        when(userService.getUserById("user123")).thenReturn(activeUser);
+        when(productRepository.decrementStock(eq(1), eq(2), eq("user123"), any(LocalDateTime.class))).thenReturn(1);
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
-        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
-        when(orderItemRepository.save(any(OrderItem.class))).thenReturn(testOrderItem);
-        when(orderRepository.findByOrderIdAndUserId(1, "user123")).thenReturn(Optional.of(testOrder));
-        when(orderItemRepository.findByOrderId(1)).thenReturn(Arrays.asList(testOrderItem));
 
         // When
         Order result = orderService.createOrder("user123", testOrderRequest, jwt);
@@ -178,15 +211,112 @@ class OrderServiceTest {
         assertNotNull(result);
         verify(userService).getOrCreateUser(jwt);
         verify(orderRepository).save(any(Order.class));
-        verify(productRepository, atLeastOnce()).findById(1); // Can be called multiple times
-        verify(orderItemRepository).save(any(OrderItem.class));
-        verify(cartService).clearCart("user123");
+        verify(productRepository).decrementStock(eq(1), eq(2), eq("user123"), any(LocalDateTime.class));
+        verify(productRepository, never()).save(any(Product.class));
+        verify(orderItemRepository).saveAll(result.getItems());
+        verify(orderItemRepository, never()).save(any(OrderItem.class));
+        assertEquals(1, result.getItems().size());
+        assertEquals("Test Product", result.getItems().get(0).getProductName());
+        assertEquals("image1.jpg", result.getItems().get(0).getProductImage());
+        assertEquals(List.of("image1.jpg"), result.getItems().get(0).getImages());
+        // The response is built from what was just written, not read back
+        verify(orderRepository, never()).findByOrderIdAndUserId(anyInt(), anyString());
+        verify(orderItemRepository, never()).findByOrderIdInOrderByOrderItemIdAsc(any());
+        verify(stockReservationService).release("user123", Set.of(1));
+        verify(stockAlertService).onStockChanged(testProduct);
+        verify(outboxService).enqueue(eq(OutboxEvent.TYPE_ORDER_PLACED), any(OrderOutboxPayload.class));
+        verify(orderStatsService).orderCreated(testOrder);
+    }
+
+    @Test
+    void createOrder_ShouldDecrementStockInProductIdOrderWithMergedQuantities() throws Exception {
+        // Given
+        Product otherProduct = Product.builder()
+                .productId(7)
+                .name("Other Product")
+                .price(new BigDecimal("5.00"))
+                .stockQuantity(40)
+                .build();
+        testOrderRequest.setItems(Arrays.asList(
+                new CreateOrderRequest.OrderItemRequest(7, null, 1, new BigDecimal("5.00"), "Other Product"),
+                new CreateOrderRequest.OrderItemRequest(1, null, 2, new BigDecimal("99.99"), "Test Product"),
+                new CreateOrderRequest.OrderItemRequest(7, null, 3, new BigDecimal("5.00"), "Other Product")));
+        when(userService.getUserById("user123")).thenReturn(activeUser);
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(objectMapper.readValue(anyString(), eq(java.util.Map.class))).thenReturn(java.util.Map.of());
+        when(productRepository.decrementStock(anyInt(), anyInt(), anyString(), any(LocalDateTime.class))).thenReturn(1);
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct, otherProduct));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        // When
+        Order result = orderService.createOrder("user123", testOrderRequest, jwt);
+
+        // Then
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).decrementStock(eq(1), eq(2), eq("user123"), any(LocalDateTime.class));
+        inOrder.verify(productRepository).decrementStock(eq(7), eq(4), eq("user123"), any(LocalDateTime.class));
+        verify(productRepository, times(2)).decrementStock(anyInt(), anyInt(), anyString(), any(LocalDateTime.class));
+        verify(orderItemRepository).saveAll(result.getItems());
+        assertEquals(3, result.getItems().size());
+    }
+
+    @Test
+    void createOrder_ShouldSellHotProductsFromEscrowWithoutTheRowDecrement() throws Exception {
+        // Given - product 7 is in hot-inventory mode, product 1 is not
+        Product hotProduct = Product.builder()
+                .productId(7)
+                .name("Drop Sneaker")
+                .price(new BigDecimal("150.00"))
+                .stockQuantity(500)
+                .build();
+        testOrderRequest.setItems(Arrays.asList(
+                new CreateOrderRequest.OrderItemRequest(1, null, 2, new BigDecimal("99.99"), "Test Product"),
+                new CreateOrderRequest.OrderItemRequest(7, null, 1, new BigDecimal("150.00"), "Drop Sneaker")));
+        when(userService.getUserById("user123")).thenReturn(activeUser);
+        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
+        when(objectMapper.readValue(anyString(), eq(java.util.Map.class))).thenReturn(java.util.Map.of());
+        when(hotInventoryService.tryTake(1, 2)).thenReturn(null);
+        when(hotInventoryService.tryTake(7, 1)).thenReturn("lease-7");
+        when(productRepository.decrementStock(eq(1), eq(2), eq("user123"), any(LocalDateTime.class))).thenReturn(1);
+        when(productRepository.findAllById(any())).thenReturn(List.of(testProduct, hotProduct));
+        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+
+        // When
+        Order result = orderService.createOrder("user123", testOrderRequest, jwt);
+
+        // Then - escrow is consulted before any row lock is taken
+        InOrder inOrder = inOrder(hotInventoryService, productRepository);
+        inOrder.verify(hotInventoryService).tryTake(7, 1);
+        inOrder.verify(productRepository).decrementStock(eq(1), eq(2), eq("user123"), any(LocalDateTime.class));
+        verify(productRepository, never()).decrementStock(eq(7), anyInt(), anyString(), any(LocalDateTime.class));
+
+        List<OrderItem> items = result.getItems();
+        verify(orderItemRepository).saveAll(items);
+        assertNull(items.get(0).getStockLeaseId());
+        assertEquals("lease-7", items.get(1).getStockLeaseId());
+
+        // Only the row decrement is ledgered now; the hot sale is ledgered when its lease flushes
+        verify(inventoryLedgerService).record(1, -2, InventoryMovement.REASON_ORDER, 1, "user123");
+        verify(inventoryLedgerService, never()).record(eq(7), anyInt(), anyString(), any(), anyString());
+    }
+
+    @Test
+    void createOrder_ShouldRejectNonPositiveQuantity() {
+        // Given
+        when(userService.getUserById("user123")).thenReturn(activeUser);
+        testOrderRequest.getItems().get(0).setQuantity(0);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder("user123", testOrderRequest, jwt));
+        verify(productRepository, never()).decrementStock(anyInt(), anyInt(), anyString(), any(LocalDateTime.class));
+        verify(orderRepository, never()).save(any(Order.class));
     }
 
     @Test
     void createOrder_ShouldThrowExceptionWhenShippingAddressMissing() {
         // Given
         testOrderRequest.setShipping(null);
+        when(userService.getUserById("user123")).thenReturn(activeUser);
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> orderService.createOrder("user123", testOrderRequest, jwt));
@@ -197,6 +327,7 @@ class OrderServiceTest {
     void createOrder_ShouldThrowExceptionWhenItemsEmpty() {
         // Given
         testOrderRequest.setItems(Arrays.asList());
+        when(userService.getUserById("user123")).thenReturn(activeUser);
 
         // When & Then
         assertThrows(IllegalArgumentException.class, () -> orderService.createOrder("user123", testOrderRequest, jwt));
@@ -207,14 +338,14 @@ class OrderServiceTest {
     void createOrder_ShouldThrowExceptionWhenProductNotFound() throws Exception {
         // Given
         when(userService.getOrCreateUser(jwt)).thenReturn(null);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
-        when(objectMapper.readValue(anyString(), eq(java.util.Map.class))).thenReturn(java.util.Map.of());
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(userService.getUserById("user123")).thenReturn(activeUser);
+        when(productRepository.decrementStock(eq(1), eq(2), eq("user123"), any(LocalDateTime.class))).thenReturn(0);
         when(productRepository.findById(1)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> orderService.createOrder("user123", testOrderRequest, jwt));
         verify(productRepository).findById(1);
+        verify(orderRepository, never()).save(any(Order.class));
         verify(orderItemRepository, never()).save(any(OrderItem.class));
     }
 
@@ -223,14 +354,16 @@ class OrderServiceTest {
         // Given
         testProduct.setStockQuantity(1);
         when(userService.getOrCreateUser(jwt)).thenReturn(null);
-        when(objectMapper.writeValueAsString(any())).thenReturn("{}");
-        when(objectMapper.readValue(anyString(), eq(java.util.Map.class))).thenReturn(java.util.Map.of());
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(userService.getUserById("user123")).thenReturn(activeUser);
+        when(productRepository.decrementStock(eq(1), eq(2), eq("user123"), any(LocalDateTime.class))).thenReturn(0);
         when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
 
         // When & Then
-        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder("user123", testOrderRequest, jwt));
-        verify(productRepository).findById(1);
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> orderService.createOrder("user123", testOrderRequest, jwt));
+        assertEquals("Insufficient stock for product: Test Product", exception.getMessage());
+        verify(productRepository, never()).save(any(Product.class));
+        verify(orderRepository, never()).save(any(Order.class));
         verify(orderItemRepository, never()).save(any(OrderItem.class));
     }
 
@@ -247,6 +380,8 @@ class OrderServiceTest {
         assertEquals("shipped", result.getOrderStatus());
         verify(orderRepository).findById(1);
         verify(orderRepository).save(testOrder);
+        verify(orderStatsService).statusChanged(testOrder, "pending");
+        verify(outboxService).enqueue(eq(OutboxEvent.TYPE_ORDER_STATUS_CHANGED), any(OrderOutboxPayload.class));
     }
 
     @Test
@@ -277,8 +412,9 @@ class OrderServiceTest {
         List<Order> orders = Arrays.asList(testOrder);
         List<OrderItem> items = Arrays.asList(testOrderItem);
         when(orderRepository.findAllWithFilters(null, null)).thenReturn(orders);
-        when(orderItemRepository.findByOrderId(1)).thenReturn(items);
-        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
+        when(orderItemRepository.findByOrderIdInOrderByOrderItemIdAsc(List.of(1))).thenReturn(items);
+        activeUser.setFirstName("Ana");
+        when(userService.getUsersByIds(Set.of("user123"))).thenReturn(Map.of("user123", activeUser));
 
         // When
         List<Order> result = orderService.getAllOrders(null, null);
@@ -287,8 +423,11 @@ class OrderServiceTest {
         assertEquals(1, result.size());
         assertEquals(1, result.get(0).getItems().size());
         assertEquals("Test Product", result.get(0).getItems().get(0).getProductName());
+        assertEquals(List.of("image1.jpg"), result.get(0).getItems().get(0).getImages());
+        assertEquals("Ana", result.get(0).getFirstName());
         verify(orderRepository).findAllWithFilters(null, null);
-        verify(orderItemRepository).findByOrderId(1);
-        verify(productRepository).findById(1);
+        verify(orderItemRepository).findByOrderIdInOrderByOrderItemIdAsc(List.of(1));
+        verifyNoInteractions(productRepository);
+        verify(userService, never()).getUserById(anyString());
     }
 }
@@ -0,0 +1,113 @@
+package com.shophub.service;
+
+import com.shophub.model.Order;
+import com.shophub.model.OrderItem;
+import com.shophub.model.Product;
+import com.shophub.repository.OrderItemRepository;
+import com.shophub.repository.OrderRepository;
+import com.shophub.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "orders.snapshot-backfill.batch-size=2",
+        // The test runs the backfill explicitly
+        "orders.snapshot-backfill.interval=PT1H"
+})
+public class OrderSnapshotBackfillServiceIntegrationTest {
+
+    @Autowired
+    private OrderSnapshotBackfillService backfillService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @AfterEach
+    void cleanup() {
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    @Transactional // keeps the products loaded: H2 cannot read the jsonb images back
+    void backfill_fillsLegacyItemsInBatchesAndSkipsDeletedProducts() {
+        // Arrange - items sold before the snapshot existed
+        Product lamp = productRepository.save(Product.builder()
+                .name("Desk Lamp").sku("LAMP-1").price(new BigDecimal("25.00")).stockQuantity(3)
+                .images(List.of("lamp-front.jpg", "lamp-side.jpg")).build());
+        Product chair = productRepository.save(Product.builder()
+                .name("Chair").sku("CHAIR-1").price(new BigDecimal("80.00")).stockQuantity(3).build());
+        Product gone = productRepository.save(Product.builder()
+                .name("Discontinued").price(new BigDecimal("5.00")).stockQuantity(0).build());
+        Order order = orderRepository.save(Order.builder()
+                .userId("backfill-customer").orderStatus("delivered").totalAmount(new BigDecimal("135.00")).build());
+        for (Product product : List.of(lamp, chair, lamp, gone)) {
+            orderItemRepository.save(OrderItem.builder()
+                    .orderId(order.getOrderId()).productId(product.getProductId()).quantity(1)
+                    .unitPrice(product.getPrice()).subtotal(product.getPrice()).build());
+        }
+        productRepository.deleteAllByIdInBatch(List.of(gone.getProductId()));
+
+        // Act - three fillable items over two batches
+        int filled = backfillService.backfill();
+
+        // Assert
+        assertThat(filled).isEqualTo(3);
+        assertThat(backfillService.backfill()).isZero();
+        assertThat(orderItemRepository.findByOrderIdInOrderByOrderItemIdAsc(List.of(order.getOrderId())))
+                .extracting(OrderItem::getProductName, OrderItem::getProductSku, OrderItem::getProductImage)
+                .containsExactly(
+                        tuple("Desk Lamp", "LAMP-1", "lamp-front.jpg"),
+                        tuple("Chair", "CHAIR-1", null),
+                        tuple("Desk Lamp", "LAMP-1", "lamp-front.jpg"),
+                        tuple(null, null, null));
+    }
+
+    @Test
+    void orderHistory_keepsTheSoldNameAfterTheProductIsRenamed() {
+        // Arrange
+        Product product = productRepository.save(Product.builder()
+                .name("Old Name").price(new BigDecimal("10.00")).stockQuantity(3).build());
+        Order order = orderRepository.save(Order.builder()
+                .userId("snapshot-customer").orderStatus("pending").totalAmount(new BigDecimal("10.00")).build());
+        OrderItem item = OrderItem.builder()
+                .orderId(order.getOrderId()).productId(product.getProductId()).quantity(1)
+                .unitPrice(product.getPrice()).subtotal(product.getPrice()).build();
+        item.snapshotProduct(product);
+        orderItemRepository.save(item);
+
+        // Act
+        product.setName("New Name");
+        productRepository.save(product);
+        List<Order> history = orderService.getUserOrders("snapshot-customer");
+
+        // Assert
+        assertThat(history).hasSize(1);
+        assertThat(history.get(0).getItems())
+                .extracting(OrderItem::getProductName)
+                .containsExactly("Old Name");
+    }
+}
@@ -0,0 +1,151 @@
+package com.shophub.service;
+
+import com.shophub.model.Order;
+import com.shophub.repository.NotificationRepository;
+import com.shophub.repository.OrderRepository;
+import com.shophub.repository.OrderStatusStatsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OrderStatsServiceIntegrationTest {
+
+    @Autowired
+    private OrderStatsService orderStatsService;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderStatusStatsRepository statsRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanup() {
+        notificationRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        statsRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void statusTransitions_keepTheCountersInStepWithTheOrders() {
+        // Arrange - counters seeded from existing orders
+        Order first = order("pending", "40.00");
+        order("pending", "10.00");
+        order("delivered", "25.00");
+        orderStatsService.rebuildAll();
+
+        // Act
+        orderService.confirmPayment(first.getOrderId());
+        orderService.markAsShipped(first.getOrderId(), "TRK-STATS", "CTT");
+        Map<String, Object> statistics = orderStatsService.getStatistics();
+
+        // Assert
+        assertThat(statistics)
+                .containsEntry("totalOrders", 3L)
+                .containsEntry("pendingOrders", 1L)
+                .containsEntry("processingOrders", 0L)
+                .containsEntry("shippedOrders", 1L)
+                .containsEntry("deliveredOrders", 1L);
+        assertThat((BigDecimal) statistics.get("totalRevenue")).isEqualByComparingTo("75.00");
+        assertThat(orderStatsService.rebuildAll()).isZero();
+    }
+
+    @Test
+    void rejectedTransition_leavesTheCountersUntouched() {
+        // Arrange
+        Order delivered = order("delivered", "30.00");
+        orderStatsService.rebuildAll();
+
+        // Act
+        assertThatThrownBy(() -> orderService.confirmPayment(delivered.getOrderId()))
+                .isInstanceOf(IllegalStateException.class);
+
+        // Assert
+        assertThat(orderStatsService.getStatistics()).containsEntry("deliveredOrders", 1L);
+        assertThat(orderStatsService.rebuildAll()).isZero();
+    }
+
+    @Test
+    void rebuildAll_correctsDriftedCounters() {
+        // Arrange - an order written around the service
+        orderStatsService.rebuildAll();
+        order("cancelled", "12.50");
+
+        // Act
+        int corrected = orderStatsService.rebuildAll();
+
+        // Assert
+        assertThat(corrected).isEqualTo(1);
+        assertThat(orderStatsService.getStatistics()).containsEntry("cancelledOrders", 1L);
+    }
+
+    @Test
+    void concurrentFirstOrdersOfAStatus_bothCount() throws Exception {
+        // Arrange - one checkout has created the "processing" row but not committed yet
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService otherCheckout = Executors.newSingleThreadExecutor();
+        Future<?> first = otherCheckout.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            orderStatsService.orderCreated(order("processing", "10.00"));
+            inserted.countDown();
+            await(commit);
+        }));
+        assertThat(inserted.await(30, TimeUnit.SECONDS)).isTrue();
+
+        // Act - the second checkout waits for the first row instead of failing on its key
+        ExecutorService secondCheckout = Executors.newSingleThreadExecutor();
+        Future<?> second = secondCheckout.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                orderStatsService.orderCreated(order("processing", "5.00"))));
+        Thread.sleep(200);
+        commit.countDown();
+        first.get(30, TimeUnit.SECONDS);
+        second.get(30, TimeUnit.SECONDS);
+        otherCheckout.shutdown();
+        secondCheckout.shutdown();
+
+        // Assert
+        assertThat(orderStatsService.getStatistics()).containsEntry("processingOrders", 2L);
+        assertThat(orderStatsService.rebuildAll()).isZero();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Order order(String status, String amount) {
+        return orderRepository.save(Order.builder()
+                .userId("stats-customer")
+                .orderStatus(status)
+                .totalAmount(new BigDecimal(amount))
+                .build());
+    }
+}
@@ -0,0 +1,175 @@
+package com.shophub.service;
+
+import com.shophub.model.Order;
+import com.shophub.model.OrderStatusStats;
+import com.shophub.repository.OrderRepository;
+import com.shophub.repository.OrderStatusStatsRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class OrderStatsServiceTest {
+
+    @Mock
+    private OrderStatusStatsRepository statsRepository;
+
+    @Mock
+    private OrderRepository orderRepository;
+
+    @Mock
+    private ClusterJobLock clusterJobLock;
+
+    @InjectMocks
+    private OrderStatsService statsService;
+
+    @Test
+    void orderCreated_ShouldCreateStatsRowForFirstOrderWithStatus() {
+        // Given - no row yet, so the first delta touches nothing
+        when(statsRepository.applyDelta(eq("pending"), eq(1L), eq(new BigDecimal("40.00")), any(LocalDateTime.class)))
+                .thenReturn(0, 1);
+
+        // When
+        statsService.orderCreated(order("pending", "40.00"));
+
+        // Then - the row is created empty and the delta applied to it, never written as an absolute value
+        InOrder inOrder = inOrder(statsRepository);
+        inOrder.verify(statsRepository).applyDelta(eq("pending"), eq(1L), eq(new BigDecimal("40.00")),
+                any(LocalDateTime.class));
+        inOrder.verify(statsRepository).insertIfMissing(eq("pending"), any(LocalDateTime.class));
+        inOrder.verify(statsRepository).applyDelta(eq("pending"), eq(1L), eq(new BigDecimal("40.00")),
+                any(LocalDateTime.class));
+        verify(statsRepository, never()).save(any(OrderStatusStats.class));
+    }
+
+    @Test
+    void statusChanged_ShouldMoveOrderBetweenRowsInStatusOrder() {
+        // Given
+        when(statsRepository.applyDelta(anyString(), anyLong(), any(BigDecimal.class), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // When - a shipped order goes back to processing; "processing" sorts first
+        statsService.statusChanged(order("processing", "25.00"), "shipped");
+
+        // Then
+        InOrder inOrder = inOrder(statsRepository);
+        inOrder.verify(statsRepository).applyDelta(eq("processing"), eq(1L), eq(new BigDecimal("25.00")),
+                any(LocalDateTime.class));
+        inOrder.verify(statsRepository).applyDelta(eq("shipped"), eq(-1L), eq(new BigDecimal("-25.00")),
+                any(LocalDateTime.class));
+        verify(statsRepository, never()).insertIfMissing(anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void statusChanged_ShouldSkipWriteWhenStatusUnchanged() {
+        // When
+        statsService.statusChanged(order("pending", "10.00"), "pending");
+
+        // Then
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void getStatistics_ShouldSumTheStatusRows() {
+        // Given
+        when(statsRepository.findAll()).thenReturn(List.of(
+                stats("pending", 2L, "30.00"),
+                stats("delivered", 1L, "70.00"),
+                stats("cancelled", 1L, "5.00")));
+
+        // When
+        Map<String, Object> statistics = statsService.getStatistics();
+
+        // Then
+        assertEquals(4L, statistics.get("totalOrders"));
+        assertEquals(2L, statistics.get("pendingOrders"));
+        assertEquals(0L, statistics.get("shippedOrders"));
+        assertEquals(1L, statistics.get("deliveredOrders"));
+        assertEquals(0, new BigDecimal("105.00").compareTo((BigDecimal) statistics.get("totalRevenue")));
+    }
+
+    @Test
+    void rebuildAll_ShouldCorrectDriftedAndMissingRowsUnderLock() {
+        // Given - pending drifted, shipped has no orders counted yet, cancelled has no orders left
+        OrderStatusStats drifted = stats("pending", 5L, "50.00");
+        OrderStatusStats orphaned = stats("cancelled", 1L, "9.00");
+        OrderStatusStats accurate = stats("delivered", 1L, "20.00");
+        OrderStatusStats created = stats("shipped", 0L, "0");
+        when(clusterJobLock.tryLock(ClusterJobLock.ORDER_STATS_REBUILD)).thenReturn(true);
+        when(statsRepository.lockAll()).thenReturn(List.of(orphaned, accurate, drifted, created));
+        when(orderRepository.countAndSumByStatus()).thenReturn(List.of(
+                new Object[]{"pending", 3L, new BigDecimal("30.00")},
+                new Object[]{"shipped", 1L, new BigDecimal("15.00")},
+                new Object[]{"delivered", 1L, new BigDecimal("20.00")}));
+
+        // When
+        int corrected = statsService.rebuildAll();
+
+        // Then - rows exist and are locked before the orders are counted
+        assertEquals(3, corrected);
+        assertEquals(3L, drifted.getOrderCount());
+        assertEquals(0, new BigDecimal("30.00").compareTo(drifted.getTotalAmount()));
+        assertEquals(0L, orphaned.getOrderCount());
+        assertEquals(1L, created.getOrderCount());
+        InOrder inOrder = inOrder(statsRepository, orderRepository);
+        inOrder.verify(statsRepository).insertIfMissing(eq("shipped"), any(LocalDateTime.class));
+        inOrder.verify(statsRepository).lockAll();
+        inOrder.verify(orderRepository).countAndSumByStatus();
+        verify(statsRepository, never()).findAll();
+    }
+
+    @Test
+    void rebuildAll_ShouldLockAgainWhenAnUnknownStatusIsCounted() {
+        // Given - "returned" has orders but no row on the first pass
+        OrderStatusStats returned = stats("returned", 0L, "0");
+        when(clusterJobLock.tryLock(ClusterJobLock.ORDER_STATS_REBUILD)).thenReturn(true);
+        when(statsRepository.lockAll()).thenReturn(List.of(), List.of(returned));
+        when(orderRepository.countAndSumByStatus()).thenReturn(List.<Object[]>of(
+                new Object[]{"returned", 2L, new BigDecimal("12.00")}));
+
+        // When
+        int corrected = statsService.rebuildAll();
+
+        // Then
+        assertEquals(1, corrected);
+        assertEquals(2L, returned.getOrderCount());
+        verify(statsRepository).insertIfMissing(eq("returned"), any(LocalDateTime.class));
+        verify(statsRepository, times(2)).lockAll();
+    }
+
+    @Test
+    void rebuildAll_ShouldSkipWhenAnotherNodeIsRebuilding() {
+        // Given
+        when(clusterJobLock.tryLock(ClusterJobLock.ORDER_STATS_REBUILD)).thenReturn(false);
+
+        // When
+        int corrected = statsService.rebuildAll();
+
+        // Then
+        assertEquals(0, corrected);
+        verifyNoInteractions(statsRepository, orderRepository);
+    }
+
+    private static Order order(String status, String amount) {
+        return Order.builder().orderId(1).orderStatus(status).totalAmount(new BigDecimal(amount)).build();
+    }
+
+    private static OrderStatusStats stats(String status, long count, String amount) {
+        return OrderStatusStats.builder().orderStatus(status).orderCount(count).totalAmount(new BigDecimal(amount)).build();
+    }
+}
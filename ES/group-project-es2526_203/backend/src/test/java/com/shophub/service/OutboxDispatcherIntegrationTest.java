@@ -0,0 +1,278 @@
+package com.shophub.service;
+
+import com.shophub.dto.CreateOrderRequest;
+import com.shophub.model.Cart;
+import com.shophub.model.Notification;
+import com.shophub.model.Order;
+import com.shophub.model.OutboxEvent;
+import com.shophub.model.Product;
+import com.shophub.model.StockReservation;
+import com.shophub.repository.CartRepository;
+import com.shophub.repository.InventoryMovementRepository;
+import com.shophub.repository.NotificationRepository;
+import com.shophub.repository.OrderItemRepository;
+import com.shophub.repository.OrderRepository;
+import com.shophub.repository.OrderStatusStatsRepository;
+import com.shophub.repository.OutboxEventRepository;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.StockReservationRepository;
+import com.shophub.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.AopTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class OutboxDispatcherIntegrationTest {
+
+    @Autowired
+    private OutboxDispatcher dispatcher;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private OrderStatusStatsRepository orderStatusStatsRepository;
+
+    @Autowired
+    private InventoryMovementRepository inventoryMovementRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CartRepository cartRepository;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @SpyBean
+    private NotificationService notificationService;
+
+    @BeforeEach
+    @AfterEach
+    void cleanup() {
+        outboxEventRepository.deleteAllInBatch();
+        notificationRepository.deleteAllInBatch();
+        cartRepository.deleteAllInBatch();
+        stockReservationRepository.deleteAllInBatch();
+        inventoryMovementRepository.deleteAllInBatch();
+        orderStatusStatsRepository.deleteAllInBatch();
+        orderItemRepository.deleteAllInBatch();
+        orderRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void confirmPayment_notifiesTheCustomerOnlyOnceDispatched() {
+        // Arrange
+        Order order = orderRepository.save(Order.builder()
+                .userId("outbox-customer").orderStatus("pending").totalAmount(new BigDecimal("20.00")).build());
+
+        // Act - the order write only records the event
+        orderService.confirmPayment(order.getOrderId());
+        List<OutboxEvent> recorded = outboxEventRepository.findAll();
+        List<Notification> beforeDispatch = notificationRepository.findAll();
+        int delivered = dispatcher.dispatch();
+
+        // Assert
+        assertThat(recorded).extracting(OutboxEvent::getEventType)
+                .containsExactly(OutboxEvent.TYPE_ORDER_PAYMENT_CONFIRMED);
+        assertThat(beforeDispatch).isEmpty();
+        assertThat(delivered).isEqualTo(1);
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc("outbox-customer"))
+                .extracting(Notification::getTitle)
+                .containsExactlyInAnyOrder("Payment Confirmed", "Order Status Updated");
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    @Test
+    void createOrder_clearsTheCheckedOutCartButKeepsLinesAddedAfterwardsAndTheirHolds() {
+        // Arrange
+        Product ordered = product("Checked Out");
+        Product later = product("Added Later");
+        cartRepository.save(Cart.builder()
+                .userId("cart-buyer").productId(ordered.getProductId()).quantity(1).unitPrice(ordered.getPrice()).build());
+        Order order = orderService.createOrder("cart-buyer", requestFor(ordered), jwtFor("cart-buyer"));
+        cartRepository.save(Cart.builder()
+                .userId("cart-buyer").productId(later.getProductId()).quantity(1).unitPrice(later.getPrice()).build());
+        stockReservationRepository.save(StockReservation.builder()
+                .userId("cart-buyer").productId(later.getProductId()).quantity(1)
+                .expiresAt(LocalDateTime.now().plusMinutes(15)).build());
+
+        // Act
+        long linesBeforeDispatch = cartRepository.count();
+        dispatcher.dispatch();
+
+        // Assert
+        assertThat(order.getOrderId()).isNotNull();
+        assertThat(linesBeforeDispatch).isEqualTo(2);
+        assertThat(cartRepository.findByUserId("cart-buyer"))
+                .extracting(Cart::getProductId)
+                .containsExactly(later.getProductId());
+        assertThat(stockReservationRepository.findByUserIdOrderByProductIdAsc("cart-buyer"))
+                .extracting(StockReservation::getProductId)
+                .containsExactly(later.getProductId());
+    }
+
+    @Test
+    void dispatch_failingEvent_isRetriedWithBackoffAndThenGivenUp() {
+        // Arrange - one event on its first attempt, one on its last
+        OutboxEvent first = outboxEventRepository.save(OutboxEvent.builder()
+                .eventType("unknown_event").payload("{}").build());
+        OutboxEvent last = outboxEventRepository.save(OutboxEvent.builder()
+                .eventType("unknown_event").payload("{}").attempts(9).build());
+
+        // Act
+        int delivered = dispatcher.dispatch();
+
+        // Assert
+        assertThat(delivered).isZero();
+        OutboxEvent retried = outboxEventRepository.findById(first.getEventId()).orElseThrow();
+        assertThat(retried.getStatus()).isEqualTo(OutboxEvent.STATUS_PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getAvailableAt()).isAfter(LocalDateTime.now());
+        assertThat(retried.getLastError()).contains("unknown_event");
+        OutboxEvent failed = outboxEventRepository.findById(last.getEventId()).orElseThrow();
+        assertThat(failed.getStatus()).isEqualTo(OutboxEvent.STATUS_FAILED);
+        assertThat(failed.getAttempts()).isEqualTo(10);
+        assertThat(dispatcher.dispatch()).isZero();
+    }
+
+    @Test
+    void dispatch_failingHandler_keepsTheEventAndRollsBackItsPartialEffects() {
+        // Arrange - the payment confirmation is written, then the status notification fails
+        Order order = orderRepository.save(Order.builder()
+                .userId("failing-customer").orderStatus("pending").totalAmount(new BigDecimal("8.00")).build());
+        orderService.confirmPayment(order.getOrderId());
+        doThrow(new IllegalStateException("notification store down")).doCallRealMethod()
+                .when(AopTestUtils.<NotificationService>getUltimateTargetObject(notificationService))
+                .notifyOrderStatusChanged(any(Order.class), anyString(), anyString());
+
+        // Act
+        int delivered = dispatcher.dispatch();
+
+        // Assert - nothing half-sent, and the event is still there to be retried
+        assertThat(delivered).isZero();
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc("failing-customer")).isEmpty();
+        OutboxEvent retried = outboxEventRepository.findAll().get(0);
+        assertThat(retried.getStatus()).isEqualTo(OutboxEvent.STATUS_PENDING);
+        assertThat(retried.getAttempts()).isEqualTo(1);
+        assertThat(retried.getLastError()).contains("notification store down");
+    }
+
+    @Test
+    void dispatch_skipsEventsLockedByAnotherDispatcher() throws Exception {
+        // Arrange - another node holds the lock on the oldest event while this one dispatches
+        Order order = orderRepository.save(Order.builder()
+                .userId("locked-customer").orderStatus("pending").totalAmount(new BigDecimal("5.00")).build());
+        orderService.updateOrderStatus(order.getOrderId(), "processing");
+        orderService.updateOrderStatus(order.getOrderId(), "shipped");
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService otherNode = Executors.newSingleThreadExecutor();
+        Long oldest = outboxEventRepository.findAll().stream().map(OutboxEvent::getEventId).min(Long::compare).orElseThrow();
+        Future<List<Long>> held = otherNode.submit(() -> transactionTemplate.execute(status -> {
+            List<Long> ids = jdbcTemplate.queryForList(
+                    "SELECT event_id FROM outbox_events WHERE event_id = ? FOR UPDATE", Long.class, oldest);
+            locked.countDown();
+            try {
+                release.await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return ids;
+        }));
+        assertThat(locked.await(30, TimeUnit.SECONDS)).isTrue();
+
+        // Act
+        int delivered;
+        try {
+            delivered = dispatcher.dispatch();
+        } finally {
+            release.countDown();
+        }
+        List<Long> lockedIds = held.get(30, TimeUnit.SECONDS);
+        otherNode.shutdown();
+
+        // Assert - only the unlocked event went out; the locked one is still there
+        assertThat(delivered).isEqualTo(1);
+        assertThat(outboxEventRepository.findAll()).extracting(OutboxEvent::getEventId).isEqualTo(lockedIds);
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc("locked-customer")).hasSize(1);
+    }
+
+    private Product product(String name) {
+        return productRepository.save(Product.builder()
+                .name(name).price(new BigDecimal("3.00")).stockQuantity(10).lowStockThreshold(0).build());
+    }
+
+    private Jwt jwtFor(String subject) {
+        return Jwt.withTokenValue("token")
+                .header("alg", "none")
+                .claim("sub", subject)
+                .claim("email", subject + "@example.com")
+                .claim("name", "Buyer " + subject)
+                .build();
+    }
+
+    private CreateOrderRequest requestFor(Product product) {
+        CreateOrderRequest.OrderItemRequest itemReq = new CreateOrderRequest.OrderItemRequest();
+        itemReq.setProductId(product.getProductId());
+        itemReq.setQuantity(1);
+        itemReq.setPrice(product.getPrice());
+
+        CreateOrderRequest.Address address = new CreateOrderRequest.Address(
+                "Test User", "123 Street", "City", "0000", "+100000000"
+        );
+
+        return CreateOrderRequest.builder()
+                .items(List.of(itemReq))
+                .total(product.getPrice())
+                .shipping(new CreateOrderRequest.ShippingInfo(address, BigDecimal.ZERO))
+                .build();
+    }
+}
@@ -0,0 +1,99 @@
+package com.shophub.service;
+
+import com.shophub.config.CacheConfig;
+import com.shophub.config.CacheNames;
+import com.shophub.config.CatalogCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ProductCatalogCacheTest {
+
+    private CacheManager cacheManager;
+    private ProductCatalogCache productCatalogCache;
+
+    @BeforeEach
+    void setUp() {
+        CatalogCacheProperties properties = new CatalogCacheProperties();
+        properties.setDistributedInvalidation(false);
+        cacheManager = new CacheConfig().cacheManager(properties);
+        productCatalogCache = new ProductCatalogCache(new CacheInvalidationBus(
+                cacheManager, mock(JdbcTemplate.class), properties, new SimpleMeterRegistry(), event -> { }));
+
+        cache(CacheNames.PRODUCTS).put(1, "product-1");
+        cache(CacheNames.PRODUCTS).put(2, "product-2");
+        cache(CacheNames.PRODUCT_CATALOG).put(SimpleKey.EMPTY, List.of("product-1", "product-2"));
+        cache(CacheNames.PRODUCTS_BY_CATEGORY).put(10, List.of("product-1"));
+        cache(CacheNames.PRODUCTS_BY_CATEGORY).put(20, List.of("product-2"));
+    }
+
+    @Test
+    void evictProduct_ShouldOnlyEvictEntriesAffectedByTheProduct() {
+        // When
+        productCatalogCache.evictProduct(1, 10);
+
+        // Then
+        assertNull(cache(CacheNames.PRODUCTS).get(1));
+        assertNull(cache(CacheNames.PRODUCT_CATALOG).get(SimpleKey.EMPTY));
+        assertNull(cache(CacheNames.PRODUCTS_BY_CATEGORY).get(10));
+        assertNotNull(cache(CacheNames.PRODUCTS).get(2));
+        assertNotNull(cache(CacheNames.PRODUCTS_BY_CATEGORY).get(20));
+    }
+
+    @Test
+    void evictProduct_ShouldEvictBothCategoriesWhenProductMoves() {
+        // When
+        productCatalogCache.evictProduct(1, 10, 20);
+
+        // Then
+        assertNull(cache(CacheNames.PRODUCTS_BY_CATEGORY).get(10));
+        assertNull(cache(CacheNames.PRODUCTS_BY_CATEGORY).get(20));
+    }
+
+    @Test
+    void evictAll_ShouldClearEveryCatalogCache() {
+        // When
+        productCatalogCache.evictAll();
+
+        // Then
+        assertNull(cache(CacheNames.PRODUCTS).get(2));
+        assertNull(cache(CacheNames.PRODUCTS_BY_CATEGORY).get(20));
+    }
+
+    @Test
+    void catalogEtag_ShouldChangeOnlyWhenTheCatalogListingIsEvicted() {
+        // Given
+        String initial = productCatalogCache.catalogEtag();
+
+        // When
+        productCatalogCache.onCacheEvicted(new CacheEvictedEvent(Set.of(CacheNames.ACTIVE_BANNERS), Map.of(), false));
+        String afterUnrelated = productCatalogCache.catalogEtag();
+        productCatalogCache.onCacheEvicted(new CacheEvictedEvent(
+                Set.of(CacheNames.PRODUCT_CATALOG), Map.of(CacheNames.PRODUCT_CATALOG, Set.of(SimpleKey.EMPTY)), true));
+
+        // Then
+        assertEquals(initial, afterUnrelated);
+        assertNotEquals(initial, productCatalogCache.catalogEtag());
+        assertTrue(initial.startsWith("W/\""));
+    }
+
+    @Test
+    void cacheManager_ShouldExposeAllCatalogCachesUpFrontForMetrics() {
+        assertTrue(cacheManager.getCacheNames().containsAll(CacheNames.ALL));
+    }
+
+    private Cache cache(String name) {
+        return cacheManager.getCache(name);
+    }
+}
@@ -0,0 +1,132 @@
+package com.shophub.service;
+
+import com.shophub.model.Product;
+import com.shophub.model.ProductReviewStats;
+import com.shophub.model.Review;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.ProductReviewStatsRepository;
+import com.shophub.repository.ReviewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+public class ProductReviewStatsServiceIntegrationTest {
+
+    @Autowired
+    private ProductReviewStatsService statsService;
+
+    @Autowired
+    private ProductReviewStatsRepository statsRepository;
+
+    @Autowired
+    private ReviewRepository reviewRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void cleanup() {
+        statsRepository.deleteAllInBatch();
+        reviewRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void firstReview_createsTheStatsRow() {
+        // Arrange
+        Product product = product("First Reviewed");
+
+        // Act
+        transactionTemplate.executeWithoutResult(status -> review(product, 4, "alice"));
+
+        // Assert
+        ProductReviewStats stats = statsRepository.findById(product.getProductId()).orElseThrow();
+        assertThat(stats.getReviewCount()).isEqualTo(1L);
+        assertThat(stats.getRatingSum()).isEqualTo(4L);
+        assertThat(stats.getRating4Count()).isEqualTo(1L);
+        assertThat(statsService.rebuildAll()).isZero();
+    }
+
+    @Test
+    void concurrentFirstReviews_bothCount() throws Exception {
+        // Arrange - one review has created the product's row but not committed yet
+        Product product = product("Contended");
+        CountDownLatch inserted = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        ExecutorService firstReviewer = Executors.newSingleThreadExecutor();
+        Future<?> first = firstReviewer.submit(() -> transactionTemplate.executeWithoutResult(status -> {
+            review(product, 5, "alice");
+            inserted.countDown();
+            await(commit);
+        }));
+        assertThat(inserted.await(30, TimeUnit.SECONDS)).isTrue();
+
+        // Act - the second review waits for the first row instead of failing on its key
+        ExecutorService secondReviewer = Executors.newSingleThreadExecutor();
+        Future<?> second = secondReviewer.submit(() -> transactionTemplate.executeWithoutResult(status ->
+                review(product, 3, "bob")));
+        Thread.sleep(200);
+        commit.countDown();
+        first.get(30, TimeUnit.SECONDS);
+        second.get(30, TimeUnit.SECONDS);
+        firstReviewer.shutdown();
+        secondReviewer.shutdown();
+
+        // Assert
+        ProductReviewStats stats = statsRepository.findById(product.getProductId()).orElseThrow();
+        assertThat(stats.getReviewCount()).isEqualTo(2L);
+        assertThat(stats.getRatingSum()).isEqualTo(8L);
+        assertThat(statsService.rebuildAll()).isZero();
+    }
+
+    @Test
+    void rebuildAll_createsRowsForReviewsWrittenAroundTheService() {
+        // Arrange
+        Product product = product("Imported");
+        reviewRepository.save(Review.builder().productId(product.getProductId()).rating(2)
+                .title("Meh").comment("Meh").userName("carol").build());
+
+        // Act
+        int corrected = statsService.rebuildAll();
+
+        // Assert
+        assertThat(corrected).isEqualTo(1);
+        assertThat(statsRepository.findById(product.getProductId()).orElseThrow().getRating2Count()).isEqualTo(1L);
+    }
+
+    private void review(Product product, int rating, String userName) {
+        reviewRepository.save(Review.builder().productId(product.getProductId()).rating(rating)
+                .title("Review").comment("Review").userName(userName).build());
+        statsService.applyRating(product.getProductId(), rating, 1);
+    }
+
+    private Product product(String name) {
+        return productRepository.save(Product.builder()
+                .name(name).price(new BigDecimal("10.00")).stockQuantity(5).lowStockThreshold(0).build());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.shophub.service;
+
+import com.shophub.model.ProductReviewStats;
+import com.shophub.repository.ProductReviewStatsRepository;
+import com.shophub.repository.ReviewRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductReviewStatsServiceTest {
+
+    @Mock
+    private ProductReviewStatsRepository statsRepository;
+
+    @Mock
+    private ReviewRepository reviewRepository;
+
+    @Mock
+    private ClusterJobLock clusterJobLock;
+
+    @Mock
+    private ProductCatalogCache productCatalogCache;
+
+    @InjectMocks
+    private ProductReviewStatsService statsService;
+
+    @Test
+    void applyRating_ShouldCreateStatsRowForFirstReview() {
+        // Given - no row yet, so the first delta touches nothing
+        when(statsRepository.applyRatingDelta(eq(1), eq(4L), eq(1L), any(LocalDateTime.class))).thenReturn(0, 1);
+
+        // When
+        statsService.applyRating(1, 4, 1);
+
+        // Then - the row is created empty and the delta applied to it
+        InOrder inOrder = inOrder(statsRepository);
+        inOrder.verify(statsRepository).applyRatingDelta(eq(1), eq(4L), eq(1L), any(LocalDateTime.class));
+        inOrder.verify(statsRepository).insertIfMissing(eq(1), any(LocalDateTime.class));
+        inOrder.verify(statsRepository).applyRatingDelta(eq(1), eq(4L), eq(1L), any(LocalDateTime.class));
+        verify(statsRepository, never()).save(any(ProductReviewStats.class));
+        verify(productCatalogCache).evictProduct(1);
+    }
+
+    @Test
+    void applyRating_ShouldUpdateExistingRowInPlace() {
+        // Given
+        when(statsRepository.applyRatingDelta(eq(1), eq(4L), eq(-1L), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        statsService.applyRating(1, 4, -1);
+
+        // Then
+        verify(statsRepository, never()).insertIfMissing(anyInt(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void changeRating_ShouldMoveCountBetweenHistogramBuckets() {
+        // Given
+        when(statsRepository.applyRatingDelta(eq(1), anyLong(), anyLong(), any(LocalDateTime.class))).thenReturn(1);
+
+        // When
+        statsService.changeRating(1, 2, 5);
+
+        // Then
+        verify(statsRepository).applyRatingDelta(eq(1), eq(2L), eq(-1L), any(LocalDateTime.class));
+        verify(statsRepository).applyRatingDelta(eq(1), eq(5L), eq(1L), any(LocalDateTime.class));
+    }
+
+    @Test
+    void applyRating_ShouldRejectOutOfRangeRating() {
+        assertThrows(IllegalArgumentException.class, () -> statsService.applyRating(1, 6, 1));
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void changeRating_ShouldSkipWriteWhenRatingUnchanged() {
+        // When
+        statsService.changeRating(1, 3, 3);
+
+        // Then
+        verifyNoInteractions(statsRepository);
+    }
+
+    @Test
+    void getStats_ShouldReturnEmptyStatsWhenProductHasNoReviews() {
+        // Given
+        when(statsRepository.findById(7)).thenReturn(Optional.empty());
+
+        // When
+        ProductReviewStats result = statsService.getStats(7);
+
+        // Then
+        assertEquals(0L, result.getReviewCount());
+        assertEquals(0.0, result.getAverageRating());
+    }
+
+    @Test
+    void rebuildAll_ShouldCorrectDriftedAndMissingRowsUnderLock() {
+        // Given - product 1 drifted, product 2 only just got its row, product 3 lost all its reviews
+        ProductReviewStats drifted = ProductReviewStats.empty(1);
+        drifted.apply(5, 3);
+        ProductReviewStats created = ProductReviewStats.empty(2);
+        ProductReviewStats orphaned = ProductReviewStats.empty(3);
+        orphaned.apply(1, 1);
+        when(clusterJobLock.tryLock(ClusterJobLock.REVIEW_STATS_REBUILD)).thenReturn(true);
+        when(statsRepository.lockAll()).thenReturn(List.of(drifted, created, orphaned));
+        when(reviewRepository.countByProductIdAndRating()).thenReturn(List.of(
+                new Object[]{1, 5, 2L},
+                new Object[]{1, 3, 1L},
+                new Object[]{2, 4, 1L}));
+
+        // When
+        int corrected = statsService.rebuildAll();
+
+        // Then - rows exist and are locked before the reviews are counted
+        assertEquals(3, corrected);
+        assertEquals(3L, drifted.getReviewCount());
+        assertEquals(13L, drifted.getRatingSum());
+        assertEquals(1L, created.getRating4Count());
+        assertEquals(0L, orphaned.getReviewCount());
+        InOrder inOrder = inOrder(statsRepository, reviewRepository);
+        inOrder.verify(statsRepository).insertMissingForReviewedProducts(any(LocalDateTime.class));
+        inOrder.verify(statsRepository).lockAll();
+        inOrder.verify(reviewRepository).countByProductIdAndRating();
+        verify(statsRepository, never()).findAll();
+        verify(productCatalogCache).evictAll();
+    }
+
+    @Test
+    void rebuildAll_ShouldSkipWhenAnotherNodeIsRebuilding() {
+        // Given
+        when(clusterJobLock.tryLock(ClusterJobLock.REVIEW_STATS_REBUILD)).thenReturn(false);
+
+        // When
+        int corrected = statsService.rebuildAll();
+
+        // Then
+        assertEquals(0, corrected);
+        verifyNoInteractions(statsRepository, reviewRepository);
+    }
+}
@@ -0,0 +1,165 @@
+package com.shophub.service;
+
+import com.shophub.config.CatalogSearchProperties;
+import com.shophub.dto.ProductSearchHitDTO;
+import com.shophub.model.Product;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.ProductSearchRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSearchServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private ProductSearchRepository productSearchRepository;
+
+    private CatalogSearchProperties properties;
+
+    private ProductSearchService productSearchService;
+
+    @BeforeEach
+    void setUp() {
+        properties = new CatalogSearchProperties();
+        productSearchService = new ProductSearchService(productRepository, productSearchRepository, properties);
+    }
+
+    @Test
+    void extractTerms_ShouldDropOperatorsAndDuplicates() {
+        assertEquals(List.of("usb", "c", "cable"), ProductSearchService.extractTerms("USB-C  cable & usb!"));
+        assertTrue(ProductSearchService.extractTerms(" :* | ").isEmpty());
+    }
+
+    @Test
+    void toTsQuery_ShouldPrefixMatchEveryTerm() {
+        assertEquals("lapt:* & pro:*", ProductSearchService.toTsQuery(List.of("lapt", "pro"), true));
+        assertEquals("lapt:* | pro:*", ProductSearchService.toTsQuery(List.of("lapt", "pro"), false));
+    }
+
+    @Test
+    void search_ShouldKeepRankOrderFromFullTextQuery() {
+        // Given
+        when(productSearchRepository.search("lapt:*", 20)).thenReturn(List.of(
+                new ProductSearchRepository.Hit(2, 0.9, marked("Laptop") + " Pro", ""),
+                new ProductSearchRepository.Hit(1, 0.4, marked("Laptop") + " Bag", "")));
+        when(productRepository.findCatalogRowsByIds(List.of(2, 1))).thenReturn(List.of(
+                new Object[]{product(1, "Laptop Bag"), null, null},
+                new Object[]{product(2, "Laptop Pro"), null, null}));
+
+        // When
+        List<ProductSearchHitDTO> result = productSearchService.search("Lapt", null);
+
+        // Then
+        assertEquals(2, result.size());
+        assertEquals(2, result.get(0).getProduct().getProductId());
+        assertEquals("<mark>Laptop</mark> Pro", result.get(0).getNameHighlight());
+        assertEquals(0.9, result.get(0).getRank());
+        verify(productRepository, never()).findCatalogRowsByKeywords(anyList(), anyBoolean(), anyInt());
+    }
+
+    @Test
+    void search_ShouldClampLimitAndSkipCatalogLookupWhenNothingMatches() {
+        // Given
+        when(productSearchRepository.search(anyString(), anyInt())).thenReturn(List.of());
+
+        // When
+        List<ProductSearchHitDTO> result = productSearchService.search("nothing", 500);
+
+        // Then
+        assertTrue(result.isEmpty());
+        verify(productSearchRepository).search("nothing:*", properties.getMaxLimit());
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void search_ShouldRejectQueryWithoutTerms() {
+        assertThrows(IllegalArgumentException.class, () -> productSearchService.search("   ", null));
+        verifyNoInteractions(productSearchRepository, productRepository);
+    }
+
+    @Test
+    void search_ShouldUseKeywordFallbackWhenFullTextDisabled() {
+        // Given
+        properties.setFullText(false);
+        when(productRepository.findCatalogRowsByKeywords(List.of("mouse"), true, 20))
+                .thenReturn(List.<Object[]>of(new Object[]{product(3, "Wireless Mouse"), "Electronics", null}));
+
+        // When
+        List<ProductSearchHitDTO> result = productSearchService.search("mouse", null);
+
+        // Then
+        assertEquals(1, result.size());
+        assertEquals("Wireless <mark>Mouse</mark>", result.get(0).getNameHighlight());
+        assertEquals("Electronics", result.get(0).getProduct().getCategoryName());
+        verifyNoInteractions(productSearchRepository);
+    }
+
+    @Test
+    void search_ShouldEscapeProductTextAroundFullTextHighlights() {
+        // Given - ts_headline returns the stored text verbatim around its markers
+        when(productSearchRepository.search("lapt:*", 20)).thenReturn(List.of(new ProductSearchRepository.Hit(
+                1, 0.5, "<img src=x onerror=alert(1)> " + marked("Laptop"), "Fast & \"light\" " + marked("laptop"))));
+        when(productRepository.findCatalogRowsByIds(List.of(1))).thenReturn(List.<Object[]>of(
+                new Object[]{product(1, "<img src=x onerror=alert(1)> Laptop"), null, null}));
+
+        // When
+        List<ProductSearchHitDTO> result = productSearchService.search("lapt", null);
+
+        // Then
+        assertEquals("&lt;img src=x onerror=alert(1)&gt; <mark>Laptop</mark>", result.get(0).getNameHighlight());
+        assertEquals("Fast &amp; &quot;light&quot; <mark>laptop</mark>", result.get(0).getDescriptionHighlight());
+    }
+
+    @Test
+    void search_ShouldEscapeProductTextAroundKeywordHighlights() {
+        // Given
+        properties.setFullText(false);
+        when(productRepository.findCatalogRowsByKeywords(List.of("script"), true, 20))
+                .thenReturn(List.<Object[]>of(new Object[]{product(4, "<script>alert('x')</script>"), null, null}));
+
+        // When
+        List<ProductSearchHitDTO> result = productSearchService.search("script", null);
+
+        // Then
+        assertEquals("&lt;<mark>script</mark>&gt;alert(&#39;x&#39;)&lt;/<mark>script</mark>&gt;",
+                result.get(0).getNameHighlight());
+    }
+
+    @Test
+    void findRelevantProducts_ShouldMatchAnyKeyword() {
+        // Given
+        when(productSearchRepository.search("wireless:* | headphones:*", 5)).thenReturn(List.of());
+
+        // When
+        List<Product> result = productSearchService.findRelevantProducts(List.of("wireless", "headphones?"), 5);
+
+        // Then
+        assertTrue(result.isEmpty());
+    }
+
+    private Product product(int id, String name) {
+        return Product.builder()
+                .productId(id)
+                .name(name)
+                .price(new BigDecimal("10.00"))
+                .build();
+    }
+
+    private static String marked(String text) {
+        return ProductSearchRepository.MATCH_START + text + ProductSearchRepository.MATCH_END;
+    }
+}
@@ -1,9 +1,14 @@
 package com.shophub.service;
 
 import com.shophub.dto.ProductDTO;
+import com.shophub.dto.ProductFacetsDTO;
+import com.shophub.dto.ProductField;
+import com.shophub.dto.ProductListRequest;
+import com.shophub.dto.ProductPageDTO;
 import com.shophub.exception.ResourceNotFoundException;
 import com.shophub.model.Category;
 import com.shophub.model.Product;
+import com.shophub.model.Review;
 import com.shophub.repository.CategoryRepository;
 import com.shophub.repository.ProductRepository;
 import com.shophub.repository.ReviewRepository;
@@ -15,6 +20,7 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -22,6 +28,7 @@ import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @ActiveProfiles("test")
@@ -39,6 +46,9 @@ public class ProductServiceIntegrationTest {
     @Autowired
     private ReviewRepository reviewRepository;
 
+    @Autowired
+    private ProductReviewStatsService productReviewStatsService;
+
     @AfterEach
     void cleanup() {
         reviewRepository.deleteAll();
@@ -202,6 +212,42 @@ public class ProductServiceIntegrationTest {
                 .containsExactlyInAnyOrder("Electronics", "Clothing");
     }
 
+    @Test
+    @Transactional
+    void getAllProducts_populatesReviewStatisticsFromStatsTable() {
+        // Arrange
+        Product reviewed = productRepository.save(Product.builder()
+                .name("Reviewed")
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(5)
+                .lowStockThreshold(1)
+                .build());
+
+        productRepository.save(Product.builder()
+                .name("Unreviewed")
+                .price(new BigDecimal("10.00"))
+                .stockQuantity(5)
+                .lowStockThreshold(1)
+                .build());
+
+        reviewRepository.save(Review.builder().productId(reviewed.getProductId()).rating(5)
+                .title("Great").comment("Great").userName("alice").build());
+        reviewRepository.save(Review.builder().productId(reviewed.getProductId()).rating(2)
+                .title("Meh").comment("Meh").userName("bob").build());
+        productReviewStatsService.rebuildAll();
+
+        // Act
+        List<Product> products = productService.getAllProducts();
+
+        // Assert
+        Product withReviews = products.stream().filter(p -> p.getName().equals("Reviewed")).findFirst().orElseThrow();
+        Product withoutReviews = products.stream().filter(p -> p.getName().equals("Unreviewed")).findFirst().orElseThrow();
+        assertThat(withReviews.getAverageRating()).isEqualTo(3.5);
+        assertThat(withReviews.getReviewCount()).isEqualTo(2L);
+        assertThat(withoutReviews.getAverageRating()).isEqualTo(0.0);
+        assertThat(withoutReviews.getReviewCount()).isEqualTo(0L);
+    }
+
     @Test
     @Transactional
     void getProductsByCategory_returnsOnlyProductsInCategory() {
@@ -433,4 +479,218 @@ public class ProductServiceIntegrationTest {
         assertThat(created.getStockQuantity()).isEqualTo(0); // Default stock
         assertThat(created.getLowStockThreshold()).isEqualTo(10); // Default threshold
     }
+
+    @Test
+    @Transactional
+    void listProducts_walksAllPagesInPriceOrderWithoutGapsOrDuplicates() {
+        // Arrange - duplicate prices exercise the product_id tie-breaker
+        String[] prices = {"5.00", "10.00", "10.00", "10.00", "20.00", "30.00", "30.00"};
+        for (int i = 0; i < prices.length; i++) {
+            productRepository.save(Product.builder()
+                    .name("Item " + i)
+                    .price(new BigDecimal(prices[i]))
+                    .stockQuantity(5)
+                    .lowStockThreshold(1)
+                    .build());
+        }
+
+        // Act
+        List<Product> seen = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            ProductPageDTO page = productService.listProducts(ProductListRequest.builder()
+                    .sort(ProductListRequest.Sort.PRICE_ASC)
+                    .limit(3)
+                    .cursor(cursor)
+                    .build());
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+            pages++;
+            assertThat(page.isHasMore()).isEqualTo(cursor != null);
+        } while (cursor != null);
+
+        // Assert
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).hasSize(prices.length);
+        assertThat(seen).extracting(Product::getProductId).doesNotHaveDuplicates();
+        assertThat(seen).extracting(Product::getPrice).isSortedAccordingTo(BigDecimal::compareTo);
+    }
+
+    @Test
+    @Transactional
+    void listProducts_appliesCategoryPriceStockAndRatingFilters() {
+        // Arrange
+        Category electronics = categoryRepository.save(Category.builder().name("Electronics").build());
+        Product match = productRepository.save(Product.builder().name("Match")
+                .price(new BigDecimal("50.00")).categoryId(electronics.getCategoryId())
+                .stockQuantity(3).lowStockThreshold(1).build());
+        productRepository.save(Product.builder().name("Out of stock")
+                .price(new BigDecimal("50.00")).categoryId(electronics.getCategoryId())
+                .stockQuantity(0).lowStockThreshold(1).build());
+        productRepository.save(Product.builder().name("Too expensive")
+                .price(new BigDecimal("500.00")).categoryId(electronics.getCategoryId())
+                .stockQuantity(3).lowStockThreshold(1).build());
+        productRepository.save(Product.builder().name("Other category")
+                .price(new BigDecimal("50.00"))
+                .stockQuantity(3).lowStockThreshold(1).build());
+        Product lowRated = productRepository.save(Product.builder().name("Low rated")
+                .price(new BigDecimal("60.00")).categoryId(electronics.getCategoryId())
+                .stockQuantity(3).lowStockThreshold(1).build());
+
+        reviewRepository.save(Review.builder().productId(match.getProductId()).rating(5)
+                .title("Great").comment("Great").userName("alice").build());
+        reviewRepository.save(Review.builder().productId(match.getProductId()).rating(4)
+                .title("Good").comment("Good").userName("bob").build());
+        reviewRepository.save(Review.builder().productId(lowRated.getProductId()).rating(2)
+                .title("Meh").comment("Meh").userName("carol").build());
+        productReviewStatsService.rebuildAll();
+
+        // Act
+        ProductPageDTO page = productService.listProducts(ProductListRequest.builder()
+                .categoryId(electronics.getCategoryId())
+                .minPrice(new BigDecimal("10.00"))
+                .maxPrice(new BigDecimal("100.00"))
+                .inStockOnly(true)
+                .minRating(4.0)
+                .build());
+
+        // Assert
+        assertThat(page.getItems()).extracting("name").containsExactly("Match");
+        assertThat(page.getItems().get(0).getAverageRating()).isEqualTo(4.5);
+        assertThat(page.isHasMore()).isFalse();
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void listProducts_rejectsCursorFromDifferentSort() {
+        // Arrange
+        for (int i = 0; i < 3; i++) {
+            productRepository.save(Product.builder().name("Item " + i)
+                    .price(new BigDecimal("1" + i + ".00")).stockQuantity(1).lowStockThreshold(1).build());
+        }
+        String cursor = productService.listProducts(ProductListRequest.builder()
+                .sort(ProductListRequest.Sort.PRICE_DESC).limit(1).build()).getNextCursor();
+
+        // Act & Assert
+        assertThat(cursor).isNotNull();
+        assertThatThrownBy(() -> productService.listProducts(ProductListRequest.builder()
+                .sort(ProductListRequest.Sort.NEWEST).cursor(cursor).build()))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> productService.listProducts(ProductListRequest.builder()
+                .cursor("not-a-cursor").build()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @Transactional
+    void listProducts_withFacets_countsEachFacetExcludingItsOwnFilter() {
+        // Arrange
+        Category electronics = categoryRepository.save(Category.builder().name("Electronics").build());
+        Category books = categoryRepository.save(Category.builder().name("Books").build());
+        Product laptop = productRepository.save(Product.builder().name("Laptop")
+                .price(new BigDecimal("999.00")).categoryId(electronics.getCategoryId())
+                .stockQuantity(3).lowStockThreshold(1).build());
+        productRepository.save(Product.builder().name("Cable")
+                .price(new BigDecimal("9.99")).categoryId(electronics.getCategoryId())
+                .stockQuantity(0).lowStockThreshold(1).build());
+        productRepository.save(Product.builder().name("Novel")
+                .price(new BigDecimal("14.99")).categoryId(books.getCategoryId())
+                .stockQuantity(8).lowStockThreshold(1).build());
+        reviewRepository.save(Review.builder().productId(laptop.getProductId()).rating(5)
+                .title("Great").comment("Great").userName("alice").build());
+        reviewRepository.save(Review.builder().productId(laptop.getProductId()).rating(4)
+                .title("Good").comment("Good").userName("bob").build());
+        productReviewStatsService.rebuildAll();
+
+        // Act
+        ProductPageDTO page = productService.listProducts(ProductListRequest.builder()
+                .categoryId(electronics.getCategoryId())
+                .inStockOnly(true)
+                .includeFacets(true)
+                .build());
+
+        // Assert
+        ProductFacetsDTO facets = page.getFacets();
+        assertThat(page.getItems()).extracting("name").containsExactly("Laptop");
+        // categories ignore the category filter but keep in-stock
+        assertThat(facets.getCategories()).extracting("label", "count")
+                .containsExactlyInAnyOrder(tuple("Electronics", 1L), tuple("Books", 1L));
+        // stock ignores in-stock but keeps the category
+        assertThat(facets.getStock()).extracting("value", "count")
+                .containsExactly(tuple("in_stock", 1L), tuple("out_of_stock", 1L));
+        assertThat(facets.getPrice()).extracting("value", "count")
+                .contains(tuple("0-25", 0L), tuple("500+", 1L));
+        assertThat(facets.getRating()).extracting("value", "count")
+                .contains(tuple("4", 1L), tuple("1", 1L));
+    }
+
+    @Test
+    @Transactional
+    void listProducts_withoutFacets_omitsFacetCounts() {
+        assertThat(productService.listProducts(ProductListRequest.builder().build()).getFacets()).isNull();
+    }
+
+    @Test
+    @Transactional
+    void getProductFields_selectsRequestedFieldsWithCategoryAndRating() {
+        // Arrange
+        Category electronics = categoryRepository.save(Category.builder().name("Electronics").build());
+        Product laptop = productRepository.save(Product.builder().name("Laptop")
+                .price(new BigDecimal("999.00")).categoryId(electronics.getCategoryId())
+                .stockQuantity(3).lowStockThreshold(1)
+                .images(Arrays.asList("front.jpg", "back.jpg")).build());
+        reviewRepository.save(Review.builder().productId(laptop.getProductId()).rating(5)
+                .title("Great").comment("Great").userName("alice").build());
+        reviewRepository.save(Review.builder().productId(laptop.getProductId()).rating(4)
+                .title("Good").comment("Good").userName("bob").build());
+        productReviewStatsService.rebuildAll();
+
+        // Act
+        List<Map<String, Object>> products = productService.getProductFields(
+                ProductField.parse("summary,category_name"));
+
+        // Assert
+        assertThat(products).hasSize(1);
+        assertThat(products.get(0)).containsExactly(
+                Map.entry("product_id", laptop.getProductId()),
+                Map.entry("name", "Laptop"),
+                Map.entry("price", new BigDecimal("999.00")),
+                Map.entry("image", "front.jpg"),
+                Map.entry("average_rating", 4.5),
+                Map.entry("review_count", 2L),
+                Map.entry("category_name", "Electronics"));
+    }
+
+    @Test
+    @Transactional
+    void getProductFields_withJsonFields_decodesImagesAndSpecifications() {
+        // Arrange
+        Product phone = productRepository.save(Product.builder().name("Phone")
+                .price(new BigDecimal("499.00")).stockQuantity(2).lowStockThreshold(1)
+                .images(Arrays.asList("front.jpg", "back.jpg"))
+                .specifications(Map.of("color", "black")).build());
+
+        // Act
+        List<Map<String, Object>> products = productService.getProductFields(
+                ProductField.parse("images,specifications,review_count"));
+
+        // Assert
+        assertThat(products).containsExactly(Map.of(
+                "product_id", phone.getProductId(),
+                "images", List.of("front.jpg", "back.jpg"),
+                "specifications", Map.of("color", "black"),
+                "review_count", 0L));
+    }
+
+    @Test
+    @Transactional
+    void getProductFields_withOnlyProductId_returnsIds() {
+        Product saved = productRepository.save(Product.builder().name("Solo")
+                .price(new BigDecimal("1.00")).stockQuantity(1).lowStockThreshold(1).build());
+
+        assertThat(productService.getProductFields(ProductField.parse("")))
+                .containsExactly(Map.of("product_id", saved.getProductId()));
+    }
 }
@@ -3,10 +3,11 @@ package com.shophub.service;
 import com.shophub.dto.ProductDTO;
 import com.shophub.exception.ResourceNotFoundException;
 import com.shophub.model.Category;
+import com.shophub.model.InventoryMovement;
 import com.shophub.model.Product;
+import com.shophub.model.ProductReviewStats;
 import com.shophub.repository.CategoryRepository;
 import com.shophub.repository.ProductRepository;
-import com.shophub.repository.ReviewRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -15,6 +16,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -34,10 +36,19 @@ class ProductServiceTest {
     private CategoryRepository categoryRepository;
 
     @Mock
-    private ReviewRepository reviewRepository;
+    private StockAlertService stockAlertService;
 
     @Mock
-    private NotificationService notificationService;
+    private ProductCatalogCache productCatalogCache;
+
+    @Mock
+    private ProductSuggestIndex productSuggestIndex;
+
+    @Mock
+    private ProductFacetService productFacetService;
+
+    @Mock
+    private InventoryLedgerService inventoryLedgerService;
 
     @InjectMocks
     private ProductService productService;
@@ -78,11 +89,8 @@ class ProductServiceTest {
     @Test
     void getAllProducts_ShouldReturnAllProductsWithCategoryNames() {
         // Given
-        List<Product> products = Arrays.asList(testProduct);
-        when(productRepository.findAll()).thenReturn(products);
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(testCategory));
-        when(reviewRepository.getAverageRatingByProductId(1)).thenReturn(4.5);
-        when(reviewRepository.getReviewCountByProductId(1)).thenReturn(10L);
+        List<Object[]> rows = List.<Object[]>of(new Object[]{testProduct, "Electronics", reviewStats(9L, 2L)});
+        when(productRepository.findAllCatalogRows()).thenReturn(rows);
 
         // When
         List<Product> result = productService.getAllProducts();
@@ -91,17 +99,17 @@ class ProductServiceTest {
         assertEquals(1, result.size());
         assertEquals("Test Product", result.get(0).getName());
         assertEquals("Electronics", result.get(0).getCategoryName());
-        verify(productRepository).findAll();
-        verify(categoryRepository).findById(1);
+        assertEquals(4.5, result.get(0).getAverageRating());
+        assertEquals(2L, result.get(0).getReviewCount());
+        verify(productRepository).findAllCatalogRows();
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
     void getProductById_ShouldReturnProductWithCategoryName() {
         // Given
-        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(testCategory));
-        when(reviewRepository.getAverageRatingByProductId(1)).thenReturn(4.5);
-        when(reviewRepository.getReviewCountByProductId(1)).thenReturn(10L);
+        List<Object[]> rows = List.<Object[]>of(new Object[]{testProduct, "Electronics", reviewStats(9L, 2L)});
+        when(productRepository.findCatalogRowById(1)).thenReturn(rows);
 
         // When
         Product result = productService.getProductById(1);
@@ -109,26 +117,60 @@ class ProductServiceTest {
         // Then
         assertEquals("Test Product", result.getName());
         assertEquals("Electronics", result.getCategoryName());
-        verify(productRepository).findById(1);
-        verify(categoryRepository).findById(1);
+        assertEquals(4.5, result.getAverageRating());
+        verify(productRepository).findCatalogRowById(1);
+        verifyNoInteractions(categoryRepository);
+    }
+
+    @Test
+    void getProductById_ShouldDefaultReviewStatsWhenProductHasNoReviews() {
+        // Given
+        List<Object[]> rows = List.<Object[]>of(new Object[]{testProduct, null, null});
+        when(productRepository.findCatalogRowById(1)).thenReturn(rows);
+
+        // When
+        Product result = productService.getProductById(1);
+
+        // Then
+        assertNull(result.getCategoryName());
+        assertEquals(0.0, result.getAverageRating());
+        assertEquals(0L, result.getReviewCount());
+    }
+
+    @Test
+    void getProductById_ShouldReturnADetachedReadOnlyCopyOfTheEntity() {
+        // Given
+        testProduct.setImages(new ArrayList<>(List.of("front.jpg")));
+        List<Object[]> rows = List.<Object[]>of(new Object[]{testProduct, "Electronics", null});
+        when(productRepository.findCatalogRowById(1)).thenReturn(rows);
+
+        // When
+        Product result = productService.getProductById(1);
+
+        // Then
+        assertNotSame(testProduct, result);
+        assertNull(testProduct.getCategoryName());
+        assertEquals(List.of("front.jpg"), result.getImages());
+        assertThrows(UnsupportedOperationException.class, () -> result.getImages().add("back.jpg"));
+        testProduct.getImages().add("side.jpg");
+        assertEquals(List.of("front.jpg"), result.getImages());
     }
 
     @Test
     void getProductById_ShouldThrowExceptionWhenProductNotFound() {
         // Given
-        when(productRepository.findById(1)).thenReturn(Optional.empty());
+        when(productRepository.findCatalogRowById(1)).thenReturn(List.of());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> productService.getProductById(1));
-        verify(productRepository).findById(1);
+        verify(productRepository).findCatalogRowById(1);
     }
 
     @Test
     void getProductsByCategory_ShouldReturnProductsWithCategoryNames() {
         // Given
-        List<Product> products = Arrays.asList(testProduct);
-        when(productRepository.findByCategoryId(1)).thenReturn(products);
-        when(categoryRepository.findById(1)).thenReturn(Optional.of(testCategory));
+        List<Object[]> rows = List.<Object[]>of(new Object[]{testProduct, "Electronics", null});
+        when(productRepository.findCatalogRowsByCategoryId(1)).thenReturn(rows);
 
         // When
         List<Product> result = productService.getProductsByCategory(1);
@@ -136,8 +178,8 @@ class ProductServiceTest {
         // Then
         assertEquals(1, result.size());
         assertEquals("Electronics", result.get(0).getCategoryName());
-        verify(productRepository).findByCategoryId(1);
-        verify(categoryRepository).findById(1);
+        verify(productRepository).findCatalogRowsByCategoryId(1);
+        verifyNoInteractions(categoryRepository);
     }
 
     @Test
@@ -181,6 +223,8 @@ class ProductServiceTest {
         verify(productRepository).findById(1);
         verify(categoryRepository).findById(1);
         verify(productRepository).save(any(Product.class));
+        verify(productCatalogCache).evictProduct(1, 1, 1);
+        verify(productSuggestIndex).upsert(testProduct);
     }
 
     @Test
@@ -197,24 +241,26 @@ class ProductServiceTest {
     @Test
     void deleteProduct_ShouldDeleteProductSuccessfully() {
         // Given
-        when(productRepository.existsById(1)).thenReturn(true);
+        when(productRepository.findById(1)).thenReturn(Optional.of(testProduct));
 
         // When
         productService.deleteProduct(1);
 
         // Then
-        verify(productRepository).existsById(1);
+        verify(productRepository).findById(1);
         verify(productRepository).deleteById(1);
+        verify(productCatalogCache).evictProduct(1, 1);
+        verify(productSuggestIndex).remove(1);
     }
 
     @Test
     void deleteProduct_ShouldThrowExceptionWhenProductNotFound() {
         // Given
-        when(productRepository.existsById(1)).thenReturn(false);
+        when(productRepository.findById(1)).thenReturn(Optional.empty());
 
         // When & Then
         assertThrows(ResourceNotFoundException.class, () -> productService.deleteProduct(1));
-        verify(productRepository).existsById(1);
+        verify(productRepository).findById(1);
         verify(productRepository, never()).deleteById(anyInt());
     }
 
@@ -229,8 +275,11 @@ class ProductServiceTest {
 
         // Then
         assertEquals(7, testProduct.getStockQuantity());
+        verify(productRepository, never()).lockForStockChange(anyInt());
         verify(productRepository).findById(1);
         verify(productRepository).save(testProduct);
+        verify(inventoryLedgerService).record(1, -3, InventoryMovement.REASON_STOCK_ADJUSTED, null);
+        verify(stockAlertService).onStockChanged(testProduct);
     }
 
     @Test
@@ -242,6 +291,7 @@ class ProductServiceTest {
         assertThrows(IllegalArgumentException.class, () -> productService.updateStock(1, 15));
         verify(productRepository).findById(1);
         verify(productRepository, never()).save(any(Product.class));
+        verifyNoInteractions(inventoryLedgerService);
     }
 
     @Test
@@ -268,6 +318,7 @@ class ProductServiceTest {
         assertEquals(25, result.getStockQuantity());
         verify(productRepository).findById(1);
         verify(productRepository).save(testProduct);
+        verify(inventoryLedgerService).record(1, 15, InventoryMovement.REASON_STOCK_SET, null);
     }
 
     @Test
@@ -295,4 +346,12 @@ class ProductServiceTest {
         verify(productRepository).findById(1);
         verify(productRepository).save(testProduct);
     }
+
+    private ProductReviewStats reviewStats(long ratingSum, long reviewCount) {
+        return ProductReviewStats.builder()
+                .productId(1)
+                .ratingSum(ratingSum)
+                .reviewCount(reviewCount)
+                .build();
+    }
 }
@@ -0,0 +1,153 @@
+package com.shophub.service;
+
+import com.shophub.config.CacheNames;
+import com.shophub.config.CatalogSuggestProperties;
+import com.shophub.dto.ProductSuggestionDTO;
+import com.shophub.model.Category;
+import com.shophub.model.Product;
+import com.shophub.repository.CategoryRepository;
+import com.shophub.repository.ProductRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductSuggestIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ProductSuggestIndex index;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        index = new ProductSuggestIndex(productRepository, categoryRepository,
+                new CatalogSuggestProperties(), meterRegistry);
+
+        when(categoryRepository.findAll()).thenReturn(List.of(
+                Category.builder().categoryId(1).name("Electronics").build(),
+                Category.builder().categoryId(2).name("Home & Garden").build()));
+        when(productRepository.findSuggestRows()).thenReturn(List.of(
+                new Object[]{10, "Logitech Wireless Mouse", "LOG-M185"},
+                new Object[]{11, "Wireless Keyboard", "KEY-200"},
+                new Object[]{12, "Garden Hose", "GAR-001"}));
+        index.rebuild();
+    }
+
+    @Test
+    void keys_ShouldIncludeEveryWordSuffix() {
+        assertEquals(List.of("logitech wireless mouse", "wireless mouse", "mouse"),
+                ProductSuggestIndex.keys("Logitech  Wireless-Mouse"));
+    }
+
+    @Test
+    void suggest_ShouldMatchLeadingWordsAndPhrasesMidName() {
+        // When
+        List<ProductSuggestionDTO> result = index.suggest("wirel", null);
+
+        // Then - whole-name prefix match ranks ahead of the mid-name match
+        assertEquals(List.of(11, 10), result.stream().map(ProductSuggestionDTO::getId).toList());
+        assertEquals(List.of(10), index.suggest("Wireless M", null).stream().map(ProductSuggestionDTO::getId).toList());
+    }
+
+    @Test
+    void suggest_ShouldMatchSkuAndListCategoriesFirst() {
+        assertEquals(10, index.suggest("log-m", null).get(0).getId());
+
+        List<ProductSuggestionDTO> garden = index.suggest("gard", null);
+        assertEquals(ProductSuggestionDTO.TYPE_CATEGORY, garden.get(0).getType());
+        assertEquals("Home & Garden", garden.get(0).getLabel());
+        assertEquals(ProductSuggestionDTO.TYPE_PRODUCT, garden.get(1).getType());
+        assertEquals(12, garden.get(1).getId());
+    }
+
+    @Test
+    void suggest_ShouldReturnNothingForBlankQueryAndRespectLimit() {
+        assertTrue(index.suggest("  ", null).isEmpty());
+        assertEquals(1, index.suggest("w", 1).size());
+    }
+
+    @Test
+    void upsertAndRemove_ShouldUpdateIndexWithoutRebuild() {
+        // When
+        index.upsert(Product.builder().productId(11).name("Mechanical Keyboard").sku("KEY-200").build());
+        index.upsert(Product.builder().productId(13).name("Wireless Charger").sku("CHG-1").build());
+        index.remove(10);
+
+        // Then
+        assertEquals(List.of(13), index.suggest("wireless", null).stream().map(ProductSuggestionDTO::getId).toList());
+        assertEquals(11, index.suggest("mech", null).get(0).getId());
+        verify(productRepository, times(1)).findSuggestRows();
+    }
+
+    @Test
+    void upsert_ShouldWaitForTransactionCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            index.upsert(Product.builder().productId(14).name("Desk Lamp").build());
+
+            // Then
+            assertTrue(index.suggest("desk", null).isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+            assertEquals(14, index.suggest("desk", null).get(0).getId());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void onCacheEvicted_ShouldReindexProductsEvictedByOtherNodes() {
+        // Given - product 11 was renamed and product 12 deleted on another node
+        when(productRepository.findSuggestRowsByIds(Set.of(11, 12))).thenReturn(List.<Object[]>of(
+                new Object[]{11, "Mechanical Keyboard", "KEY-200"}));
+
+        // When
+        index.onCacheEvicted(new CacheEvictedEvent(Set.of(CacheNames.PRODUCTS, CacheNames.PRODUCT_CATALOG),
+                Map.of(CacheNames.PRODUCTS, Set.of(11, 12), CacheNames.PRODUCT_CATALOG, Set.of(SimpleKey.EMPTY)),
+                true));
+
+        // Then
+        assertEquals(11, index.suggest("mech", null).get(0).getId());
+        assertTrue(index.suggest("garden hose", null).isEmpty());
+        verify(productRepository, times(1)).findSuggestRows();
+    }
+
+    @Test
+    void onCacheEvicted_ShouldIgnoreLocalEvictionsAndRebuildWhenOtherNodesClearProducts() {
+        // When
+        index.onCacheEvicted(new CacheEvictedEvent(Set.of(CacheNames.PRODUCTS),
+                Map.of(CacheNames.PRODUCTS, Set.of(11)), false));
+        index.onCacheEvicted(new CacheEvictedEvent(Set.of(CacheNames.PRODUCTS), Map.of(), true));
+
+        // Then
+        verify(productRepository, never()).findSuggestRowsByIds(anyCollection());
+        verify(productRepository, times(2)).findSuggestRows();
+    }
+
+    @Test
+    void rebuild_ShouldReportSizeAndBuildTime() {
+        assertEquals(3.0, meterRegistry.get("catalog.suggest.index.products").gauge().value());
+        assertTrue(meterRegistry.get("catalog.suggest.index.memory").gauge().value() > 0);
+        assertEquals(1, meterRegistry.get("catalog.suggest.index.build").timer().count());
+    }
+}
@@ -0,0 +1,150 @@
+package com.shophub.service;
+
+import com.shophub.model.Notification;
+import com.shophub.model.Product;
+import com.shophub.model.User;
+import com.shophub.repository.NotificationRepository;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.AopTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doThrow;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(properties = {
+        "notifications.stock-alerts.debounce=PT0S",
+        // The test sends digests explicitly
+        "notifications.stock-alerts.digest-interval=PT1H"
+})
+public class StockAlertIntegrationTest {
+
+    @Autowired
+    private ProductService productService;
+
+    @Autowired
+    private StockAlertService stockAlertService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @SpyBean
+    private NotificationService notificationService;
+
+    @AfterEach
+    void cleanup() {
+        notificationRepository.deleteAllInBatch();
+        productRepository.deleteAllInBatch();
+        userRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void repeatedSalesBelowThreshold_coalesceIntoOneDigest() {
+        // Arrange
+        userRepository.save(User.builder()
+                .userId("stock-admin").email("stock-admin@example.com").role("administrator").build());
+        Product product = productRepository.save(Product.builder()
+                .name("Busy SKU").price(new BigDecimal("10.00")).stockQuantity(12).lowStockThreshold(5).build());
+
+        // Act - ok -> low, stays low, low -> out, all inside one digest window
+        productService.updateStock(product.getProductId(), 8);
+        productService.updateStock(product.getProductId(), 1);
+        productService.updateStock(product.getProductId(), 3);
+        int alerted = stockAlertService.sendDigest();
+
+        // Assert - one notification reporting the latest state
+        assertThat(alerted).isEqualTo(1);
+        List<Notification> notifications = notificationRepository.findByUserIdOrderByCreatedAtDesc("stock-admin");
+        assertThat(notifications).hasSize(1);
+        assertThat(notifications.get(0).getType()).isEqualTo("inventory_out_of_stock");
+        assertThat(notifications.get(0).getMessage()).contains("'Busy SKU'").contains("out of stock");
+
+        // Nothing new to report, and a restock is acknowledged without a notification
+        assertThat(stockAlertService.sendDigest()).isZero();
+        productService.setStockQuantity(product.getProductId(), 40);
+        assertThat(stockAlertService.sendDigest()).isZero();
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc("stock-admin")).hasSize(1);
+
+        Product settled = productRepository.findById(product.getProductId()).orElseThrow();
+        assertThat(settled.getAlertState()).isEqualTo(StockAlertService.STATE_OK);
+        assertThat(settled.getAlertNotifiedState()).isEqualTo(StockAlertService.STATE_OK);
+    }
+
+    @Test
+    void flapBackWithinTheWindow_isNotReported() {
+        // Arrange
+        userRepository.save(User.builder()
+                .userId("stock-admin").email("stock-admin@example.com").role("administrator").build());
+        Product product = productRepository.save(Product.builder()
+                .name("Flapping SKU").price(new BigDecimal("10.00")).stockQuantity(6).lowStockThreshold(5).build());
+
+        // Act - dips to low and is restocked before the digest runs
+        productService.updateStock(product.getProductId(), 2);
+        productService.setStockQuantity(product.getProductId(), 30);
+
+        // Assert
+        assertThat(stockAlertService.sendDigest()).isZero();
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc("stock-admin")).isEmpty();
+    }
+
+    @Test
+    void withoutAdmins_alertsStayPendingUntilSomeoneCanReceiveThem() {
+        // Arrange
+        Product product = productRepository.save(Product.builder()
+                .name("Unwatched SKU").price(new BigDecimal("10.00")).stockQuantity(6).lowStockThreshold(5).build());
+        productService.updateStock(product.getProductId(), 3);
+
+        // Act
+        int withoutAdmins = stockAlertService.sendDigest();
+        userRepository.save(User.builder()
+                .userId("stock-admin").email("stock-admin@example.com").role("administrator").build());
+        int withAdmin = stockAlertService.sendDigest();
+
+        // Assert
+        assertThat(withoutAdmins).isZero();
+        assertThat(withAdmin).isEqualTo(1);
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc("stock-admin")).hasSize(1);
+    }
+
+    @Test
+    void failedDigest_rollsBackTheClaimsForTheNextRun() {
+        // Arrange
+        userRepository.save(User.builder()
+                .userId("stock-admin").email("stock-admin@example.com").role("administrator").build());
+        Product product = productRepository.save(Product.builder()
+                .name("Retried SKU").price(new BigDecimal("10.00")).stockQuantity(6).lowStockThreshold(5).build());
+        productService.updateStock(product.getProductId(), 3);
+        doThrow(new IllegalStateException("notification store down")).doCallRealMethod()
+                .when(AopTestUtils.<NotificationService>getUltimateTargetObject(notificationService))
+                .sendStockAlertDigest(anyList());
+
+        // Act
+        assertThatThrownBy(() -> stockAlertService.sendDigest()).isInstanceOf(IllegalStateException.class);
+        Product afterFailure = productRepository.findById(product.getProductId()).orElseThrow();
+        int retried = stockAlertService.sendDigest();
+
+        // Assert
+        assertThat(afterFailure.getAlertNotifiedState()).isEqualTo(StockAlertService.STATE_OK);
+        assertThat(retried).isEqualTo(1);
+        assertThat(notificationRepository.findByUserIdOrderByCreatedAtDesc("stock-admin")).hasSize(1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.shophub.service;
+
+import com.shophub.config.StockAlertProperties;
+import com.shophub.model.Product;
+import com.shophub.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockAlertServiceTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private NotificationService notificationService;
+
+    private StockAlertService stockAlertService;
+
+    @BeforeEach
+    void setUp() {
+        StockAlertProperties properties = new StockAlertProperties();
+        properties.setDebounce(Duration.ofSeconds(30));
+        stockAlertService = new StockAlertService(productRepository, notificationService, properties);
+    }
+
+    @Test
+    void onStockChanged_ShouldMoveStateOnTransition() {
+        // Given
+        Product product = product(1, 4, StockAlertService.STATE_OK, StockAlertService.STATE_OK);
+        when(productRepository.transitionAlertState(eq(1), eq(StockAlertService.STATE_LOW), any(LocalDateTime.class)))
+                .thenReturn(1);
+
+        // When
+        stockAlertService.onStockChanged(product);
+
+        // Then
+        assertEquals(StockAlertService.STATE_LOW, product.getAlertState());
+        verifyNoInteractions(notificationService);
+    }
+
+    @Test
+    void onStockChanged_ShouldNotWriteWhileStateHolds() {
+        // Given - already low, sells another unit
+        Product product = product(1, 3, StockAlertService.STATE_LOW, StockAlertService.STATE_LOW);
+
+        // When
+        stockAlertService.onStockChanged(product);
+
+        // Then
+        verify(productRepository, never()).transitionAlertState(anyInt(), anyString(), any(LocalDateTime.class));
+    }
+
+    @Test
+    void onStockChanged_ShouldTreatNewProductsAsOk() {
+        // Given - freshly inserted, the database default has not been read back
+        Product product = product(1, 50, null, null);
+
+        // When
+        stockAlertService.onStockChanged(product);
+
+        // Then
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    void sendDigest_ShouldCoalesceClaimedTransitionsIntoOneDigest() {
+        // Given
+        Product low = product(1, 4, StockAlertService.STATE_LOW, StockAlertService.STATE_OK);
+        Product out = product(2, 0, StockAlertService.STATE_OUT, StockAlertService.STATE_LOW);
+        when(notificationService.hasStockAlertRecipients()).thenReturn(true);
+        when(productRepository.findPendingStockAlerts(any(LocalDateTime.class))).thenReturn(List.of(low, out));
+        when(productRepository.markAlertNotified(1, StockAlertService.STATE_LOW, StockAlertService.STATE_OK)).thenReturn(1);
+        when(productRepository.markAlertNotified(2, StockAlertService.STATE_OUT, StockAlertService.STATE_LOW)).thenReturn(1);
+
+        // When
+        int sent = stockAlertService.sendDigest();
+
+        // Then
+        assertEquals(2, sent);
+        verify(notificationService).sendStockAlertDigest(List.of(low, out));
+    }
+
+    @Test
+    void sendDigest_ShouldAcknowledgeRecoveriesSilently() {
+        // Given - restocked after an out-of-stock alert
+        Product restocked = product(1, 40, StockAlertService.STATE_OK, StockAlertService.STATE_OUT);
+        when(notificationService.hasStockAlertRecipients()).thenReturn(true);
+        when(productRepository.findPendingStockAlerts(any(LocalDateTime.class))).thenReturn(List.of(restocked));
+        when(productRepository.markAlertNotified(1, StockAlertService.STATE_OK, StockAlertService.STATE_OUT)).thenReturn(1);
+
+        // When & Then
+        assertEquals(0, stockAlertService.sendDigest());
+        verify(notificationService, never()).sendStockAlertDigest(anyList());
+    }
+
+    @Test
+    void sendDigest_ShouldSkipTransitionsClaimedElsewhere() {
+        // Given
+        Product low = product(1, 4, StockAlertService.STATE_LOW, StockAlertService.STATE_OK);
+        when(notificationService.hasStockAlertRecipients()).thenReturn(true);
+        when(productRepository.findPendingStockAlerts(any(LocalDateTime.class))).thenReturn(List.of(low));
+        when(productRepository.markAlertNotified(1, StockAlertService.STATE_LOW, StockAlertService.STATE_OK)).thenReturn(0);
+
+        // When & Then
+        assertEquals(0, stockAlertService.sendDigest());
+        verify(notificationService, never()).sendStockAlertDigest(anyList());
+    }
+
+    @Test
+    void sendDigest_ShouldLeaveTransitionsUnclaimedWithoutRecipients() {
+        // Given
+        when(notificationService.hasStockAlertRecipients()).thenReturn(false);
+
+        // When & Then
+        assertEquals(0, stockAlertService.sendDigest());
+        verifyNoInteractions(productRepository);
+        verify(notificationService, never()).sendStockAlertDigest(anyList());
+    }
+
+    @Test
+    void sendDigest_ShouldPropagateSendFailuresSoTheClaimsRollBack() {
+        // Given
+        Product low = product(1, 4, StockAlertService.STATE_LOW, StockAlertService.STATE_OK);
+        when(notificationService.hasStockAlertRecipients()).thenReturn(true);
+        when(productRepository.findPendingStockAlerts(any(LocalDateTime.class))).thenReturn(List.of(low));
+        when(productRepository.markAlertNotified(1, StockAlertService.STATE_LOW, StockAlertService.STATE_OK)).thenReturn(1);
+        doThrow(new IllegalStateException("mail down")).when(notificationService).sendStockAlertDigest(List.of(low));
+
+        // When & Then
+        assertThrows(IllegalStateException.class, () -> stockAlertService.sendDigest());
+    }
+
+    private Product product(int id, int stock, String state, String notifiedState) {
+        return Product.builder()
+                .productId(id)
+                .name("Product " + id)
+                .stockQuantity(stock)
+                .lowStockThreshold(5)
+                .alertState(state)
+                .alertNotifiedState(notifiedState)
+                .build();
+    }
+}
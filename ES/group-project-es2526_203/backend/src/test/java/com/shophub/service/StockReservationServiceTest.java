@@ -0,0 +1,224 @@
+package com.shophub.service;
+
+import com.shophub.config.InventoryReservationProperties;
+import com.shophub.model.Cart;
+import com.shophub.model.Product;
+import com.shophub.model.StockReservation;
+import com.shophub.repository.CartRepository;
+import com.shophub.repository.ProductRepository;
+import com.shophub.repository.StockReservationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    @Mock
+    private StockReservationRepository stockReservationRepository;
+
+    @Mock
+    private ProductRepository productRepository;
+
+    @Mock
+    private CartRepository cartRepository;
+
+    @Mock
+    private InventoryReservationProperties properties;
+
+    @InjectMocks
+    private StockReservationService stockReservationService;
+
+    private Product keyboard;
+    private Product mouse;
+
+    @BeforeEach
+    void setUp() {
+        keyboard = Product.builder()
+                .productId(1)
+                .name("Keyboard")
+                .price(new BigDecimal("49.99"))
+                .stockQuantity(10)
+                .build();
+        mouse = Product.builder()
+                .productId(2)
+                .name("Mouse")
+                .price(new BigDecimal("19.99"))
+                .stockQuantity(3)
+                .build();
+    }
+
+    @Test
+    void reserveCart_ShouldHoldEveryLineInProductIdOrder() {
+        // Given - cart lines arrive out of product_id order
+        when(properties.getHold()).thenReturn(Duration.ofMinutes(15));
+        when(cartRepository.findByUserId("user123")).thenReturn(List.of(cartLine(2, 1), cartLine(1, 4)));
+        when(productRepository.lockForStockChange(1)).thenReturn(Optional.of(keyboard));
+        when(productRepository.lockForStockChange(2)).thenReturn(Optional.of(mouse));
+        when(stockReservationRepository.sumReservedByOthers(anyInt(), eq("user123"), any(LocalDateTime.class)))
+                .thenReturn(0L);
+        when(stockReservationRepository.findByUserIdAndProductId(eq("user123"), anyInt())).thenReturn(Optional.empty());
+        LocalDateTime before = LocalDateTime.now();
+
+        // When
+        stockReservationService.reserveCart("user123");
+
+        // Then
+        InOrder inOrder = inOrder(productRepository);
+        inOrder.verify(productRepository).lockForStockChange(1);
+        inOrder.verify(productRepository).lockForStockChange(2);
+
+        ArgumentCaptor<StockReservation> saved = ArgumentCaptor.forClass(StockReservation.class);
+        verify(stockReservationRepository, times(2)).save(saved.capture());
+        assertEquals(4, saved.getAllValues().get(0).getQuantity());
+        assertEquals(1, saved.getAllValues().get(1).getQuantity());
+        assertFalse(saved.getAllValues().get(0).getExpiresAt().isBefore(before.plusMinutes(15)));
+        verify(stockReservationRepository).findByUserIdOrderByProductIdAsc("user123");
+    }
+
+    @Test
+    void reserveCart_ShouldRefreshExistingHold() {
+        // Given
+        StockReservation existing = StockReservation.builder()
+                .reservationId(5)
+                .userId("user123")
+                .productId(1)
+                .quantity(1)
+                .expiresAt(LocalDateTime.now().plusMinutes(1))
+                .build();
+        when(properties.getHold()).thenReturn(Duration.ofMinutes(15));
+        when(cartRepository.findByUserId("user123")).thenReturn(List.of(cartLine(1, 3)));
+        when(productRepository.lockForStockChange(1)).thenReturn(Optional.of(keyboard));
+        when(stockReservationRepository.sumReservedByOthers(eq(1), eq("user123"), any(LocalDateTime.class)))
+                .thenReturn(0L);
+        when(stockReservationRepository.findByUserIdAndProductId("user123", 1)).thenReturn(Optional.of(existing));
+
+        // When
+        stockReservationService.reserveCart("user123");
+
+        // Then
+        verify(stockReservationRepository).save(existing);
+        assertEquals(3, existing.getQuantity());
+        assertTrue(existing.getExpiresAt().isAfter(LocalDateTime.now().plusMinutes(14)));
+    }
+
+    @Test
+    void reserveCart_ShouldRejectWhenOthersHoldTheStock() {
+        // Given - 3 on hand, 2 held by other users
+        when(properties.getHold()).thenReturn(Duration.ofMinutes(15));
+        when(cartRepository.findByUserId("user123")).thenReturn(List.of(cartLine(2, 2)));
+        when(productRepository.lockForStockChange(2)).thenReturn(Optional.of(mouse));
+        when(stockReservationRepository.sumReservedByOthers(eq(2), eq("user123"), any(LocalDateTime.class)))
+                .thenReturn(2L);
+
+        // When & Then
+        IllegalArgumentException ex = assertThrows(IllegalArgumentException.class,
+                () -> stockReservationService.reserveCart("user123"));
+        assertEquals("Insufficient stock for product: Mouse", ex.getMessage());
+        verify(stockReservationRepository, never()).save(any(StockReservation.class));
+    }
+
+    @Test
+    void reserveCart_ShouldRejectEmptyCart() {
+        // Given
+        when(cartRepository.findByUserId("user123")).thenReturn(List.of());
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> stockReservationService.reserveCart("user123"));
+        verifyNoInteractions(productRepository, stockReservationRepository);
+    }
+
+    @Test
+    void availableStock_ShouldSubtractOtherUsersHolds() {
+        // Given
+        when(stockReservationRepository.sumReservedByOthers(eq(1), eq("user123"), any(LocalDateTime.class)))
+                .thenReturn(7L);
+
+        // When & Then
+        assertEquals(3, stockReservationService.availableStock(keyboard, "user123"));
+    }
+
+    @Test
+    void availableStock_ShouldSubtractEscrowedUnits() {
+        // Given - 4 of the 10 keyboards are leased to hot inventory
+        keyboard.setEscrowedStock(4);
+        when(stockReservationRepository.sumReservedByOthers(eq(1), eq("user123"), any(LocalDateTime.class)))
+                .thenReturn(2L);
+
+        // When & Then
+        assertEquals(4, stockReservationService.availableStock(keyboard, "user123"));
+    }
+
+    @Test
+    void reserveCart_ShouldRejectHoldsOnEscrowedUnits() {
+        // Given - 8 of the 10 keyboards are leased to hot inventory
+        keyboard.setEscrowedStock(8);
+        when(properties.getHold()).thenReturn(Duration.ofMinutes(15));
+        when(cartRepository.findByUserId("user123")).thenReturn(List.of(cartLine(1, 3)));
+        when(productRepository.lockForStockChange(1)).thenReturn(Optional.of(keyboard));
+        when(stockReservationRepository.sumReservedByOthers(eq(1), eq("user123"), any(LocalDateTime.class)))
+                .thenReturn(0L);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> stockReservationService.reserveCart("user123"));
+        verify(stockReservationRepository, never()).save(any(StockReservation.class));
+    }
+
+    @Test
+    void availableStock_ShouldNeverGoNegative() {
+        // Given - stock was set below what is held
+        when(stockReservationRepository.sumReservedByOthers(eq(2), eq("user123"), any(LocalDateTime.class)))
+                .thenReturn(5L);
+
+        // When & Then
+        assertEquals(0, stockReservationService.availableStock(mouse, "user123"));
+    }
+
+    @Test
+    void release_ShouldSkipEmptyProductList() {
+        // When
+        stockReservationService.release("user123", List.of());
+
+        // Then
+        verifyNoInteractions(stockReservationRepository);
+    }
+
+    @Test
+    void releaseExpired_ShouldDeleteHoldsPastTheirExpiry() {
+        // Given
+        when(stockReservationRepository.deleteExpired(any(LocalDateTime.class))).thenReturn(2);
+
+        // When
+        int released = stockReservationService.releaseExpired();
+
+        // Then
+        assertEquals(2, released);
+        verify(stockReservationRepository).deleteExpired(any(LocalDateTime.class));
+    }
+
+    private Cart cartLine(int productId, int quantity) {
+        return Cart.builder()
+                .userId("user123")
+                .productId(productId)
+                .quantity(quantity)
+                .unitPrice(BigDecimal.TEN)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.shophub.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StripedStockCounterTest {
+
+    @Test
+    void tryTake_ShouldTakeAcrossStripes() {
+        // Given - 10 units spread over 4 stripes
+        StripedStockCounter counter = new StripedStockCounter(4);
+        counter.add(10);
+
+        // When & Then
+        assertTrue(counter.tryTake(7));
+        assertEquals(3, counter.sum());
+        assertTrue(counter.tryTake(3));
+        assertEquals(0, counter.sum());
+    }
+
+    @Test
+    void tryTake_ShouldLeaveCountUntouchedWhenShort() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(4);
+        counter.add(5);
+
+        // When & Then
+        assertFalse(counter.tryTake(6));
+        assertEquals(5, counter.sum());
+    }
+
+    @Test
+    void drain_ShouldEmptyEveryStripe() {
+        // Given
+        StripedStockCounter counter = new StripedStockCounter(3);
+        counter.add(11);
+
+        // When & Then
+        assertEquals(11, counter.drain());
+        assertEquals(0, counter.sum());
+        assertFalse(counter.tryTake(1));
+    }
+
+    @Test
+    void tryTake_ShouldNeverOversellUnderContention() throws Exception {
+        // Given - 16 threads race for 1000 units in 3-unit takes
+        StripedStockCounter counter = new StripedStockCounter(8);
+        counter.add(1000);
+        AtomicInteger taken = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(16);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        for (int t = 0; t < 16; t++) {
+            pool.submit(() -> {
+                start.await();
+                while (true) {
+                    if (counter.tryTake(3)) {
+                        taken.addAndGet(3);
+                    } else if (counter.sum() < 3) {
+                        // A failed take may briefly hold units it then hands back, so only stop once they are gone
+                        break;
+                    }
+                }
+                return null;
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+
+        // Then - 333 takes succeed and the last unit stays
+        assertEquals(999, taken.get());
+        assertEquals(1, counter.sum());
+    }
+
+    @Test
+    void constructor_ShouldRejectZeroStripes() {
+        assertThrows(IllegalArgumentException.class, () -> new StripedStockCounter(0));
+    }
+}